@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link CachedIndicator cached indicator} hit and miss paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedIndicatorBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean concurrentIndicators;
+
+    private TimeSeries series;
+
+    private ClosePriceIndicator closePrice;
+
+    /** An indicator whose values are all cached */
+    private SMAIndicator cachedSma;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        series = Fixtures.loadHourlySeries(false);
+        if (concurrentIndicators) {
+            series.useConcurrentIndicators();
+        }
+        closePrice = new ClosePriceIndicator(series);
+        cachedSma = new SMAIndicator(closePrice, 20);
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            cachedSma.getValue(i);
+        }
+    }
+
+    /**
+     * Cache hit.
+     * @return the value of the indicator
+     */
+    @Benchmark
+    public Decimal cacheHit() {
+        index = index < series.getEnd() ? index + 1 : series.getBegin();
+        return cachedSma.getValue(index);
+    }
+
+    /**
+     * Cache misses: the values of a new indicator over the whole series (sub-indicators being cached).
+     * @return the last value of the indicator
+     */
+    @Benchmark
+    public Decimal cacheMisses() {
+        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        Decimal value = null;
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            value = sma.getValue(i);
+        }
+        return value;
+    }
+}
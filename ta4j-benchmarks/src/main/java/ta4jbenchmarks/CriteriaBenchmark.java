@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitableTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.BuyAndHoldCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.LinearTransactionCostCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.RewardRiskRatioCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.VersusBuyAndHoldCriterion;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link AnalysisCriterion analysis criteria}.
+ * <p>
+ * The criteria are calculated on the trading record of the moving momentum strategy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CriteriaBenchmark {
+
+    @Param({ "AverageProfit", "AverageProfitableTrades", "BuyAndHold", "LinearTransactionCost", "MaximumDrawdown",
+            "NumberOfTicks", "NumberOfTrades", "RewardRiskRatio", "TotalProfit", "VersusBuyAndHold" })
+    public String criterionName;
+
+    private TimeSeries series;
+
+    private TradingRecord tradingRecord;
+
+    private AnalysisCriterion criterion;
+
+    @Setup
+    public void setUp() {
+        series = Fixtures.loadHourlySeries(false);
+        tradingRecord = series.run(StrategyBenchmark.buildStrategy("MovingMomentum", series));
+        criterion = buildCriterion(criterionName);
+    }
+
+    @Benchmark
+    public double calculate() {
+        return criterion.calculate(series, tradingRecord);
+    }
+
+    /**
+     * @param name the name of a criterion
+     * @return the criterion
+     */
+    private static AnalysisCriterion buildCriterion(String name) {
+        if ("AverageProfit".equals(name)) {
+            return new AverageProfitCriterion();
+        }
+        if ("AverageProfitableTrades".equals(name)) {
+            return new AverageProfitableTradesCriterion();
+        }
+        if ("BuyAndHold".equals(name)) {
+            return new BuyAndHoldCriterion();
+        }
+        if ("LinearTransactionCost".equals(name)) {
+            return new LinearTransactionCostCriterion(1000, 0.005);
+        }
+        if ("MaximumDrawdown".equals(name)) {
+            return new MaximumDrawdownCriterion();
+        }
+        if ("NumberOfTicks".equals(name)) {
+            return new NumberOfTicksCriterion();
+        }
+        if ("NumberOfTrades".equals(name)) {
+            return new NumberOfTradesCriterion();
+        }
+        if ("RewardRiskRatio".equals(name)) {
+            return new RewardRiskRatioCriterion();
+        }
+        if ("TotalProfit".equals(name)) {
+            return new TotalProfitCriterion();
+        }
+        if ("VersusBuyAndHold".equals(name)) {
+            return new VersusBuyAndHoldCriterion(new TotalProfitCriterion());
+        }
+        throw new IllegalArgumentException("Unknown criterion: " + name);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link Decimal} arithmetic, BigDecimal-backed and double-backed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecimalBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean doubleBacked;
+
+    private Decimal a;
+
+    private Decimal b;
+
+    @Setup
+    public void setUp() {
+        a = doubleBacked ? Decimal.doubleBackedValueOf(1.13067) : Decimal.valueOf(1.13067);
+        b = doubleBacked ? Decimal.doubleBackedValueOf(1.13824) : Decimal.valueOf(1.13824);
+    }
+
+    @Benchmark
+    public Decimal plus() {
+        return a.plus(b);
+    }
+
+    @Benchmark
+    public Decimal minus() {
+        return a.minus(b);
+    }
+
+    @Benchmark
+    public Decimal multipliedBy() {
+        return a.multipliedBy(b);
+    }
+
+    @Benchmark
+    public Decimal dividedBy() {
+        return a.dividedBy(b);
+    }
+
+    @Benchmark
+    public Decimal sqrt() {
+        return a.sqrt();
+    }
+
+    @Benchmark
+    public boolean isGreaterThan() {
+        return a.isGreaterThan(b);
+    }
+
+    @Benchmark
+    public Decimal valueOf() {
+        return doubleBacked ? Decimal.doubleBackedValueOf(1.13067) : Decimal.valueOf(1.13067);
+    }
+}
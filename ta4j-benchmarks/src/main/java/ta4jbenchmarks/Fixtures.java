@@ -0,0 +1,56 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.TimeSeries;
+import ta4jexamples.loaders.CsvTicksLoader;
+
+/**
+ * Time series used as fixtures by the benchmarks.
+ * <p>
+ * Loaded from the CSV files bundled with the examples.
+ */
+public class Fixtures {
+
+    /** Hourly EUR/USD ticks (about 2200 ticks) */
+    public static final String HOURLY_EURUSD_FILE = "EURUSD60_09-01-2015_13-01-2016.csv";
+
+    /**
+     * @param doubleBacked true if the series must use double-backed decimals, false otherwise
+     * @return the hourly EUR/USD series
+     */
+    public static TimeSeries loadHourlySeries(boolean doubleBacked) {
+        TimeSeries series = CsvTicksLoader.loadMT4Series(HOURLY_EURUSD_FILE);
+        if (doubleBacked) {
+            series.useDoubleBackedDecimals();
+        }
+        return series;
+    }
+
+    /**
+     * @return the daily Apple Inc. series (about 250 ticks)
+     */
+    public static TimeSeries loadDailySeries() {
+        return CsvTicksLoader.loadAppleIncSeries();
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ta4jexamples.strategies.CCICorrectionStrategy;
+import ta4jexamples.strategies.GlobalExtremaStrategy;
+import ta4jexamples.strategies.MovingMomentumStrategy;
+import ta4jexamples.strategies.RSI2Strategy;
+
+/**
+ * Benchmark of {@link TimeSeries#run(Strategy)} on the example strategies.
+ * <p>
+ * Each run builds a new strategy (i.e. with empty indicator caches).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    @Param({ "CCICorrection", "GlobalExtrema", "MovingMomentum", "RSI2" })
+    public String strategyName;
+
+    @Param({ "false", "true" })
+    public boolean doubleBacked;
+
+    private TimeSeries series;
+
+    @Setup
+    public void setUp() {
+        series = Fixtures.loadHourlySeries(doubleBacked);
+    }
+
+    @Benchmark
+    public TradingRecord run() {
+        return series.run(buildStrategy(strategyName, series));
+    }
+
+    /**
+     * @param name the name of an example strategy
+     * @param series the time series
+     * @return the example strategy built over the series
+     */
+    static Strategy buildStrategy(String name, TimeSeries series) {
+        if ("CCICorrection".equals(name)) {
+            return CCICorrectionStrategy.buildStrategy(series);
+        }
+        if ("GlobalExtrema".equals(name)) {
+            return GlobalExtremaStrategy.buildStrategy(series);
+        }
+        if ("MovingMomentum".equals(name)) {
+            return MovingMomentumStrategy.buildStrategy(series);
+        }
+        if ("RSI2".equals(name)) {
+            return RSI2Strategy.buildStrategy(series);
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jbenchmarks;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.HMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.RSIIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsMiddleIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsUpperIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.ichimoku.IchimokuSenkouSpanAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.ichimoku.IchimokuSenkouSpanBIndicator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the main trackers.
+ * <p>
+ * Each benchmark builds a new indicator graph (i.e. with empty caches) over the series and computes
+ * its value for every tick, in sequence. The batch benchmarks compute the same values into primitive arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackersBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean doubleBacked;
+
+    private TimeSeries series;
+
+    private double[] buffer;
+
+    @Setup
+    public void setUp() {
+        series = Fixtures.loadHourlySeries(doubleBacked);
+        buffer = new double[series.getTickCount()];
+    }
+
+    @Benchmark
+    public Decimal sma() {
+        return computeAll(new SMAIndicator(new ClosePriceIndicator(series), 20));
+    }
+
+    @Benchmark
+    public Decimal ema() {
+        return computeAll(new EMAIndicator(new ClosePriceIndicator(series), 20));
+    }
+
+    @Benchmark
+    public Decimal hma() {
+        return computeAll(new HMAIndicator(new ClosePriceIndicator(series), 200));
+    }
+
+    @Benchmark
+    public Decimal rsi() {
+        return computeAll(new RSIIndicator(new ClosePriceIndicator(series), 14));
+    }
+
+    @Benchmark
+    public Decimal macd() {
+        return computeAll(new MACDIndicator(new ClosePriceIndicator(series), 12, 26));
+    }
+
+    @Benchmark
+    public Decimal bollingerBands() {
+        return computeAll(buildBollingerBandsUpper());
+    }
+
+    @Benchmark
+    public Decimal ichimoku() {
+        computeAll(new IchimokuSenkouSpanAIndicator(series));
+        return computeAll(new IchimokuSenkouSpanBIndicator(series));
+    }
+
+    @Benchmark
+    public double[] smaBatch() {
+        return BatchComputations.computeAll(new SMAIndicator(new ClosePriceIndicator(series), 20),
+                series.getBegin(), series.getEnd(), buffer);
+    }
+
+    @Benchmark
+    public double[] rsiBatch() {
+        return BatchComputations.computeAll(new RSIIndicator(new ClosePriceIndicator(series), 14),
+                series.getBegin(), series.getEnd(), buffer);
+    }
+
+    @Benchmark
+    public double[] bollingerBandsBatch() {
+        return BatchComputations.computeAll(buildBollingerBandsUpper(), series.getBegin(), series.getEnd(), buffer);
+    }
+
+    /**
+     * @return the upper Bollinger band (20 ticks, K = 2) of the close price
+     */
+    private BollingerBandsUpperIndicator buildBollingerBandsUpper() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        BollingerBandsMiddleIndicator bbm = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20));
+        return new BollingerBandsUpperIndicator(bbm, new StandardDeviationIndicator(closePrice, 20));
+    }
+
+    /**
+     * @param indicator the indicator
+     * @return the last value of the indicator, after having computed all the other ones in sequence
+     */
+    private Decimal computeAll(Indicator<Decimal> indicator) {
+        Decimal value = null;
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            value = indicator.getValue(i);
+        }
+        return value;
+    }
+}
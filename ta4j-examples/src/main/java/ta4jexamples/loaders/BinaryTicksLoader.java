@@ -0,0 +1,90 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.loaders;
+
+import eu.verdelhan.ta4j.MappedTickList;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class builds a Ta4j time series from a binary tick file.
+ * <p>
+ * The CSV files are converted once into {@link MappedTickList tick files}: the next loads map the tick file
+ * into memory instead of parsing the CSV file again, so that the series opens instantly (whatever the length of
+ * the history) and its ticks are never materialized on the heap.
+ */
+public class BinaryTicksLoader {
+
+    /**
+     * Converts the ticks of a time series into a tick file.
+     * @param series the time series (e.g. loaded from a CSV file)
+     * @param tickFile the tick file (overwritten if it exists)
+     * @throws IOException if the tick file cannot be written
+     */
+    public static void convert(TimeSeries series, File tickFile) throws IOException {
+        List<Tick> ticks = new ArrayList<Tick>(series.getTickCount());
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            ticks.add(series.getTick(i));
+        }
+        MappedTickList.write(tickFile, ticks);
+    }
+
+    /**
+     * @param name the name of the series
+     * @param tickFile the tick file
+     * @return a time series over the memory-mapped tick file
+     * @throws IOException if the tick file cannot be read or is not a valid tick file
+     */
+    public static TimeSeries load(String name, File tickFile) throws IOException {
+        return new TimeSeries(name, MappedTickList.open(tickFile));
+    }
+
+    /**
+     * @param tickFile the tick file of the Apple Inc. ticks (converted from the CSV file if it does not exist)
+     * @return a time series from Apple Inc. ticks.
+     * @throws IOException if the tick file cannot be written or read
+     */
+    public static TimeSeries loadAppleIncSeries(File tickFile) throws IOException {
+        if (!tickFile.exists()) {
+            convert(CsvTicksLoader.loadAppleIncSeries(), tickFile);
+        }
+        return load("apple_ticks", tickFile);
+    }
+
+    public static void main(String args[]) throws IOException {
+        File tickFile = new File(System.getProperty("java.io.tmpdir"), "appleinc_ticks_from_20130101_usd.ticks");
+        TimeSeries series = BinaryTicksLoader.loadAppleIncSeries(tickFile);
+
+        System.out.println("Series: " + series.getName() + " (" + series.getSeriesPeriodDescription() + ")");
+        System.out.println("Tick file: " + tickFile + " (" + tickFile.length() + " bytes)");
+        System.out.println("Number of ticks: " + series.getTickCount());
+        System.out.println("First tick: \n"
+                + "\tVolume: " + series.getTick(0).getVolume() + "\n"
+                + "\tOpen price: " + series.getTick(0).getOpenPrice()+ "\n"
+                + "\tClose price: " + series.getTick(0).getClosePrice());
+    }
+}
@@ -25,16 +25,18 @@ package ta4jexamples.loaders;
 import au.com.bytecode.opencsv.CSVReader;
 import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.streaming.TickAggregator;
+import eu.verdelhan.ta4j.streaming.TimeTickAggregator;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.joda.time.DateTime;
-import org.joda.time.Instant;
 import org.joda.time.Period;
 
 /**
@@ -66,71 +68,29 @@ public class CsvTradesLoader {
             }
         }
 
-        List<Tick> ticks = null;
+        List<Tick> ticks = new ArrayList<Tick>();
         if ((lines != null) && !lines.isEmpty()) {
 
-            // Getting the first and last trades timestamps
-            DateTime beginTime = new DateTime(Long.parseLong(lines.get(0)[0]) * 1000);
-            DateTime endTime = new DateTime(Long.parseLong(lines.get(lines.size() - 1)[0]) * 1000);
-            if (beginTime.isAfter(endTime)) {
-                Instant beginInstant = beginTime.toInstant();
-                Instant endInstant = endTime.toInstant();
-                beginTime = new DateTime(endInstant);
-                endTime = new DateTime(beginInstant);
+            // Trades from the oldest to the newest
+            long firstTimestamp = Long.parseLong(lines.get(0)[0]);
+            long lastTimestamp = Long.parseLong(lines.get(lines.size() - 1)[0]);
+            if (firstTimestamp > lastTimestamp) {
+                Collections.reverse(lines);
             }
-            // Building the empty ticks (every 300 seconds, yeah welcome in Bitcoin world)
-            ticks = buildEmptyTicks(beginTime, endTime, 300);
-            // Filling the ticks with trades
+            // Building the ticks (every 300 seconds, yeah welcome in Bitcoin world) in a single pass over the trades
+            TimeTickAggregator aggregator = new TimeTickAggregator(Period.seconds(300), TickAggregator.sinkOf(ticks));
             for (String[] tradeLine : lines) {
                 DateTime tradeTimestamp = new DateTime(Long.parseLong(tradeLine[0]) * 1000);
-                for (Tick tick : ticks) {
-                    if (tick.inPeriod(tradeTimestamp)) {
-                        double tradePrice = Double.parseDouble(tradeLine[1]);
-                        double tradeAmount = Double.parseDouble(tradeLine[2]);
-                        tick.addTrade(tradeAmount, tradePrice);
-                    }
-                }
+                double tradePrice = Double.parseDouble(tradeLine[1]);
+                double tradeAmount = Double.parseDouble(tradeLine[2]);
+                aggregator.addTrade(tradeTimestamp, tradeAmount, tradePrice);
             }
-            // Removing still empty ticks
-            removeEmptyTicks(ticks);
+            aggregator.flush();
         }
 
         return new TimeSeries("bitstamp_trades", ticks);
     }
 
-    /**
-     * Builds a list of empty ticks.
-     * @param beginTime the begin time of the whole period
-     * @param endTime the end time of the whole period
-     * @param duration the tick duration (in seconds)
-     * @return the list of empty ticks
-     */
-    private static List<Tick> buildEmptyTicks(DateTime beginTime, DateTime endTime, int duration) {
-
-        List<Tick> emptyTicks = new ArrayList<Tick>();
-
-        Period tickTimePeriod = Period.seconds(duration);
-        DateTime tickEndTime = beginTime;
-        do {
-            tickEndTime = tickEndTime.plus(tickTimePeriod);
-            emptyTicks.add(new Tick(tickTimePeriod, tickEndTime));
-        } while (tickEndTime.isBefore(endTime));
-
-        return emptyTicks;
-    }
-
-    /**
-     * Removes all empty (i.e. with no trade) ticks of the list.
-     * @param ticks a list of ticks
-     */
-    private static void removeEmptyTicks(List<Tick> ticks) {
-        for (int i = ticks.size() - 1; i >= 0; i--) {
-            if (ticks.get(i).getTrades() == 0) {
-                ticks.remove(i);
-            }
-        }
-    }
-
     public static void main(String args[]) {
         TimeSeries series = CsvTradesLoader.loadBitstampSeries();
 
@@ -25,11 +25,13 @@ package ta4jexamples.walkforward;
 import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.Strategy;
 import eu.verdelhan.ta4j.TimeSeries;
-import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.StrategyBuilder;
+import eu.verdelhan.ta4j.analysis.WalkForwardAnalyzer;
+import eu.verdelhan.ta4j.analysis.WalkForwardResult;
+import eu.verdelhan.ta4j.analysis.WalkForwardWindow;
 import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.joda.time.Period;
 import ta4jexamples.loaders.CsvTradesLoader;
@@ -41,48 +43,68 @@ import ta4jexamples.strategies.RSI2Strategy;
 /**
  * Walk-forward optimization example.
  * <p>
+ * The best strategy is chosen over each in-sample window and validated over the next out-of-sample window.
+ * The windows are run in parallel.
  * @see http://en.wikipedia.org/wiki/Walk_forward_optimization
  * @see http://www.futuresmag.com/2010/04/01/can-your-system-do-the-walk
  */
 public class WalkForward {
 
     /**
-     * @param series the time series
-     * @return a map (key: strategy, value: name) of trading strategies
+     * @return a map (key: strategy builder, value: name) of trading strategy builders
      */
-    public static Map<Strategy, String> buildStrategiesMap(TimeSeries series) {
-        HashMap<Strategy, String> strategies = new HashMap<Strategy, String>();
-        strategies.put(CCICorrectionStrategy.buildStrategy(series), "CCI Correction");
-        strategies.put(GlobalExtremaStrategy.buildStrategy(series), "Global Extrema");
-        strategies.put(MovingMomentumStrategy.buildStrategy(series), "Moving Momentum");
-        strategies.put(RSI2Strategy.buildStrategy(series), "RSI-2");
-        return strategies;
+    public static Map<StrategyBuilder, String> buildStrategyBuildersMap() {
+        Map<StrategyBuilder, String> builders = new LinkedHashMap<StrategyBuilder, String>();
+        builders.put(new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                return CCICorrectionStrategy.buildStrategy(series);
+            }
+        }, "CCI Correction");
+        builders.put(new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                return GlobalExtremaStrategy.buildStrategy(series);
+            }
+        }, "Global Extrema");
+        builders.put(new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                return MovingMomentumStrategy.buildStrategy(series);
+            }
+        }, "Moving Momentum");
+        builders.put(new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                return RSI2Strategy.buildStrategy(series);
+            }
+        }, "RSI-2");
+        return builders;
     }
 
     public static void main(String[] args) {
-        // Splitting the series into slices
         TimeSeries series = CsvTradesLoader.loadBitstampSeries();
-        List<TimeSeries> subseries = series.split(Period.hours(6), Period.weeks(1));
 
-        // Building the map of strategies
-        Map<Strategy, String> strategies = buildStrategiesMap(series);
+        // Building the map of strategy builders
+        Map<StrategyBuilder, String> builders = buildStrategyBuildersMap();
 
         // The analysis criterion
         AnalysisCriterion profitCriterion = new TotalProfitCriterion();
 
-        for (TimeSeries slice : subseries) {
-            // For each sub-series...
-            System.out.println("Sub-series: " + slice.getSeriesPeriodDescription());
-            for (Map.Entry<Strategy, String> entry : strategies.entrySet()) {
-                Strategy strategy = entry.getKey();
-                String name = entry.getValue();
-                // For each strategy...
-                TradingRecord tradingRecord = slice.run(strategy);
-                double profit = profitCriterion.calculate(slice, tradingRecord);
-                System.out.println("\tProfit for " + name + ": " + profit);
-            }
-            Strategy bestStrategy = profitCriterion.chooseBest(slice, new ArrayList<Strategy>(strategies.keySet()));
-            System.out.println("\t\t--> Best strategy: " + strategies.get(bestStrategy) + "\n");
+        // Choosing the best strategy over each week (in-sample),
+        // then running it over the next 6 hours (out-of-sample)
+        WalkForwardAnalyzer analyzer = new WalkForwardAnalyzer();
+        WalkForwardResult result = analyzer.analyze(series, Period.weeks(1), Period.hours(6),
+                new ArrayList<StrategyBuilder>(builders.keySet()), profitCriterion);
+        analyzer.shutdown();
+
+        for (WalkForwardWindow window : result.getWindows()) {
+            // For each window...
+            System.out.println("In-sample: " + window.getInSampleSeries().getSeriesPeriodDescription());
+            System.out.println("\tBest strategy: " + builders.get(window.getBestCandidate())
+                    + " (profit: " + window.getInSampleResult().getCriterionValue(profitCriterion) + ")");
+            System.out.println("\tOut-of-sample profit: " + window.getOutOfSampleResult().getCriterionValue(profitCriterion) + "\n");
         }
+        System.out.println("Total out-of-sample profit: " + result.getOutOfSampleCriterionValue());
     }
 }
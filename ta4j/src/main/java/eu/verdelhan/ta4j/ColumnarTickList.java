@@ -0,0 +1,359 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import org.joda.time.Period;
+
+/**
+ * Columnar list of {@link Tick ticks}.
+ * <p>
+ * The values of the ticks are stored in parallel primitive arrays (one per field: end time in epoch millis,
+ * open/max/min/close prices, amount, volume and trade count) instead of one object graph per tick.
+ * It costs about 60 bytes per tick, so that long histories fit in memory and price series are read from contiguous memory.
+ * <p>
+ * The ticks returned by {@link #get(int)}, {@link #set(int, Tick)} and {@link #remove(int)} are lightweight read-only snapshots
+ * of the primitive values of their position: their prices, amounts and volumes are
+ * {@link Decimal#doubleBackedValueOf(double) double-backed decimals}, created once per snapshot. A snapshot is detached
+ * from the list: it does not change when its position is overwritten (e.g. when the circular buffer of a
+ * {@link TimeSeries#setMaximumTickCount(int) moving series} reuses the position of the oldest tick).
+ * <p>
+ * The ticks are only built for the {@link Tick} API: the price indicators and the criteria read the primitive values
+ * through {@link TimeSeries#getClosePrice(int)} and its siblings, without building any tick.
+ * <p>
+ * All the ticks of the list share the same time period. A {@link TimeSeries time series} built over such a list
+ * {@link TimeSeries#isDoubleBacked() is double-backed}.
+ */
+public class ColumnarTickList extends AbstractList<Tick> implements RandomAccess, PrimitiveTickList {
+
+    /** Default initial capacity of the list */
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /** Time period of the ticks */
+    private final Period timePeriod;
+
+    /** End times of the ticks (epoch millis) */
+    private long[] endTimes;
+
+    /** Open prices of the ticks (NaN if none) */
+    private double[] openPrices;
+
+    /** Max prices of the ticks (NaN if none) */
+    private double[] maxPrices;
+
+    /** Min prices of the ticks (NaN if none) */
+    private double[] minPrices;
+
+    /** Close prices of the ticks (NaN if none) */
+    private double[] closePrices;
+
+    /** Traded amounts of the ticks */
+    private double[] amounts;
+
+    /** Volumes of the ticks */
+    private double[] volumes;
+
+    /** Trade counts of the ticks */
+    private int[] trades;
+
+    /** Number of ticks */
+    private int size = 0;
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period of the ticks
+     */
+    public ColumnarTickList(Period timePeriod) {
+        this(timePeriod, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period of the ticks
+     * @param initialCapacity the initial capacity of the list (e.g. the expected number of ticks)
+     */
+    public ColumnarTickList(Period timePeriod, int initialCapacity) {
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+        this.timePeriod = timePeriod;
+        endTimes = new long[initialCapacity];
+        openPrices = new double[initialCapacity];
+        maxPrices = new double[initialCapacity];
+        minPrices = new double[initialCapacity];
+        closePrices = new double[initialCapacity];
+        amounts = new double[initialCapacity];
+        volumes = new double[initialCapacity];
+        trades = new int[initialCapacity];
+    }
+
+    /**
+     * @return the time period of the ticks
+     */
+    public Period getTimePeriod() {
+        return timePeriod;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Tick get(int index) {
+        checkIndex(index, size);
+        return new TickSnapshot(index);
+    }
+
+    @Override
+    public Tick set(int index, Tick tick) {
+        checkIndex(index, size);
+        checkTimePeriod(tick);
+        Tick previousTick = new TickSnapshot(index);
+        write(index, tick);
+        return previousTick;
+    }
+
+    @Override
+    public void add(int index, Tick tick) {
+        checkIndex(index, size + 1);
+        checkTimePeriod(tick);
+        ensureCapacity(size + 1);
+        if (index < size) {
+            shift(index, index + 1, size - index);
+        }
+        write(index, tick);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Tick remove(int index) {
+        checkIndex(index, size);
+        Tick removedTick = new TickSnapshot(index);
+        removeRange(index, index + 1);
+        return removedTick;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public double getOpenPrice(int index) {
+        checkIndex(index, size);
+        return openPrices[index];
+    }
+
+    @Override
+    public double getMaxPrice(int index) {
+        checkIndex(index, size);
+        return maxPrices[index];
+    }
+
+    @Override
+    public double getMinPrice(int index) {
+        checkIndex(index, size);
+        return minPrices[index];
+    }
+
+    @Override
+    public double getClosePrice(int index) {
+        checkIndex(index, size);
+        return closePrices[index];
+    }
+
+    @Override
+    public long getEndTimeMillis(int index) {
+        checkIndex(index, size);
+        return endTimes[index];
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        final int nbRemovedTicks = toIndex - fromIndex;
+        if (nbRemovedTicks > 0) {
+            shift(toIndex, fromIndex, size - toIndex);
+            size -= nbRemovedTicks;
+            modCount++;
+        }
+    }
+
+    /**
+     * Writes the values of a tick at a position.
+     * @param index the position
+     * @param tick the tick
+     */
+    private void write(int index, Tick tick) {
+        endTimes[index] = tick.getEndTime().getMillis();
+        openPrices[index] = PrimitiveTickView.toPrimitive(tick.getOpenPrice());
+        maxPrices[index] = PrimitiveTickView.toPrimitive(tick.getMaxPrice());
+        minPrices[index] = PrimitiveTickView.toPrimitive(tick.getMinPrice());
+        closePrices[index] = PrimitiveTickView.toPrimitive(tick.getClosePrice());
+        amounts[index] = PrimitiveTickView.toPrimitive(tick.getAmount());
+        volumes[index] = PrimitiveTickView.toPrimitive(tick.getVolume());
+        trades[index] = tick.getTrades();
+    }
+
+    /**
+     * Moves the values of consecutive ticks.
+     * @param srcIndex the first source position
+     * @param destIndex the first destination position
+     * @param length the number of ticks to move
+     */
+    private void shift(int srcIndex, int destIndex, int length) {
+        System.arraycopy(endTimes, srcIndex, endTimes, destIndex, length);
+        System.arraycopy(openPrices, srcIndex, openPrices, destIndex, length);
+        System.arraycopy(maxPrices, srcIndex, maxPrices, destIndex, length);
+        System.arraycopy(minPrices, srcIndex, minPrices, destIndex, length);
+        System.arraycopy(closePrices, srcIndex, closePrices, destIndex, length);
+        System.arraycopy(amounts, srcIndex, amounts, destIndex, length);
+        System.arraycopy(volumes, srcIndex, volumes, destIndex, length);
+        System.arraycopy(trades, srcIndex, trades, destIndex, length);
+    }
+
+    /**
+     * Grows the arrays (if needed) so that they can hold the provided number of ticks.
+     * @param minCapacity the minimum capacity
+     */
+    private void ensureCapacity(int minCapacity) {
+        final int capacity = endTimes.length;
+        if (minCapacity > capacity) {
+            int newCapacity = Math.max(DEFAULT_INITIAL_CAPACITY, capacity + (capacity >> 1));
+            if (newCapacity < minCapacity || newCapacity < 0) {
+                newCapacity = minCapacity;
+            }
+            endTimes = Arrays.copyOf(endTimes, newCapacity);
+            openPrices = Arrays.copyOf(openPrices, newCapacity);
+            maxPrices = Arrays.copyOf(maxPrices, newCapacity);
+            minPrices = Arrays.copyOf(minPrices, newCapacity);
+            closePrices = Arrays.copyOf(closePrices, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            volumes = Arrays.copyOf(volumes, newCapacity);
+            trades = Arrays.copyOf(trades, newCapacity);
+        }
+    }
+
+    /**
+     * @param tick a tick
+     * @throws IllegalArgumentException if the tick is null or if its time period differs from the one of the list
+     */
+    private void checkTimePeriod(Tick tick) {
+        if (tick == null) {
+            throw new IllegalArgumentException("Cannot add null tick");
+        }
+        if (!timePeriod.equals(tick.getTimePeriod())) {
+            throw new IllegalArgumentException("Tick time period (" + tick.getTimePeriod()
+                    + ") differs from the one of the list (" + timePeriod + ")");
+        }
+    }
+
+    /**
+     * @param index an index
+     * @param upperBound the upper bound (exclusive) of the index
+     */
+    private static void checkIndex(int index, int upperBound) {
+        if (index < 0 || index >= upperBound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + upperBound);
+        }
+    }
+
+    /**
+     * Read-only snapshot of a tick of the list.
+     */
+    private class TickSnapshot extends PrimitiveTickView {
+
+        // Values of the position at the time of the snapshot
+        private final long endTimeMillis;
+        private final double openPrice;
+        private final double maxPrice;
+        private final double minPrice;
+        private final double closePrice;
+        private final double amount;
+        private final double volume;
+        private final int trades;
+
+        /**
+         * Constructor.
+         * @param index the position of the tick in the list
+         */
+        TickSnapshot(int index) {
+            super(timePeriod);
+            endTimeMillis = endTimes[index];
+            openPrice = openPrices[index];
+            maxPrice = maxPrices[index];
+            minPrice = minPrices[index];
+            closePrice = closePrices[index];
+            amount = amounts[index];
+            volume = volumes[index];
+            trades = ColumnarTickList.this.trades[index];
+        }
+
+        @Override
+        long endTimeMillis() {
+            return endTimeMillis;
+        }
+
+        @Override
+        double openPrice() {
+            return openPrice;
+        }
+
+        @Override
+        double maxPrice() {
+            return maxPrice;
+        }
+
+        @Override
+        double minPrice() {
+            return minPrice;
+        }
+
+        @Override
+        double closePrice() {
+            return closePrice;
+        }
+
+        @Override
+        double amount() {
+            return amount;
+        }
+
+        @Override
+        double volume() {
+            return volume;
+        }
+
+        @Override
+        int trades() {
+            return trades;
+        }
+    }
+}
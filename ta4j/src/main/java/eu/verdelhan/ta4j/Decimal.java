@@ -30,6 +30,11 @@ import java.math.RoundingMode;
  * Immutable, arbitrary-precision signed decimal numbers designed for technical analysis.
  * <p>
  * A {@code Decimal} consists of a {@code BigDecimal} with arbitrary {@link MathContext} (precision and rounding mode).
+ * <p>
+ * A {@code Decimal} may also be backed by a primitive {@code double} (see {@link #doubleBackedValueOf(double)}).
+ * Double-backed decimals trade precision for speed: their arithmetic runs on primitive doubles instead of
+ * {@code BigDecimal} computations. Any operation involving a double-backed decimal returns a double-backed decimal,
+ * so that a whole indicator graph built on a double-backed {@link TimeSeries time series} runs on doubles.
  *
  * @see BigDecimal
  * @see MathContext
@@ -50,14 +55,19 @@ public final class Decimal implements Comparable<Decimal> {
     public static final Decimal HUNDRED = valueOf(100);
     public static final Decimal THOUSAND = valueOf(1000);
 
+    /** The BigDecimal value (null for NaN and double-backed instances) */
     private final BigDecimal delegate;
 
+    /** The primitive value (only used by double-backed instances) */
+    private final double primitive;
+
     /**
      * Constructor.
      * Only used for NaN instance.
      */
     private Decimal() {
         delegate = null;
+        primitive = Double.NaN;
     }
 
     /**
@@ -66,6 +76,7 @@ public final class Decimal implements Comparable<Decimal> {
      */
     private Decimal(String val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = Double.NaN;
     }
 
     /**
@@ -74,18 +85,32 @@ public final class Decimal implements Comparable<Decimal> {
      */
     private Decimal(double val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = Double.NaN;
     }
 
     private Decimal(int val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = Double.NaN;
     }
 
     private Decimal(long val) {
         delegate = new BigDecimal(val, MATH_CONTEXT);
+        primitive = Double.NaN;
     }
 
     private Decimal(BigDecimal val) {
         delegate = val;
+        primitive = Double.NaN;
+    }
+
+    /**
+     * Constructor of a double-backed decimal.
+     * @param val the primitive value
+     * @param doubleBacked marker argument (always true)
+     */
+    private Decimal(double val, boolean doubleBacked) {
+        delegate = null;
+        primitive = val;
     }
 
     /**
@@ -99,6 +124,9 @@ public final class Decimal implements Comparable<Decimal> {
         if ((this == NaN) || (augend == NaN)) {
             return NaN;
         }
+        if (delegate == null || augend.delegate == null) {
+            return doubleBackedValueOf(toDouble() + augend.toDouble());
+        }
         return new Decimal(delegate.add(augend.delegate, MATH_CONTEXT));
     }
 
@@ -113,6 +141,9 @@ public final class Decimal implements Comparable<Decimal> {
         if ((this == NaN) || (subtrahend == NaN)) {
             return NaN;
         }
+        if (delegate == null || subtrahend.delegate == null) {
+            return doubleBackedValueOf(toDouble() - subtrahend.toDouble());
+        }
         return new Decimal(delegate.subtract(subtrahend.delegate, MATH_CONTEXT));
     }
 
@@ -127,6 +158,9 @@ public final class Decimal implements Comparable<Decimal> {
         if ((this == NaN) || (multiplicand == NaN)) {
             return NaN;
         }
+        if (delegate == null || multiplicand.delegate == null) {
+            return doubleBackedValueOf(toDouble() * multiplicand.toDouble());
+        }
         return new Decimal(delegate.multiply(multiplicand.delegate, MATH_CONTEXT));
     }
 
@@ -141,6 +175,9 @@ public final class Decimal implements Comparable<Decimal> {
         if ((this == NaN) || (divisor == NaN) || divisor.isZero()) {
             return NaN;
         }
+        if (delegate == null || divisor.delegate == null) {
+            return doubleBackedValueOf(toDouble() / divisor.toDouble());
+        }
         return new Decimal(delegate.divide(divisor.delegate, MATH_CONTEXT));
     }
 
@@ -155,6 +192,9 @@ public final class Decimal implements Comparable<Decimal> {
         if ((this == NaN) || (divisor == NaN) || divisor.isZero()) {
             return NaN;
         }
+        if (delegate == null || divisor.delegate == null) {
+            return doubleBackedValueOf(toDouble() % divisor.toDouble());
+        }
         return new Decimal(delegate.remainder(divisor.delegate, MATH_CONTEXT));
     }
 
@@ -169,6 +209,9 @@ public final class Decimal implements Comparable<Decimal> {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBackedValueOf(Math.pow(primitive, n));
+        }
         return new Decimal(delegate.pow(n, MATH_CONTEXT));
     }
     
@@ -182,6 +225,9 @@ public final class Decimal implements Comparable<Decimal> {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBackedValueOf(StrictMath.log(primitive));
+        }
         return new Decimal(StrictMath.log(delegate.doubleValue()));
     }
 
@@ -195,6 +241,9 @@ public final class Decimal implements Comparable<Decimal> {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return doubleBackedValueOf(StrictMath.sqrt(primitive));
+        }
         return new Decimal(StrictMath.sqrt(delegate.doubleValue()));
     }
 
@@ -207,6 +256,9 @@ public final class Decimal implements Comparable<Decimal> {
         if (this == NaN) {
             return NaN;
         }
+        if (delegate == null) {
+            return primitive < 0 ? new Decimal(-primitive, true) : this;
+        }
         return new Decimal(delegate.abs());
     }
 
@@ -338,6 +390,11 @@ public final class Decimal implements Comparable<Decimal> {
         if ((this == NaN) || (other == NaN)) {
             return 0;
         }
+        if (delegate == null || other.delegate == null) {
+            final double thisValue = toDouble();
+            final double otherValue = other.toDouble();
+            return thisValue < otherValue ? -1 : (thisValue > otherValue ? 1 : 0);
+        }
         return delegate.compareTo(other.delegate);
     }
 
@@ -377,25 +434,57 @@ public final class Decimal implements Comparable<Decimal> {
      * @see BigDecimal#doubleValue()
      */
     public double toDouble() {
-        if (this == NaN) {
-            return Double.NaN;
+        if (delegate == null) {
+            // NaN or double-backed
+            return primitive;
         }
         return delegate.doubleValue();
     }
 
+    /**
+     * @return true if this {@code Decimal} is backed by a primitive {@code double}, false otherwise
+     * @see #doubleBackedValueOf(double)
+     */
+    public boolean isDoubleBacked() {
+        return (delegate == null) && (this != NaN);
+    }
+
+    /**
+     * Converts this {@code Decimal} to a double-backed one.
+     * @return a double-backed {@code Decimal} with the same (double) value, {@code this} if already double-backed
+     * @see #doubleBackedValueOf(double)
+     */
+    public Decimal toDoubleBacked() {
+        if (delegate == null) {
+            // NaN or already double-backed
+            return this;
+        }
+        return new Decimal(delegate.doubleValue(), true);
+    }
+
     @Override
     public String toString() {
         if (this == NaN) {
             return "NaN";
         }
+        if (delegate == null) {
+            return Double.toString(primitive);
+        }
         return delegate.toString();
     }
 
+    /**
+     * {@inheritDoc}
+     * The hash code is computed from the double value, so that equal BigDecimal-backed and double-backed
+     * instances share the same hash code.
+     */
     @Override
     public int hashCode() {
-        int hash = 7;
-        hash = 53 * hash + (this.delegate != null ? this.delegate.hashCode() : 0);
-        return hash;
+        if (this == NaN) {
+            return 7;
+        }
+        long bits = Double.doubleToLongBits(toDouble() + 0.0); // + 0.0 collapses -0.0 into 0.0
+        return 53 * 7 + (int) (bits ^ (bits >>> 32));
     }
 
     /**
@@ -411,11 +500,10 @@ public final class Decimal implements Comparable<Decimal> {
             return false;
         }
         final Decimal other = (Decimal) obj;
-        if (this.delegate != other.delegate
-                && (this.delegate == null || (this.delegate.compareTo(other.delegate) != 0))) {
-            return false;
+        if ((this == NaN) || (other == NaN)) {
+            return this == other;
         }
-        return true;
+        return compareTo(other) == 0;
     }
 
     public static Decimal valueOf(String val) {
@@ -439,4 +527,19 @@ public final class Decimal implements Comparable<Decimal> {
     public static Decimal valueOf(long val) {
         return new Decimal(val);
     }
+
+    /**
+     * Returns a {@code Decimal} backed by a primitive {@code double}.
+     * <p>
+     * Arithmetic on double-backed decimals is much cheaper than on BigDecimal-backed ones,
+     * at the cost of the double precision (about 15 significant digits).
+     * @param val the double value
+     * @return a double-backed {@code Decimal}, or {@link #NaN} if val is not a number
+     */
+    public static Decimal doubleBackedValueOf(double val) {
+        if (Double.isNaN(val)) {
+            return NaN;
+        }
+        return new Decimal(val, true);
+    }
 }
@@ -0,0 +1,341 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+
+/**
+ * Memory-mapped list of {@link Tick ticks}.
+ * <p>
+ * The ticks are stored in a binary file (see {@link #write(File, List)}) which is mapped into memory when
+ * {@link #open(File) opened}. Nothing is loaded on the heap: the pages of the file are read on demand and shared
+ * (through the page cache) between all the processes mapping the file. A {@link TimeSeries time series} built over
+ * such a list opens instantly, whatever the length of the history, and {@link TimeSeries#isDoubleBacked() is double-backed}.
+ * <p>
+ * The list is read-only: the series built over it cannot receive new ticks nor have a maximum tick count.
+ * As in a {@link ColumnarTickList columnar list}, the ticks returned by {@link #get(int)} are lightweight views whose prices,
+ * amounts and volumes are {@link Decimal#doubleBackedValueOf(double) double-backed decimals} (created once per view).
+ * <p>
+ * File format (big-endian):
+ * <ul>
+ * <li>header: magic number ({@code int}), format version ({@code int}), tick count ({@code int}), time period of the ticks
+ * (ISO-8601, {@link java.io.DataOutput#writeUTF(String) modified UTF-8})
+ * <li>end times of the ticks (epoch millis, one {@code long} per tick)
+ * <li>open prices, max prices, min prices, close prices, amounts, volumes (one block of {@code double}s per field, NaN if none)
+ * <li>trade counts of the ticks (one {@code int} per tick)
+ * </ul>
+ */
+public class MappedTickList extends AbstractList<Tick> implements RandomAccess, PrimitiveTickList {
+
+    /** Magic number of the tick files ("TA4J") */
+    private static final int MAGIC_NUMBER = 0x5441344A;
+
+    /** Version of the file format */
+    private static final int FORMAT_VERSION = 1;
+
+    /** Time period of the ticks */
+    private final Period timePeriod;
+
+    /** Number of ticks */
+    private final int size;
+
+    /** End times of the ticks (epoch millis) */
+    private final LongBuffer endTimes;
+
+    /** Open prices of the ticks (NaN if none) */
+    private final DoubleBuffer openPrices;
+
+    /** Max prices of the ticks (NaN if none) */
+    private final DoubleBuffer maxPrices;
+
+    /** Min prices of the ticks (NaN if none) */
+    private final DoubleBuffer minPrices;
+
+    /** Close prices of the ticks (NaN if none) */
+    private final DoubleBuffer closePrices;
+
+    /** Traded amounts of the ticks */
+    private final DoubleBuffer amounts;
+
+    /** Volumes of the ticks */
+    private final DoubleBuffer volumes;
+
+    /** Trade counts of the ticks */
+    private final IntBuffer trades;
+
+    /**
+     * Constructor.
+     * @param channel the channel of the tick file
+     * @param timePeriod the time period of the ticks
+     * @param size the number of ticks
+     * @param offset the position of the first block (end times) in the file
+     * @throws IOException if the file cannot be mapped
+     */
+    private MappedTickList(FileChannel channel, Period timePeriod, int size, long offset) throws IOException {
+        this.timePeriod = timePeriod;
+        this.size = size;
+        final long longBlockSize = 8L * size;
+        endTimes = channel.map(FileChannel.MapMode.READ_ONLY, offset, longBlockSize).asLongBuffer();
+        long position = offset + longBlockSize;
+        openPrices = mapDoubles(channel, position, size);
+        position += longBlockSize;
+        maxPrices = mapDoubles(channel, position, size);
+        position += longBlockSize;
+        minPrices = mapDoubles(channel, position, size);
+        position += longBlockSize;
+        closePrices = mapDoubles(channel, position, size);
+        position += longBlockSize;
+        amounts = mapDoubles(channel, position, size);
+        position += longBlockSize;
+        volumes = mapDoubles(channel, position, size);
+        position += longBlockSize;
+        trades = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * size).asIntBuffer();
+    }
+
+    /**
+     * Opens a tick file.
+     * <p>
+     * The file is mapped into memory; it must not be modified while the list is in use.
+     * @param file the tick file (see {@link #write(File, List)})
+     * @return the list of the ticks of the file
+     * @throws IOException if the file cannot be read or is not a valid tick file
+     */
+    public static MappedTickList open(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            if (randomAccessFile.readInt() != MAGIC_NUMBER) {
+                throw new IOException("Not a tick file: " + file);
+            }
+            final int version = randomAccessFile.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported tick file version: " + version);
+            }
+            final int size = randomAccessFile.readInt();
+            final Period timePeriod = Period.parse(randomAccessFile.readUTF());
+            final long offset = randomAccessFile.getFilePointer();
+            if (size < 0 || randomAccessFile.length() != offset + recordSize() * size) {
+                throw new IOException("Truncated or corrupted tick file: " + file);
+            }
+            // The mapping remains valid once the file is closed
+            return new MappedTickList(randomAccessFile.getChannel(), timePeriod, size, offset);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Writes ticks to a tick file.
+     * @param file the tick file (overwritten if it exists)
+     * @param ticks the ticks to be written (sharing the same time period)
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(File file, List<Tick> ticks) throws IOException {
+        if (ticks.isEmpty()) {
+            throw new IllegalArgumentException("Cannot write an empty list of ticks");
+        }
+        final Period timePeriod = ticks.get(0).getTimePeriod();
+        for (Tick tick : ticks) {
+            if (!timePeriod.equals(tick.getTimePeriod())) {
+                throw new IllegalArgumentException("Tick time period (" + tick.getTimePeriod()
+                        + ") differs from the one of the first tick (" + timePeriod + ")");
+            }
+        }
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        try {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(ticks.size());
+            output.writeUTF(timePeriod.toString());
+            for (Tick tick : ticks) {
+                output.writeLong(tick.getEndTime().getMillis());
+            }
+            for (Tick tick : ticks) {
+                output.writeDouble(PrimitiveTickView.toPrimitive(tick.getOpenPrice()));
+            }
+            for (Tick tick : ticks) {
+                output.writeDouble(PrimitiveTickView.toPrimitive(tick.getMaxPrice()));
+            }
+            for (Tick tick : ticks) {
+                output.writeDouble(PrimitiveTickView.toPrimitive(tick.getMinPrice()));
+            }
+            for (Tick tick : ticks) {
+                output.writeDouble(PrimitiveTickView.toPrimitive(tick.getClosePrice()));
+            }
+            for (Tick tick : ticks) {
+                output.writeDouble(PrimitiveTickView.toPrimitive(tick.getAmount()));
+            }
+            for (Tick tick : ticks) {
+                output.writeDouble(PrimitiveTickView.toPrimitive(tick.getVolume()));
+            }
+            for (Tick tick : ticks) {
+                output.writeInt(tick.getTrades());
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * @return the time period of the ticks
+     */
+    public Period getTimePeriod() {
+        return timePeriod;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Tick get(int index) {
+        checkIndex(index);
+        return new TickView(index);
+    }
+
+    @Override
+    public double getOpenPrice(int index) {
+        checkIndex(index);
+        return openPrices.get(index);
+    }
+
+    @Override
+    public double getMaxPrice(int index) {
+        checkIndex(index);
+        return maxPrices.get(index);
+    }
+
+    @Override
+    public double getMinPrice(int index) {
+        checkIndex(index);
+        return minPrices.get(index);
+    }
+
+    @Override
+    public double getClosePrice(int index) {
+        checkIndex(index);
+        return closePrices.get(index);
+    }
+
+    @Override
+    public long getEndTimeMillis(int index) {
+        checkIndex(index);
+        return endTimes.get(index);
+    }
+
+    /**
+     * @param index an index
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    /**
+     * @return the number of bytes per tick in a tick file
+     */
+    private static long recordSize() {
+        // End time, 6 doubles, trade count
+        return 8 + 6 * 8 + 4;
+    }
+
+    /**
+     * @param channel a file channel
+     * @param position the position of the block
+     * @param count the number of doubles in the block
+     * @return the mapped block of doubles
+     * @throws IOException if the block cannot be mapped
+     */
+    private static DoubleBuffer mapDoubles(FileChannel channel, long position, int count) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, 8L * count).asDoubleBuffer();
+    }
+
+    /**
+     * Read-only view of a tick of the list.
+     */
+    private class TickView extends PrimitiveTickView {
+
+        /** Position of the tick in the list */
+        private final int index;
+
+        TickView(int index) {
+            super(timePeriod);
+            this.index = index;
+        }
+
+        @Override
+        long endTimeMillis() {
+            return endTimes.get(index);
+        }
+
+        @Override
+        double openPrice() {
+            return openPrices.get(index);
+        }
+
+        @Override
+        double maxPrice() {
+            return maxPrices.get(index);
+        }
+
+        @Override
+        double minPrice() {
+            return minPrices.get(index);
+        }
+
+        @Override
+        double closePrice() {
+            return closePrices.get(index);
+        }
+
+        @Override
+        double amount() {
+            return amounts.get(index);
+        }
+
+        @Override
+        double volume() {
+            return volumes.get(index);
+        }
+
+        @Override
+        int trades() {
+            return trades.get(index);
+        }
+    }
+}
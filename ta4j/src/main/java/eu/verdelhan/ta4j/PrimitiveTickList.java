@@ -0,0 +1,63 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+/**
+ * List of {@link Tick ticks} whose values are stored as primitives.
+ * <p>
+ * The values are read from the primitive storage, without building any tick.
+ * @see ColumnarTickList
+ * @see MappedTickList
+ */
+interface PrimitiveTickList {
+
+    /**
+     * @param index the index of a tick
+     * @return the end time of the tick (epoch millis)
+     */
+    long getEndTimeMillis(int index);
+
+    /**
+     * @param index the index of a tick
+     * @return the open price of the tick (NaN if none)
+     */
+    double getOpenPrice(int index);
+
+    /**
+     * @param index the index of a tick
+     * @return the max price of the tick (NaN if none)
+     */
+    double getMaxPrice(int index);
+
+    /**
+     * @param index the index of a tick
+     * @return the min price of the tick (NaN if none)
+     */
+    double getMinPrice(int index);
+
+    /**
+     * @param index the index of a tick
+     * @return the close price of the tick (NaN if none)
+     */
+    double getClosePrice(int index);
+}
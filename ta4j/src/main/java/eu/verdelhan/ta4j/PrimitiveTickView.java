@@ -0,0 +1,208 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+
+/**
+ * Read-only view of a {@link Tick tick} whose values are stored as primitives.
+ * <p>
+ * Base class of the ticks of the {@link ColumnarTickList columnar} and {@link MappedTickList memory-mapped} lists:
+ * the subclasses only read the primitive values from their storage. The prices, amounts and volumes are
+ * {@link Decimal#doubleBackedValueOf(double) double-backed decimals} (null if the primitive value is NaN).
+ * <p>
+ * The primitive values of a view must not change: the decimals and the end time are created on first access,
+ * then returned again by the next calls.
+ */
+abstract class PrimitiveTickView extends Tick {
+
+    /** Time period of the tick */
+    private final Period timePeriod;
+
+    /** End time of the tick (lazily created) */
+    private DateTime endTime;
+
+    /** Open price of the tick (lazily created) */
+    private Decimal openPriceDecimal;
+
+    /** Max price of the tick (lazily created) */
+    private Decimal maxPriceDecimal;
+
+    /** Min price of the tick (lazily created) */
+    private Decimal minPriceDecimal;
+
+    /** Close price of the tick (lazily created) */
+    private Decimal closePriceDecimal;
+
+    /** Traded amount of the tick (lazily created) */
+    private Decimal amountDecimal;
+
+    /** Volume of the tick (lazily created) */
+    private Decimal volumeDecimal;
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period of the tick
+     */
+    PrimitiveTickView(Period timePeriod) {
+        this.timePeriod = timePeriod;
+    }
+
+    /**
+     * @return the end time of the tick (epoch millis)
+     */
+    abstract long endTimeMillis();
+
+    /**
+     * @return the open price of the tick (NaN if none)
+     */
+    abstract double openPrice();
+
+    /**
+     * @return the max price of the tick (NaN if none)
+     */
+    abstract double maxPrice();
+
+    /**
+     * @return the min price of the tick (NaN if none)
+     */
+    abstract double minPrice();
+
+    /**
+     * @return the close price of the tick (NaN if none)
+     */
+    abstract double closePrice();
+
+    /**
+     * @return the traded amount of the tick
+     */
+    abstract double amount();
+
+    /**
+     * @return the volume of the tick
+     */
+    abstract double volume();
+
+    /**
+     * @return the trade count of the tick
+     */
+    abstract int trades();
+
+    @Override
+    public Decimal getOpenPrice() {
+        if (openPriceDecimal == null) {
+            openPriceDecimal = toDecimal(openPrice());
+        }
+        return openPriceDecimal;
+    }
+
+    @Override
+    public Decimal getMaxPrice() {
+        if (maxPriceDecimal == null) {
+            maxPriceDecimal = toDecimal(maxPrice());
+        }
+        return maxPriceDecimal;
+    }
+
+    @Override
+    public Decimal getMinPrice() {
+        if (minPriceDecimal == null) {
+            minPriceDecimal = toDecimal(minPrice());
+        }
+        return minPriceDecimal;
+    }
+
+    @Override
+    public Decimal getClosePrice() {
+        if (closePriceDecimal == null) {
+            closePriceDecimal = toDecimal(closePrice());
+        }
+        return closePriceDecimal;
+    }
+
+    @Override
+    public Decimal getAmount() {
+        if (amountDecimal == null) {
+            amountDecimal = toDecimal(amount());
+        }
+        return amountDecimal;
+    }
+
+    @Override
+    public Decimal getVolume() {
+        if (volumeDecimal == null) {
+            volumeDecimal = toDecimal(volume());
+        }
+        return volumeDecimal;
+    }
+
+    @Override
+    public int getTrades() {
+        return trades();
+    }
+
+    @Override
+    public Period getTimePeriod() {
+        return timePeriod;
+    }
+
+    @Override
+    public DateTime getEndTime() {
+        if (endTime == null) {
+            endTime = new DateTime(endTimeMillis());
+        }
+        return endTime;
+    }
+
+    @Override
+    public DateTime getBeginTime() {
+        return getEndTime().minus(timePeriod);
+    }
+
+    @Override
+    public void addTrade(Decimal tradeAmount, Decimal tradePrice) {
+        throw new UnsupportedOperationException("Cannot add a trade to a tick view");
+    }
+
+    @Override
+    void convertToDoubleBacked() {
+        // Values already double-backed
+    }
+
+    /**
+     * @param value a decimal value (may be null)
+     * @return the primitive value, NaN if null
+     */
+    static double toPrimitive(Decimal value) {
+        return value == null ? Double.NaN : value.toDouble();
+    }
+
+    /**
+     * @param value a primitive value
+     * @return the double-backed decimal value, null if NaN
+     */
+    static Decimal toDecimal(double value) {
+        return Double.isNaN(value) ? null : Decimal.doubleBackedValueOf(value);
+    }
+}
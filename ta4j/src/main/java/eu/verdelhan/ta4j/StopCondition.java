@@ -0,0 +1,45 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+/**
+ * A stop condition of a backtest.
+ * <p>
+ * Stop conditions are evaluated on each tick when {@link TimeSeries#run(Strategy, Order.OrderType, Decimal, StopCondition...) running}
+ * a strategy. As soon as one of them is satisfied the run is aborted, and the trading record
+ * {@link TradingRecord#getStopCondition() reports} the condition which stopped it.
+ * It allows to prune the hopeless variants of a parameter search early.
+ * <p>
+ * Stop conditions must be stateless: the same condition may be used by several runs at the same time.
+ * Their {@link Object#toString() string representation} should describe the reason of the stop.
+ */
+public interface StopCondition {
+
+    /**
+     * @param series the time series
+     * @param index the tick index
+     * @param tradingRecord the trading record of the run (including the order of the index, if any)
+     * @return true if the run should be stopped at the provided index, false otherwise
+     */
+    boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord);
+}
@@ -22,6 +22,8 @@
  */
 package eu.verdelhan.ta4j;
 
+import eu.verdelhan.ta4j.indicators.AbstractIndicator;
+import eu.verdelhan.ta4j.indicators.IndicatorGraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +33,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * A strategy is a pair of complementary {@link Rule rules}. It may recommend to enter or to exit.
  * Recommendations are based respectively on the entry rule or on the exit rule.
+ * <p>
+ * Once the values of the indicators are computed for a tick (e.g. by an {@link eu.verdelhan.ta4j.streaming.IndicatorStream indicator stream}),
+ * asking a strategy of {@link eu.verdelhan.ta4j.trading.rules core rules} whether it should operate
+ * on a series of {@link TimeSeries#useDoubleBackedDecimals() double-backed decimals} does not allocate any object.
  */
 public class Strategy {
 
@@ -77,6 +83,24 @@ public class Strategy {
     public void setUnstablePeriod(int unstablePeriod) {
         this.unstablePeriod = unstablePeriod;
     }
+
+    /**
+     * @return the unstable period of the strategy (number of ticks)
+     */
+    public int getUnstablePeriod() {
+        return unstablePeriod;
+    }
+
+    /**
+     * Extends the unstable period of the strategy to the one of the indicators held by its rules.
+     * <p>
+     * The strategy does not recommend anything until all its indicators are {@link AbstractIndicator#getUnstablePeriod() stable}.
+     * Since the rules are not evaluated during the unstable period, the warm-up values of the indicators are not computed
+     * (except the ones needed by the recursive indicators).
+     */
+    public void useIndicatorsUnstablePeriod() {
+        unstablePeriod = Math.max(unstablePeriod, IndicatorGraph.getUnstablePeriod(this));
+    }
     
     /**
      * @param index the tick index
@@ -143,7 +167,9 @@ public class Strategy {
      * @param enter true if the strategy should enter, false otherwise
      */
     protected void traceShouldEnter(int index, boolean enter) {
-        log.trace(">>> {}#shouldEnter({}): {}", getClass().getSimpleName(), index, enter);
+        if (log.isTraceEnabled()) {
+            log.trace(">>> {}#shouldEnter({}): {}", getClass().getSimpleName(), index, enter);
+        }
     }
 
     /**
@@ -152,6 +178,8 @@ public class Strategy {
      * @param exit true if the strategy should exit, false otherwise
      */
     protected void traceShouldExit(int index, boolean exit) {
-        log.trace(">>> {}#shouldExit({}): {}", getClass().getSimpleName(), index, exit);
+        if (log.isTraceEnabled()) {
+            log.trace(">>> {}#shouldExit({}): {}", getClass().getSimpleName(), index, exit);
+        }
     }
 }
@@ -53,6 +53,15 @@ public class Tick {
     /** Trade count */
     private int trades = 0;
 
+    /**
+     * Constructor of tick views.
+     * <p>
+     * For subclasses which do not hold their values in the fields of this class
+     * (e.g. views over a {@link ColumnarTickList columnar} or {@link MappedTickList memory-mapped} storage).
+     */
+    protected Tick() {
+    }
+
     /**
      * Constructor.
      * @param timePeriod the time period
@@ -134,6 +143,25 @@ public class Tick {
         this.volume = volume;
     }
 
+    /**
+     * Constructor (with all the values of the tick).
+     * @param timePeriod the time period
+     * @param endTime the end time of the tick period
+     * @param openPrice the open price of the tick period
+     * @param highPrice the highest price of the tick period
+     * @param lowPrice the lowest price of the tick period
+     * @param closePrice the close price of the tick period
+     * @param volume the volume of the tick period
+     * @param amount the traded amount of the tick period
+     * @param trades the trade count of the tick period
+     */
+    public Tick(Period timePeriod, DateTime endTime, Decimal openPrice, Decimal highPrice, Decimal lowPrice, Decimal closePrice,
+            Decimal volume, Decimal amount, int trades) {
+        this(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume);
+        this.amount = amount;
+        this.trades = trades;
+    }
+
     /**
      * @return the close price of the period
      */
@@ -251,7 +279,7 @@ public class Tick {
     @Override
     public String toString() {
         return String.format("[time: %1$td/%1$tm/%1$tY %1$tH:%1$tM:%1$tS, close price: %2$f]",
-                endTime.toGregorianCalendar(), closePrice.toDouble());
+                getEndTime().toGregorianCalendar(), getClosePrice().toDouble());
     }
 
     /**
@@ -260,14 +288,16 @@ public class Tick {
      */
     public boolean inPeriod(DateTime timestamp) {
         return timestamp != null
-                && !timestamp.isBefore(beginTime)
-                && timestamp.isBefore(endTime);
+                && !timestamp.isBefore(getBeginTime())
+                && timestamp.isBefore(getEndTime());
     }
 
     /**
      * @return true if this is a bearish tick, false otherwise
      */
     public boolean isBearish() {
+        Decimal openPrice = getOpenPrice();
+        Decimal closePrice = getClosePrice();
         return (openPrice != null) && (closePrice != null) && closePrice.isLessThan(openPrice);
     }
 
@@ -275,6 +305,8 @@ public class Tick {
      * @return true if this is a bullish tick, false otherwise
      */
     public boolean isBullish() {
+        Decimal openPrice = getOpenPrice();
+        Decimal closePrice = getClosePrice();
         return (openPrice != null) && (closePrice != null) && openPrice.isLessThan(closePrice);
     }
     
@@ -282,14 +314,35 @@ public class Tick {
      * @return a human-friendly string of the end timestamp
      */
     public String getDateName() {
-        return endTime.toString("hh:mm dd/MM/yyyy");
+        return getEndTime().toString("hh:mm dd/MM/yyyy");
     }
 
     /**
      * @return a even more human-friendly string of the end timestamp
      */
     public String getSimpleDateName() {
-        return endTime.toString("dd/MM/yyyy");
+        return getEndTime().toString("dd/MM/yyyy");
+    }
+
+    /**
+     * Converts the prices, amount and volume of the tick to double-backed decimals.
+     * @see Decimal#toDoubleBacked()
+     */
+    void convertToDoubleBacked() {
+        openPrice = toDoubleBacked(openPrice);
+        closePrice = toDoubleBacked(closePrice);
+        maxPrice = toDoubleBacked(maxPrice);
+        minPrice = toDoubleBacked(minPrice);
+        amount = toDoubleBacked(amount);
+        volume = toDoubleBacked(volume);
+    }
+
+    /**
+     * @param value a decimal value (may be null)
+     * @return the double-backed value, or null if the value is null
+     */
+    private static Decimal toDoubleBacked(Decimal value) {
+        return value == null ? null : value.toDoubleBacked();
     }
 
     /**
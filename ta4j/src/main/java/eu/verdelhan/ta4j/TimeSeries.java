@@ -23,7 +23,9 @@
 package eu.verdelhan.ta4j;
 
 import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
@@ -44,6 +46,8 @@ import org.slf4j.LoggerFactory;
  */
 public class TimeSeries {
 
+    private static final StopCondition[] NO_STOP_CONDITIONS = new StopCondition[0];
+
     /** The logger */
     private final Logger log = LoggerFactory.getLogger(getClass());
     /** Name of the series */
@@ -60,8 +64,20 @@ public class TimeSeries {
     private int maximumTickCount = Integer.MAX_VALUE;
     /** Number of removed ticks */
     private int removedTicksCount = 0;
+    /**
+     * Position of the first tick in the list of ticks.
+     * Once the maximum tick count is reached, the list of ticks is used as a circular buffer:
+     * the first (i.e. oldest) tick is overwritten by each new tick and this position moves forward.
+     */
+    private int firstTickPosition = 0;
     /** True if the current series is a sub-series, false otherwise */
     private boolean subSeries = false;
+    /** True if the ticks of the series hold double-backed decimals, false otherwise */
+    private boolean doubleBacked = false;
+    /** True if the indicators built over the series may be shared between threads, false otherwise */
+    private boolean concurrentIndicators = false;
+    /** The registry of the indicators built over the series (null if not used) */
+    private IndicatorRegistry indicatorRegistry;
 
     /**
      * Constructor.
@@ -103,6 +119,36 @@ public class TimeSeries {
         this("unamed", timePeriod);
     }
 
+    /**
+     * Constructor of a series whose first ticks have already been removed.
+     * <p>
+     * The index of the first provided tick is removedTicksCount (e.g. to restore the window of a series
+     * limited to a {@link #setMaximumTickCount(int) maximum tick count}, keeping the indexes of its ticks).
+     * @param name the name of the series
+     * @param ticks the list of the retained ticks of the series (cannot be empty)
+     * @param removedTicksCount the number of ticks removed before the first provided one
+     * @param maximumTickCount the maximum tick count (Integer.MAX_VALUE if none)
+     */
+    public TimeSeries(String name, List<Tick> ticks, int removedTicksCount, int maximumTickCount) {
+        if (ticks.isEmpty()) {
+            throw new IllegalArgumentException("Ticks cannot be empty");
+        }
+        if (removedTicksCount < 0) {
+            throw new IllegalArgumentException("Removed ticks count cannot be negative");
+        }
+        if (maximumTickCount < ticks.size()) {
+            throw new IllegalArgumentException("Maximum tick count cannot be less than the number of ticks");
+        }
+        this.name = name;
+        this.ticks = ticks;
+        this.removedTicksCount = removedTicksCount;
+        this.maximumTickCount = maximumTickCount;
+        this.beginIndex = removedTicksCount;
+        this.endIndex = removedTicksCount + ticks.size() - 1;
+        this.doubleBacked = ticks instanceof PrimitiveTickList;
+        computeTimePeriod();
+    }
+
     /**
      * Constructor.
      * @param name the name of the series
@@ -121,6 +167,8 @@ public class TimeSeries {
         this.beginIndex = beginIndex;
         this.endIndex = endIndex;
         this.subSeries = subSeries;
+        // Columnar and mapped ticks hold double-backed decimals
+        this.doubleBacked = ticks instanceof PrimitiveTickList;
         computeTimePeriod();
     }
 
@@ -136,13 +184,101 @@ public class TimeSeries {
      * @return the tick at the i-th position
      */
     public Tick getTick(int i) {
+        return ticks.get(getListPosition(i));
+    }
+
+    /**
+     * @return true if the ticks are stored as primitives (i.e. in a {@link ColumnarTickList columnar}
+     * or a {@link MappedTickList memory-mapped} list), false otherwise
+     * @see #getClosePrice(int)
+     */
+    public boolean hasPrimitiveTicks() {
+        return ticks instanceof PrimitiveTickList;
+    }
+
+    /**
+     * Returns the end time of a tick as a primitive value.
+     * <p>
+     * When the series {@link #hasPrimitiveTicks() has primitive ticks}, the value is read from the primitive storage
+     * without building the tick (i.e. without any allocation).
+     * @param i an index
+     * @return the end time of the i-th tick (epoch millis)
+     */
+    public long getEndTimeMillis(int i) {
+        if (ticks instanceof PrimitiveTickList) {
+            return ((PrimitiveTickList) ticks).getEndTimeMillis(getListPosition(i));
+        }
+        return getTick(i).getEndTime().getMillis();
+    }
+
+    /**
+     * Returns the open price of a tick as a primitive value.
+     * @param i an index
+     * @return the open price of the i-th tick (NaN if none)
+     * @see #getClosePrice(int)
+     */
+    public double getOpenPrice(int i) {
+        if (ticks instanceof PrimitiveTickList) {
+            return ((PrimitiveTickList) ticks).getOpenPrice(getListPosition(i));
+        }
+        return PrimitiveTickView.toPrimitive(getTick(i).getOpenPrice());
+    }
+
+    /**
+     * Returns the max price of a tick as a primitive value.
+     * @param i an index
+     * @return the max price of the i-th tick (NaN if none)
+     * @see #getClosePrice(int)
+     */
+    public double getMaxPrice(int i) {
+        if (ticks instanceof PrimitiveTickList) {
+            return ((PrimitiveTickList) ticks).getMaxPrice(getListPosition(i));
+        }
+        return PrimitiveTickView.toPrimitive(getTick(i).getMaxPrice());
+    }
+
+    /**
+     * Returns the min price of a tick as a primitive value.
+     * @param i an index
+     * @return the min price of the i-th tick (NaN if none)
+     * @see #getClosePrice(int)
+     */
+    public double getMinPrice(int i) {
+        if (ticks instanceof PrimitiveTickList) {
+            return ((PrimitiveTickList) ticks).getMinPrice(getListPosition(i));
+        }
+        return PrimitiveTickView.toPrimitive(getTick(i).getMinPrice());
+    }
+
+    /**
+     * Returns the close price of a tick as a primitive value.
+     * <p>
+     * When the series {@link #hasPrimitiveTicks() has primitive ticks}, the value is read from the primitive storage
+     * without building the tick (i.e. without any allocation).
+     * @param i an index
+     * @return the close price of the i-th tick (NaN if none)
+     */
+    public double getClosePrice(int i) {
+        if (ticks instanceof PrimitiveTickList) {
+            return ((PrimitiveTickList) ticks).getClosePrice(getListPosition(i));
+        }
+        return PrimitiveTickView.toPrimitive(getTick(i).getClosePrice());
+    }
+
+    /**
+     * @param i an index
+     * @return the position of the i-th tick in the list of ticks
+     */
+    private int getListPosition(int i) {
         int innerIndex = i - removedTicksCount;
         if (innerIndex < 0) {
             if (i < 0) {
                 // Cannot return the i-th tick if i < 0
                 throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(this, i));
             }
-            log.trace("Time series `{}` ({} ticks): tick {} already removed, use {}-th instead", name, ticks.size(), i, removedTicksCount);
+            if (log.isTraceEnabled()) {
+                log.trace("Time series `{}` ({} ticks): tick {} already removed, use {}-th instead", name, ticks.size(), i, removedTicksCount);
+            }
             if (ticks.isEmpty()) {
                 throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(this, removedTicksCount));
             }
@@ -151,7 +287,7 @@ public class TimeSeries {
             // Cannot return the n-th tick if n >= ticks.size()
             throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(this, i));
         }
-        return ticks.get(innerIndex);
+        return toListPosition(innerIndex);
     }
 
     /**
@@ -220,7 +356,8 @@ public class TimeSeries {
      * Sets the maximum number of ticks that will be retained in the series.
      * <p>
      * If a new tick is added to the series such that the number of ticks will exceed the maximum tick count,
-     * then the FIRST tick in the series is automatically removed, ensuring that the maximum tick count is not exceeded.
+     * then the FIRST tick in the series is automatically removed, ensuring that the maximum tick count is not exceeded.<br>
+     * The removal is done in constant time: once full, the list of ticks is used as a circular buffer.
      * @param maximumTickCount the maximum tick count
      */
     public void setMaximumTickCount(int maximumTickCount) {
@@ -241,6 +378,94 @@ public class TimeSeries {
         return maximumTickCount;
     }
 
+    /**
+     * Switches the series to double-backed {@link Decimal decimals}.
+     * <p>
+     * The prices, amounts and volumes of the ticks (already in the series and to be added) are converted to double-backed
+     * decimals. Therefore all the indicators, rules and criteria built over the series run on primitive double arithmetic
+     * (faster, less precise) instead of BigDecimal arithmetic.<br>
+     * Warning: the ticks are converted in place.
+     * @see Decimal#doubleBackedValueOf(double)
+     */
+    public void useDoubleBackedDecimals() {
+        if (subSeries) {
+            throw new IllegalStateException("Cannot switch a sub-series to double-backed decimals");
+        }
+        if (!doubleBacked) {
+            doubleBacked = true;
+            for (Tick tick : ticks) {
+                tick.convertToDoubleBacked();
+            }
+        }
+    }
+
+    /**
+     * @return true if the series holds double-backed decimals, false otherwise
+     * @see #useDoubleBackedDecimals()
+     */
+    public boolean isDoubleBacked() {
+        return doubleBacked;
+    }
+
+    /**
+     * Switches the indicators built over the series to thread-safe caches.
+     * <p>
+     * The same indicator instances may then be read from several threads (e.g. several strategies sharing
+     * one indicator graph): already computed values are read without locking, and each indicator computes
+     * its missing values under its own lock.<br>
+     * Must be called before the indicators are shared between threads. The ticks must still be added
+     * while no thread reads the indicators.
+     */
+    public void useConcurrentIndicators() {
+        concurrentIndicators = true;
+    }
+
+    /**
+     * Attaches an {@link IndicatorRegistry indicator registry} to the series.
+     * <p>
+     * The composite indicators built over the series then intern their sub-indicators in the registry,
+     * so that each distinct computation (e.g. the EMAs of a MACD and of a PPO) is cached once.
+     * Must be called before the indicators are built.
+     * <p>
+     * As the interned sub-indicators are shared by all the indicators built over the series (possibly from
+     * several threads, e.g. by the strategy builders of a {@link eu.verdelhan.ta4j.analysis.BacktestExecutor}),
+     * the series is also switched to {@link #useConcurrentIndicators() concurrent indicators}.
+     */
+    public void useIndicatorRegistry() {
+        useIndicatorRegistry(indicatorRegistry == null ? new IndicatorRegistry() : indicatorRegistry);
+    }
+
+    /**
+     * Attaches an indicator registry to the series, or detaches the current one.
+     * <p>
+     * Attaching a registry also switches the series to {@link #useConcurrentIndicators() concurrent indicators}
+     * (see {@link #useIndicatorRegistry()}). Detaching it does not switch them back: the indicators already built
+     * may still be shared. The canonical indicators of a detached registry are no longer retained by the series.
+     * @param registry the registry of the indicators built over the series, null to detach the current one
+     */
+    public void useIndicatorRegistry(IndicatorRegistry registry) {
+        indicatorRegistry = registry;
+        if (registry != null) {
+            useConcurrentIndicators();
+        }
+    }
+
+    /**
+     * @return the registry of the indicators built over the series, null if not used
+     * @see #useIndicatorRegistry()
+     */
+    public IndicatorRegistry getIndicatorRegistry() {
+        return indicatorRegistry;
+    }
+
+    /**
+     * @return true if the indicators built over the series may be shared between threads, false otherwise
+     * @see #useConcurrentIndicators()
+     */
+    public boolean isUsingConcurrentIndicators() {
+        return concurrentIndicators;
+    }
+
     /**
      * @return the number of removed ticks
      */
@@ -261,21 +486,31 @@ public class TimeSeries {
         if (tick == null) {
             throw new IllegalArgumentException("Cannot add null tick");
         }
-        final int lastTickIndex = ticks.size() - 1;
-        if (!ticks.isEmpty()) {
-            DateTime seriesEndTime = ticks.get(lastTickIndex).getEndTime();
-            if (!tick.getEndTime().isAfter(seriesEndTime)) {
+        final int tickCount = ticks.size();
+        if (tickCount > 0) {
+            if (tick.getEndTime().getMillis() <= getEndTimeMillis(removedTicksCount + tickCount - 1)) {
                 throw new IllegalArgumentException("Cannot add a tick with end time <= to series end time");
             }
         }
 
-        ticks.add(tick);
+        if (doubleBacked && !(ticks instanceof ColumnarTickList)) {
+            // (Columnar ticks are copied to primitive arrays)
+            tick.convertToDoubleBacked();
+        }
+        if (tickCount >= maximumTickCount) {
+            // Maximum tick count reached
+            // --> Overwriting the first tick (circular buffer)
+            ticks.set(firstTickPosition, tick);
+            firstTickPosition = (firstTickPosition + 1) % tickCount;
+            removedTicksCount++;
+        } else {
+            ticks.add(tick);
+        }
         if (beginIndex == -1) {
             // Begin index set to 0 only if if wasn't initialized
             beginIndex = 0;
         }
         endIndex++;
-        removeExceedingTicks();
     }
 
     /**
@@ -291,7 +526,10 @@ public class TimeSeries {
         if (maximumTickCount != Integer.MAX_VALUE) {
             throw new IllegalStateException("Cannot create a sub-series from a time series for which a maximum tick count has been set");
         }
-        return new TimeSeries(name, ticks, beginIndex, endIndex, true);
+        TimeSeries subseries = new TimeSeries(name, ticks, beginIndex, endIndex, true);
+        subseries.doubleBacked = doubleBacked;
+        subseries.concurrentIndicators = concurrentIndicators;
+        return subseries;
     }
 
     /**
@@ -409,13 +647,44 @@ public class TimeSeries {
      * @return the trading record coming from the run
      */
     public TradingRecord run(Strategy strategy, OrderType orderType, Decimal amount) {
+        return run(strategy, orderType, amount, NO_STOP_CONDITIONS);
+    }
+
+    /**
+     * Runs the strategy over the series, until a stop condition is satisfied.
+     * <p>
+     * The stop conditions are evaluated after each tick of the series. When one of them is satisfied,
+     * the run is aborted: the trading record is {@link TradingRecord#isStopped() stopped} (the current trade
+     * is left opened) and {@link TradingRecord#getStopCondition() reports} the condition.
+     * <p>
+     * The ticks of the {@link Strategy#getUnstablePeriod() unstable period} of the strategy are skipped.
+     * @param strategy the trading strategy
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     * @param stopConditions the stop conditions
+     * @return the trading record coming from the run
+     */
+    public TradingRecord run(Strategy strategy, OrderType orderType, Decimal amount, StopCondition... stopConditions) {
 
-        log.trace("Running strategy: {} (starting with {})", strategy, orderType);
+        if (log.isTraceEnabled()) {
+            log.trace("Running strategy: {} (starting with {})", strategy, orderType);
+        }
         TradingRecord tradingRecord = new TradingRecord(orderType);
-        for (int i = beginIndex; i <= endIndex; i++) {
+        // No order can be placed during the unstable period of the strategy
+        final int startIndex = Math.max(beginIndex, strategy.getUnstablePeriod());
+        for (int i = startIndex; i <= endIndex; i++) {
             // For each tick in the sub-series...       
             if (strategy.shouldOperate(i, tradingRecord)) {
-                tradingRecord.operate(i, ticks.get(i).getClosePrice(), amount);
+                tradingRecord.operate(i, getTick(i).getClosePrice(), amount);
+            }
+            for (StopCondition stopCondition : stopConditions) {
+                if (stopCondition.isSatisfied(this, i, tradingRecord)) {
+                    if (log.isTraceEnabled()) {
+                        log.trace("Run stopped at index {}: {}", i, stopCondition);
+                    }
+                    tradingRecord.stop(i, stopCondition);
+                    return tradingRecord;
+                }
             }
         }
 
@@ -426,7 +695,7 @@ public class TimeSeries {
                 // For each tick out of sub-series bound...
                 // --> Trying to close the last trade
                 if (strategy.shouldOperate(i, tradingRecord)) {
-                    tradingRecord.operate(i, ticks.get(i).getClosePrice(), amount);
+                    tradingRecord.operate(i, getTick(i).getClosePrice(), amount);
                     break;
                 }
             }
@@ -465,18 +734,31 @@ public class TimeSeries {
      * Removes the N first ticks which exceed the maximum tick count.
      */
     private void removeExceedingTicks() {
+        if (firstTickPosition != 0) {
+            // Restoring the chronological order of the ticks list
+            Collections.rotate(ticks, -firstTickPosition);
+            firstTickPosition = 0;
+        }
         int tickCount = ticks.size();
         if (tickCount > maximumTickCount) {
-            // Removing old ticks
+            // Removing old ticks (in a single shift)
             int nbTicksToRemove = tickCount - maximumTickCount;
-            for (int i = 0; i < nbTicksToRemove; i++) {
-                ticks.remove(0);
-            }
+            ticks.subList(0, nbTicksToRemove).clear();
             // Updating removed ticks count
             removedTicksCount += nbTicksToRemove;
         }
     }
 
+    /**
+     * @param innerIndex the index of a tick among the retained ticks (0 for the first one)
+     * @return the position of the tick in the list of ticks
+     */
+    private int toListPosition(int innerIndex) {
+        int position = firstTickPosition + innerIndex;
+        final int tickCount = ticks.size();
+        return position < tickCount ? position : position - tickCount;
+    }
+
     /**
      * Builds a list of split indexes from splitDuration.
      * @param splitDuration the duration between 2 splits
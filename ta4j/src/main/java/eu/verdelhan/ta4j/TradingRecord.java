@@ -35,6 +35,14 @@ import java.util.List;
  * <li>check to satisfaction of some trading rules (when running a strategy)
  * <li>analyze the performance of a trading strategy
  * </ul>
+ * Some running statistics (equity, drawdown, win/loss counts, exposure, etc.) are updated in constant time
+ * on each closed trade, so that they can be queried at any tick without walking the whole record.
+ * <p>
+ * These statistics are computed on the realized equity (i.e. at the exit of the closed trades only).
+ * As a consequence, the {@link #getMaximumDrawdown() maximum drawdown} of the record ignores the price moves
+ * within the trades, and differs from the one of the
+ * {@link eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion maximum drawdown criterion}
+ * (computed on the cash flow at every tick).
  */
 public class TradingRecord {
 
@@ -62,6 +70,37 @@ public class TradingRecord {
     /** The current non-closed trade (there's always one) */
     private Trade currentTrade;
 
+    /*
+     * Running statistics of the closed trades (updated on each exit)
+     */
+
+    /** The realized equity, i.e. the product of the profit ratios of the closed trades */
+    private double equity = 1d;
+
+    /** The highest realized equity */
+    private double peakEquity = 1d;
+
+    /** The maximum drawdown of the realized equity */
+    private double maximumDrawdown;
+
+    /** The realized profit and loss, in price units */
+    private double profitAndLoss;
+
+    /** The number of winning trades */
+    private int winningTradeCount;
+
+    /** The number of losing trades */
+    private int losingTradeCount;
+
+    /** The number of ticks spent in the market by the closed trades */
+    private int ticksInMarket;
+
+    /** The stop condition which aborted the trading session (null if not stopped) */
+    private StopCondition stopCondition;
+
+    /** The index at which the trading session has been stopped (-1 if not stopped) */
+    private int stopIndex = -1;
+
     /**
      * Constructor.
      */
@@ -255,6 +294,126 @@ public class TradingRecord {
         return null;
     }
 
+    /**
+     * Returns the realized equity of the trading session.
+     * <p>
+     * The equity starts at 1 and is multiplied by the profit ratio of each closed trade
+     * (see {@link eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion}).
+     * The ratios are computed from the prices of the orders: orders without price leave the equity unchanged.
+     * @return the realized equity
+     */
+    public double getEquity() {
+        return equity;
+    }
+
+    /**
+     * Returns the equity of the trading session, the current trade being valued at the provided price.
+     * @param price the current price
+     * @return the equity, including the unrealized profit of the current trade
+     */
+    public double getEquity(Decimal price) {
+        if (currentTrade.isOpened()) {
+            return equity * getProfitRatio(currentTrade.getEntry(), price.toDouble());
+        }
+        return equity;
+    }
+
+    /**
+     * @return the highest realized equity
+     */
+    public double getPeakEquity() {
+        return peakEquity;
+    }
+
+    /**
+     * @return the current drawdown of the realized equity (from its peak)
+     */
+    public double getDrawdown() {
+        return (peakEquity - equity) / peakEquity;
+    }
+
+    /**
+     * @return the maximum drawdown of the realized equity (see the class documentation)
+     */
+    public double getMaximumDrawdown() {
+        return maximumDrawdown;
+    }
+
+    /**
+     * @return the realized profit and loss, in price units (i.e. the sum of (exit price - entry price) * amount
+     * for buy-then-sell trades, and the opposite for sell-then-buy ones)
+     */
+    public double getProfitAndLoss() {
+        return profitAndLoss;
+    }
+
+    /**
+     * @return the number of trades with a profit
+     */
+    public int getWinningTradeCount() {
+        return winningTradeCount;
+    }
+
+    /**
+     * @return the number of trades with a loss
+     */
+    public int getLosingTradeCount() {
+        return losingTradeCount;
+    }
+
+    /**
+     * @return the number of ticks spent in the market by the closed trades
+     * (see {@link eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion})
+     */
+    public int getTicksInMarket() {
+        return ticksInMarket;
+    }
+
+    /**
+     * Returns the exposure of the trading session, i.e. the ratio of ticks spent in the market.
+     * @param index the current tick index
+     * @param beginIndex the index of the first tick of the session
+     * @return the ratio of ticks spent in the market between beginIndex and index (both included)
+     */
+    public double getExposure(int beginIndex, int index) {
+        int ticks = ticksInMarket;
+        if (currentTrade.isOpened()) {
+            ticks += (1 + index) - currentTrade.getEntry().getIndex();
+        }
+        return ((double) ticks) / ((1 + index) - beginIndex);
+    }
+
+    /**
+     * @return true if the trading session has been aborted by a {@link StopCondition stop condition}, false otherwise
+     */
+    public boolean isStopped() {
+        return stopCondition != null;
+    }
+
+    /**
+     * @return the stop condition which aborted the trading session, null if the session has not been stopped
+     */
+    public StopCondition getStopCondition() {
+        return stopCondition;
+    }
+
+    /**
+     * @return the index at which the trading session has been stopped, -1 if the session has not been stopped
+     */
+    public int getStopIndex() {
+        return stopIndex;
+    }
+
+    /**
+     * Stops the trading session.
+     * @param index the index at which the session is stopped
+     * @param stopCondition the satisfied stop condition
+     */
+    void stop(int index, StopCondition stopCondition) {
+        this.stopIndex = index;
+        this.stopCondition = stopCondition;
+    }
+
     /**
      * Records an order and the corresponding trade (if closed).
      * @param order the order to be recorded
@@ -285,7 +444,53 @@ public class TradingRecord {
         // Storing the trade if closed
         if (currentTrade.isClosed()) {
             trades.add(currentTrade);
+            updateStatistics(currentTrade);
             currentTrade = new Trade(startingType);
         }
     }
+
+    /**
+     * Updates the running statistics with a closed trade.
+     * @param trade the closed trade
+     */
+    private void updateStatistics(Trade trade) {
+        Order entry = trade.getEntry();
+        Order exit = trade.getExit();
+        ticksInMarket += (1 + exit.getIndex()) - entry.getIndex();
+        if (entry.getPrice().isNaN() || exit.getPrice().isNaN()) {
+            return;
+        }
+        double exitPrice = exit.getPrice().toDouble();
+        double ratio = getProfitRatio(entry, exitPrice);
+        if (ratio > 1d) {
+            winningTradeCount++;
+        } else if (ratio < 1d) {
+            losingTradeCount++;
+        }
+        if (!entry.getAmount().isNaN()) {
+            double priceDifference = exitPrice - entry.getPrice().toDouble();
+            profitAndLoss += (entry.isBuy() ? priceDifference : -priceDifference) * entry.getAmount().toDouble();
+        }
+        equity *= ratio;
+        if (equity > peakEquity) {
+            peakEquity = equity;
+        }
+        double drawdown = (peakEquity - equity) / peakEquity;
+        if (drawdown > maximumDrawdown) {
+            maximumDrawdown = drawdown;
+        }
+    }
+
+    /**
+     * @param entry the entry order of a trade
+     * @param price the exit (or current) price
+     * @return the profit ratio of the trade at the price (1 if the entry has no price)
+     */
+    private static double getProfitRatio(Order entry, double price) {
+        if (entry.getPrice().isNaN()) {
+            return 1d;
+        }
+        double entryPrice = entry.getPrice().toDouble();
+        return entry.isBuy() ? price / entryPrice : entryPrice / price;
+    }
 }
@@ -0,0 +1,218 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A backtest executor.
+ * <p>
+ * Runs several strategies over several time series, in parallel.
+ * Each backtest (i.e. each strategy/series pair) is a separate task: the strategy is built
+ * by its {@link StrategyBuilder builder} within the task, so that indicator caches are not shared between threads
+ * (except the sub-indicators interned in the {@link TimeSeries#useIndicatorRegistry() indicator registry} of a series,
+ * which are then thread-safe).
+ * <p>
+ * The time series must not be modified during the execution.
+ */
+public class BacktestExecutor {
+
+    private final ExecutorService executorService;
+
+    private StopCondition[] stopConditions = new StopCondition[0];
+
+    /**
+     * Constructor.
+     * <p>
+     * Runs the backtests on as many threads as available processors.
+     */
+    public BacktestExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param nbThreads the number of threads running the backtests
+     */
+    public BacktestExecutor(int nbThreads) {
+        this(Executors.newFixedThreadPool(nbThreads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            }
+        }));
+    }
+
+    /**
+     * Constructor.
+     * @param executorService the executor service running the backtests
+     */
+    public BacktestExecutor(ExecutorService executorService) {
+        if (executorService == null) {
+            throw new IllegalArgumentException("Executor service cannot be null");
+        }
+        this.executorService = executorService;
+    }
+
+    /**
+     * Sets the stop conditions of the next backtests.
+     * <p>
+     * A backtest satisfying one of the conditions is aborted early (see {@link TradingRecord#isStopped()}).
+     * @param stopConditions the stop conditions
+     */
+    public void setStopConditions(StopCondition... stopConditions) {
+        this.stopConditions = stopConditions.clone();
+    }
+
+    /**
+     * Runs the strategies over the series.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param series the time series
+     * @param strategyBuilders the builders of the strategies
+     * @param criteria the analysis criteria to be computed for each backtest
+     * @return the results, ordered by series then by strategy builder
+     */
+    public List<BacktestResult> execute(List<TimeSeries> series, List<StrategyBuilder> strategyBuilders,
+            AnalysisCriterion... criteria) {
+        return execute(series, strategyBuilders, OrderType.BUY, Decimal.NaN, criteria);
+    }
+
+    /**
+     * Runs the strategies over the series.
+     * @param series the time series
+     * @param strategyBuilders the builders of the strategies
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     * @param criteria the analysis criteria to be computed for each backtest
+     * @return the results, ordered by series then by strategy builder
+     */
+    public List<BacktestResult> execute(List<TimeSeries> series, List<StrategyBuilder> strategyBuilders,
+            OrderType orderType, Decimal amount, AnalysisCriterion... criteria) {
+        final List<AnalysisCriterion> criteriaList = Arrays.asList(criteria);
+        List<Future<BacktestResult>> futures = new ArrayList<Future<BacktestResult>>(series.size() * strategyBuilders.size());
+        for (TimeSeries s : series) {
+            for (StrategyBuilder builder : strategyBuilders) {
+                futures.add(executorService.submit(new BacktestTask(s, builder, orderType, amount, criteriaList, stopConditions)));
+            }
+        }
+
+        List<BacktestResult> results = new ArrayList<BacktestResult>(futures.size());
+        try {
+            for (Future<BacktestResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ie) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the backtests", ie);
+        } catch (ExecutionException ee) {
+            cancelAll(futures);
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Backtest failed", cause);
+        }
+        return results;
+    }
+
+    /**
+     * Shuts down the underlying executor service.
+     * <p>
+     * Previously submitted backtests are completed.
+     */
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * @param futures the futures to be cancelled
+     */
+    private static void cancelAll(List<Future<BacktestResult>> futures) {
+        for (Future<BacktestResult> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * A backtest task: builds a strategy over a time series, runs it and analyzes the trading record.
+     */
+    private static class BacktestTask implements Callable<BacktestResult> {
+
+        private final TimeSeries series;
+
+        private final StrategyBuilder strategyBuilder;
+
+        private final OrderType orderType;
+
+        private final Decimal amount;
+
+        private final List<AnalysisCriterion> criteria;
+
+        private final StopCondition[] stopConditions;
+
+        public BacktestTask(TimeSeries series, StrategyBuilder strategyBuilder, OrderType orderType, Decimal amount,
+                List<AnalysisCriterion> criteria, StopCondition[] stopConditions) {
+            this.series = series;
+            this.strategyBuilder = strategyBuilder;
+            this.orderType = orderType;
+            this.amount = amount;
+            this.criteria = criteria;
+            this.stopConditions = stopConditions;
+        }
+
+        @Override
+        public BacktestResult call() {
+            Strategy strategy = strategyBuilder.buildStrategy(series);
+            TradingRecord tradingRecord = series.run(strategy, orderType, amount, stopConditions);
+            // All the criteria share a single pass over the trading record
+            CriteriaReport report = new CriteriaReport(series, tradingRecord);
+            double[] criterionValues = new double[criteria.size()];
+            for (int i = 0; i < criterionValues.length; i++) {
+                criterionValues[i] = report.getValue(criteria.get(i));
+            }
+            return new BacktestResult(series, strategyBuilder, strategy, tradingRecord, criteria, criterionValues);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import java.util.List;
+
+/**
+ * The result of a backtest.
+ * <p>
+ * A backtest is the run of a {@link Strategy strategy} over a {@link TimeSeries time series}.
+ */
+public class BacktestResult {
+
+    private final TimeSeries series;
+
+    private final StrategyBuilder strategyBuilder;
+
+    private final Strategy strategy;
+
+    private final TradingRecord tradingRecord;
+
+    private final List<AnalysisCriterion> criteria;
+
+    private final double[] criterionValues;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param strategyBuilder the builder of the strategy
+     * @param strategy the strategy
+     * @param tradingRecord the trading record coming from the run
+     * @param criteria the analysis criteria
+     * @param criterionValues the values of the analysis criteria (in the same order)
+     */
+    public BacktestResult(TimeSeries series, StrategyBuilder strategyBuilder, Strategy strategy,
+            TradingRecord tradingRecord, List<AnalysisCriterion> criteria, double[] criterionValues) {
+        this.series = series;
+        this.strategyBuilder = strategyBuilder;
+        this.strategy = strategy;
+        this.tradingRecord = tradingRecord;
+        this.criteria = criteria;
+        this.criterionValues = criterionValues;
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * @return the builder of the strategy
+     */
+    public StrategyBuilder getStrategyBuilder() {
+        return strategyBuilder;
+    }
+
+    /**
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the trading record coming from the run
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @param criterion an analysis criterion (among the ones provided for the backtest)
+     * @return the value of the criterion for the trading record
+     */
+    public double getCriterionValue(AnalysisCriterion criterion) {
+        int criterionIndex = criteria.indexOf(criterion);
+        if (criterionIndex < 0) {
+            throw new IllegalArgumentException("Criterion not computed for this backtest: " + criterion);
+        }
+        return criterionValues[criterionIndex];
+    }
+}
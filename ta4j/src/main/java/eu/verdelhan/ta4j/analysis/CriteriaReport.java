@@ -0,0 +1,350 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.AbstractAnalysisCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitableTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.BuyAndHoldCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.LinearTransactionCostCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.RewardRiskRatioCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.VersusBuyAndHoldCriterion;
+import java.util.List;
+
+/**
+ * A report of the analysis criteria of a trading record.
+ * <p>
+ * All the built-in criteria are computed in a single pass over the trades and the time series:
+ * the profit of each trade and the {@link CashFlow cash flow} are computed once, in primitive form,
+ * and shared by all the values of the report. It is much cheaper than calling each
+ * {@link AnalysisCriterion criterion} separately when ranking a lot of backtests.
+ * <p>
+ * The report is the single implementation of the built-in criteria: their
+ * {@link AnalysisCriterion#calculate(TimeSeries, TradingRecord) values for a trading record}
+ * are read from a report (see {@link AbstractAnalysisCriterion#calculate(CriteriaReport)}).
+ * The cash flow (and the maximum drawdown) is only computed when first needed.
+ */
+public class CriteriaReport {
+
+    private final TimeSeries series;
+
+    private final TradingRecord tradingRecord;
+
+    /** The closed trades */
+    private final List<Trade> trades;
+
+    /** The profit ratio of each closed trade */
+    private final double[] tradeProfits;
+
+    /** True if the trading record ends with an opened trade */
+    private final boolean currentTradeOpened;
+
+    /** The cash flow values, indexed by tick index (lazily computed) */
+    private double[] cashFlow;
+
+    private final double totalProfit;
+
+    private final int numberOfTicks;
+
+    private final int numberOfProfitableTrades;
+
+    private double maximumDrawdown;
+
+    private final double buyAndHold;
+
+    /** The report of the "buy and hold" trading record (lazily built) */
+    private CriteriaReport buyAndHoldReport;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param tradingRecord the trading record
+     */
+    public CriteriaReport(TimeSeries series, TradingRecord tradingRecord) {
+        this.series = series;
+        this.tradingRecord = tradingRecord;
+        trades = tradingRecord.getTrades();
+        tradeProfits = new double[trades.size()];
+        currentTradeOpened = tradingRecord.getCurrentTrade().isOpened();
+
+        double profit = 1d;
+        int ticks = 0;
+        int profitable = 0;
+        for (int t = 0; t < tradeProfits.length; t++) {
+            Trade trade = trades.get(t);
+            int entryIndex = trade.getEntry().getIndex();
+            int exitIndex = trade.getExit().getIndex();
+            double tradeProfit = ratio(trade.getEntry().isBuy(), closePrice(entryIndex), closePrice(exitIndex));
+            tradeProfits[t] = tradeProfit;
+            profit *= tradeProfit;
+            ticks += (1 + exitIndex) - entryIndex;
+            if (tradeProfit > 1d) {
+                profitable++;
+            }
+        }
+
+        totalProfit = profit;
+        numberOfTicks = ticks;
+        numberOfProfitableTrades = profitable;
+        final int end = series.getEnd();
+        buyAndHold = end < 0 ? 1d : closePrice(end) / closePrice(series.getBegin());
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * @return the trading record
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+
+    /**
+     * @param index the tick index
+     * @return the cash flow value at the index-th position
+     * @see CashFlow#getValue(int)
+     */
+    public double getCashFlow(int index) {
+        computeCashFlow();
+        return cashFlow[index];
+    }
+
+    /**
+     * @return the number of closed trades
+     * @see NumberOfTradesCriterion
+     */
+    public int getNumberOfTrades() {
+        return tradeProfits.length;
+    }
+
+    /**
+     * @param index the index of a closed trade
+     * @return the profit ratio of the trade
+     */
+    public double getTradeProfit(int index) {
+        return tradeProfits[index];
+    }
+
+    /**
+     * @return the total profit
+     * @see TotalProfitCriterion
+     */
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+
+    /**
+     * @return the number of ticks during the trades
+     * @see NumberOfTicksCriterion
+     */
+    public int getNumberOfTicks() {
+        return numberOfTicks;
+    }
+
+    /**
+     * @return the average profit per tick
+     * @see AverageProfitCriterion
+     */
+    public double getAverageProfit() {
+        if (numberOfTicks == 0) {
+            return 1;
+        }
+        return Math.pow(totalProfit, 1d / numberOfTicks);
+    }
+
+    /**
+     * @return the ratio of profitable trades
+     * @see AverageProfitableTradesCriterion
+     */
+    public double getAverageProfitableTrades() {
+        return ((double) numberOfProfitableTrades) / tradeProfits.length;
+    }
+
+    /**
+     * @return the maximum drawdown
+     * @see MaximumDrawdownCriterion
+     */
+    public double getMaximumDrawdown() {
+        computeCashFlow();
+        return maximumDrawdown;
+    }
+
+    /**
+     * @return the reward risk ratio
+     * @see RewardRiskRatioCriterion
+     */
+    public double getRewardRiskRatio() {
+        return totalProfit / getMaximumDrawdown();
+    }
+
+    /**
+     * @return the "buy and hold" profit over the series
+     * @see BuyAndHoldCriterion
+     */
+    public double getBuyAndHold() {
+        return buyAndHold;
+    }
+
+    /**
+     * @return the total profit versus the "buy and hold" profit
+     * @see VersusBuyAndHoldCriterion
+     */
+    public double getTotalProfitVersusBuyAndHold() {
+        return totalProfit / buyAndHold;
+    }
+
+    /**
+     * @param initialAmount the initially traded amount
+     * @param a the a coefficient (e.g. 0.005 for 0.5% per order)
+     * @param b the b constant (e.g. 0.2 for $0.2 per order)
+     * @return the total transaction cost
+     * @see LinearTransactionCostCriterion
+     */
+    public double getLinearTransactionCost(double initialAmount, double a, double b) {
+        double totalCosts = 0d;
+        double tradedAmount = initialAmount;
+        for (int t = 0; t < tradeProfits.length; t++) {
+            double entryCost = a * tradedAmount + b;
+            double exitCost = a * ((tradedAmount - entryCost) * tradeProfits[t]) + b;
+            double tradeCost = entryCost + exitCost;
+            totalCosts += tradeCost;
+            tradedAmount = (tradedAmount - tradeCost) * tradeProfits[t];
+        }
+        // Special case: if the current trade is open
+        if (currentTradeOpened) {
+            totalCosts += a * tradedAmount + b;
+        }
+        return totalCosts;
+    }
+
+    /**
+     * Returns the value of a criterion for the trading record of this report.
+     * <p>
+     * The {@link AbstractAnalysisCriterion criteria} (including the subclasses of the built-in ones) calculate their value
+     * from the report. Any other criterion is delegated to {@link AnalysisCriterion#calculate(TimeSeries, TradingRecord)}.
+     * @param criterion the analysis criterion
+     * @return the value of the criterion
+     */
+    public double getValue(AnalysisCriterion criterion) {
+        if (criterion instanceof AbstractAnalysisCriterion) {
+            return ((AbstractAnalysisCriterion) criterion).calculate(this);
+        }
+        return criterion.calculate(series, tradingRecord);
+    }
+
+    /**
+     * @return the report of the "buy and hold" trading record (i.e. entering at the beginning of the series
+     * and exiting at its end)
+     * @see VersusBuyAndHoldCriterion
+     */
+    public CriteriaReport getBuyAndHoldReport() {
+        if (buyAndHoldReport == null) {
+            TradingRecord record = new TradingRecord();
+            record.enter(series.getBegin());
+            record.exit(series.getEnd());
+            buyAndHoldReport = new CriteriaReport(series, record);
+        }
+        return buyAndHoldReport;
+    }
+
+    /**
+     * Computes the cash flow and the maximum drawdown (if not already done).
+     */
+    private void computeCashFlow() {
+        if (cashFlow != null) {
+            return;
+        }
+        final int end = series.getEnd();
+        double[] values = new double[Math.max(end + 1, 1)];
+        values[0] = 1d;
+        // Index of the last computed cash flow value
+        int last = 0;
+        for (Trade trade : trades) {
+            int entryIndex = trade.getEntry().getIndex();
+            int exitIndex = trade.getExit().getIndex();
+            boolean buy = trade.getEntry().isBuy();
+            double entryPrice = closePrice(entryIndex);
+
+            // Filling the gap between the previous trade and this one
+            for (int i = last + 1; i <= entryIndex && i < values.length; i++) {
+                values[i] = values[last];
+            }
+            last = Math.max(last, Math.min(entryIndex, values.length - 1));
+            double entryValue = values[Math.min(entryIndex, values.length - 1)];
+            for (int i = Math.max(entryIndex + 1, 1); i <= exitIndex && i < values.length; i++) {
+                values[i] = entryValue * ratio(buy, entryPrice, closePrice(i));
+                last = i;
+            }
+        }
+        // Filling with the last value till the end of the series
+        for (int i = last + 1; i < values.length; i++) {
+            values[i] = values[last];
+        }
+
+        double maxPeak = 0d;
+        double maxDrawdown = 0d;
+        for (int i = series.getBegin(); i <= end; i++) {
+            double value = values[i];
+            if (value > maxPeak) {
+                maxPeak = value;
+            }
+            double drawdown = (maxPeak - value) / maxPeak;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+            }
+        }
+        cashFlow = values;
+        maximumDrawdown = maxDrawdown;
+    }
+
+    /**
+     * @param index the tick index
+     * @return the close price of the index-th tick
+     */
+    private double closePrice(int index) {
+        return series.getClosePrice(index);
+    }
+
+    /**
+     * @param buy true for a buy-then-sell trade, false for a sell-then-buy one
+     * @param entryPrice the entry price
+     * @param price the current price
+     * @return the profit ratio of the trade at the current price
+     */
+    private static double ratio(boolean buy, double entryPrice, double price) {
+        return buy ? price / entryPrice : entryPrice / price;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+
+/**
+ * Equity floor stop condition.
+ * <p>
+ * Satisfied when the equity (the current trade being valued at the close price) falls below a floor.
+ * The equity starts at 1 (see {@link TradingRecord#getEquity()}).
+ */
+public class EquityFloorStopCondition implements StopCondition {
+
+    private final double floor;
+
+    /**
+     * Constructor.
+     * @param floor the equity floor (e.g. 0.5 to stop when half of the equity is lost)
+     */
+    public EquityFloorStopCondition(double floor) {
+        this.floor = floor;
+    }
+
+    @Override
+    public boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord) {
+        return tradingRecord.getEquity(series.getTick(index).getClosePrice()) < floor;
+    }
+
+    @Override
+    public String toString() {
+        return "Equity below floor (" + floor + ")";
+    }
+}
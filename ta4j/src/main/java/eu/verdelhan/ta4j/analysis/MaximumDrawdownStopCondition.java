@@ -0,0 +1,58 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+
+/**
+ * Maximum drawdown stop condition.
+ * <p>
+ * Satisfied when the drawdown of the equity (the current trade being valued at the close price)
+ * from the peak of the {@link TradingRecord#getPeakEquity() realized equity} exceeds a threshold.
+ */
+public class MaximumDrawdownStopCondition implements StopCondition {
+
+    private final double maximumDrawdown;
+
+    /**
+     * Constructor.
+     * @param maximumDrawdown the maximum drawdown (e.g. 0.2 for 20%)
+     */
+    public MaximumDrawdownStopCondition(double maximumDrawdown) {
+        this.maximumDrawdown = maximumDrawdown;
+    }
+
+    @Override
+    public boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord) {
+        double peakEquity = tradingRecord.getPeakEquity();
+        double equity = tradingRecord.getEquity(series.getTick(index).getClosePrice());
+        return (peakEquity - equity) / peakEquity > maximumDrawdown;
+    }
+
+    @Override
+    public String toString() {
+        return "Maximum drawdown exceeded (" + maximumDrawdown + ")";
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+
+/**
+ * Minimum number of trades stop condition.
+ * <p>
+ * Satisfied when a minimum number of trades cannot be reached anymore on the remaining ticks of the series.
+ * Since at most one order is operated per tick, a new trade needs at least two ticks
+ * (the exit of the last trade may be searched beyond the end of the series, so it only needs one).
+ */
+public class MinimumTradesStopCondition implements StopCondition {
+
+    private final int minimumTrades;
+
+    /**
+     * Constructor.
+     * @param minimumTrades the minimum number of trades
+     */
+    public MinimumTradesStopCondition(int minimumTrades) {
+        this.minimumTrades = minimumTrades;
+    }
+
+    @Override
+    public boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord) {
+        int remainingTicks = series.getEnd() - index;
+        int reachableTrades = tradingRecord.getTradeCount();
+        if (tradingRecord.getCurrentTrade().isOpened()) {
+            reachableTrades += 1 + remainingTicks / 2;
+        } else {
+            reachableTrades += (remainingTicks + 1) / 2;
+        }
+        return reachableTrades < minimumTrades;
+    }
+
+    @Override
+    public String toString() {
+        return "Minimum number of trades not reachable (" + minimumTrades + ")";
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TradingRecord;
+
+/**
+ * The result of a variant of a strategy in an optimization.
+ * @see StrategyOptimizer
+ */
+public class OptimizationResult {
+
+    private final ParameterSet parameters;
+
+    private final BacktestResult backtestResult;
+
+    private final double criterionValue;
+
+    /**
+     * Constructor.
+     * @param parameters the parameters of the strategy
+     * @param backtestResult the result of the backtest of the strategy
+     * @param criterionValue the value of the optimization criterion
+     */
+    public OptimizationResult(ParameterSet parameters, BacktestResult backtestResult, double criterionValue) {
+        this.parameters = parameters;
+        this.backtestResult = backtestResult;
+        this.criterionValue = criterionValue;
+    }
+
+    /**
+     * @return the parameters of the strategy
+     */
+    public ParameterSet getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the result of the backtest of the strategy
+     */
+    public BacktestResult getBacktestResult() {
+        return backtestResult;
+    }
+
+    /**
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return backtestResult.getStrategy();
+    }
+
+    /**
+     * @return the trading record coming from the run of the strategy
+     */
+    public TradingRecord getTradingRecord() {
+        return backtestResult.getTradingRecord();
+    }
+
+    /**
+     * @return the value of the optimization criterion
+     */
+    public double getCriterionValue() {
+        return criterionValue;
+    }
+
+    /**
+     * @return true if the run of the strategy has been aborted by a stop condition, false otherwise
+     */
+    public boolean isStopped() {
+        return getTradingRecord().isStopped();
+    }
+
+    @Override
+    public String toString() {
+        if (isStopped()) {
+            return parameters + ": stopped (" + getTradingRecord().getStopCondition() + ")";
+        }
+        return parameters + ": " + criterionValue;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A grid of strategy parameters.
+ * <p>
+ * Each parameter takes a list of values; the grid enumerates all their combinations (cartesian product).
+ * <pre>
+ * ParameterGrid grid = new ParameterGrid()
+ *         .addRange("shortTimeFrame", 2, 20, 2)
+ *         .addParameter("longTimeFrame", 50, 100, 200);
+ * </pre>
+ */
+public class ParameterGrid {
+
+    /** The values of the parameters, by name (in insertion order) */
+    private final Map<String, List<Decimal>> parameters = new LinkedHashMap<String, List<Decimal>>();
+
+    /**
+     * Adds a parameter.
+     * @param name the name of the parameter
+     * @param values the values of the parameter
+     * @return this grid
+     */
+    public ParameterGrid addParameter(String name, Decimal... values) {
+        if (name == null || parameters.containsKey(name)) {
+            throw new IllegalArgumentException("Parameter name cannot be null or duplicated: " + name);
+        }
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Parameter " + name + " must have at least one value");
+        }
+        parameters.put(name, Arrays.asList(values));
+        return this;
+    }
+
+    /**
+     * Adds a parameter.
+     * @param name the name of the parameter
+     * @param values the values of the parameter
+     * @return this grid
+     */
+    public ParameterGrid addParameter(String name, int... values) {
+        Decimal[] decimalValues = new Decimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            decimalValues[i] = Decimal.valueOf(values[i]);
+        }
+        return addParameter(name, decimalValues);
+    }
+
+    /**
+     * Adds a parameter taking a range of values.
+     * @param name the name of the parameter
+     * @param from the first value (inclusive)
+     * @param to the last value (inclusive)
+     * @param step the step between two values
+     * @return this grid
+     */
+    public ParameterGrid addRange(String name, int from, int to, int step) {
+        if (step < 1 || to < from) {
+            throw new IllegalArgumentException("Invalid range: from " + from + " to " + to + " by " + step);
+        }
+        long count = ((long) to - from) / step + 1;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many values: from " + from + " to " + to + " by " + step);
+        }
+        int[] values = new int[(int) count];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return addParameter(name, values);
+    }
+
+    /**
+     * @return the number of parameter combinations
+     * @throws IllegalStateException if there are more than Integer.MAX_VALUE combinations
+     */
+    public int size() {
+        if (parameters.isEmpty()) {
+            return 0;
+        }
+        long size = 1;
+        for (List<Decimal> values : parameters.values()) {
+            size *= values.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many parameter combinations (more than " + Integer.MAX_VALUE + ")");
+            }
+        }
+        return (int) size;
+    }
+
+    /**
+     * @return all the parameter combinations (the values of the last added parameter varying first)
+     */
+    public List<ParameterSet> getParameterSets() {
+        final int size = size();
+        List<ParameterSet> parameterSets = new ArrayList<ParameterSet>(size);
+        for (int combination = 0; combination < size; combination++) {
+            Map<String, Decimal> values = new LinkedHashMap<String, Decimal>();
+            int remainder = combination;
+            int divisor = size;
+            for (Map.Entry<String, List<Decimal>> parameter : parameters.entrySet()) {
+                List<Decimal> parameterValues = parameter.getValue();
+                divisor /= parameterValues.size();
+                values.put(parameter.getKey(), parameterValues.get(remainder / divisor));
+                remainder %= divisor;
+            }
+            parameterSets.add(new ParameterSet(values));
+        }
+        return parameterSets;
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A set of named parameters (e.g. time frames, thresholds) of a strategy.
+ * @see ParameterGrid
+ */
+public class ParameterSet {
+
+    /** The values of the parameters, by name (in insertion order) */
+    private final Map<String, Decimal> values;
+
+    /**
+     * Constructor.
+     * @param values the values of the parameters, by name
+     */
+    public ParameterSet(Map<String, Decimal> values) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<String, Decimal>(values));
+    }
+
+    /**
+     * @return the names of the parameters
+     */
+    public Set<String> getNames() {
+        return values.keySet();
+    }
+
+    /**
+     * @param name the name of a parameter
+     * @return the value of the parameter
+     */
+    public Decimal getDecimal(String name) {
+        Decimal value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * @param name the name of a parameter
+     * @return the value of the parameter, as an int
+     */
+    public int getInt(String name) {
+        return (int) getDecimal(name).toDouble();
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ParameterSet)) {
+            return false;
+        }
+        return values.equals(((ParameterSet) obj).values);
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+
+/**
+ * A builder of {@link Strategy trading strategies} taking parameters.
+ * <p>
+ * Used by the {@link StrategyOptimizer strategy optimizer}: the indicators of the strategy should be
+ * {@link IndicatorRegistry#intern(eu.verdelhan.ta4j.Indicator) interned} in the provided registry, so that
+ * the variants of the strategy share their identical indicators (and their values).
+ */
+public interface ParameterizedStrategyBuilder {
+
+    /**
+     * @param series the time series the strategy will be run on
+     * @param parameters the parameters of the strategy
+     * @param registry the registry of the indicators shared between the variants of the strategy
+     * @return a new trading strategy
+     */
+    Strategy buildStrategy(TimeSeries series, ParameterSet parameters, IndicatorRegistry registry);
+}
@@ -0,0 +1,175 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A strategy optimizer.
+ * <p>
+ * Runs all the variants of a strategy (one per combination of a {@link ParameterGrid parameter grid}) over a time series,
+ * in parallel, and ranks them by an {@link AnalysisCriterion analysis criterion}.
+ * <p>
+ * The variants are built over an {@link TimeSeries#useIndicatorRegistry() indicator registry}:
+ * the structurally identical indicators of the variants (e.g. the close price, a long SMA shared by all the variants)
+ * are a single instance, whose values are computed once. The registry of the series is used if any; otherwise
+ * a registry is attached to the series during the optimization only, so that the indicators of the variants are
+ * not retained by the series afterwards.
+ * <p>
+ * To share the indicators between the threads, the series is switched to
+ * {@link TimeSeries#useConcurrentIndicators() concurrent indicators}. It is left in this mode after the optimization,
+ * since the indicators of the returned results have been shared between threads.
+ */
+public class StrategyOptimizer {
+
+    private final BacktestExecutor executor;
+
+    /**
+     * Constructor.
+     * <p>
+     * Runs the variants on as many threads as available processors.
+     */
+    public StrategyOptimizer() {
+        this(new BacktestExecutor());
+    }
+
+    /**
+     * Constructor.
+     * @param nbThreads the number of threads running the variants
+     */
+    public StrategyOptimizer(int nbThreads) {
+        this(new BacktestExecutor(nbThreads));
+    }
+
+    /**
+     * Constructor.
+     * @param executorService the executor service running the variants
+     */
+    public StrategyOptimizer(ExecutorService executorService) {
+        this(new BacktestExecutor(executorService));
+    }
+
+    /**
+     * Constructor.
+     * @param executor the backtest executor running the variants
+     */
+    private StrategyOptimizer(BacktestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the stop conditions of the next optimizations.
+     * <p>
+     * The variants satisfying one of the conditions are aborted early, and ranked after all the completed ones
+     * (see {@link OptimizationResult#isStopped()}).
+     * @param stopConditions the stop conditions
+     */
+    public void setStopConditions(StopCondition... stopConditions) {
+        executor.setStopConditions(stopConditions);
+    }
+
+    /**
+     * Runs and ranks the variants of a strategy.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param series the time series
+     * @param grid the parameter grid
+     * @param builder the builder of the strategy variants
+     * @param criterion the optimization criterion
+     * @return the results of the variants, from the best to the worst
+     */
+    public List<OptimizationResult> optimize(TimeSeries series, ParameterGrid grid, ParameterizedStrategyBuilder builder,
+            AnalysisCriterion criterion) {
+        return optimize(series, grid, builder, criterion, OrderType.BUY, Decimal.NaN);
+    }
+
+    /**
+     * Runs and ranks the variants of a strategy.
+     * @param series the time series
+     * @param grid the parameter grid
+     * @param builder the builder of the strategy variants
+     * @param criterion the optimization criterion
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     * @return the results of the variants, from the best to the worst
+     */
+    public List<OptimizationResult> optimize(TimeSeries series, ParameterGrid grid, ParameterizedStrategyBuilder builder,
+            final AnalysisCriterion criterion, OrderType orderType, Decimal amount) {
+        final IndicatorRegistry seriesRegistry = series.getIndicatorRegistry();
+        final IndicatorRegistry registry = seriesRegistry == null ? new IndicatorRegistry() : seriesRegistry;
+        series.useIndicatorRegistry(registry);
+        List<ParameterSet> parameterSets = grid.getParameterSets();
+        List<BacktestResult> backtestResults;
+        try {
+            // Building the variants (sharing their identical indicators)
+            List<StrategyBuilder> variants = new ArrayList<StrategyBuilder>(parameterSets.size());
+            for (ParameterSet parameters : parameterSets) {
+                variants.add(new BuiltStrategyBuilder(builder.buildStrategy(series, parameters, registry)));
+            }
+            backtestResults = executor.execute(Collections.singletonList(series), variants, orderType, amount, criterion);
+        } finally {
+            series.useIndicatorRegistry(seriesRegistry);
+        }
+
+        List<OptimizationResult> results = new ArrayList<OptimizationResult>(backtestResults.size());
+        for (int i = 0; i < backtestResults.size(); i++) {
+            BacktestResult backtestResult = backtestResults.get(i);
+            results.add(new OptimizationResult(parameterSets.get(i), backtestResult, backtestResult.getCriterionValue(criterion)));
+        }
+        // Ranking (stable sort: grid order for equal values, stopped variants last)
+        Collections.sort(results, new Comparator<OptimizationResult>() {
+            @Override
+            public int compare(OptimizationResult result1, OptimizationResult result2) {
+                if (result1.isStopped() != result2.isStopped()) {
+                    return result1.isStopped() ? 1 : -1;
+                }
+                if (criterion.betterThan(result1.getCriterionValue(), result2.getCriterionValue())) {
+                    return -1;
+                }
+                if (criterion.betterThan(result2.getCriterionValue(), result1.getCriterionValue())) {
+                    return 1;
+                }
+                return 0;
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Shuts down the underlying executor service.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import org.joda.time.Period;
+
+/**
+ * A walk-forward analyzer.
+ * <p>
+ * The time series is divided into successive windows. Each window is made of an in-sample sub-series,
+ * over which the best of several candidate strategies is chosen (according to an {@link AnalysisCriterion analysis criterion}),
+ * followed by an out-of-sample sub-series, over which the chosen strategy is validated.
+ * The out-of-sample results of all the windows are then aggregated (see {@link WalkForwardResult}).
+ * <p>
+ * The candidate strategies are built once, over the whole time series, and run over the sub-series
+ * (which share the ticks of the whole series): the indicator values are computed once for all the windows,
+ * and the indicators of a window are not biased by a warm-up period. They are built over the
+ * {@link TimeSeries#useIndicatorRegistry() indicator registry} of the series if any; otherwise a registry is attached
+ * to the series during the analysis only. To share the indicators between the threads, the series is switched to
+ * {@link TimeSeries#useConcurrentIndicators() concurrent indicators}, and left in this mode after the analysis
+ * (the indicators of the returned results have been shared between threads).
+ * <p>
+ * The in-sample backtests of all the windows are run in parallel, then the out-of-sample ones.
+ * @see <a href="http://en.wikipedia.org/wiki/Walk_forward_optimization">http://en.wikipedia.org/wiki/Walk_forward_optimization</a>
+ */
+public class WalkForwardAnalyzer {
+
+    private final BacktestExecutor executor;
+
+    /**
+     * Constructor.
+     * <p>
+     * Runs the backtests on as many threads as available processors.
+     */
+    public WalkForwardAnalyzer() {
+        this(new BacktestExecutor());
+    }
+
+    /**
+     * Constructor.
+     * @param nbThreads the number of threads running the backtests
+     */
+    public WalkForwardAnalyzer(int nbThreads) {
+        this(new BacktestExecutor(nbThreads));
+    }
+
+    /**
+     * Constructor.
+     * @param executorService the executor service running the backtests
+     */
+    public WalkForwardAnalyzer(ExecutorService executorService) {
+        this(new BacktestExecutor(executorService));
+    }
+
+    /**
+     * Constructor.
+     * @param executor the backtest executor running the backtests
+     */
+    private WalkForwardAnalyzer(BacktestExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Runs a walk-forward analysis with windows of fixed numbers of ticks.
+     * <p>
+     * The windows are shifted by outOfSampleTicks ticks: the out-of-sample sub-series follow each other.
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param series the time series
+     * @param inSampleTicks the number of ticks of each in-sample sub-series
+     * @param outOfSampleTicks the number of ticks of each out-of-sample sub-series
+     * @param candidates the builders of the candidate strategies
+     * @param criterion the criterion used to choose the best strategy of each window
+     * @return the result of the walk-forward analysis
+     */
+    public WalkForwardResult analyze(TimeSeries series, int inSampleTicks, int outOfSampleTicks,
+            List<StrategyBuilder> candidates, AnalysisCriterion criterion) {
+        if (inSampleTicks <= 0 || outOfSampleTicks <= 0) {
+            throw new IllegalArgumentException("Numbers of ticks must be positive");
+        }
+        List<TimeSeries> inSampleSeries = new ArrayList<TimeSeries>();
+        List<TimeSeries> outOfSampleSeries = new ArrayList<TimeSeries>();
+        for (int begin = series.getBegin(); begin + inSampleTicks <= series.getEnd(); begin += outOfSampleTicks) {
+            int inSampleEnd = begin + inSampleTicks - 1;
+            inSampleSeries.add(series.subseries(begin, inSampleEnd));
+            outOfSampleSeries.add(series.subseries(inSampleEnd + 1, Math.min(inSampleEnd + outOfSampleTicks, series.getEnd())));
+        }
+        return analyze(series, inSampleSeries, outOfSampleSeries, candidates, criterion, OrderType.BUY, Decimal.NaN);
+    }
+
+    /**
+     * Runs a walk-forward analysis with windows of fixed durations.
+     * <p>
+     * The in-sample sub-series come from {@link TimeSeries#split(Period, Period) splitting} the series every
+     * outOfSampleDuration. Each out-of-sample sub-series starts right after its in-sample sub-series.
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param series the time series
+     * @param inSampleDuration the duration of each in-sample sub-series
+     * @param outOfSampleDuration the duration of each out-of-sample sub-series
+     * @param candidates the builders of the candidate strategies
+     * @param criterion the criterion used to choose the best strategy of each window
+     * @return the result of the walk-forward analysis
+     */
+    public WalkForwardResult analyze(TimeSeries series, Period inSampleDuration, Period outOfSampleDuration,
+            List<StrategyBuilder> candidates, AnalysisCriterion criterion) {
+        List<TimeSeries> inSampleSeries = new ArrayList<TimeSeries>();
+        List<TimeSeries> outOfSampleSeries = new ArrayList<TimeSeries>();
+        for (TimeSeries inSample : series.split(outOfSampleDuration, inSampleDuration)) {
+            if (inSample.getEnd() < series.getEnd()) {
+                inSampleSeries.add(inSample);
+                outOfSampleSeries.add(series.subseries(inSample.getEnd() + 1, outOfSampleDuration));
+            }
+        }
+        return analyze(series, inSampleSeries, outOfSampleSeries, candidates, criterion, OrderType.BUY, Decimal.NaN);
+    }
+
+    /**
+     * Runs a walk-forward analysis.
+     * @param series the time series
+     * @param inSampleSeries the in-sample sub-series of the windows
+     * @param outOfSampleSeries the out-of-sample sub-series of the windows (in the same order)
+     * @param candidates the builders of the candidate strategies
+     * @param criterion the criterion used to choose the best strategy of each window
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     * @return the result of the walk-forward analysis
+     */
+    public WalkForwardResult analyze(TimeSeries series, List<TimeSeries> inSampleSeries, List<TimeSeries> outOfSampleSeries,
+            List<StrategyBuilder> candidates, AnalysisCriterion criterion, OrderType orderType, Decimal amount) {
+        if (inSampleSeries.size() != outOfSampleSeries.size()) {
+            throw new IllegalArgumentException("Each window must have an in-sample and an out-of-sample sub-series");
+        }
+        final IndicatorRegistry seriesRegistry = series.getIndicatorRegistry();
+        series.useIndicatorRegistry(seriesRegistry == null ? new IndicatorRegistry() : seriesRegistry);
+        List<StrategyBuilder> builtCandidates = new ArrayList<StrategyBuilder>(candidates.size());
+        List<BacktestResult> bestResults = new ArrayList<BacktestResult>(inSampleSeries.size());
+        List<BacktestResult> outOfSampleResults;
+        try {
+            // Building the candidates once, over the whole series
+            for (StrategyBuilder candidate : candidates) {
+                builtCandidates.add(new BuiltStrategyBuilder(candidate.buildStrategy(series)));
+            }
+
+            // In-sample: all the candidates over all the windows
+            List<BacktestResult> inSampleResults = executor.execute(inSampleSeries, builtCandidates, orderType, amount, criterion);
+
+            // Choosing the best candidate of each window
+            Map<TimeSeries, Strategy> bestStrategies = new IdentityHashMap<TimeSeries, Strategy>();
+            int resultIndex = 0;
+            for (TimeSeries outOfSample : outOfSampleSeries) {
+                BacktestResult bestResult = null;
+                for (int i = 0; i < builtCandidates.size(); i++) {
+                    BacktestResult result = inSampleResults.get(resultIndex++);
+                    if (bestResult == null
+                            || criterion.betterThan(result.getCriterionValue(criterion), bestResult.getCriterionValue(criterion))) {
+                        bestResult = result;
+                    }
+                }
+                bestResults.add(bestResult);
+                bestStrategies.put(outOfSample, bestResult.getStrategy());
+            }
+
+            // Out-of-sample: the best candidate of each window
+            outOfSampleResults = executor.execute(outOfSampleSeries,
+                    Collections.<StrategyBuilder>singletonList(new WindowStrategyBuilder(bestStrategies)),
+                    orderType, amount, criterion);
+        } finally {
+            series.useIndicatorRegistry(seriesRegistry);
+        }
+
+        List<WalkForwardWindow> windows = new ArrayList<WalkForwardWindow>(bestResults.size());
+        for (int i = 0; i < bestResults.size(); i++) {
+            BacktestResult bestResult = bestResults.get(i);
+            int candidateIndex = builtCandidates.indexOf(bestResult.getStrategyBuilder());
+            windows.add(new WalkForwardWindow(candidates.get(candidateIndex), bestResult, outOfSampleResults.get(i)));
+        }
+        return new WalkForwardResult(series, windows, criterion, orderType);
+    }
+
+    /**
+     * Sets the stop conditions of the backtests.
+     * @param stopConditions the stop conditions
+     * @see BacktestExecutor#setStopConditions(StopCondition...)
+     */
+    public void setStopConditions(StopCondition... stopConditions) {
+        executor.setStopConditions(stopConditions);
+    }
+
+    /**
+     * Shuts down the underlying executor service.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Builder of the already built strategy of each out-of-sample sub-series.
+     */
+    private static class WindowStrategyBuilder implements StrategyBuilder {
+
+        private final Map<TimeSeries, Strategy> strategies;
+
+        public WindowStrategyBuilder(Map<TimeSeries, Strategy> strategies) {
+            this.strategies = strategies;
+        }
+
+        @Override
+        public Strategy buildStrategy(TimeSeries series) {
+            return strategies.get(series);
+        }
+    }
+}
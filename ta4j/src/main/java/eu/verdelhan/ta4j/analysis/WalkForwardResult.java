@@ -0,0 +1,147 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a walk-forward analysis.
+ * <p>
+ * The out-of-sample trades of all the windows are aggregated into a single trading record over the whole time series.
+ * @see WalkForwardAnalyzer
+ */
+public class WalkForwardResult {
+
+    private final TimeSeries series;
+
+    private final List<WalkForwardWindow> windows;
+
+    private final AnalysisCriterion criterion;
+
+    private final TradingRecord outOfSampleTradingRecord;
+
+    /**
+     * Constructor.
+     * <p>
+     * The trades are opened with {@link OrderType#BUY} orders.
+     * @param series the whole time series
+     * @param windows the windows of the analysis
+     * @param criterion the criterion used to choose the best strategy of each window
+     */
+    public WalkForwardResult(TimeSeries series, List<WalkForwardWindow> windows, AnalysisCriterion criterion) {
+        this(series, windows, criterion, OrderType.BUY);
+    }
+
+    /**
+     * Constructor.
+     * @param series the whole time series
+     * @param windows the windows of the analysis
+     * @param criterion the criterion used to choose the best strategy of each window
+     * @param orderType the {@link OrderType} used to open the trades
+     */
+    public WalkForwardResult(TimeSeries series, List<WalkForwardWindow> windows, AnalysisCriterion criterion,
+            OrderType orderType) {
+        this.series = series;
+        this.windows = Collections.unmodifiableList(new ArrayList<WalkForwardWindow>(windows));
+        this.criterion = criterion;
+        this.outOfSampleTradingRecord = aggregateOutOfSampleTrades(windows, orderType);
+    }
+
+    /**
+     * @return the whole time series
+     */
+    public TimeSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * @return the windows of the analysis
+     */
+    public List<WalkForwardWindow> getWindows() {
+        return windows;
+    }
+
+    /**
+     * @return the criterion used to choose the best strategy of each window
+     */
+    public AnalysisCriterion getCriterion() {
+        return criterion;
+    }
+
+    /**
+     * Returns the out-of-sample trades of all the windows, as a single trading record.
+     * <p>
+     * A trade of a window which would overlap the last trade of the previous windows (e.g. when the last trade
+     * of a window has been closed after the end of its out-of-sample sub-series) is ignored.
+     * @return the aggregated out-of-sample trading record
+     */
+    public TradingRecord getOutOfSampleTradingRecord() {
+        return outOfSampleTradingRecord;
+    }
+
+    /**
+     * @return the value of the criterion for the aggregated out-of-sample trading record
+     */
+    public double getOutOfSampleCriterionValue() {
+        return getOutOfSampleCriterionValue(criterion);
+    }
+
+    /**
+     * @param criterion an analysis criterion
+     * @return the value of the criterion for the aggregated out-of-sample trading record
+     */
+    public double getOutOfSampleCriterionValue(AnalysisCriterion criterion) {
+        return criterion.calculate(series, outOfSampleTradingRecord);
+    }
+
+    /**
+     * @param windows the windows of the analysis
+     * @param orderType the {@link OrderType} used to open the trades
+     * @return a trading record with the out-of-sample trades of all the windows
+     */
+    private static TradingRecord aggregateOutOfSampleTrades(List<WalkForwardWindow> windows, OrderType orderType) {
+        List<Order> orders = new ArrayList<Order>();
+        int lastExitIndex = -1;
+        for (WalkForwardWindow window : windows) {
+            for (Trade trade : window.getOutOfSampleResult().getTradingRecord().getTrades()) {
+                if (trade.getEntry().getIndex() > lastExitIndex) {
+                    orders.add(trade.getEntry());
+                    orders.add(trade.getExit());
+                    lastExitIndex = trade.getExit().getIndex();
+                }
+            }
+        }
+        if (orders.isEmpty()) {
+            return new TradingRecord(orderType);
+        }
+        return new TradingRecord(orders.toArray(new Order[orders.size()]));
+    }
+}
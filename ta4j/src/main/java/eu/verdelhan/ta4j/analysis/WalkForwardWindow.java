@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.TimeSeries;
+
+/**
+ * A window of a walk-forward analysis.
+ * <p>
+ * The best candidate strategy over the in-sample sub-series, and its validation over the out-of-sample sub-series.
+ * @see WalkForwardAnalyzer
+ */
+public class WalkForwardWindow {
+
+    private final StrategyBuilder bestCandidate;
+
+    private final BacktestResult inSampleResult;
+
+    private final BacktestResult outOfSampleResult;
+
+    /**
+     * Constructor.
+     * @param bestCandidate the builder of the best candidate strategy over the in-sample sub-series
+     * @param inSampleResult the result of the best candidate over the in-sample sub-series
+     * @param outOfSampleResult the result of the best candidate over the out-of-sample sub-series
+     */
+    public WalkForwardWindow(StrategyBuilder bestCandidate, BacktestResult inSampleResult, BacktestResult outOfSampleResult) {
+        this.bestCandidate = bestCandidate;
+        this.inSampleResult = inSampleResult;
+        this.outOfSampleResult = outOfSampleResult;
+    }
+
+    /**
+     * @return the builder of the best candidate strategy over the in-sample sub-series
+     */
+    public StrategyBuilder getBestCandidate() {
+        return bestCandidate;
+    }
+
+    /**
+     * @return the in-sample sub-series
+     */
+    public TimeSeries getInSampleSeries() {
+        return inSampleResult.getSeries();
+    }
+
+    /**
+     * @return the out-of-sample sub-series
+     */
+    public TimeSeries getOutOfSampleSeries() {
+        return outOfSampleResult.getSeries();
+    }
+
+    /**
+     * @return the result of the best candidate over the in-sample sub-series
+     */
+    public BacktestResult getInSampleResult() {
+        return inSampleResult;
+    }
+
+    /**
+     * @return the result of the best candidate over the out-of-sample sub-series
+     */
+    public BacktestResult getOutOfSampleResult() {
+        return outOfSampleResult;
+    }
+}
@@ -25,13 +25,30 @@ package eu.verdelhan.ta4j.analysis.criteria;
 import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.Strategy;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 import java.util.List;
 
 /**
  * An abstract analysis criterion.
+ * <p>
+ * The built-in criteria read their value for a trading record from a {@link CriteriaReport criteria report},
+ * so that the criteria of a backtest share a single pass over its trades. A subclass customizing the value
+ * for a trading record overrides {@link #calculate(CriteriaReport)}.
  */
 public abstract class AbstractAnalysisCriterion implements AnalysisCriterion {
 
+    /**
+     * Calculates the criterion value from a report of a trading record.
+     * <p>
+     * Default implementation: calculates the value from the series and the trading record of the report.
+     * @param report the criteria report
+     * @return the criterion value for the trades of the report
+     * @see CriteriaReport#getValue(AnalysisCriterion)
+     */
+    public double calculate(CriteriaReport report) {
+        return calculate(report.getSeries(), report.getTradingRecord());
+    }
+
     @Override
     public Strategy chooseBest(TimeSeries series, List<Strategy> strategies) {
         Strategy bestStrategy = strategies.get(0);
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * Average profit criterion.
@@ -40,11 +41,12 @@ public class AverageProfitCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        double ticks = numberOfTicks.calculate(series, tradingRecord);
-        if (ticks == 0) {
-            return 1;
-        }
-        return Math.pow(totalProfit.calculate(series, tradingRecord), 1d / ticks);
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getAverageProfit();
     }
 
     @Override
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * Average profitable trades criterion.
@@ -53,24 +54,12 @@ public class AverageProfitableTradesCriterion extends AbstractAnalysisCriterion
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        int numberOfProfitable = 0;
-        for (Trade trade : tradingRecord.getTrades()) {
-            int entryIndex = trade.getEntry().getIndex();
-            int exitIndex = trade.getExit().getIndex();
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
 
-            Decimal result;
-            if (trade.getEntry().isBuy()) {
-                // buy-then-sell trade
-                result = series.getTick(exitIndex).getClosePrice().dividedBy(series.getTick(entryIndex).getClosePrice());
-            } else {
-                // sell-then-buy trade
-                result = series.getTick(entryIndex).getClosePrice().dividedBy(series.getTick(exitIndex).getClosePrice());
-            }
-            if (result.isGreaterThan(Decimal.ONE)) {
-                numberOfProfitable++;
-            }
-        }
-        return ((double) numberOfProfitable) / tradingRecord.getTradeCount();
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getAverageProfitableTrades();
     }
 
     @Override
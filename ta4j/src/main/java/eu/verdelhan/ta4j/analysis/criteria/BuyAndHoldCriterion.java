@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.analysis.criteria;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * Buy and hold criterion.
@@ -35,7 +36,12 @@ public class BuyAndHoldCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        return series.getTick(series.getEnd()).getClosePrice().dividedBy(series.getTick(series.getBegin()).getClosePrice()).toDouble();
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getBuyAndHold();
     }
 
     @Override
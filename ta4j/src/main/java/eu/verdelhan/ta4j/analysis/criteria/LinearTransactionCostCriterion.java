@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Order;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * A linear transaction cost criterion.
@@ -66,6 +67,27 @@ public class LinearTransactionCostCriterion extends AbstractAnalysisCriterion {
         profit = new TotalProfitCriterion();
     }
 
+    /**
+     * @return the initially traded amount
+     */
+    public double getInitialAmount() {
+        return initialAmount;
+    }
+
+    /**
+     * @return the a coefficient
+     */
+    public double getA() {
+        return a;
+    }
+
+    /**
+     * @return the b constant
+     */
+    public double getB() {
+        return b;
+    }
+
     @Override
     public double calculate(TimeSeries series, Trade trade) {
         return getTradeCost(series, trade, initialAmount);
@@ -73,25 +95,12 @@ public class LinearTransactionCostCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        double totalCosts = 0d;
-        double tradedAmount = initialAmount;
-        
-        for (Trade trade : tradingRecord.getTrades()) {
-            double tradeCost = getTradeCost(series, trade, tradedAmount);
-            totalCosts += tradeCost;
-            // To calculate the new traded amount:
-            //    - Remove the cost of the first order
-            //    - Multiply by the profit ratio
-            tradedAmount = (tradedAmount - tradeCost) * profit.calculate(series, trade);
-        }
-        
-        // Special case: if the current trade is open
-        Trade currentTrade = tradingRecord.getCurrentTrade();
-        if (currentTrade.isOpened()) {
-            totalCosts += getOrderCost(currentTrade.getEntry(), tradedAmount);
-        }
-        
-        return totalCosts;
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getLinearTransactionCost(initialAmount, a, b);
     }
 
     @Override
@@ -119,6 +128,19 @@ public class LinearTransactionCostCriterion extends AbstractAnalysisCriterion {
      * @return the absolute total cost of all orders in the trade
      */
     private double getTradeCost(TimeSeries series, Trade trade, double initialAmount) {
+        if (trade != null && trade.getEntry() != null && trade.getExit() != null) {
+            return getTradeCost(trade, initialAmount, profit.calculate(series, trade));
+        }
+        return getTradeCost(trade, initialAmount, 1d);
+    }
+
+    /**
+     * @param trade a trade
+     * @param initialAmount the initially traded amount for the trade
+     * @param tradeProfit the profit ratio of the trade
+     * @return the absolute total cost of all orders in the trade
+     */
+    private double getTradeCost(Trade trade, double initialAmount, double tradeProfit) {
         double totalTradeCost = 0d;
         if (trade != null) {
             if (trade.getEntry() != null) {
@@ -127,7 +149,7 @@ public class LinearTransactionCostCriterion extends AbstractAnalysisCriterion {
                     // To calculate the new traded amount:
                     //    - Remove the cost of the first order
                     //    - Multiply by the profit ratio
-                    double newTradedAmount = (initialAmount - totalTradeCost) * profit.calculate(series, trade);
+                    double newTradedAmount = (initialAmount - totalTradeCost) * tradeProfit;
                     totalTradeCost += getOrderCost(trade.getExit(), newTradedAmount);
                 }
             }
@@ -27,6 +27,7 @@ import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
 import eu.verdelhan.ta4j.analysis.CashFlow;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * Maximum drawdown criterion.
@@ -37,9 +38,12 @@ public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        CashFlow cashFlow = new CashFlow(series, tradingRecord);
-        Decimal maximumDrawdown = calculateMaximumDrawdown(series, cashFlow);
-        return maximumDrawdown.toDouble();
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getMaximumDrawdown();
     }
 
     @Override
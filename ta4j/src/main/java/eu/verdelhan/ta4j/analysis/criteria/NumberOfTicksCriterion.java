@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.analysis.criteria;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * Number of ticks criterion.
@@ -35,11 +36,12 @@ public class NumberOfTicksCriterion extends AbstractAnalysisCriterion {
 
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        int nTicks = 0;
-        for (Trade trade : tradingRecord.getTrades()) {
-            nTicks += calculate(series, trade);
-        }
-        return nTicks;
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
+
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getNumberOfTicks();
     }
 
     @Override
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.AnalysisCriterion;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.Trade;
 import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.CriteriaReport;
 
 /**
  * Versus "buy and hold" criterion.
@@ -44,13 +45,21 @@ public class VersusBuyAndHoldCriterion extends AbstractAnalysisCriterion {
         this.criterion = criterion;
     }
 
+    /**
+     * @return the compared analysis criterion
+     */
+    public AnalysisCriterion getCriterion() {
+        return criterion;
+    }
+
     @Override
     public double calculate(TimeSeries series, TradingRecord tradingRecord) {
-        TradingRecord fakeRecord = new TradingRecord();
-        fakeRecord.enter(series.getBegin());
-        fakeRecord.exit(series.getEnd());
+        return calculate(new CriteriaReport(series, tradingRecord));
+    }
 
-        return criterion.calculate(series, tradingRecord) / criterion.calculate(series, fakeRecord);
+    @Override
+    public double calculate(CriteriaReport report) {
+        return report.getValue(criterion) / report.getBuyAndHoldReport().getValue(criterion);
     }
 
     @Override
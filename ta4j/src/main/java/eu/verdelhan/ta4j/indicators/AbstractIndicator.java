@@ -24,6 +24,7 @@ package eu.verdelhan.ta4j.indicators;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.TimeSeries;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +39,10 @@ public abstract class AbstractIndicator<T> implements Indicator<T> {
 
     private TimeSeries series;
 
+    /** The unstable period (-1 if not calculated yet) */
+    @ComputationState
+    private volatile int unstablePeriod = -1;
+
     /**
      * Constructor.
      * @param series the related time series
@@ -51,6 +56,59 @@ public abstract class AbstractIndicator<T> implements Indicator<T> {
         return series;
     }
 
+    /**
+     * Interns a sub-indicator in the {@link TimeSeries#getIndicatorRegistry() indicator registry} of the series (if any).
+     * <p>
+     * To be called on the sub-indicators built by the constructor of a composite indicator, so that they are shared
+     * with the structurally identical indicators of the series.
+     * @param indicator a new sub-indicator
+     * @return the canonical instance of the sub-indicator (the provided one if the series has no registry)
+     */
+    protected <I extends Indicator<?>> I intern(I indicator) {
+        IndicatorRegistry registry = series == null ? null : series.getIndicatorRegistry();
+        return registry == null ? indicator : registry.intern(indicator);
+    }
+
+    /**
+     * Returns the sub-indicators of the indicator (i.e. the indicators its values are calculated from).
+     * <p>
+     * By default, the indicators held by the fields of the indicator. The indicators which delegate their
+     * computation to a helper holding their sub-indicators must declare them by overriding this method.
+     * @return the sub-indicators of the indicator
+     * @see IndicatorGraph
+     */
+    public List<Indicator<?>> getSubIndicators() {
+        return IndicatorGraph.getFieldIndicators(this);
+    }
+
+    /**
+     * Returns the unstable period of the indicator.
+     * <p>
+     * The values of the indicator for the first ticks of the series are computed over incomplete windows
+     * (or from the unstable values of its sub-indicators): they should not be used before index == unstablePeriod.
+     * @return the number of first ticks of the series over which the indicator is not stable
+     * @see eu.verdelhan.ta4j.Strategy#useIndicatorsUnstablePeriod()
+     */
+    public int getUnstablePeriod() {
+        int period = unstablePeriod;
+        if (period < 0) {
+            period = calculateUnstablePeriod();
+            unstablePeriod = period;
+        }
+        return period;
+    }
+
+    /**
+     * Calculates the unstable period of the indicator.
+     * <p>
+     * By default, the longest unstable period of the {@link #getSubIndicators() sub-indicators}.
+     * The indicators computed over a window of ticks add the length of their window to it.
+     * @return the number of first ticks of the series over which the indicator is not stable
+     */
+    protected int calculateUnstablePeriod() {
+        return IndicatorGraph.getSubNodesUnstablePeriod(this);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName();
@@ -0,0 +1,42 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+/**
+ * Batch computation of a decimal {@link eu.verdelhan.ta4j.Indicator indicator}.
+ * <p>
+ * Implementing indicators compute their values over a range of ticks in a single loop on primitive doubles.
+ * It bypasses the cache and the {@link eu.verdelhan.ta4j.Decimal decimal} arithmetic of getValue(int),
+ * so the computed values may differ from the decimal ones by rounding errors.
+ * @see BatchComputations
+ */
+public interface BatchComputable {
+
+    /**
+     * Computes the values of the indicator over a range of ticks.
+     * @param begin the begin index (inclusive)
+     * @param end the end index (inclusive)
+     * @param values the array to fill (values[0] receives the value at the begin index), with at least end - begin + 1 elements
+     */
+    void computeAll(int begin, int end, double[] values);
+}
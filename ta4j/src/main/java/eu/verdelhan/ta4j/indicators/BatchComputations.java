@@ -0,0 +1,74 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+
+/**
+ * Batch computations of decimal {@link Indicator indicators} into primitive arrays.
+ * <p>
+ * Indicators implementing {@link BatchComputable} are computed natively;
+ * the other ones are computed index per index through {@link Indicator#getValue(int)}.
+ */
+public final class BatchComputations {
+
+    private BatchComputations() {
+    }
+
+    /**
+     * @param indicator the indicator
+     * @param begin the begin index (inclusive)
+     * @param end the end index (inclusive)
+     * @return a new array of the values of the indicator between the begin index and the end index
+     */
+    public static double[] computeAll(Indicator<Decimal> indicator, int begin, int end) {
+        return computeAll(indicator, begin, end, null);
+    }
+
+    /**
+     * @param indicator the indicator
+     * @param begin the begin index (inclusive)
+     * @param end the end index (inclusive)
+     * @param buffer the array to reuse (may be null); a new one is allocated if it is too small
+     * @return the array filled with the values of the indicator between the begin index and the end index
+     */
+    public static double[] computeAll(Indicator<Decimal> indicator, int begin, int end, double[] buffer) {
+        if (begin < 0) {
+            throw new IllegalArgumentException("Begin index must be positive: " + begin);
+        }
+        final int length = Math.max(0, end - begin + 1);
+        double[] values = (buffer != null && buffer.length >= length) ? buffer : new double[length];
+        if (length == 0) {
+            return values;
+        }
+        if (indicator instanceof BatchComputable) {
+            ((BatchComputable) indicator).computeAll(begin, end, values);
+        } else {
+            for (int i = begin; i <= end; i++) {
+                values[i - begin] = indicator.getValue(i).toDouble();
+            }
+        }
+        return values;
+    }
+}
@@ -24,22 +24,30 @@ package eu.verdelhan.ta4j.indicators;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.TimeSeries;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 /**
  * Cached {@link Indicator indicator}.
  * <p>
  * Caches the constructor of the indicator. Avoid to calculate the same index of the indicator twice.
+ * <p>
+ * The results are stored in a circular buffer: when a maximum tick count is set on the time series,
+ * the results of the removed ticks are evicted in constant time.
+ * <p>
+ * When the time series {@link TimeSeries#useConcurrentIndicators() uses concurrent indicators}, the results
+ * are stored in a thread-safe table instead: cached results are read without locking and the missing ones
+ * are calculated under the lock of the indicator. Since an indicator only locks its sub-indicators while holding
+ * its own lock, the locks are always acquired in the order of the (acyclic) indicator graph.
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
-    /** List of cached results */
-    private final List<T> results = new ArrayList<T>();
+    /** Cached results */
+    private final ResultsBuffer<T> results = new ResultsBuffer<T>();
+
+    /** Cached results for concurrent accesses (lazily created) */
+    private volatile ConcurrentResultsTable<T> concurrentResults;
 
     /**
-     * Should always be the index of the last result in the results list.
+     * Should always be the index of the last result in the results buffer.
      * I.E. the last calculated result.
      */
     protected int highestResultIndex = -1;
@@ -71,37 +79,37 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         }
 
         // Series is not null
-        
+
+        if (series.isUsingConcurrentIndicators()) {
+            return getConcurrentValue(series, index);
+        }
+
         final int removedTicksCount = series.getRemovedTicksCount();
-        final int maximumResultCount = getTimeSeries().getMaximumTickCount();
-        
-        T result;
+        final int maximumResultCount = series.getMaximumTickCount();
+
         if (index < removedTicksCount) {
             // Result already removed from cache
-            log.trace("{}: result from tick {} already removed from cache, use {}-th instead",
-                    getClass().getSimpleName(), index, removedTicksCount);
-            increaseLengthTo(removedTicksCount, maximumResultCount);
-            highestResultIndex = removedTicksCount;
-            result = results.get(0);
-            if (result == null) {
-                result = calculate(removedTicksCount);
-                results.set(0, result);
+            if (log.isTraceEnabled()) {
+                log.trace("{}: result from tick {} already removed from cache, use {}-th instead",
+                        getClass().getSimpleName(), index, removedTicksCount);
             }
+            index = removedTicksCount;
+        }
+
+        T result;
+        if (index > highestResultIndex) {
+            // Result not calculated yet
+            results.appendEmptyResults(index - highestResultIndex, maximumResultCount);
+            highestResultIndex = index;
+            result = calculate(index);
+            storeResult(index, result);
         } else {
-            increaseLengthTo(index, maximumResultCount);
-            if (index > highestResultIndex) {
-                // Result not calculated yet
-                highestResultIndex = index;
+            // Result covered by current cache
+            int resultPosition = results.size() - 1 - (highestResultIndex - index);
+            result = resultPosition < 0 ? null : results.get(resultPosition);
+            if (result == null) {
                 result = calculate(index);
-                results.set(results.size()-1, result);
-            } else {
-                // Result covered by current cache
-                int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
-                result = results.get(resultInnerIndex);
-                if (result == null) {
-                    result = calculate(index);
-                }
-                results.set(resultInnerIndex, result);
+                storeResult(index, result);
             }
         }
         return result;
@@ -114,40 +122,108 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     protected abstract T calculate(int index);
 
     /**
-     * Increases the size of cached results buffer.
-     * @param index the index to increase length to
-     * @param maxLength the maximum length of the results buffer
+     * Thread-safe version of {@link #getValue(int)}.
+     * @param series the related time series
+     * @param index the tick index
+     * @return the value of the indicator
      */
-    private void increaseLengthTo(int index, int maxLength) {
-        if (highestResultIndex > -1) {
-            int newResultsCount = Math.min(index-highestResultIndex, maxLength);
-            if (newResultsCount == maxLength) {
-                results.clear();
-                results.addAll(Collections.<T> nCopies(maxLength, null));
-            } else if (newResultsCount > 0) {
-                results.addAll(Collections.<T> nCopies(newResultsCount, null));
-                removeExceedingResults(maxLength);
+    private T getConcurrentValue(TimeSeries series, int index) {
+        final int removedTicksCount = series.getRemovedTicksCount();
+        if (index < removedTicksCount) {
+            // Result already removed from cache
+            index = removedTicksCount;
+        }
+
+        ConcurrentResultsTable<T> table = concurrentResults;
+        if (table != null) {
+            // Lock-free read
+            T result = table.get(index);
+            if (result != null) {
+                return result;
             }
-        } else {
-            // First use of cache
-            assert results.isEmpty() : "Cache results list should be empty";
-            results.addAll(Collections.<T> nCopies(Math.min(index+1, maxLength), null));
         }
+
+        synchronized (this) {
+            if (concurrentResults == null) {
+                concurrentResults = new ConcurrentResultsTable<T>(series.getMaximumTickCount());
+            }
+            // The result may have been calculated by another thread in the meantime
+            T result = concurrentResults.get(index);
+            if (result == null) {
+                if (index > highestResultIndex) {
+                    highestResultIndex = index;
+                }
+                result = calculate(index);
+                concurrentResults.put(index, result, series.getMaximumTickCount());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @param index a tick index
+     * @return true if the tick at the provided index has been removed from the time series, false otherwise
+     * @see TimeSeries#setMaximumTickCount(int)
+     */
+    protected boolean isRemovedTick(int index) {
+        TimeSeries series = getTimeSeries();
+        return series != null && index < series.getRemovedTicksCount();
     }
 
     /**
-     * Removes the N first results which exceed the maximum tick count.
-     * (i.e. keeps only the last maximumResultCount results)
-     * @param maximumResultCount the number of results to keep
+     * @param index the tick index
+     * @return the cached value of the indicator, null if not calculated (or already removed from the cache)
      */
-    private void removeExceedingResults(int maximumResultCount) {
-        int resultCount = results.size();
-        if (resultCount > maximumResultCount) {
-            // Removing old results
-            final int nbResultsToRemove = resultCount - maximumResultCount;
-            for (int i = 0; i < nbResultsToRemove; i++) {
-                results.remove(0);
+    T getCachedValue(int index) {
+        TimeSeries series = getTimeSeries();
+        if (series == null || index < series.getRemovedTicksCount() || index > highestResultIndex) {
+            return null;
+        }
+        if (series.isUsingConcurrentIndicators()) {
+            ConcurrentResultsTable<T> table = concurrentResults;
+            return table == null ? null : table.get(index);
+        }
+        int resultPosition = results.size() - 1 - (highestResultIndex - index);
+        return resultPosition < 0 ? null : results.get(resultPosition);
+    }
+
+    /**
+     * Restores a value of the indicator in the cache (e.g. from a {@link IndicatorCheckpoint checkpoint}).
+     * <p>
+     * The values must be restored from the oldest to the newest.
+     * @param index the tick index
+     * @param value the value of the indicator
+     */
+    void restoreValue(int index, T value) {
+        TimeSeries series = getTimeSeries();
+        if (series.isUsingConcurrentIndicators()) {
+            synchronized (this) {
+                if (concurrentResults == null) {
+                    concurrentResults = new ConcurrentResultsTable<T>(series.getMaximumTickCount());
+                }
+                if (index > highestResultIndex) {
+                    highestResultIndex = index;
+                }
+                concurrentResults.put(index, value, series.getMaximumTickCount());
             }
+            return;
+        }
+        if (index > highestResultIndex) {
+            results.appendEmptyResults(index - highestResultIndex, series.getMaximumTickCount());
+            highestResultIndex = index;
+        }
+        storeResult(index, value);
+    }
+
+    /**
+     * Stores a result in the cache (if the index is still covered by the cache).
+     * @param index the tick index
+     * @param result the result to be stored
+     */
+    private void storeResult(int index, T result) {
+        int resultPosition = results.size() - 1 - (highestResultIndex - index);
+        if (resultPosition >= 0) {
+            results.set(resultPosition, result);
         }
     }
 }
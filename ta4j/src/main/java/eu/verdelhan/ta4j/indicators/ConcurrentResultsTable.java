@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe table of indicator results.
+ * <p>
+ * The result of the tick at index i is stored in the slot (i modulo capacity), along with its index:
+ * a slot holding the result of another tick is a cache miss. Hence the results of the removed ticks
+ * are naturally overwritten once the capacity reaches the maximum tick count of the series.
+ * <p>
+ * Reads are lock-free. Writes must be serialized by the caller.
+ * @param <T> the type of the results
+ */
+class ConcurrentResultsTable<T> {
+
+    /** Initial capacity of the table */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * A result and the index of its tick.
+     * @param <T> the type of the result
+     */
+    private static final class Entry<T> {
+
+        final int index;
+
+        final T result;
+
+        Entry(int index, T result) {
+            this.index = index;
+            this.result = result;
+        }
+    }
+
+    /** The entries (replaced as a whole when the table grows) */
+    private volatile AtomicReferenceArray<Entry<T>> entries;
+
+    /**
+     * Constructor.
+     * @param maxCapacity the maximum capacity of the table
+     */
+    ConcurrentResultsTable(int maxCapacity) {
+        entries = new AtomicReferenceArray<Entry<T>>(Math.min(INITIAL_CAPACITY, maxCapacity));
+    }
+
+    /**
+     * Lock-free read.
+     * @param index the tick index
+     * @return the result of the tick at the provided index, or null if not stored
+     */
+    T get(int index) {
+        final AtomicReferenceArray<Entry<T>> currentEntries = entries;
+        final Entry<T> entry = currentEntries.get(index % currentEntries.length());
+        return (entry != null && entry.index == index) ? entry.result : null;
+    }
+
+    /**
+     * Stores a result.
+     * <p>
+     * Must not be called concurrently.
+     * @param index the tick index
+     * @param result the result of the tick at the provided index
+     * @param maxCapacity the maximum capacity of the table
+     */
+    void put(int index, T result, int maxCapacity) {
+        AtomicReferenceArray<Entry<T>> currentEntries = entries;
+        if (index >= currentEntries.length() && currentEntries.length() < maxCapacity) {
+            currentEntries = grow(currentEntries, index + 1, maxCapacity);
+            entries = currentEntries;
+        }
+        store(currentEntries, new Entry<T>(index, result));
+    }
+
+    /**
+     * @param oldEntries the current entries
+     * @param minCapacity the minimum capacity
+     * @param maxCapacity the maximum capacity
+     * @return a new (bigger) array holding the current entries
+     */
+    private static <T> AtomicReferenceArray<Entry<T>> grow(AtomicReferenceArray<Entry<T>> oldEntries, int minCapacity, int maxCapacity) {
+        final int capacity = oldEntries.length();
+        int newCapacity = capacity + (capacity >> 1);
+        if (newCapacity < minCapacity || newCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        newCapacity = Math.min(newCapacity, maxCapacity);
+        AtomicReferenceArray<Entry<T>> newEntries = new AtomicReferenceArray<Entry<T>>(newCapacity);
+        for (int i = 0; i < capacity; i++) {
+            Entry<T> entry = oldEntries.get(i);
+            if (entry != null) {
+                store(newEntries, entry);
+            }
+        }
+        return newEntries;
+    }
+
+    /**
+     * Stores an entry in its slot, unless the slot holds the result of a more recent tick.
+     * @param entries the entries
+     * @param entry the entry to be stored
+     */
+    private static <T> void store(AtomicReferenceArray<Entry<T>> entries, Entry<T> entry) {
+        final int slot = entry.index % entries.length();
+        final Entry<T> currentEntry = entries.get(slot);
+        if (currentEntry == null || currentEntry.index <= entry.index) {
+            entries.set(slot, entry);
+        }
+    }
+}
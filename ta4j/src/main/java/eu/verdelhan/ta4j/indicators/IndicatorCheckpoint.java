@@ -0,0 +1,419 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+
+/**
+ * A checkpoint of a time series window and of the state of the indicators built over it.
+ * <p>
+ * Path-dependent indicators (EMA, ATR, OBV, Parabolic SAR, etc.) depend on all the previous ticks of the series.
+ * A checkpoint saves the last ticks of a series and the cached values (and {@link StatefulIndicator states})
+ * of the indicators, to a compact binary file. After a restart, the window of the series is
+ * {@link #getSeries() restored} with the same tick indexes, the same indicators are built over it and
+ * {@link #restore(List) restored}: the next values are then calculated from the restored ones, without
+ * replaying the whole history.
+ * <p>
+ * The whole {@link IndicatorGraph indicator graph} is saved: the provided indicators and all their sub-indicators
+ * built over the series (e.g. the EMAs of a MACD), so that each path-dependent part resumes from its own state.
+ * The indicators are matched by position in the graph, so the same indicators must be provided, in the same order,
+ * when writing and when restoring a checkpoint (e.g. the
+ * {@link eu.verdelhan.ta4j.streaming.IndicatorStream#getIndicators() indicators of a stream}).
+ * The decimals are saved exactly (BigDecimal-backed decimals as strings, double-backed ones as doubles).
+ * Only the values of type Decimal and Boolean are saved.
+ */
+public class IndicatorCheckpoint {
+
+    /** The magic number of the checkpoint files ("TAIC") */
+    private static final int MAGIC = 0x54414943;
+
+    private static final int VERSION = 1;
+
+    /*
+     * Value tags
+     */
+    private static final byte NULL_VALUE = 0;
+    private static final byte NAN_VALUE = 1;
+    private static final byte DOUBLE_VALUE = 2;
+    private static final byte BIG_DECIMAL_VALUE = 3;
+    private static final byte FALSE_VALUE = 4;
+    private static final byte TRUE_VALUE = 5;
+
+    /** The restored time series */
+    private final TimeSeries series;
+
+    /** The class names of the indicators */
+    private final List<String> classNames;
+
+    /** The index of the first value of each indicator */
+    private final List<Integer> firstIndexes;
+
+    /** The values of each indicator */
+    private final List<Object[]> values;
+
+    /** The state of each indicator (null if not a stateful indicator) */
+    private final List<byte[]> states;
+
+    private IndicatorCheckpoint(TimeSeries series, List<String> classNames, List<Integer> firstIndexes,
+            List<Object[]> values, List<byte[]> states) {
+        this.series = series;
+        this.classNames = classNames;
+        this.firstIndexes = firstIndexes;
+        this.values = values;
+        this.states = states;
+    }
+
+    /**
+     * Writes a checkpoint with all the retained ticks of the series.
+     * @param file the checkpoint file
+     * @param series the time series
+     * @param indicators the indicators built over the series (their sub-indicators are saved too)
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(File file, TimeSeries series, List<? extends Indicator<?>> indicators) throws IOException {
+        write(file, series, indicators, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes a checkpoint with the last ticks of the series.
+     * <p>
+     * The window must be longer than the longest time frame of the indicators, so that their next values
+     * can be calculated from the restored ticks.
+     * @param file the checkpoint file
+     * @param series the time series
+     * @param indicators the indicators built over the series (their sub-indicators are saved too)
+     * @param nbTicks the (maximum) number of ticks to be saved
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(File file, TimeSeries series, List<? extends Indicator<?>> indicators, int nbTicks)
+            throws IOException {
+        if (series.getTickCount() == 0) {
+            throw new IllegalArgumentException("Cannot checkpoint an empty series");
+        }
+        final int lastIndex = series.getEnd();
+        final int firstIndex = (int) Math.max(Math.max(series.getBegin(), series.getRemovedTicksCount()),
+                (long) lastIndex - nbTicks + 1);
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            // Time series window
+            out.writeUTF(series.getName());
+            out.writeInt(series.getMaximumTickCount());
+            out.writeBoolean(series.isDoubleBacked());
+            out.writeInt(firstIndex);
+            out.writeInt(lastIndex - firstIndex + 1);
+            for (int i = firstIndex; i <= lastIndex; i++) {
+                Tick tick = series.getTick(i);
+                out.writeUTF(tick.getTimePeriod().toString());
+                out.writeLong(tick.getEndTime().getMillis());
+                writeDecimal(out, tick.getOpenPrice());
+                writeDecimal(out, tick.getMaxPrice());
+                writeDecimal(out, tick.getMinPrice());
+                writeDecimal(out, tick.getClosePrice());
+                writeDecimal(out, tick.getVolume());
+                writeDecimal(out, tick.getAmount());
+                out.writeInt(tick.getTrades());
+            }
+
+            // Indicators
+            List<Indicator<?>> graphIndicators = getGraphIndicators(indicators, series);
+            out.writeInt(graphIndicators.size());
+            for (Indicator<?> indicator : graphIndicators) {
+                out.writeUTF(indicator.getClass().getName());
+                writeValues(out, indicator, firstIndex, lastIndex);
+                if (indicator instanceof StatefulIndicator) {
+                    ByteArrayOutputStream state = new ByteArrayOutputStream();
+                    DataOutputStream stateOut = new DataOutputStream(state);
+                    ((StatefulIndicator) indicator).writeState(stateOut);
+                    stateOut.flush();
+                    out.writeInt(state.size());
+                    state.writeTo(out);
+                } else {
+                    out.writeInt(-1);
+                }
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a checkpoint.
+     * @param file the checkpoint file
+     * @return the checkpoint
+     * @throws IOException if an I/O error occurs (or if the file is not a checkpoint)
+     */
+    public static IndicatorCheckpoint read(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a checkpoint file: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version: " + version);
+            }
+
+            // Time series window
+            String name = in.readUTF();
+            int maximumTickCount = in.readInt();
+            boolean doubleBacked = in.readBoolean();
+            int firstIndex = in.readInt();
+            int nbTicks = in.readInt();
+            List<Tick> ticks = new ArrayList<Tick>(nbTicks);
+            for (int i = 0; i < nbTicks; i++) {
+                Period timePeriod = Period.parse(in.readUTF());
+                DateTime endTime = new DateTime(in.readLong());
+                Decimal openPrice = readDecimal(in);
+                Decimal highPrice = readDecimal(in);
+                Decimal lowPrice = readDecimal(in);
+                Decimal closePrice = readDecimal(in);
+                Decimal volume = readDecimal(in);
+                Decimal amount = readDecimal(in);
+                int trades = in.readInt();
+                ticks.add(new Tick(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount, trades));
+            }
+            TimeSeries series = new TimeSeries(name, ticks, firstIndex, maximumTickCount);
+            if (doubleBacked) {
+                series.useDoubleBackedDecimals();
+            }
+
+            // Indicators
+            int nbIndicators = in.readInt();
+            List<String> classNames = new ArrayList<String>(nbIndicators);
+            List<Integer> firstIndexes = new ArrayList<Integer>(nbIndicators);
+            List<Object[]> values = new ArrayList<Object[]>(nbIndicators);
+            List<byte[]> states = new ArrayList<byte[]>(nbIndicators);
+            for (int i = 0; i < nbIndicators; i++) {
+                classNames.add(in.readUTF());
+                firstIndexes.add(in.readInt());
+                Object[] indicatorValues = new Object[in.readInt()];
+                for (int j = 0; j < indicatorValues.length; j++) {
+                    indicatorValues[j] = readValue(in);
+                }
+                values.add(indicatorValues);
+                int stateLength = in.readInt();
+                byte[] state = null;
+                if (stateLength >= 0) {
+                    state = new byte[stateLength];
+                    in.readFully(state);
+                }
+                states.add(state);
+            }
+            return new IndicatorCheckpoint(series, classNames, firstIndexes, values, states);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return the restored time series (the indicators to be restored must be built over it)
+     */
+    public TimeSeries getSeries() {
+        return series;
+    }
+
+    /**
+     * Restores the state of the indicators.
+     * <p>
+     * Must be called right after the indicators have been built over the {@link #getSeries() restored series},
+     * before any value is calculated. Their sub-indicators are restored too.
+     * @param indicators the indicators (same classes and order as the ones the checkpoint was written with)
+     * @throws IllegalArgumentException if the indicators do not match the checkpoint
+     */
+    @SuppressWarnings("unchecked")
+    public void restore(List<? extends Indicator<?>> indicators) {
+        for (Indicator<?> indicator : indicators) {
+            if (indicator.getTimeSeries() != null && indicator.getTimeSeries() != series) {
+                throw new IllegalArgumentException("Indicator " + indicator + " is not built over the restored series");
+            }
+        }
+        List<Indicator<?>> graphIndicators = getGraphIndicators(indicators, series);
+        if (graphIndicators.size() != classNames.size()) {
+            throw new IllegalArgumentException("Checkpoint of " + classNames.size() + " indicators, got " + graphIndicators.size());
+        }
+        for (int i = 0; i < graphIndicators.size(); i++) {
+            Indicator<?> indicator = graphIndicators.get(i);
+            if (!indicator.getClass().getName().equals(classNames.get(i))) {
+                throw new IllegalArgumentException("Indicator #" + i + " should be a " + classNames.get(i)
+                        + ", got " + indicator.getClass().getName());
+            }
+        }
+        for (int i = 0; i < graphIndicators.size(); i++) {
+            Indicator<?> indicator = graphIndicators.get(i);
+            if (indicator instanceof CachedIndicator) {
+                CachedIndicator<Object> cachedIndicator = (CachedIndicator<Object>) indicator;
+                Object[] indicatorValues = values.get(i);
+                int firstIndex = firstIndexes.get(i);
+                for (int j = 0; j < indicatorValues.length; j++) {
+                    if (indicatorValues[j] != null) {
+                        cachedIndicator.restoreValue(firstIndex + j, indicatorValues[j]);
+                    }
+                }
+            }
+            byte[] state = states.get(i);
+            if (state != null && indicator instanceof StatefulIndicator) {
+                try {
+                    ((StatefulIndicator) indicator).readState(new DataInputStream(new ByteArrayInputStream(state)));
+                } catch (IOException ioe) {
+                    throw new IllegalArgumentException("Cannot restore the state of indicator #" + i, ioe);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a decimal.
+     * @param out the output
+     * @param value the decimal to be written (may be null)
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeDecimal(DataOutput out, Decimal value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value.isNaN()) {
+            out.writeByte(NAN_VALUE);
+        } else if (value.isDoubleBacked()) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble(value.toDouble());
+        } else {
+            out.writeByte(BIG_DECIMAL_VALUE);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    /**
+     * Reads a decimal.
+     * @param in the input
+     * @return the decimal (may be null)
+     * @throws IOException if an I/O error occurs (or if the next value is not a decimal)
+     */
+    public static Decimal readDecimal(DataInput in) throws IOException {
+        Object value = readValue(in);
+        if (value != null && !(value instanceof Decimal)) {
+            throw new IOException("Not a decimal value: " + value);
+        }
+        return (Decimal) value;
+    }
+
+    /**
+     * @param indicators the root indicators
+     * @param series the time series
+     * @return the indicators of the graph of the root indicators which are built over the series, in topological order
+     */
+    private static List<Indicator<?>> getGraphIndicators(List<? extends Indicator<?>> indicators, TimeSeries series) {
+        List<Indicator<?>> graphIndicators = new ArrayList<Indicator<?>>();
+        for (Indicator<?> indicator : IndicatorGraph.sort(indicators)) {
+            if (indicator.getTimeSeries() == null || indicator.getTimeSeries() == series) {
+                graphIndicators.add(indicator);
+            }
+        }
+        return graphIndicators;
+    }
+
+    /**
+     * Writes the cached values of an indicator.
+     * @param out the output
+     * @param indicator the indicator
+     * @param firstIndex the index of the first tick of the window
+     * @param lastIndex the index of the last tick of the window
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeValues(DataOutput out, Indicator<?> indicator, int firstIndex, int lastIndex) throws IOException {
+        if (!(indicator instanceof CachedIndicator)) {
+            // Not cached, nothing to save
+            out.writeInt(firstIndex);
+            out.writeInt(0);
+            return;
+        }
+        CachedIndicator<?> cachedIndicator = (CachedIndicator<?>) indicator;
+        int count = 0;
+        for (int i = firstIndex; i <= lastIndex; i++) {
+            Object value = cachedIndicator.getCachedValue(i);
+            if (value instanceof Decimal || value instanceof Boolean) {
+                count = i - firstIndex + 1;
+            } else if (value != null) {
+                // Unsupported type of values
+                count = 0;
+                break;
+            }
+        }
+        out.writeInt(firstIndex);
+        out.writeInt(count);
+        for (int i = firstIndex; i < firstIndex + count; i++) {
+            Object value = cachedIndicator.getCachedValue(i);
+            if (value instanceof Boolean) {
+                out.writeByte(((Boolean) value) ? TRUE_VALUE : FALSE_VALUE);
+            } else {
+                writeDecimal(out, (Decimal) value);
+            }
+        }
+    }
+
+    /**
+     * @param in the input
+     * @return the next value (decimal, boolean or null)
+     * @throws IOException if an I/O error occurs
+     */
+    private static Object readValue(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL_VALUE:
+                return null;
+            case NAN_VALUE:
+                return Decimal.NaN;
+            case DOUBLE_VALUE:
+                return Decimal.doubleBackedValueOf(in.readDouble());
+            case BIG_DECIMAL_VALUE:
+                return Decimal.valueOf(in.readUTF());
+            case FALSE_VALUE:
+                return Boolean.FALSE;
+            case TRUE_VALUE:
+                return Boolean.TRUE;
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+}
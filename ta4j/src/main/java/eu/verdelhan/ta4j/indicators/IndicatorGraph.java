@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Rule;
+import eu.verdelhan.ta4j.Strategy;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Graph of {@link Indicator indicators}.
+ * <p>
+ * The dependencies of an {@link AbstractIndicator abstract indicator} are its {@link AbstractIndicator#getSubIndicators() sub-indicators}.
+ * The ones of any other node (other indicator, {@link Rule rule}, {@link Strategy strategy} or listener) are
+ * discovered through its fields.
+ * <p>
+ * The {@link #getUnstablePeriod(Object) unstable periods} of the indicators are propagated through the graph:
+ * a rule (or a strategy) is not stable before the indicators it holds are.
+ */
+public class IndicatorGraph {
+
+    private IndicatorGraph() {
+    }
+
+    /**
+     * @param roots the roots of the graph (indicators, rules, strategies or listeners)
+     * @return the indicators reachable from the roots, in topological order (i.e. each indicator after its sub-indicators)
+     */
+    public static List<Indicator<?>> sort(Collection<?> roots) {
+        Set<Object> visitedNodes = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        List<Indicator<?>> sortedIndicators = new ArrayList<Indicator<?>>();
+        for (Object root : roots) {
+            visit(root, visitedNodes, sortedIndicators);
+        }
+        return sortedIndicators;
+    }
+
+    /**
+     * Returns the unstable period of a node of the graph.
+     * <p>
+     * The unstable period of an {@link AbstractIndicator abstract indicator} is {@link AbstractIndicator#getUnstablePeriod() declared}
+     * by the indicator. The one of any other node (rule, strategy, listener or other indicator) is the longest unstable period
+     * of its sub-nodes.
+     * @param node a node of the graph (indicator, rule, strategy or listener)
+     * @return the number of first ticks of the series over which the values (or the decisions) of the node are not stable
+     */
+    public static int getUnstablePeriod(Object node) {
+        if (node instanceof AbstractIndicator) {
+            return ((AbstractIndicator<?>) node).getUnstablePeriod();
+        }
+        return getSubNodesUnstablePeriod(node);
+    }
+
+    /**
+     * @param node a node of the graph (indicator, rule, strategy or listener)
+     * @return the longest unstable period of the sub-nodes of the node, 0 if none
+     */
+    static int getSubNodesUnstablePeriod(Object node) {
+        int unstablePeriod = 0;
+        for (Object subNode : getSubNodes(node)) {
+            unstablePeriod = Math.max(unstablePeriod, getUnstablePeriod(subNode));
+        }
+        return unstablePeriod;
+    }
+
+    /**
+     * @param indicator an indicator
+     * @return the indicators held by the fields of the indicator
+     */
+    static List<Indicator<?>> getFieldIndicators(Indicator<?> indicator) {
+        List<Indicator<?>> indicators = new ArrayList<Indicator<?>>();
+        for (Object subNode : getFieldNodes(indicator)) {
+            if (subNode instanceof Indicator) {
+                indicators.add((Indicator<?>) subNode);
+            }
+        }
+        return indicators;
+    }
+
+    /**
+     * Depth-first (post-order) visit of a node.
+     * @param node the node to be visited
+     * @param visitedNodes the already visited nodes
+     * @param sortedIndicators the sorted indicators
+     */
+    private static void visit(Object node, Set<Object> visitedNodes, List<Indicator<?>> sortedIndicators) {
+        if (!visitedNodes.add(node)) {
+            return;
+        }
+        for (Object subNode : getSubNodes(node)) {
+            visit(subNode, visitedNodes, sortedIndicators);
+        }
+        if (node instanceof Indicator) {
+            sortedIndicators.add((Indicator<?>) node);
+        }
+    }
+
+    /**
+     * @param node a node of the graph
+     * @return the sub-nodes of the node (indicators, rules and strategies)
+     */
+    private static List<?> getSubNodes(Object node) {
+        if (node instanceof AbstractIndicator) {
+            return ((AbstractIndicator<?>) node).getSubIndicators();
+        }
+        return getFieldNodes(node);
+    }
+
+    /**
+     * @param node a node of the graph
+     * @return the sub-nodes (indicators, rules and strategies) held by the fields of the node
+     */
+    private static List<Object> getFieldNodes(Object node) {
+        List<Object> subNodes = new ArrayList<Object>();
+        for (Class<?> clazz = node.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                Object value = readField(field, node);
+                if (isGraphNode(value)) {
+                    subNodes.add(value);
+                } else if (value instanceof Object[]) {
+                    for (Object element : (Object[]) value) {
+                        if (isGraphNode(element)) {
+                            subNodes.add(element);
+                        }
+                    }
+                } else if (value instanceof Collection) {
+                    for (Object element : (Collection<?>) value) {
+                        if (isGraphNode(element)) {
+                            subNodes.add(element);
+                        }
+                    }
+                }
+            }
+        }
+        return subNodes;
+    }
+
+    /**
+     * @param value a value
+     * @return true if the value is an indicator, a rule or a strategy, false otherwise
+     */
+    private static boolean isGraphNode(Object value) {
+        return value instanceof Indicator || value instanceof Rule || value instanceof Strategy;
+    }
+
+    /**
+     * @param field a field
+     * @param object an object
+     * @return the value of the field for the object, null if not accessible
+     */
+    private static Object readField(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (IllegalAccessException iae) {
+            return null;
+        } catch (RuntimeException re) {
+            // Security manager or inaccessible module
+            return null;
+        }
+    }
+}
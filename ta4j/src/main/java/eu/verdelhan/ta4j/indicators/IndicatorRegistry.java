@@ -0,0 +1,245 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import org.slf4j.Logger;
+
+/**
+ * Registry of {@link Indicator indicators}.
+ * <p>
+ * Interns the indicators by structural identity: two indicators of the same type, with the same parameters,
+ * over the same inputs (i.e. the same sub-indicators or time series) compute the same values.
+ * The registry keeps one (canonical) instance per distinct computation, so that its values are cached once.
+ * The interned duplicates are not retained by the registry.
+ * <p>
+ * The structure of an indicator is read from its fields (the cache of the {@link CachedIndicator cached indicators} excepted):
+ * <ul>
+ * <li>sub-indicators are compared by canonical instance (they are interned too)
+ * <li>time series are compared by instance
+ * <li>numbers, decimals, strings, enums, periods, etc. are compared by value
+ * <li>arrays, lists, sets and maps are compared by content
+ * <li>other objects of the JDK are compared by instance
+ * <li>other objects (e.g. helpers) are compared by structure
+ * </ul>
+ * The fields holding the computation state of the indicators (running sums, trends, etc.) are marked with
+ * {@link ComputationState}: they are not part of the structure. The indicators should still be interned right after their construction, so that their
+ * values are cached once. Interning them bottom-up shares the sub-indicators too:
+ * <pre>
+ * ClosePriceIndicator closePrice = registry.intern(new ClosePriceIndicator(series));
+ * SMAIndicator sma = registry.intern(new SMAIndicator(closePrice, 200));
+ * </pre>
+ */
+public class IndicatorRegistry {
+
+    /** The canonical indicators, by structural key */
+    private final Map<List<Object>, Indicator<?>> canonicalIndicators = new HashMap<List<Object>, Indicator<?>>();
+
+    /** The canonical indicators (the duplicates are not retained) */
+    private final Set<Indicator<?>> canonicalInstances = Collections.newSetFromMap(new IdentityHashMap<Indicator<?>, Boolean>());
+
+    /**
+     * Interns an indicator.
+     * @param indicator the indicator
+     * @return the canonical instance of the indicator: a structurally identical indicator already registered, or the provided one
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Indicator<?>> T intern(T indicator) {
+        if (indicator == null) {
+            throw new IllegalArgumentException("Indicator cannot be null");
+        }
+        return (T) internIndicator(indicator);
+    }
+
+    /**
+     * @return the number of canonical indicators (i.e. distinct computations)
+     */
+    public synchronized int size() {
+        return canonicalIndicators.size();
+    }
+
+    /**
+     * Removes all the indicators of the registry.
+     */
+    public synchronized void clear() {
+        canonicalIndicators.clear();
+        canonicalInstances.clear();
+    }
+
+    /**
+     * @param indicator an indicator
+     * @return the canonical instance of the indicator
+     */
+    private Indicator<?> internIndicator(Indicator<?> indicator) {
+        if (canonicalInstances.contains(indicator)) {
+            return indicator;
+        }
+        List<Object> key = new ArrayList<Object>();
+        appendStructure(indicator, key, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+        Indicator<?> canonicalIndicator = canonicalIndicators.get(key);
+        if (canonicalIndicator == null) {
+            canonicalIndicator = indicator;
+            canonicalIndicators.put(key, indicator);
+            canonicalInstances.add(indicator);
+        }
+        return canonicalIndicator;
+    }
+
+    /**
+     * Appends the structure of an object (i.e. its type and the values of its fields) to a key.
+     * @param object the object
+     * @param key the key
+     * @param visitedObjects the objects being visited (to break reference cycles)
+     */
+    private void appendStructure(Object object, List<Object> key, Set<Object> visitedObjects) {
+        visitedObjects.add(object);
+        key.add(object.getClass());
+        for (Class<?> clazz = object.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            if (clazz == CachedIndicator.class || clazz == RecursiveCachedIndicator.class) {
+                // Cache, not structure
+                continue;
+            }
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isAnnotationPresent(ComputationState.class)) {
+                    continue;
+                }
+                Object value = readField(field, object);
+                if (!(value instanceof Logger)) {
+                    key.add(toKeyComponent(value, visitedObjects));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param value a field value
+     * @param visitedObjects the objects being visited
+     * @return the component of the structural key for the value
+     */
+    private Object toKeyComponent(Object value, Set<Object> visitedObjects) {
+        if (value == null || isValueType(value)) {
+            return value;
+        }
+        if (value instanceof Indicator) {
+            return new Identity(internIndicator((Indicator<?>) value));
+        }
+        if (value instanceof TimeSeries || visitedObjects.contains(value)) {
+            return new Identity(value);
+        }
+        if (value instanceof Set) {
+            Set<Object> components = new HashSet<Object>();
+            for (Object element : (Set<?>) value) {
+                components.add(toKeyComponent(element, visitedObjects));
+            }
+            return components;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> components = new HashMap<Object, Object>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                components.put(toKeyComponent(entry.getKey(), visitedObjects), toKeyComponent(entry.getValue(), visitedObjects));
+            }
+            return components;
+        }
+        List<Object> components = new ArrayList<Object>();
+        if (value instanceof Collection) {
+            components.add(Collection.class);
+            for (Object element : (Collection<?>) value) {
+                components.add(toKeyComponent(element, visitedObjects));
+            }
+        } else if (value.getClass().getName().startsWith("java.")) {
+            // (Other objects of the JDK are not inspected)
+            return new Identity(value);
+        } else if (value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            components.add(value.getClass());
+            for (int i = 0; i < length; i++) {
+                components.add(toKeyComponent(Array.get(value, i), visitedObjects));
+            }
+        } else {
+            appendStructure(value, components, visitedObjects);
+        }
+        return components;
+    }
+
+    /**
+     * @param value a value
+     * @return true if the value is compared by value (i.e. with equals), false otherwise
+     */
+    private static boolean isValueType(Object value) {
+        return value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof String || value instanceof Enum || value instanceof Class
+                || value instanceof Decimal || value instanceof Period || value instanceof DateTime;
+    }
+
+    /**
+     * @param field a field
+     * @param object an object
+     * @return the value of the field for the object
+     */
+    private static Object readField(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (IllegalAccessException iae) {
+            throw new IllegalStateException("Cannot read field " + field, iae);
+        }
+    }
+
+    /**
+     * Key component compared by instance.
+     */
+    private static final class Identity {
+
+        private final Object object;
+
+        Identity(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Identity) && ((Identity) obj).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+}
@@ -29,20 +29,17 @@ import eu.verdelhan.ta4j.TimeSeries;
  * Recursive cached {@link Indicator indicator}.
  * <p>
  * Recursive indicators should extend this class.<br>
- * This class is only here to avoid (OK, to postpone) the StackOverflowError that
- * may be thrown on the first getValue(int) call of a recursive indicator.
- * Concretely when an index value is asked, if the last cached value is too old/far,
- * the computation of all the values between the last cached and the asked one
- * is executed iteratively.
+ * This class is here to avoid the StackOverflowError that may be thrown on the first getValue(int)
+ * call of a recursive indicator (i.e. an indicator which needs its previous value to compute the current one).
+ * Concretely when an index value is asked, the values between the last cached one and the asked one are
+ * calculated iteratively (i.e. forward, from the oldest to the newest), so that the calculation of each value
+ * only needs the (already cached) previous value.<br>
+ * Since the sub-indicators are asked for their values in the same ascending order, the recursive sub-indicators
+ * fill their own cache forward, one step at a time. Hence the stack depth only depends on the depth of the
+ * indicator graph, not on the number of ticks.
  */
 public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
 
-    /**
-     * The recursion threshold for which an iterative calculation is executed.
-     * @TODO Should be variable (depending on the sub-indicators used in this indicator)
-     */
-    private static final int RECURSION_THRESHOLD = 100;
-    
     /**
      * Constructor.
      * @param series the related time series
@@ -67,13 +64,10 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
             if (index <= seriesEndIndex) {
                 // We are not after the end of the series
                 final int removedTicksCount = series.getRemovedTicksCount();
-                int startIndex = Math.max(removedTicksCount, highestResultIndex);
-                if (index - startIndex > RECURSION_THRESHOLD) {
-                    // Too many uncalculated values; the risk for a StackOverflowError becomes high.
-                    // Calculating the previous values iteratively
-                    for (int prevIdx = startIndex; prevIdx < index; prevIdx++) {
-                        super.getValue(prevIdx);
-                    }
+                final int startIndex = Math.max(removedTicksCount, highestResultIndex + 1);
+                // Calculating the previous uncalculated values iteratively
+                for (int prevIdx = startIndex; prevIdx < index; prevIdx++) {
+                    super.getValue(prevIdx);
                 }
             }
         }
@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import java.util.Arrays;
+
+/**
+ * Circular buffer of indicator results.
+ * <p>
+ * Holds the results of the last N ticks, from the oldest (position 0) to the newest (position size - 1).
+ * When the maximum size is reached, the oldest results are evicted in constant time.
+ * @param <T> the type of the results
+ */
+class ResultsBuffer<T> {
+
+    /** Initial capacity of the buffer */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The results */
+    private Object[] elements = new Object[0];
+
+    /** Position of the oldest result in the elements array */
+    private int head = 0;
+
+    /** Number of results in the buffer */
+    private int size = 0;
+
+    /**
+     * @return the number of results in the buffer
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param position a position in the buffer (0 for the oldest result)
+     * @return the result at the provided position (may be null)
+     */
+    @SuppressWarnings("unchecked")
+    T get(int position) {
+        return (T) elements[toArrayIndex(position)];
+    }
+
+    /**
+     * @param position a position in the buffer (0 for the oldest result)
+     * @param result the result to be stored at the provided position
+     */
+    void set(int position, T result) {
+        elements[toArrayIndex(position)] = result;
+    }
+
+    /**
+     * Appends empty (i.e. null) results at the end of the buffer.
+     * <p>
+     * The oldest results are evicted if the maximum size is exceeded.
+     * @param count the number of empty results to append
+     * @param maxSize the maximum size of the buffer
+     */
+    void appendEmptyResults(int count, int maxSize) {
+        final int newSize = (int) Math.min((long) size + count, maxSize);
+        if (count >= newSize) {
+            // All the current results are evicted
+            Arrays.fill(elements, null);
+            head = 0;
+            size = 0;
+            ensureCapacity(newSize, maxSize);
+            size = newSize;
+            return;
+        }
+        ensureCapacity(newSize, maxSize);
+        final int capacity = elements.length;
+        int index = toArrayIndex(size);
+        for (int i = 0; i < count; i++) {
+            elements[index] = null;
+            index = (index + 1 == capacity) ? 0 : index + 1;
+        }
+        final int nbEvictedResults = size + count - newSize;
+        head = (head + nbEvictedResults) % capacity;
+        size = newSize;
+    }
+
+    /**
+     * Grows the elements array (if needed) so that it can hold the provided number of results.
+     * @param minCapacity the minimum capacity
+     * @param maxCapacity the maximum capacity
+     */
+    private void ensureCapacity(int minCapacity, int maxCapacity) {
+        final int capacity = elements.length;
+        if (minCapacity > capacity) {
+            int newCapacity = Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1));
+            if (newCapacity < minCapacity || newCapacity < 0) {
+                newCapacity = minCapacity;
+            }
+            newCapacity = Math.min(newCapacity, maxCapacity);
+            Object[] newElements = new Object[newCapacity];
+            for (int i = 0; i < size; i++) {
+                newElements[i] = elements[toArrayIndex(i)];
+            }
+            elements = newElements;
+            head = 0;
+        }
+    }
+
+    /**
+     * @param position a position in the buffer (0 for the oldest result)
+     * @return the corresponding index in the elements array
+     */
+    private int toArrayIndex(int position) {
+        final int index = head + position;
+        return index < elements.length ? index : index - elements.length;
+    }
+}
@@ -52,8 +52,8 @@ public class DojiIndicator extends CachedIndicator<Boolean> {
      */
     public DojiIndicator(TimeSeries series, int timeFrame, Decimal bodyFactor) {
         super(series);
-        bodyHeightInd = new AbsoluteIndicator(new RealBodyIndicator(series));
-        averageBodyHeightInd = new SMAIndicator(bodyHeightInd, timeFrame);
+        bodyHeightInd = intern(new AbsoluteIndicator(new RealBodyIndicator(series)));
+        averageBodyHeightInd = intern(new SMAIndicator(bodyHeightInd, timeFrame));
         factor = bodyFactor;
     }
 
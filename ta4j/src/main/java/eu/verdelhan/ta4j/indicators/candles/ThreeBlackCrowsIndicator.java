@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
 
 /**
@@ -44,6 +45,7 @@ public class ThreeBlackCrowsIndicator extends CachedIndicator<Boolean> {
     /** Factor used when checking if a candle has a very short lower shadow */
     private final Decimal factor;
     
+    @ComputationState
     private int whiteCandleIndex = -1;
     
     /**
@@ -55,8 +57,8 @@ public class ThreeBlackCrowsIndicator extends CachedIndicator<Boolean> {
     public ThreeBlackCrowsIndicator(TimeSeries series, int timeFrame, Decimal factor) {
         super(series);
         this.series = series;
-        lowerShadowInd = new LowerShadowIndicator(series);
-        averageLowerShadowInd = new SMAIndicator(lowerShadowInd, timeFrame);
+        lowerShadowInd = intern(new LowerShadowIndicator(series));
+        averageLowerShadowInd = intern(new SMAIndicator(lowerShadowInd, timeFrame));
         this.factor = factor;
     }
 
@@ -26,6 +26,7 @@ import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
 
 /**
@@ -44,6 +45,7 @@ public class ThreeWhiteSoldiersIndicator extends CachedIndicator<Boolean> {
     /** Factor used when checking if a candle has a very short upper shadow */
     private final Decimal factor;
     
+    @ComputationState
     private int blackCandleIndex = -1;
     
     /**
@@ -55,8 +57,8 @@ public class ThreeWhiteSoldiersIndicator extends CachedIndicator<Boolean> {
     public ThreeWhiteSoldiersIndicator(TimeSeries series, int timeFrame, Decimal factor) {
         super(series);
         this.series = series;
-        upperShadowInd = new UpperShadowIndicator(series);
-        averageUpperShadowInd = new SMAIndicator(upperShadowInd, timeFrame);
+        upperShadowInd = intern(new UpperShadowIndicator(series));
+        averageUpperShadowInd = intern(new SMAIndicator(upperShadowInd, timeFrame));
         this.factor = factor;
     }
 
@@ -38,7 +38,7 @@ public class AverageDirectionalMovementDownIndicator extends RecursiveCachedIndi
     public AverageDirectionalMovementDownIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        dmdown = new DirectionalMovementDownIndicator(series);
+        dmdown = intern(new DirectionalMovementDownIndicator(series));
     }
 
     @Override
@@ -51,4 +51,9 @@ public class AverageDirectionalMovementDownIndicator extends RecursiveCachedIndi
         return getValue(index - 1).multipliedBy(nbPeriodsMinusOne).dividedBy(nbPeriods).plus(dmdown.getValue(index).dividedBy(nbPeriods));
 
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
@@ -39,7 +39,7 @@ public class AverageDirectionalMovementUpIndicator extends RecursiveCachedIndica
     public AverageDirectionalMovementUpIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        dmup = new DirectionalMovementUpIndicator(series);
+        dmup = intern(new DirectionalMovementUpIndicator(series));
     }
 
     @Override
@@ -51,4 +51,9 @@ public class AverageDirectionalMovementUpIndicator extends RecursiveCachedIndica
         Decimal nbPeriodsMinusOne = Decimal.valueOf(timeFrame - 1);
         return getValue(index - 1).multipliedBy(nbPeriodsMinusOne).dividedBy(nbPeriods).plus(dmup.getValue(index).dividedBy(nbPeriods));
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
@@ -38,7 +38,7 @@ public class AverageGainIndicator extends CachedIndicator<Decimal> {
 
     public AverageGainIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.cumulatedGains = new CumulatedGainsIndicator(indicator, timeFrame);
+        this.cumulatedGains = intern(new CumulatedGainsIndicator(indicator, timeFrame));
         this.timeFrame = timeFrame;
     }
 
@@ -38,7 +38,7 @@ public class AverageLossIndicator extends CachedIndicator<Decimal> {
 
     public AverageLossIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.cumulatedLosses = new CumulatedLossesIndicator(indicator, timeFrame);
+        this.cumulatedLosses = intern(new CumulatedLossesIndicator(indicator, timeFrame));
         this.timeFrame = timeFrame;
     }
 
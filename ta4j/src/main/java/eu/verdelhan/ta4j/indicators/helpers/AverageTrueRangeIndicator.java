@@ -24,13 +24,14 @@ package eu.verdelhan.ta4j.indicators.helpers;
 
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
 import eu.verdelhan.ta4j.indicators.RecursiveCachedIndicator;
 
 /**
  * Average true range indicator.
  * <p>
  */
-public class AverageTrueRangeIndicator extends RecursiveCachedIndicator<Decimal> {
+public class AverageTrueRangeIndicator extends RecursiveCachedIndicator<Decimal> implements BatchComputable {
 
     private final int timeFrame;
     private final TrueRangeIndicator tr;
@@ -38,7 +39,7 @@ public class AverageTrueRangeIndicator extends RecursiveCachedIndicator<Decimal>
     public AverageTrueRangeIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        this.tr = new TrueRangeIndicator(series);
+        this.tr = intern(new TrueRangeIndicator(series));
     }
     
     @Override
@@ -50,4 +51,26 @@ public class AverageTrueRangeIndicator extends RecursiveCachedIndicator<Decimal>
         Decimal nbPeriodsMinusOne = Decimal.valueOf(timeFrame - 1);
         return getValue(index - 1).multipliedBy(nbPeriodsMinusOne).plus(tr.getValue(index)).dividedBy(nbPeriods);
     }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        // The average true range depends on all the previous values
+        final double[] trueRanges = new double[end + 1];
+        tr.computeAll(0, end, trueRanges);
+        double atr = 1;
+        if (begin == 0) {
+            values[0] = atr;
+        }
+        for (int i = 1; i <= end; i++) {
+            atr = (atr * (timeFrame - 1) + trueRanges[i]) / timeFrame;
+            if (i >= begin) {
+                values[i - begin] = atr;
+            }
+        }
+    }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
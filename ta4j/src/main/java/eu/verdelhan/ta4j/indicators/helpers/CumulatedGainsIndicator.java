@@ -52,4 +52,9 @@ public class CumulatedGainsIndicator extends CachedIndicator<Decimal> {
         }
         return sumOfGains;
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
@@ -52,4 +52,9 @@ public class CumulatedLossesIndicator extends CachedIndicator<Decimal> {
         }
         return sumOfLosses;
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
@@ -39,8 +39,8 @@ public class DirectionalDownIndicator extends CachedIndicator<Decimal>{
 
     public DirectionalDownIndicator(TimeSeries series, int timeFrame) {
         super(series);
-        this.admdown = new AverageDirectionalMovementDownIndicator(series, timeFrame);
-        this.atr = new AverageTrueRangeIndicator(series, timeFrame);
+        this.admdown = intern(new AverageDirectionalMovementDownIndicator(series, timeFrame));
+        this.atr = intern(new AverageTrueRangeIndicator(series, timeFrame));
         this.timeFrame = timeFrame;
     }
 
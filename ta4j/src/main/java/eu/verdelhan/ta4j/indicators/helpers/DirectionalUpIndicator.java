@@ -39,8 +39,8 @@ public class DirectionalUpIndicator extends CachedIndicator<Decimal>{
 
     public DirectionalUpIndicator(TimeSeries series, int timeFrame) {
         super(series);
-        this.admup = new AverageDirectionalMovementUpIndicator(series, timeFrame);
-        this.atr = new AverageTrueRangeIndicator(series, timeFrame);
+        this.admup = intern(new AverageDirectionalMovementUpIndicator(series, timeFrame));
+        this.atr = intern(new AverageTrueRangeIndicator(series, timeFrame));
         this.timeFrame = timeFrame;
     }
 
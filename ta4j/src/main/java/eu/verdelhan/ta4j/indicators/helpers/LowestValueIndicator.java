@@ -25,33 +25,39 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Lowest value indicator.
  * <p>
+ * Computed over a sliding window: amortized constant time per tick when the values are calculated in sequence.
  */
 public class LowestValueIndicator extends CachedIndicator<Decimal> {
 
-    private final Indicator<Decimal> indicator;
-
     private final int timeFrame;
 
+    private final SlidingWindowExtremum extremum;
+
     public LowestValueIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.extremum = new SlidingWindowExtremum(indicator, timeFrame, false);
     }
 
     @Override
     protected Decimal calculate(int index) {
-        int start = Math.max(0, index - timeFrame + 1);
-        Decimal lowest = indicator.getValue(start);
-        for (int i = start + 1; i <= index; i++) {
-            if (lowest.isGreaterThan(indicator.getValue(i))) {
-                lowest = indicator.getValue(i);
-            }
-        }
-        return lowest;
+        return extremum.calculate(index);
+    }
+
+    @Override
+    public List<Indicator<?>> getSubIndicators() {
+        return Collections.<Indicator<?>>singletonList(extremum.getIndicator());
+    }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
     }
 
     @Override
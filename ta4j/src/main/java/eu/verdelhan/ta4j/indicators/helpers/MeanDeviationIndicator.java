@@ -49,7 +49,7 @@ public class MeanDeviationIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        sma = new SMAIndicator(indicator, timeFrame);
+        sma = intern(new SMAIndicator(indicator, timeFrame));
     }
 
     @Override
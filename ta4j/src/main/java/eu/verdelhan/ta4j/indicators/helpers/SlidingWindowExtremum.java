@@ -0,0 +1,164 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators.helpers;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.ComputationState;
+
+/**
+ * Sliding window extremum (i.e. highest or lowest value) of an indicator over a time frame.
+ * <p>
+ * Relies on a monotonic deque of tick indexes: the values at the indexes of the deque are sorted
+ * (descending for the highest value, ascending for the lowest one), so that the extremum is always at the front.
+ * When the values are calculated in sequence, each new value costs an amortized constant time.
+ * On random access the deque is rebuilt from the whole time frame.
+ */
+class SlidingWindowExtremum {
+
+    private final Indicator<Decimal> indicator;
+
+    private final int timeFrame;
+
+    /** True to track the highest value, false to track the lowest one */
+    private final boolean highest;
+
+    /** The deque of tick indexes (circular array) */
+    @ComputationState
+    private int[] indexes = new int[8];
+
+    /** Position of the front of the deque in the indexes array */
+    @ComputationState
+    private int head = 0;
+
+    /** Number of indexes in the deque */
+    @ComputationState
+    private int size = 0;
+
+    /** Index of the last calculated extremum (-1 if none) */
+    @ComputationState
+    private int lastIndex = -1;
+
+    /**
+     * Constructor.
+     * @param indicator the indicator
+     * @param timeFrame the time frame
+     * @param highest true to track the highest value, false to track the lowest one
+     */
+    SlidingWindowExtremum(Indicator<Decimal> indicator, int timeFrame, boolean highest) {
+        this.indicator = indicator;
+        this.timeFrame = timeFrame;
+        this.highest = highest;
+    }
+
+    /**
+     * @return the indicator
+     */
+    Indicator<Decimal> getIndicator() {
+        return indicator;
+    }
+
+    /**
+     * @param index the tick index
+     * @return the extremum value over the time frame ending at the provided index
+     */
+    Decimal calculate(int index) {
+        final int start = Math.max(0, index - timeFrame + 1);
+        if (lastIndex >= 0 && index == lastIndex + 1 && !isRemovedTick(start)) {
+            // Sequential access: evicting the index which exits the time frame
+            if (size > 0 && indexes[head] < start) {
+                popFront();
+            }
+            push(index);
+        } else {
+            // Random access: rebuilding the deque
+            size = 0;
+            head = 0;
+            for (int i = start; i <= index; i++) {
+                push(i);
+            }
+        }
+        lastIndex = index;
+        return indicator.getValue(indexes[head]);
+    }
+
+    /**
+     * Pushes an index at the back of the deque, after having removed the indexes which cannot be an extremum anymore.
+     * @param index the tick index
+     */
+    private void push(int index) {
+        final Decimal value = indicator.getValue(index);
+        while (size > 0) {
+            Decimal backValue = indicator.getValue(indexes[toArrayIndex(size - 1)]);
+            boolean dominated = highest ? backValue.isLessThanOrEqual(value) : backValue.isGreaterThanOrEqual(value);
+            if (!dominated) {
+                break;
+            }
+            size--;
+        }
+        if (size == indexes.length) {
+            grow();
+        }
+        indexes[toArrayIndex(size)] = index;
+        size++;
+    }
+
+    /**
+     * Removes the index at the front of the deque.
+     */
+    private void popFront() {
+        head = toArrayIndex(1);
+        size--;
+    }
+
+    /**
+     * Doubles the capacity of the indexes array.
+     */
+    private void grow() {
+        int[] newIndexes = new int[indexes.length * 2];
+        for (int i = 0; i < size; i++) {
+            newIndexes[i] = indexes[toArrayIndex(i)];
+        }
+        indexes = newIndexes;
+        head = 0;
+    }
+
+    /**
+     * @param position a position in the deque (0 for the front)
+     * @return the corresponding index in the indexes array
+     */
+    private int toArrayIndex(int position) {
+        final int arrayIndex = head + position;
+        return arrayIndex < indexes.length ? arrayIndex : arrayIndex - indexes.length;
+    }
+
+    /**
+     * @param index a tick index
+     * @return true if the tick at the provided index has been removed from the time series, false otherwise
+     */
+    private boolean isRemovedTick(int index) {
+        TimeSeries series = indicator.getTimeSeries();
+        return series != null && index < series.getRemovedTicksCount();
+    }
+}
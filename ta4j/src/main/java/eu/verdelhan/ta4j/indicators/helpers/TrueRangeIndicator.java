@@ -23,14 +23,16 @@
 package eu.verdelhan.ta4j.indicators.helpers;
 
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 
 /**
  * True range indicator.
  * <p>
  */
-public class TrueRangeIndicator extends CachedIndicator<Decimal>{
+public class TrueRangeIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private TimeSeries series;
 
@@ -47,4 +49,20 @@ public class TrueRangeIndicator extends CachedIndicator<Decimal>{
         
         return ts.abs().max(ys.abs()).max(yst.abs());
     }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        double previousClose = begin == 0 ? 0 : series.getTick(begin - 1).getClosePrice().toDouble();
+        for (int i = begin; i <= end; i++) {
+            final Tick tick = series.getTick(i);
+            final double max = tick.getMaxPrice().toDouble();
+            final double min = tick.getMinPrice().toDouble();
+            double trueRange = Math.abs(max - min);
+            if (i > 0) {
+                trueRange = Math.max(trueRange, Math.max(Math.abs(max - previousClose), Math.abs(previousClose - min)));
+            }
+            values[i - begin] = trueRange;
+            previousClose = tick.getClosePrice().toDouble();
+        }
+    }
 }
@@ -44,8 +44,8 @@ public class AroonDownIndicator extends CachedIndicator<Decimal> {
     public AroonDownIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        closePriceIndicator = new ClosePriceIndicator(series);
-        lowestClosePriceIndicator = new LowestValueIndicator(closePriceIndicator, timeFrame);
+        closePriceIndicator = intern(new ClosePriceIndicator(series));
+        lowestClosePriceIndicator = intern(new LowestValueIndicator(closePriceIndicator, timeFrame));
     }
 
     @Override
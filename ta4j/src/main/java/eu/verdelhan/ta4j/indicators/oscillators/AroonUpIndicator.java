@@ -44,8 +44,8 @@ public class AroonUpIndicator extends CachedIndicator<Decimal> {
     public AroonUpIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        closePriceIndicator = new ClosePriceIndicator(series);
-        highestClosePriceIndicator = new HighestValueIndicator(closePriceIndicator, timeFrame);
+        closePriceIndicator = intern(new ClosePriceIndicator(series));
+        highestClosePriceIndicator = intern(new HighestValueIndicator(closePriceIndicator, timeFrame));
     }
 
     @Override
@@ -40,8 +40,8 @@ public class AwesomeOscillatorIndicator extends CachedIndicator<Decimal> {
 
     public AwesomeOscillatorIndicator(Indicator<Decimal> indicator, int timeFrameSma1, int timeFrameSma2) {
         super(indicator);
-        this.sma5 = new SMAIndicator(indicator, timeFrameSma1);
-        this.sma34 = new SMAIndicator(indicator, timeFrameSma2);
+        this.sma5 = intern(new SMAIndicator(indicator, timeFrameSma1));
+        this.sma34 = intern(new SMAIndicator(indicator, timeFrameSma2));
     }
 
     public AwesomeOscillatorIndicator(Indicator<Decimal> indicator) {
@@ -53,9 +53,9 @@ public class CCIIndicator extends CachedIndicator<Decimal> {
      */
     public CCIIndicator(TimeSeries series, int timeFrame) {
         super(series);
-        typicalPriceInd = new TypicalPriceIndicator(series);
-        smaInd = new SMAIndicator(typicalPriceInd, timeFrame);
-        meanDeviationInd = new MeanDeviationIndicator(typicalPriceInd, timeFrame);
+        typicalPriceInd = intern(new TypicalPriceIndicator(series));
+        smaInd = intern(new SMAIndicator(typicalPriceInd, timeFrame));
+        meanDeviationInd = intern(new MeanDeviationIndicator(typicalPriceInd, timeFrame));
         this.timeFrame = timeFrame;
     }
 
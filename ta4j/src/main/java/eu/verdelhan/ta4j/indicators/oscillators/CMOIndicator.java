@@ -47,8 +47,8 @@ public class CMOIndicator extends CachedIndicator<Decimal> {
      */
     public CMOIndicator(Indicator<Decimal> price, int timeFrame) {
         super(price);
-        cumulatedGains = new CumulatedGainsIndicator(price, timeFrame);
-        cumulatedLosses = new CumulatedLossesIndicator(price, timeFrame);
+        cumulatedGains = intern(new CumulatedGainsIndicator(price, timeFrame));
+        cumulatedLosses = intern(new CumulatedLossesIndicator(price, timeFrame));
     }
 
     @Override
@@ -70,7 +70,7 @@ public class DPOIndicator extends CachedIndicator<Decimal> {
         this.timeFrame = timeFrame;
         timeShift = timeFrame / 2 + 1;
         this.price = price;
-        sma = new SMAIndicator(price, this.timeFrame);
+        sma = intern(new SMAIndicator(price, this.timeFrame));
     }
 
     @Override
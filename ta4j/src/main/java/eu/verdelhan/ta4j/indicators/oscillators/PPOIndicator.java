@@ -42,8 +42,8 @@ public class PPOIndicator extends CachedIndicator<Decimal> {
         if (shortTimeFrame > longTimeFrame) {
             throw new IllegalArgumentException("Long term period count must be greater than short term period count");
         }
-        shortTermEma = new EMAIndicator(indicator, shortTimeFrame);
-        longTermEma = new EMAIndicator(indicator, longTimeFrame);
+        shortTermEma = intern(new EMAIndicator(indicator, shortTimeFrame));
+        longTermEma = intern(new EMAIndicator(indicator, longTimeFrame));
     }
 
     @Override
@@ -24,13 +24,14 @@ package eu.verdelhan.ta4j.indicators.simple;
 
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 
 /**
  * Maximum price indicator.
  * <p>
  */
-public class MaxPriceIndicator extends CachedIndicator<Decimal> {
+public class MaxPriceIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private TimeSeries series;
 
@@ -41,6 +42,17 @@ public class MaxPriceIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
+        if (series.hasPrimitiveTicks()) {
+            // Reading the primitive storage (without building the tick)
+            return Decimal.doubleBackedValueOf(series.getMaxPrice(index));
+        }
         return series.getTick(index).getMaxPrice();
     }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        for (int i = begin; i <= end; i++) {
+            values[i - begin] = series.getMaxPrice(i);
+        }
+    }
 }
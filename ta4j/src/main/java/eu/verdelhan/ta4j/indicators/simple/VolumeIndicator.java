@@ -55,4 +55,9 @@ public class VolumeIndicator extends CachedIndicator<Decimal> {
         }
         return sumOfVolume;
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
+    }
 }
\ No newline at end of file
@@ -47,9 +47,9 @@ public class CorrelationCoefficientIndicator extends CachedIndicator<Decimal> {
      */
     public CorrelationCoefficientIndicator(Indicator<Decimal> indicator1, Indicator<Decimal> indicator2, int timeFrame) {
         super(indicator1);
-        variance1 = new VarianceIndicator(indicator1, timeFrame);
-        variance2 = new VarianceIndicator(indicator2, timeFrame);
-        covariance = new CovarianceIndicator(indicator1, indicator2, timeFrame);
+        variance1 = intern(new VarianceIndicator(indicator1, timeFrame));
+        variance2 = intern(new VarianceIndicator(indicator2, timeFrame));
+        covariance = intern(new CovarianceIndicator(indicator1, indicator2, timeFrame));
     }
 
     @Override
@@ -25,23 +25,46 @@ package eu.verdelhan.ta4j.indicators.statistics;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
-import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 
 /**
  * Covariance indicator.
  * <p>
+ * The means and the co-moment (i.e. the sum of the products of the deviations from the means) over the time frame
+ * are maintained incrementally: when the values are calculated in sequence, each new value costs a constant time
+ * (whatever the time frame). They are periodically recomputed from the whole time frame, so that the rounding errors
+ * do not accumulate.
  */
 public class CovarianceIndicator extends CachedIndicator<Decimal> {
 
+    /** Number of sequential updates after which the means and co-moment are recomputed from the whole time frame */
+    private static final int RESYNC_PERIOD = 1000;
+
     private Indicator<Decimal> indicator1;
     
     private Indicator<Decimal> indicator2;
 
     private int timeFrame;
 
-    private SMAIndicator sma1;
-    
-    private SMAIndicator sma2;
+    /** Index of the last calculated means and co-moment (-1 if none) */
+    @ComputationState
+    private int lastIndex = -1;
+
+    /** Mean of the values of the first indicator over the time frame, at the last index */
+    @ComputationState
+    private Decimal lastMean1;
+
+    /** Mean of the values of the second indicator over the time frame, at the last index */
+    @ComputationState
+    private Decimal lastMean2;
+
+    /** Sum of the products of the deviations from the means over the time frame, at the last index */
+    @ComputationState
+    private Decimal lastCoMoment;
+
+    /** Number of sequential updates since the means and co-moment were last computed from the whole time frame */
+    @ComputationState
+    private int updateCount;
 
     /**
      * Constructor.
@@ -54,23 +77,67 @@ public class CovarianceIndicator extends CachedIndicator<Decimal> {
         this.indicator1 = indicator1;
         this.indicator2 = indicator2;
         this.timeFrame = timeFrame;
-        sma1 = new SMAIndicator(indicator1, timeFrame);
-        sma2 = new SMAIndicator(indicator2, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
         final int numberOfObservations = index - startIndex + 1;
-        Decimal covariance = Decimal.ZERO;
-        Decimal average1 = sma1.getValue(index);
-        Decimal average2 = sma2.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Decimal mul = indicator1.getValue(i).minus(average1).multipliedBy(indicator2.getValue(i).minus(average2));
-            covariance = covariance.plus(mul);
+        final Decimal nbObservations = Decimal.valueOf(numberOfObservations);
+        final int exitingIndex = index - timeFrame;
+
+        Decimal mean1;
+        Decimal mean2;
+        Decimal coMoment;
+        if (lastIndex >= 0 && index == lastIndex + 1 && (exitingIndex < 0 || !isRemovedTick(exitingIndex))
+                && updateCount < RESYNC_PERIOD) {
+            // Sequential access: updating the previous means and co-moment
+            updateCount++;
+            Decimal value1 = indicator1.getValue(index);
+            Decimal value2 = indicator2.getValue(index);
+            if (exitingIndex < 0) {
+                // Growing window
+                mean1 = lastMean1.plus(value1.minus(lastMean1).dividedBy(nbObservations));
+                mean2 = lastMean2.plus(value2.minus(lastMean2).dividedBy(nbObservations));
+                coMoment = lastCoMoment.plus(value1.minus(lastMean1).multipliedBy(value2.minus(mean2)));
+            } else {
+                // Sliding window
+                Decimal exitingValue1 = indicator1.getValue(exitingIndex);
+                Decimal exitingValue2 = indicator2.getValue(exitingIndex);
+                mean1 = lastMean1.plus(value1.minus(exitingValue1).dividedBy(nbObservations));
+                mean2 = lastMean2.plus(value2.minus(exitingValue2).dividedBy(nbObservations));
+                coMoment = lastCoMoment
+                        .plus(value1.minus(lastMean1).multipliedBy(value2.minus(mean2)))
+                        .minus(exitingValue1.minus(lastMean1).multipliedBy(exitingValue2.minus(mean2)));
+            }
+        } else {
+            // Random access (or periodic resync): scanning the whole time frame
+            updateCount = 0;
+            Decimal sum1 = Decimal.ZERO;
+            Decimal sum2 = Decimal.ZERO;
+            for (int i = startIndex; i <= index; i++) {
+                sum1 = sum1.plus(indicator1.getValue(i));
+                sum2 = sum2.plus(indicator2.getValue(i));
+            }
+            mean1 = sum1.dividedBy(nbObservations);
+            mean2 = sum2.dividedBy(nbObservations);
+            coMoment = Decimal.ZERO;
+            for (int i = startIndex; i <= index; i++) {
+                Decimal mul = indicator1.getValue(i).minus(mean1).multipliedBy(indicator2.getValue(i).minus(mean2));
+                coMoment = coMoment.plus(mul);
+            }
         }
-        covariance = covariance.dividedBy(Decimal.valueOf(numberOfObservations));
-        return covariance;
+        lastIndex = index;
+        lastMean1 = mean1;
+        lastMean2 = mean2;
+        lastCoMoment = coMoment;
+
+        return coMoment.dividedBy(nbObservations);
+    }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
     }
 
     @Override
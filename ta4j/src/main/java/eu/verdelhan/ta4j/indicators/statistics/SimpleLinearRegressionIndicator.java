@@ -25,6 +25,7 @@ package eu.verdelhan.ta4j.indicators.statistics;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 
 /**
  * Simple linear regression indicator.
@@ -32,16 +33,36 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  * A moving (i.e. over the time frame) simple linear regression (least squares).
  * y = slope * x + intercept
  * See also: http://introcs.cs.princeton.edu/java/97data/LinearRegression.java.html
+ * <p>
+ * The x values are the positions of the ticks in the time frame (from 0 to n - 1), so that the sum of the y values and
+ * the sum of the x * y products are maintained incrementally: when the values are calculated in sequence, each new value
+ * costs a constant time (whatever the time frame). The sums over the x values have closed forms.
+ * The sums are periodically recomputed from the whole time frame, so that the rounding errors do not accumulate.
  */
 public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
 
+    /** Number of sequential updates after which the sums are recomputed from the whole time frame */
+    private static final int RESYNC_PERIOD = 1000;
+
     private Indicator<Decimal> indicator;
     
     private int timeFrame;
-    
-    private Decimal slope;
-    
-    private Decimal intercept;
+
+    /** Index of the last calculated sums (-1 if none) */
+    @ComputationState
+    private int lastSumIndex = -1;
+
+    /** Sum of the y values over the time frame, at the last sum index */
+    @ComputationState
+    private Decimal lastSumY;
+
+    /** Sum of the x * y products over the time frame, at the last sum index */
+    @ComputationState
+    private Decimal lastSumXY;
+
+    /** Number of sequential updates of the sums since they were last computed from the whole time frame */
+    @ComputationState
+    private int updateCount;
     
     public SimpleLinearRegressionIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
@@ -52,43 +73,59 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Decimal> {
     @Override
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
-        final int endIndex = index;
-        if (endIndex - startIndex + 1 < 2) {
+        final int numberOfObservations = index - startIndex + 1;
+        final int exitingIndex = index - timeFrame;
+
+        Decimal sumY;
+        Decimal sumXY;
+        if (lastSumIndex >= 0 && index == lastSumIndex + 1 && (exitingIndex < 0 || !isRemovedTick(exitingIndex))
+                && updateCount < RESYNC_PERIOD) {
+            // Sequential access: updating the previous sums
+            updateCount++;
+            final Decimal value = indicator.getValue(index);
+            final Decimal x = Decimal.valueOf(numberOfObservations - 1);
+            if (exitingIndex >= 0) {
+                // Sliding window: every x decreases by one (the exiting value had x = 0)
+                final Decimal exitingValue = indicator.getValue(exitingIndex);
+                sumXY = lastSumXY.minus(lastSumY.minus(exitingValue)).plus(x.multipliedBy(value));
+                sumY = lastSumY.minus(exitingValue).plus(value);
+            } else {
+                // Growing window
+                sumXY = lastSumXY.plus(x.multipliedBy(value));
+                sumY = lastSumY.plus(value);
+            }
+        } else {
+            // Random access (or periodic resync): summing the whole time frame
+            updateCount = 0;
+            sumY = Decimal.ZERO;
+            sumXY = Decimal.ZERO;
+            for (int i = startIndex; i <= index; i++) {
+                final Decimal value = indicator.getValue(i);
+                sumY = sumY.plus(value);
+                sumXY = sumXY.plus(Decimal.valueOf(i - startIndex).multipliedBy(value));
+            }
+        }
+        lastSumIndex = index;
+        lastSumY = sumY;
+        lastSumXY = sumXY;
+
+        if (numberOfObservations < 2) {
             // Not enough observations to compute a regression line
             return Decimal.NaN;
         }
-        calculateRegressionLine(startIndex, endIndex);
-        return slope.multipliedBy(Decimal.valueOf(index)).plus(intercept);
+        // xBar = (n - 1) / 2, Sxx = sum((x - xBar)^2) = n * (n^2 - 1) / 12, Sxy = sum(x * y) - xBar * sum(y)
+        final long n = numberOfObservations;
+        final Decimal nbObservations = Decimal.valueOf(numberOfObservations);
+        final Decimal xBar = Decimal.valueOf(numberOfObservations - 1).dividedBy(Decimal.TWO);
+        final Decimal sxx = Decimal.valueOf(n * (n * n - 1)).dividedBy(Decimal.valueOf(12));
+        final Decimal sxy = sumXY.minus(xBar.multipliedBy(sumY));
+        final Decimal slope = sxy.dividedBy(sxx);
+        // Value of the regression line at the current tick (x = n - 1)
+        return sumY.dividedBy(nbObservations).plus(slope.multipliedBy(xBar));
     }
-    
-    /**
-     * Calculates the regression line.
-     * @param startIndex the start index (inclusive) in the time series
-     * @param endIndex the end index (inclusive) in the time series
-     */
-    private void calculateRegressionLine(int startIndex, int endIndex) {
-        // First pass: compute xBar and yBar
-        Decimal sumX = Decimal.ZERO;
-        Decimal sumY = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            sumX = sumX.plus(Decimal.valueOf(i));
-            sumY = sumY.plus(indicator.getValue(i));
-        }
-        Decimal nbObservations = Decimal.valueOf(endIndex - startIndex + 1);
-        Decimal xBar = sumX.dividedBy(nbObservations);
-        Decimal yBar = sumY.dividedBy(nbObservations);
-        
-        // Second pass: compute slope and intercept
-        Decimal xxBar = Decimal.ZERO;
-        Decimal xyBar = Decimal.ZERO;
-        for (int i = startIndex; i <= endIndex; i++) {
-            Decimal dX = Decimal.valueOf(i).minus(xBar);
-            Decimal dY = indicator.getValue(i).minus(yBar);
-            xxBar = xxBar.plus(dX.multipliedBy(dX));
-            xyBar = xyBar.plus(dX.multipliedBy(dY));
-        }
-        
-        slope = xyBar.dividedBy(xxBar);
-        intercept = yBar.minus(slope.multipliedBy(xBar));
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
     }
 }
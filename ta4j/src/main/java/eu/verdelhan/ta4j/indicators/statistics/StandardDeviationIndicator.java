@@ -24,6 +24,7 @@ package eu.verdelhan.ta4j.indicators.statistics;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 import eu.verdelhan.ta4j.indicators.statistics.VarianceIndicator;
 
@@ -32,7 +33,7 @@ import eu.verdelhan.ta4j.indicators.statistics.VarianceIndicator;
  * <p>
  * @see http://stockcharts.com/school/doku.php?id=chart_school:technical_indicators:standard_deviation_volatility
  */
-public class StandardDeviationIndicator extends CachedIndicator<Decimal> {
+public class StandardDeviationIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private VarianceIndicator variance;
 
@@ -43,11 +44,19 @@ public class StandardDeviationIndicator extends CachedIndicator<Decimal> {
      */
     public StandardDeviationIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        variance = new VarianceIndicator(indicator, timeFrame);
+        variance = intern(new VarianceIndicator(indicator, timeFrame));
     }
 
     @Override
     protected Decimal calculate(int index) {
         return variance.getValue(index).sqrt();
     }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        variance.computeAll(begin, end, values);
+        for (int i = 0; i <= end - begin; i++) {
+            values[i] = Math.sqrt(values[i]);
+        }
+    }
 }
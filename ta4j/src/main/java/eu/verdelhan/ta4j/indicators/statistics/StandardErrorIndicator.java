@@ -44,7 +44,7 @@ public class StandardErrorIndicator extends CachedIndicator<Decimal> {
     public StandardErrorIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.timeFrame = timeFrame;
-        sdev = new StandardDeviationIndicator(indicator, timeFrame);
+        sdev = intern(new StandardDeviationIndicator(indicator, timeFrame));
     }
 
     @Override
@@ -24,20 +24,42 @@ package eu.verdelhan.ta4j.indicators.statistics;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
-import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 
 /**
  * Variance indicator.
  * <p>
+ * The mean and the sum of squared deviations over the time frame are maintained incrementally (Welford's method):
+ * when the values are calculated in sequence, each new value costs a constant time (whatever the time frame).
+ * They are periodically recomputed from the whole time frame, so that the rounding errors do not accumulate.
  */
-public class VarianceIndicator extends CachedIndicator<Decimal> {
+public class VarianceIndicator extends CachedIndicator<Decimal> implements BatchComputable {
+
+    /** Number of sequential updates after which the statistics are recomputed from the whole time frame */
+    private static final int RESYNC_PERIOD = 1000;
 
     private Indicator<Decimal> indicator;
 
     private int timeFrame;
 
-    private SMAIndicator sma;
+    /** Index of the last calculated mean and sum of squared deviations (-1 if none) */
+    @ComputationState
+    private int lastIndex = -1;
+
+    /** Mean of the values over the time frame, at the last index */
+    @ComputationState
+    private Decimal lastMean;
+
+    /** Sum of squared deviations from the mean over the time frame, at the last index */
+    @ComputationState
+    private Decimal lastSquaredDeviations;
+
+    /** Number of sequential updates since the statistics were last computed from the whole time frame */
+    @ComputationState
+    private int updateCount;
 
     /**
      * Constructor.
@@ -48,21 +70,111 @@ public class VarianceIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        sma = new SMAIndicator(indicator, timeFrame);
     }
 
     @Override
     protected Decimal calculate(int index) {
         final int startIndex = Math.max(0, index - timeFrame + 1);
         final int numberOfObservations = index - startIndex + 1;
-        Decimal variance = Decimal.ZERO;
-        Decimal average = sma.getValue(index);
-        for (int i = startIndex; i <= index; i++) {
-            Decimal pow = indicator.getValue(i).minus(average).pow(2);
-            variance = variance.plus(pow);
+        final Decimal nbObservations = Decimal.valueOf(numberOfObservations);
+        final int exitingIndex = index - timeFrame;
+
+        Decimal mean;
+        Decimal squaredDeviations;
+        if (lastIndex >= 0 && index == lastIndex + 1 && (exitingIndex < 0 || !isRemovedTick(exitingIndex))
+                && updateCount < RESYNC_PERIOD) {
+            // Sequential access: updating the previous mean and squared deviations
+            updateCount++;
+            Decimal value = indicator.getValue(index);
+            if (exitingIndex < 0) {
+                // Growing window
+                Decimal delta = value.minus(lastMean);
+                mean = lastMean.plus(delta.dividedBy(nbObservations));
+                squaredDeviations = lastSquaredDeviations.plus(delta.multipliedBy(value.minus(mean)));
+            } else {
+                // Sliding window
+                Decimal exitingValue = indicator.getValue(exitingIndex);
+                Decimal delta = value.minus(exitingValue);
+                mean = lastMean.plus(delta.dividedBy(nbObservations));
+                squaredDeviations = lastSquaredDeviations.plus(
+                        delta.multipliedBy(value.minus(mean).plus(exitingValue).minus(lastMean)));
+            }
+            if (squaredDeviations.isNegative()) {
+                // Rounding errors
+                squaredDeviations = Decimal.ZERO;
+            }
+        } else {
+            // Random access (or periodic resync): scanning the whole time frame
+            updateCount = 0;
+            Decimal sum = Decimal.ZERO;
+            for (int i = startIndex; i <= index; i++) {
+                sum = sum.plus(indicator.getValue(i));
+            }
+            mean = sum.dividedBy(nbObservations);
+            squaredDeviations = Decimal.ZERO;
+            for (int i = startIndex; i <= index; i++) {
+                Decimal pow = indicator.getValue(i).minus(mean).pow(2);
+                squaredDeviations = squaredDeviations.plus(pow);
+            }
         }
-        variance = variance.dividedBy(Decimal.valueOf(numberOfObservations));
-        return variance;
+        lastIndex = index;
+        lastMean = mean;
+        lastSquaredDeviations = squaredDeviations;
+
+        return squaredDeviations.dividedBy(nbObservations);
+    }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        final int inputBegin = Math.max(0, begin - timeFrame + 1);
+        final double[] inputs = BatchComputations.computeAll(indicator, inputBegin, end);
+        double mean = 0;
+        double squaredDeviations = 0;
+        for (int i = inputBegin; i <= end; i++) {
+            final double value = inputs[i - inputBegin];
+            final int exitingIndex = i - timeFrame;
+            final int nbObservations;
+            if (exitingIndex >= inputBegin && (i - inputBegin + 1) % RESYNC_PERIOD == 0) {
+                // Periodic resync: scanning the whole time frame
+                nbObservations = timeFrame;
+                mean = 0;
+                for (int j = exitingIndex + 1; j <= i; j++) {
+                    mean += inputs[j - inputBegin];
+                }
+                mean /= nbObservations;
+                squaredDeviations = 0;
+                for (int j = exitingIndex + 1; j <= i; j++) {
+                    final double deviation = inputs[j - inputBegin] - mean;
+                    squaredDeviations += deviation * deviation;
+                }
+            } else if (exitingIndex >= inputBegin) {
+                // Sliding window
+                nbObservations = timeFrame;
+                final double exitingValue = inputs[exitingIndex - inputBegin];
+                final double delta = value - exitingValue;
+                final double previousMean = mean;
+                mean += delta / nbObservations;
+                squaredDeviations += delta * (value - mean + exitingValue - previousMean);
+            } else {
+                // Growing window
+                nbObservations = i - inputBegin + 1;
+                final double delta = value - mean;
+                mean += delta / nbObservations;
+                squaredDeviations += delta * (value - mean);
+            }
+            if (squaredDeviations < 0) {
+                // Rounding errors
+                squaredDeviations = 0;
+            }
+            if (i >= begin) {
+                values[i - begin] = squaredDeviations / nbObservations;
+            }
+        }
+    }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
     }
 
     @Override
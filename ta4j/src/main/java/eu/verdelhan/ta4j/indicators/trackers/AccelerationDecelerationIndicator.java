@@ -40,8 +40,8 @@ public class AccelerationDecelerationIndicator extends CachedIndicator<Decimal>
 
     public AccelerationDecelerationIndicator(TimeSeries series, int timeFrameSma1, int timeFrameSma2) {
         super(series);
-        this.awesome = new AwesomeOscillatorIndicator(new MedianPriceIndicator(series), timeFrameSma1, timeFrameSma2);
-        this.sma5 = new SMAIndicator(awesome, timeFrameSma1);
+        this.awesome = intern(new AwesomeOscillatorIndicator(new MedianPriceIndicator(series), timeFrameSma1, timeFrameSma2));
+        this.sma5 = intern(new SMAIndicator(awesome, timeFrameSma1));
     }
     
     public AccelerationDecelerationIndicator(TimeSeries series) {
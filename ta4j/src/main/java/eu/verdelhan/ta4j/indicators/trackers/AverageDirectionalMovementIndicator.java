@@ -38,7 +38,7 @@ public class AverageDirectionalMovementIndicator extends RecursiveCachedIndicato
     public AverageDirectionalMovementIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        this.dm = new DirectionalMovementIndicator(series, timeFrame);
+        this.dm = intern(new DirectionalMovementIndicator(series, timeFrame));
     }
 
     @Override
@@ -50,4 +50,9 @@ public class AverageDirectionalMovementIndicator extends RecursiveCachedIndicato
         Decimal nbPeriodsMinusOne = Decimal.valueOf(timeFrame - 1);
         return getValue(index - 1).multipliedBy(nbPeriodsMinusOne).dividedBy(nbPeriods).plus(dm.getValue(index).dividedBy(nbPeriods));
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
\ No newline at end of file
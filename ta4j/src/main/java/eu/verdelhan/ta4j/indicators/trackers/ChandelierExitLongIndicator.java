@@ -57,8 +57,8 @@ public class ChandelierExitLongIndicator extends CachedIndicator<Decimal> {
      */
     public ChandelierExitLongIndicator(TimeSeries series, int timeFrame, Decimal k) {
         super(series);
-        high = new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame);
-        atr = new AverageTrueRangeIndicator(series, timeFrame);
+        high = intern(new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame));
+        atr = intern(new AverageTrueRangeIndicator(series, timeFrame));
         this.k = k;
     }
 
@@ -57,8 +57,8 @@ public class ChandelierExitShortIndicator extends CachedIndicator<Decimal> {
      */
     public ChandelierExitShortIndicator(TimeSeries series, int timeFrame, Decimal k) {
         super(series);
-        low = new LowestValueIndicator(new MinPriceIndicator(series), timeFrame);
-        atr = new AverageTrueRangeIndicator(series, timeFrame);
+        low = intern(new LowestValueIndicator(new MinPriceIndicator(series), timeFrame));
+        atr = intern(new AverageTrueRangeIndicator(series, timeFrame));
         this.k = k;
     }
 
@@ -49,7 +49,7 @@ public class CoppockCurveIndicator extends CachedIndicator<Decimal> {
                 new ROCIndicator(indicator, longRoCTimeFrame),
                 new ROCIndicator(indicator, shortRoCTimeFrame)
         );
-        wma = new WMAIndicator(sum, wmaTimeFrame);
+        wma = intern(new WMAIndicator(sum, wmaTimeFrame));
     }
 
     @Override
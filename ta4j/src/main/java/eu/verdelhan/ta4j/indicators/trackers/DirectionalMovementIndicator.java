@@ -41,8 +41,8 @@ public class DirectionalMovementIndicator extends CachedIndicator<Decimal>{
     public DirectionalMovementIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        dup = new DirectionalUpIndicator(series, timeFrame);
-        ddown = new DirectionalDownIndicator(series, timeFrame);
+        dup = intern(new DirectionalUpIndicator(series, timeFrame));
+        ddown = intern(new DirectionalDownIndicator(series, timeFrame));
     }
 
     @Override
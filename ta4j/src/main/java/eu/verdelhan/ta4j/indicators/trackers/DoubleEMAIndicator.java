@@ -33,19 +33,18 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  */
 public class DoubleEMAIndicator extends CachedIndicator<Decimal> {
 
-    private final int timeFrame;
-
     private final EMAIndicator ema;
 
+    private final EMAIndicator emaEma;
+
     public DoubleEMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.timeFrame = timeFrame;
-        this.ema = new EMAIndicator(indicator, timeFrame);
+        this.ema = intern(new EMAIndicator(indicator, timeFrame));
+        this.emaEma = intern(new EMAIndicator(ema, timeFrame));
     }
 
     @Override
     protected Decimal calculate(int index) {
-        EMAIndicator emaEma = new EMAIndicator(ema, timeFrame);
         return ema.getValue(index).multipliedBy(Decimal.TWO)
                 .minus(emaEma.getValue(index));
     }
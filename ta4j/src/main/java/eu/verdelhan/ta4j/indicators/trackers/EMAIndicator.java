@@ -24,18 +24,23 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.RecursiveCachedIndicator;
 
 /**
  * Exponential moving average indicator.
  * <p>
  */
-public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
+public class EMAIndicator extends RecursiveCachedIndicator<Decimal> implements BatchComputable {
 
     private final Indicator<Decimal> indicator;
 
     private final int timeFrame;
 
+    /** Simple moving average (starting point of the EMA) */
+    private final SMAIndicator sma;
+
     private final Decimal multiplier;
 
     /**
@@ -47,6 +52,7 @@ public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.sma = intern(new SMAIndicator(indicator, timeFrame));
         multiplier = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrame + 1));
     }
 
@@ -54,7 +60,7 @@ public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         if (index + 1 < timeFrame) {
             // Starting point of the EMA
-            return new SMAIndicator(indicator, timeFrame).getValue(index);
+            return sma.getValue(index);
         }
         if (index == 0) {
             // If the timeframe is bigger than the indicator's value count
@@ -63,4 +69,27 @@ public class EMAIndicator extends RecursiveCachedIndicator<Decimal> {
         Decimal emaPrev = getValue(index - 1);
         return indicator.getValue(index).minus(emaPrev).multipliedBy(multiplier).plus(emaPrev);
     }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        // The EMA depends on all the previous values
+        final double[] inputs = BatchComputations.computeAll(indicator, 0, end);
+        final double mult = multiplier.toDouble();
+        double sum = 0;
+        double ema = 0;
+        for (int i = 0; i <= end; i++) {
+            if (i + 1 < timeFrame) {
+                // Starting point of the EMA (simple moving average)
+                sum += inputs[i];
+                ema = sum / (i + 1);
+            } else if (i == 0) {
+                ema = inputs[0];
+            } else {
+                ema = (inputs[i] - ema) * mult + ema;
+            }
+            if (i >= begin) {
+                values[i - begin] = ema;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 import eu.verdelhan.ta4j.indicators.simple.DifferenceIndicator;
 import eu.verdelhan.ta4j.indicators.simple.MultiplierIndicator;
@@ -31,9 +32,12 @@ import eu.verdelhan.ta4j.indicators.simple.MultiplierIndicator;
 /**
  * Hull moving average (HMA) indicator.
  * <p>
+ * Built on {@link WMAIndicator incremental WMAs}: when the values are calculated in sequence,
+ * each new value costs a constant time (whatever the time frame).
+ * <p>
  * @see http://alanhull.com/hull-moving-average
  */
-public class HMAIndicator extends CachedIndicator<Decimal> {
+public class HMAIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private final int timeFrame;
 
@@ -43,11 +47,11 @@ public class HMAIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.timeFrame = timeFrame;
         
-        WMAIndicator halfWma = new WMAIndicator(indicator, timeFrame / 2);
-        WMAIndicator origWma = new WMAIndicator(indicator, timeFrame);
+        WMAIndicator halfWma = intern(new WMAIndicator(indicator, timeFrame / 2));
+        WMAIndicator origWma = intern(new WMAIndicator(indicator, timeFrame));
         
-        Indicator indicatorForSqrtWma = new DifferenceIndicator(new MultiplierIndicator(halfWma, Decimal.TWO), origWma);
-        sqrtWma = new WMAIndicator(indicatorForSqrtWma, (int) Math.sqrt(timeFrame));
+        Indicator<Decimal> indicatorForSqrtWma = intern(new DifferenceIndicator(intern(new MultiplierIndicator(halfWma, Decimal.TWO)), origWma));
+        sqrtWma = intern(new WMAIndicator(indicatorForSqrtWma, (int) Math.sqrt(timeFrame)));
     }
 
     @Override
@@ -55,6 +59,11 @@ public class HMAIndicator extends CachedIndicator<Decimal> {
         return sqrtWma.getValue(index);
     }
 
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        sqrtWma.computeAll(begin, end, values);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
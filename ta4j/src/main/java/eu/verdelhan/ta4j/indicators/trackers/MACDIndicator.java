@@ -24,13 +24,14 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 
 /**
  * Moving average convergence divergence (MACDIndicator) indicator.
  * <p>
  */
-public class MACDIndicator extends CachedIndicator<Decimal> {
+public class MACDIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private final EMAIndicator shortTermEma;
 
@@ -41,12 +42,22 @@ public class MACDIndicator extends CachedIndicator<Decimal> {
         if (shortTimeFrame > longTimeFrame) {
             throw new IllegalArgumentException("Long term period count must be greater than short term period count");
         }
-        shortTermEma = new EMAIndicator(indicator, shortTimeFrame);
-        longTermEma = new EMAIndicator(indicator, longTimeFrame);
+        shortTermEma = intern(new EMAIndicator(indicator, shortTimeFrame));
+        longTermEma = intern(new EMAIndicator(indicator, longTimeFrame));
     }
 
     @Override
     protected Decimal calculate(int index) {
         return shortTermEma.getValue(index).minus(longTermEma.getValue(index));
     }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        final double[] longTermValues = new double[end - begin + 1];
+        shortTermEma.computeAll(begin, end, values);
+        longTermEma.computeAll(begin, end, longTermValues);
+        for (int i = 0; i < longTermValues.length; i++) {
+            values[i] -= longTermValues[i];
+        }
+    }
 }
\ No newline at end of file
@@ -25,27 +25,35 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.ComputationState;
+import eu.verdelhan.ta4j.indicators.IndicatorCheckpoint;
 import eu.verdelhan.ta4j.indicators.RecursiveCachedIndicator;
+import eu.verdelhan.ta4j.indicators.StatefulIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.LowestValueIndicator;
 import eu.verdelhan.ta4j.indicators.simple.MaxPriceIndicator;
 import eu.verdelhan.ta4j.indicators.simple.MinPriceIndicator;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Parabolic SAR indicator.
  * <p>
  */
-public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
+public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> implements StatefulIndicator {
 
     private static final Decimal DEFAULT_ACCELERATION = Decimal.valueOf("0.02");
     private static final Decimal ACCELERATION_THRESHOLD = Decimal.valueOf("0.19");
     private static final Decimal MAX_ACCELERATION = Decimal.valueOf("0.2");
     private static final Decimal ACCELERATION_INCREMENT = Decimal.valueOf("0.02");
 
+    @ComputationState
     private Decimal acceleration = DEFAULT_ACCELERATION;
 
     private final TimeSeries series;
 
+    @ComputationState
     private Decimal extremePoint;
 
     private final LowestValueIndicator lowestValueIndicator;
@@ -57,8 +65,8 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
     public ParabolicSarIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.series = series;
-        this.lowestValueIndicator = new LowestValueIndicator(new MinPriceIndicator(series), timeFrame);
-        this.highestValueIndicator = new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame);
+        this.lowestValueIndicator = intern(new LowestValueIndicator(new MinPriceIndicator(series), timeFrame));
+        this.highestValueIndicator = intern(new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame));
         this.timeFrame = timeFrame;
     }
 
@@ -136,6 +144,18 @@ public class ParabolicSarIndicator extends RecursiveCachedIndicator<Decimal> {
         return sar;
     }
 
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        IndicatorCheckpoint.writeDecimal(out, acceleration);
+        IndicatorCheckpoint.writeDecimal(out, extremePoint);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        acceleration = IndicatorCheckpoint.readDecimal(in);
+        extremePoint = IndicatorCheckpoint.readDecimal(in);
+    }
+
     /**
      * Increments the acceleration factor.
      */
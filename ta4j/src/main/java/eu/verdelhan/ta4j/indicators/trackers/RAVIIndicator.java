@@ -43,8 +43,8 @@ public class RAVIIndicator extends CachedIndicator<Decimal> {
      */
     public RAVIIndicator(Indicator<Decimal> price, int shortSmaTimeFrame, int longSmaTimeFrame) {
         super(price);
-        shortSma = new SMAIndicator(price, shortSmaTimeFrame);
-        longSma = new SMAIndicator(price, longSmaTimeFrame);
+        shortSma = intern(new SMAIndicator(price, shortSmaTimeFrame));
+        longSma = intern(new SMAIndicator(price, longSmaTimeFrame));
     }
 
     @Override
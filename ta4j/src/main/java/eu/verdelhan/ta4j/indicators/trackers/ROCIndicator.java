@@ -53,4 +53,9 @@ public class ROCIndicator extends CachedIndicator<Decimal> {
                 .dividedBy(nPeriodsAgoValue)
                 .multipliedBy(Decimal.HUNDRED);
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame;
+    }
 }
\ No newline at end of file
@@ -24,6 +24,8 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.AverageGainIndicator;
 import eu.verdelhan.ta4j.indicators.helpers.AverageLossIndicator;
@@ -32,19 +34,22 @@ import eu.verdelhan.ta4j.indicators.helpers.AverageLossIndicator;
  * Relative strength index indicator.
  * <p>
  */
-public class RSIIndicator extends CachedIndicator<Decimal> {
+public class RSIIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private AverageGainIndicator averageGainIndicator;
 
     private AverageLossIndicator averageLossIndicator;
 
+    private final Indicator<Decimal> indicator;
+
     private final int timeFrame;
 
     public RSIIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
+        this.indicator = indicator;
         this.timeFrame = timeFrame;
-        averageGainIndicator = new AverageGainIndicator(indicator, timeFrame);
-        averageLossIndicator = new AverageLossIndicator(indicator, timeFrame);
+        averageGainIndicator = intern(new AverageGainIndicator(indicator, timeFrame));
+        averageLossIndicator = intern(new AverageLossIndicator(indicator, timeFrame));
     }
 
     @Override
@@ -53,6 +58,52 @@ public class RSIIndicator extends CachedIndicator<Decimal> {
                 .minus(Decimal.HUNDRED.dividedBy(Decimal.ONE.plus(relativeStrength(index))));
     }
 
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        final int inputBegin = Math.max(0, begin - timeFrame);
+        final double[] inputs = BatchComputations.computeAll(indicator, inputBegin, end);
+        if (begin == 0) {
+            values[0] = 0;
+        }
+        // Sums (and counts) of the gains and losses over the time frame
+        double gains = 0;
+        double losses = 0;
+        int nbGains = 0;
+        int nbLosses = 0;
+        for (int i = inputBegin + 1; i <= end; i++) {
+            final double variation = inputs[i - inputBegin] - inputs[i - inputBegin - 1];
+            if (variation > 0) {
+                gains += variation;
+                nbGains++;
+            } else if (variation < 0) {
+                losses -= variation;
+                nbLosses++;
+            }
+            final int exitingIndex = i - timeFrame;
+            if (exitingIndex > inputBegin) {
+                final double exitingVariation = inputs[exitingIndex - inputBegin] - inputs[exitingIndex - inputBegin - 1];
+                if (exitingVariation > 0) {
+                    gains -= exitingVariation;
+                    nbGains--;
+                } else if (exitingVariation < 0) {
+                    losses += exitingVariation;
+                    nbLosses--;
+                }
+            }
+            if (nbGains == 0) {
+                // Avoiding rounding errors
+                gains = 0;
+            }
+            if (nbLosses == 0) {
+                losses = 0;
+            }
+            if (i >= begin) {
+                // Both averages are divided by the same time frame
+                values[i - begin] = losses == 0 ? Double.NaN : 100 - 100 / (1 + gains / losses);
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getName() + " timeFrame: " + timeFrame;
@@ -24,18 +24,39 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 
 /**
  * Simple moving average (SMA) indicator.
  * <p>
+ * The sum of the values over the time frame is maintained incrementally:
+ * when the values are calculated in sequence, each new value costs a constant time (whatever the time frame).
+ * It is periodically recomputed from the whole time frame, so that the rounding errors do not accumulate.
  */
-public class SMAIndicator extends CachedIndicator<Decimal> {
+public class SMAIndicator extends CachedIndicator<Decimal> implements BatchComputable {
+
+    /** Number of sequential updates after which the sum is recomputed from the whole time frame */
+    private static final int RESYNC_PERIOD = 1000;
 
     private final Indicator<Decimal> indicator;
 
     private final int timeFrame;
 
+    /** Index of the last calculated sum (-1 if none) */
+    @ComputationState
+    private int lastSumIndex = -1;
+
+    /** Sum of the values over the time frame, at the last sum index */
+    @ComputationState
+    private Decimal lastSum;
+
+    /** Number of sequential updates of the sum since it was last computed from the whole time frame */
+    @ComputationState
+    private int updateCount;
+
     public SMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
@@ -44,15 +65,62 @@ public class SMAIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        Decimal sum = Decimal.ZERO;
-        for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
-            sum = sum.plus(indicator.getValue(i));
+        Decimal sum;
+        final int exitingIndex = index - timeFrame;
+        if (lastSumIndex >= 0 && index == lastSumIndex + 1 && (exitingIndex < 0 || !isRemovedTick(exitingIndex))
+                && updateCount < RESYNC_PERIOD) {
+            // Sequential access: updating the previous sum
+            sum = lastSum.plus(indicator.getValue(index));
+            if (exitingIndex >= 0) {
+                sum = sum.minus(indicator.getValue(exitingIndex));
+            }
+            updateCount++;
+        } else {
+            // Random access (or periodic resync): summing the whole time frame
+            updateCount = 0;
+            sum = Decimal.ZERO;
+            for (int i = Math.max(0, index - timeFrame + 1); i <= index; i++) {
+                sum = sum.plus(indicator.getValue(i));
+            }
         }
+        lastSumIndex = index;
+        lastSum = sum;
 
         final int realTimeFrame = Math.min(timeFrame, index + 1);
         return sum.dividedBy(Decimal.valueOf(realTimeFrame));
     }
 
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        final int inputBegin = Math.max(0, begin - timeFrame + 1);
+        final double[] inputs = BatchComputations.computeAll(indicator, inputBegin, end);
+        double sum = 0;
+        for (int i = inputBegin; i < begin; i++) {
+            sum += inputs[i - inputBegin];
+        }
+        for (int i = begin; i <= end; i++) {
+            final int exitingIndex = i - timeFrame;
+            if ((i - begin + 1) % RESYNC_PERIOD == 0) {
+                // Periodic resync: summing the whole time frame
+                sum = 0;
+                for (int j = Math.max(inputBegin, exitingIndex + 1); j <= i; j++) {
+                    sum += inputs[j - inputBegin];
+                }
+            } else {
+                sum += inputs[i - inputBegin];
+                if (exitingIndex >= inputBegin) {
+                    sum -= inputs[exitingIndex - inputBegin];
+                }
+            }
+            values[i - begin] = sum / Math.min(timeFrame, i + 1);
+        }
+    }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
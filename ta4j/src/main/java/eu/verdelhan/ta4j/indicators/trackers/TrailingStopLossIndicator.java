@@ -25,6 +25,12 @@ package eu.verdelhan.ta4j.indicators.trackers;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
+import eu.verdelhan.ta4j.indicators.IndicatorCheckpoint;
+import eu.verdelhan.ta4j.indicators.StatefulIndicator;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * This class implenents a basic trailing stop loss indicator.
@@ -53,10 +59,13 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  * 
  * @author Bastian Engelmann
  */
-public class TrailingStopLossIndicator extends CachedIndicator<Decimal> {
+public class TrailingStopLossIndicator extends CachedIndicator<Decimal> implements StatefulIndicator {
     
     private final Indicator<Decimal> indicator;
 
+    private final Decimal initialStopLossLimit;
+
+    @ComputationState
     private Decimal stopLossLimit;
     
     private final Decimal stopLossDistance;
@@ -80,6 +89,7 @@ public class TrailingStopLossIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.stopLossDistance = stopLossDistance;
+        this.initialStopLossLimit = initialStopLossLimit;
         this.stopLossLimit = initialStopLossLimit;
     }
     
@@ -104,4 +114,14 @@ public class TrailingStopLossIndicator extends CachedIndicator<Decimal> {
         }
         return stopLossLimit;
     }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        IndicatorCheckpoint.writeDecimal(out, stopLossLimit);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        stopLossLimit = IndicatorCheckpoint.readDecimal(in);
+    }
 }
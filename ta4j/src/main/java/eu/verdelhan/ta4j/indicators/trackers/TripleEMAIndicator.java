@@ -33,20 +33,21 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  */
 public class TripleEMAIndicator extends CachedIndicator<Decimal> {
 
-    private final int timeFrame;
-
     private final EMAIndicator ema;
 
+    private final EMAIndicator emaEma;
+
+    private final EMAIndicator emaEmaEma;
+
     public TripleEMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
-        this.timeFrame = timeFrame;
-        this.ema = new EMAIndicator(indicator, timeFrame);
+        this.ema = intern(new EMAIndicator(indicator, timeFrame));
+        this.emaEma = intern(new EMAIndicator(ema, timeFrame));
+        this.emaEmaEma = intern(new EMAIndicator(emaEma, timeFrame));
     }
 
     @Override
     protected Decimal calculate(int index) {
-        EMAIndicator emaEma = new EMAIndicator(ema, timeFrame);
-        EMAIndicator emaEmaEma = new EMAIndicator(emaEma, timeFrame);
         return Decimal.THREE.multipliedBy(ema.getValue(index).minus(emaEma.getValue(index))).plus(emaEmaEma.getValue(index));
     }
 }
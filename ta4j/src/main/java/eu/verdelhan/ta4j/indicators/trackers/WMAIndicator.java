@@ -24,18 +24,43 @@ package eu.verdelhan.ta4j.indicators.trackers;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
+import eu.verdelhan.ta4j.indicators.ComputationState;
 
 /**
  * WMA indicator.
  * <p>
+ * The sum and the weighted sum of the values over the time frame are maintained incrementally:
+ * when the values are calculated in sequence, each new value costs a constant time (whatever the time frame).
+ * They are periodically recomputed from the whole time frame, so that the rounding errors do not accumulate.
  */
-public class WMAIndicator extends CachedIndicator<Decimal> {
+public class WMAIndicator extends CachedIndicator<Decimal> implements BatchComputable {
+
+    /** Number of sequential updates after which the sums are recomputed from the whole time frame */
+    private static final int RESYNC_PERIOD = 1000;
 
     private int timeFrame;
 
     private Indicator<Decimal> indicator;
 
+    /** Index of the last calculated sums (-1 if none) */
+    @ComputationState
+    private int lastSumIndex = -1;
+
+    /** Sum of the values over the time frame, at the last sum index */
+    @ComputationState
+    private Decimal lastSum;
+
+    /** Weighted sum of the values over the time frame, at the last sum index */
+    @ComputationState
+    private Decimal lastWeightedSum;
+
+    /** Number of sequential updates of the sums since they were last computed from the whole time frame */
+    @ComputationState
+    private int updateCount;
+
     public WMAIndicator(Indicator<Decimal> indicator, int timeFrame) {
         super(indicator);
         this.indicator = indicator;
@@ -44,24 +69,80 @@ public class WMAIndicator extends CachedIndicator<Decimal> {
 
     @Override
     protected Decimal calculate(int index) {
-        if (index == 0) {
-            return indicator.getValue(0);
-        }
-        Decimal value = Decimal.ZERO;
-        if(index - timeFrame < 0) {
-            
-            for(int i = index + 1; i > 0; i--) {
-                value = value.plus(Decimal.valueOf(i).multipliedBy(indicator.getValue(i-1)));
+        Decimal sum;
+        Decimal weightedSum;
+        final int exitingIndex = index - timeFrame;
+        if (lastSumIndex >= 0 && index == lastSumIndex + 1 && (exitingIndex < 0 || !isRemovedTick(exitingIndex))
+                && updateCount < RESYNC_PERIOD) {
+            // Sequential access: updating the previous sums
+            updateCount++;
+            final Decimal value = indicator.getValue(index);
+            if (exitingIndex >= 0) {
+                // Sliding window: every weight decreases by one
+                weightedSum = lastWeightedSum.plus(value.multipliedBy(Decimal.valueOf(timeFrame))).minus(lastSum);
+                sum = lastSum.plus(value).minus(indicator.getValue(exitingIndex));
+            } else {
+                // Growing window: the new value gets the highest weight
+                weightedSum = lastWeightedSum.plus(value.multipliedBy(Decimal.valueOf(index + 1)));
+                sum = lastSum.plus(value);
+            }
+        } else {
+            // Random access (or periodic resync): summing the whole time frame
+            updateCount = 0;
+            sum = Decimal.ZERO;
+            weightedSum = Decimal.ZERO;
+            final int startIndex = Math.max(0, index - timeFrame + 1);
+            for (int i = startIndex; i <= index; i++) {
+                final Decimal value = indicator.getValue(i);
+                sum = sum.plus(value);
+                weightedSum = weightedSum.plus(value.multipliedBy(Decimal.valueOf(i - startIndex + 1)));
             }
-            return value.dividedBy(Decimal.valueOf(((index + 1) * (index + 2)) / 2));
         }
-        
-        int actualIndex = index;
-        for(int i = timeFrame; i > 0; i--) {
-            value = value.plus(Decimal.valueOf(i).multipliedBy(indicator.getValue(actualIndex)));
-            actualIndex--;
+        lastSumIndex = index;
+        lastSum = sum;
+        lastWeightedSum = weightedSum;
+
+        final int realTimeFrame = Math.min(timeFrame, index + 1);
+        return weightedSum.dividedBy(Decimal.valueOf((realTimeFrame * (realTimeFrame + 1)) / 2));
+    }
+
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        final int inputBegin = Math.max(0, begin - timeFrame + 1);
+        final double[] inputs = BatchComputations.computeAll(indicator, inputBegin, end);
+        // Sum and weighted sum of the values over the time frame
+        double sum = 0;
+        double weightedSum = 0;
+        for (int i = inputBegin; i <= end; i++) {
+            final double value = inputs[i - inputBegin];
+            final int exitingIndex = i - timeFrame;
+            if (exitingIndex >= inputBegin && (i - inputBegin + 1) % RESYNC_PERIOD == 0) {
+                // Periodic resync: summing the whole time frame
+                sum = 0;
+                weightedSum = 0;
+                for (int j = exitingIndex + 1; j <= i; j++) {
+                    sum += inputs[j - inputBegin];
+                    weightedSum += (j - exitingIndex) * inputs[j - inputBegin];
+                }
+            } else if (exitingIndex >= inputBegin) {
+                // Sliding window: every weight decreases by one
+                weightedSum += timeFrame * value - sum;
+                sum += value - inputs[exitingIndex - inputBegin];
+            } else {
+                // Growing window: the new value gets the highest weight
+                weightedSum += (i - inputBegin + 1) * value;
+                sum += value;
+            }
+            if (i >= begin) {
+                final int realTimeFrame = Math.min(timeFrame, i + 1);
+                values[i - begin] = weightedSum / (realTimeFrame * (realTimeFrame + 1) / 2);
+            }
         }
-        return value.dividedBy(Decimal.valueOf((timeFrame * (timeFrame + 1)) / 2));
+    }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
     }
 
     @Override
@@ -42,9 +42,9 @@ public class WilliamsRIndicator extends CachedIndicator<Decimal> {
 
     private final int timeFrame;
 
-    private MaxPriceIndicator maxPriceIndicator;
+    private final HighestValueIndicator highestHigh;
 
-    private MinPriceIndicator minPriceIndicator;
+    private final LowestValueIndicator lowestMin;
 
     public WilliamsRIndicator(TimeSeries timeSeries, int timeFrame) {
         this(new ClosePriceIndicator(timeSeries), timeFrame, new MaxPriceIndicator(timeSeries), new MinPriceIndicator(
@@ -56,15 +56,12 @@ public class WilliamsRIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        this.maxPriceIndicator = maxPriceIndicator;
-        this.minPriceIndicator = minPriceIndicator;
+        this.highestHigh = intern(new HighestValueIndicator(maxPriceIndicator, timeFrame));
+        this.lowestMin = intern(new LowestValueIndicator(minPriceIndicator, timeFrame));
     }
 
     @Override
     protected Decimal calculate(int index) {
-        HighestValueIndicator highestHigh = new HighestValueIndicator(maxPriceIndicator, timeFrame);
-        LowestValueIndicator lowestMin = new LowestValueIndicator(minPriceIndicator, timeFrame);
-
         Decimal highestHighPrice = highestHigh.getValue(index);
         Decimal lowestLowPrice = lowestMin.getValue(index);
 
@@ -37,6 +37,9 @@ public class ZLEMAIndicator extends RecursiveCachedIndicator<Decimal> {
 
     private final int timeFrame;
 
+    /** Simple moving average (starting point of the ZLEMA) */
+    private final SMAIndicator sma;
+
     private final Decimal k;
     
     private final int lag;
@@ -45,6 +48,7 @@ public class ZLEMAIndicator extends RecursiveCachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
+        this.sma = intern(new SMAIndicator(indicator, timeFrame));
         k = Decimal.TWO.dividedBy(Decimal.valueOf(timeFrame + 1));
         lag = (timeFrame - 1) / 2;
     }
@@ -53,7 +57,7 @@ public class ZLEMAIndicator extends RecursiveCachedIndicator<Decimal> {
     protected Decimal calculate(int index) {
         if (index + 1 < timeFrame) {
             // Starting point of the ZLEMA
-            return new SMAIndicator(indicator, timeFrame).getValue(index);
+            return sma.getValue(index);
         }
         if (index == 0) {
             // If the timeframe is bigger than the indicator's value count
@@ -24,6 +24,8 @@ package eu.verdelhan.ta4j.indicators.trackers.bollinger;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 
 /**
@@ -31,7 +33,7 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  * Sell - Occurs when the price line cross from up to down de Bollinger Band High.
  * 
  */
-public class BollingerBandsMiddleIndicator extends CachedIndicator<Decimal> {
+public class BollingerBandsMiddleIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private final Indicator<Decimal> indicator;
 
@@ -45,6 +47,11 @@ public class BollingerBandsMiddleIndicator extends CachedIndicator<Decimal> {
         return indicator.getValue(index);
     }
 
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        BatchComputations.computeAll(indicator, begin, end, values);
+    }
+
     public Indicator<Decimal> getIndicator() {
         return indicator;
     }
@@ -24,6 +24,8 @@ package eu.verdelhan.ta4j.indicators.trackers.bollinger;
 
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.indicators.BatchComputable;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.CachedIndicator;
 
 /**
@@ -31,7 +33,7 @@ import eu.verdelhan.ta4j.indicators.CachedIndicator;
  * Sell - Occurs when the price line cross from up to down de Bollinger Band High.
  * 
  */
-public class BollingerBandsUpperIndicator extends CachedIndicator<Decimal> {
+public class BollingerBandsUpperIndicator extends CachedIndicator<Decimal> implements BatchComputable {
 
     private final Indicator<Decimal> indicator;
 
@@ -55,6 +57,16 @@ public class BollingerBandsUpperIndicator extends CachedIndicator<Decimal> {
         return bbm.getValue(index).plus(indicator.getValue(index).multipliedBy(k));
     }
 
+    @Override
+    public void computeAll(int begin, int end, double[] values) {
+        final double[] deviations = BatchComputations.computeAll(indicator, begin, end);
+        final double multiplier = k.toDouble();
+        bbm.computeAll(begin, end, values);
+        for (int i = 0; i < deviations.length; i++) {
+            values[i] += multiplier * deviations[i];
+        }
+    }
+
     /**
      * @return the K multiplier
      */
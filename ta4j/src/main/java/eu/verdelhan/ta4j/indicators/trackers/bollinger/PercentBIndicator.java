@@ -51,10 +51,10 @@ public class PercentBIndicator extends CachedIndicator<Decimal> {
     public PercentBIndicator(Indicator<Decimal> indicator, int timeFrame, Decimal k) {
         super(indicator);
         this.indicator = indicator;
-        this.bbm = new BollingerBandsMiddleIndicator(new SMAIndicator(indicator, timeFrame));
-        StandardDeviationIndicator sd = new StandardDeviationIndicator(indicator, timeFrame);
-        this.bbu = new BollingerBandsUpperIndicator(bbm, sd, k);
-        this.bbl = new BollingerBandsLowerIndicator(bbm, sd, k);;
+        this.bbm = intern(new BollingerBandsMiddleIndicator(intern(new SMAIndicator(indicator, timeFrame))));
+        StandardDeviationIndicator sd = intern(new StandardDeviationIndicator(indicator, timeFrame));
+        this.bbu = intern(new BollingerBandsUpperIndicator(bbm, sd, k));
+        this.bbl = intern(new BollingerBandsLowerIndicator(bbm, sd, k));
     }
 
     @Override
@@ -51,8 +51,8 @@ public abstract class AbstractIchimokuLineIndicator extends CachedIndicator<Deci
      */
     public AbstractIchimokuLineIndicator(TimeSeries series, int timeFrame) {
         super(series);
-        periodHigh = new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame);
-        periodLow = new LowestValueIndicator(new MinPriceIndicator(series), timeFrame);
+        periodHigh = intern(new HighestValueIndicator(new MaxPriceIndicator(series), timeFrame));
+        periodLow = intern(new LowestValueIndicator(new MinPriceIndicator(series), timeFrame));
     }
 
     @Override
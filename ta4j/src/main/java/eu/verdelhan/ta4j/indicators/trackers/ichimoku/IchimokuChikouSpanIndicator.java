@@ -55,7 +55,7 @@ public class IchimokuChikouSpanIndicator extends CachedIndicator<Decimal> {
      */
     public IchimokuChikouSpanIndicator(TimeSeries series, int timeDelay) {
         super(series);
-        closePriceIndicator = new ClosePriceIndicator(series);
+        closePriceIndicator = intern(new ClosePriceIndicator(series));
         this.timeDelay = timeDelay;
     }
 
@@ -42,7 +42,7 @@ public class KeltnerChannelLowerIndicator extends CachedIndicator<Decimal> {
         super(keltnerMiddleIndicator);
         this.ratio = ratio;
         this.keltnerMiddleIndicator = keltnerMiddleIndicator;
-        averageTrueRangeIndicator = new AverageTrueRangeIndicator(keltnerMiddleIndicator.getTimeSeries(), timeFrameATR);
+        averageTrueRangeIndicator = intern(new AverageTrueRangeIndicator(keltnerMiddleIndicator.getTimeSeries(), timeFrameATR));
     }
 
     @Override
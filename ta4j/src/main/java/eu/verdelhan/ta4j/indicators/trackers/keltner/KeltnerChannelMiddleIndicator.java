@@ -43,7 +43,7 @@ public class KeltnerChannelMiddleIndicator extends CachedIndicator<Decimal> {
 
     public KeltnerChannelMiddleIndicator(Indicator<Decimal> indicator, int timeFrameEMA) {
         super(indicator);
-        emaIndicator = new EMAIndicator(indicator, timeFrameEMA);
+        emaIndicator = intern(new EMAIndicator(indicator, timeFrameEMA));
     }
 
     @Override
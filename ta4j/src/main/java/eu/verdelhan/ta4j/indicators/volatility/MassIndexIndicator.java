@@ -56,8 +56,8 @@ public class MassIndexIndicator extends CachedIndicator<Decimal> {
                 new MaxPriceIndicator(series),
                 new MinPriceIndicator(series)
         );
-        singleEma = new EMAIndicator(highLowDifferential, emaTimeFrame);
-        doubleEma = new EMAIndicator(singleEma, emaTimeFrame); // Not the same formula as DoubleEMAIndicator
+        singleEma = intern(new EMAIndicator(highLowDifferential, emaTimeFrame));
+        doubleEma = intern(new EMAIndicator(singleEma, emaTimeFrame)); // Not the same formula as DoubleEMAIndicator
         this.timeFrame = timeFrame;
     }
 
@@ -71,4 +71,9 @@ public class MassIndexIndicator extends CachedIndicator<Decimal> {
         }
         return massIndex;
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
+    }
 }
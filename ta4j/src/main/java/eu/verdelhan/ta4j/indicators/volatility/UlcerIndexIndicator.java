@@ -53,7 +53,7 @@ public class UlcerIndexIndicator extends CachedIndicator<Decimal> {
         super(indicator);
         this.indicator = indicator;
         this.timeFrame = timeFrame;
-        highestValueInd = new HighestValueIndicator(indicator, timeFrame);
+        highestValueInd = intern(new HighestValueIndicator(indicator, timeFrame));
     }
 
     @Override
@@ -71,6 +71,11 @@ public class UlcerIndexIndicator extends CachedIndicator<Decimal> {
         return squaredAverage.sqrt();
     }
 
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " timeFrame: " + timeFrame;
@@ -41,7 +41,7 @@ public class AccumulationDistributionIndicator extends RecursiveCachedIndicator<
     public AccumulationDistributionIndicator(TimeSeries series) {
         super(series);
         this.series = series;
-        this.clvIndicator = new CloseLocationValueIndicator(series);
+        this.clvIndicator = intern(new CloseLocationValueIndicator(series));
     }
 
     @Override
@@ -49,8 +49,8 @@ public class ChaikinMoneyFlowIndicator extends CachedIndicator<Decimal> {
         super(series);
         this.series = series;
         this.timeFrame = timeFrame;
-        this.clvIndicator = new CloseLocationValueIndicator(series);
-        this.volumeIndicator = new VolumeIndicator(series, timeFrame);
+        this.clvIndicator = intern(new CloseLocationValueIndicator(series));
+        this.volumeIndicator = intern(new VolumeIndicator(series, timeFrame));
     }
 
     @Override
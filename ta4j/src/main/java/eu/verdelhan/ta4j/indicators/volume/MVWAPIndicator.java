@@ -42,7 +42,7 @@ public class MVWAPIndicator extends CachedIndicator<Decimal> {
      */
     public MVWAPIndicator(VWAPIndicator vwap, int timeFrame) {
         super(vwap);
-        sma = new SMAIndicator(vwap, timeFrame);
+        sma = intern(new SMAIndicator(vwap, timeFrame));
     }
 
     @Override
@@ -51,8 +51,8 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
     public VWAPIndicator(TimeSeries series, int timeFrame) {
         super(series);
         this.timeFrame = timeFrame;
-        typicalPrice = new TypicalPriceIndicator(series);
-        volume = new VolumeIndicator(series);
+        typicalPrice = intern(new TypicalPriceIndicator(series));
+        volume = intern(new VolumeIndicator(series));
     }
 
     @Override
@@ -70,4 +70,9 @@ public class VWAPIndicator extends CachedIndicator<Decimal> {
         }
         return cumulativeTPV.dividedBy(cumulativeVolume);
     }
+
+    @Override
+    protected int calculateUnstablePeriod() {
+        return super.calculateUnstablePeriod() + timeFrame - 1;
+    }
 }
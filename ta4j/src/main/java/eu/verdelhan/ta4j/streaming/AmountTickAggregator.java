@@ -0,0 +1,63 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.Decimal;
+import org.joda.time.DateTime;
+
+/**
+ * Aggregator of trades into amount ticks (i.e. ticks with the same traded amount, a.k.a. volume bars).
+ * <p>
+ * In ta4j, the {@link eu.verdelhan.ta4j.Tick#getAmount() amount} of a tick is the traded quantity
+ * (e.g. the number of shares), while its {@link eu.verdelhan.ta4j.Tick#getVolume() volume} is the traded value
+ * (quantity multiplied by price). Therefore this aggregator builds what is usually called volume bars;
+ * the dollar bars are built by the {@link VolumeTickAggregator}.
+ * <p>
+ * A tick is complete once its traded amount reaches a threshold.
+ * The trades of a same time always belong to the same tick, so that the end times of the ticks (i.e. the times of
+ * their last trades) are distinct. Therefore a tick is pushed to the sink when the first trade of the next tick
+ * is added (or on {@link #flush()}).
+ */
+public class AmountTickAggregator extends TickAggregator {
+
+    /** The traded amount threshold of the ticks */
+    private final Decimal amountThreshold;
+
+    /**
+     * Constructor.
+     * @param amountThreshold the traded amount threshold of the ticks
+     * @param sink the sink of the complete ticks
+     */
+    public AmountTickAggregator(Decimal amountThreshold, TickSink sink) {
+        super(sink);
+        if (amountThreshold == null || !amountThreshold.isPositive()) {
+            throw new IllegalArgumentException("Amount threshold must be positive");
+        }
+        this.amountThreshold = amountThreshold;
+    }
+
+    @Override
+    protected boolean isTickComplete(DateTime nextTradeTime) {
+        return nextTradeTime.isAfter(getLastTradeTime()) && getAmount().isGreaterThanOrEqual(amountThreshold);
+    }
+}
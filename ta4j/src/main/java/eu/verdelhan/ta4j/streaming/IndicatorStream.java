@@ -0,0 +1,201 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.IndicatorCheckpoint;
+import eu.verdelhan.ta4j.indicators.IndicatorGraph;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stream of indicators over a {@link TimeSeries time series}.
+ * <p>
+ * Push-based counterpart of the indicators: each tick {@link #addTick(Tick) added through the stream} updates
+ * every indicator of the stream once, in topological order (i.e. each indicator after its sub-indicators), then
+ * publishes the new values to the {@link IndicatorListener indicator listeners} and notifies the {@link TickListener tick listeners}.
+ * <p>
+ * The indicators of the stream are the registered ones, their sub-indicators and the indicators held by the tick listeners
+ * (e.g. by the rules of a {@link StrategyListener strategy listener}).
+ * Since the sub-indicators are always cached before their parents, an update costs a single step
+ * of each indicator (no recursion, no window rescan for the incremental ones).
+ */
+public class IndicatorStream implements TickSink {
+
+    private final TimeSeries series;
+
+    /** The roots of the indicator graph (registered indicators and tick listeners) */
+    private final List<Object> roots = new ArrayList<Object>();
+
+    /** The indicator listeners, per indicator */
+    private final Map<Indicator<?>, List<IndicatorListener<?>>> indicatorListeners = new IdentityHashMap<Indicator<?>, List<IndicatorListener<?>>>();
+
+    private final List<TickListener> tickListeners = new ArrayList<TickListener>();
+
+    /** The indicators in topological order (null if it has to be computed again) */
+    private List<Indicator<?>> sortedIndicators;
+
+    /**
+     * Constructor.
+     * @param series the time series
+     */
+    public IndicatorStream(TimeSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+    }
+
+    /**
+     * @return the time series
+     */
+    public TimeSeries getTimeSeries() {
+        return series;
+    }
+
+    /**
+     * Adds an indicator (and its sub-indicators) to the stream.
+     * @param indicator the indicator to be updated on each tick
+     */
+    public void addIndicator(Indicator<?> indicator) {
+        if (indicator == null) {
+            throw new IllegalArgumentException("Indicator cannot be null");
+        }
+        roots.add(indicator);
+        sortedIndicators = null;
+    }
+
+    /**
+     * Adds a listener of an indicator (the indicator is added to the stream).
+     * @param indicator the indicator
+     * @param listener the listener of the values of the indicator
+     */
+    public <T> void addListener(Indicator<T> indicator, IndicatorListener<T> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        addIndicator(indicator);
+        List<IndicatorListener<?>> listeners = indicatorListeners.get(indicator);
+        if (listeners == null) {
+            listeners = new ArrayList<IndicatorListener<?>>();
+            indicatorListeners.put(indicator, listeners);
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a tick listener (the indicators it holds are added to the stream).
+     * @param listener the tick listener
+     */
+    public void addTickListener(TickListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        tickListeners.add(listener);
+        roots.add(listener);
+        sortedIndicators = null;
+    }
+
+    /**
+     * @return the indicators of the stream, in update (i.e. topological) order
+     */
+    public List<Indicator<?>> getIndicators() {
+        if (sortedIndicators == null) {
+            sortedIndicators = IndicatorGraph.sort(roots);
+        }
+        return Collections.unmodifiableList(sortedIndicators);
+    }
+
+    /**
+     * Writes a checkpoint of the series and of the indicators of the stream.
+     * @param file the checkpoint file
+     * @param nbTicks the (maximum) number of ticks to be saved
+     * @throws IOException if an I/O error occurs
+     * @see IndicatorCheckpoint#write(File, TimeSeries, List, int)
+     */
+    public void writeCheckpoint(File file, int nbTicks) throws IOException {
+        IndicatorCheckpoint.write(file, series, getIndicators(), nbTicks);
+    }
+
+    /**
+     * Restores the indicators of the stream from a checkpoint.
+     * <p>
+     * The stream must be built over the {@link IndicatorCheckpoint#getSeries() series of the checkpoint},
+     * with the same indicators and listeners as the checkpointed stream.
+     * @param checkpoint the checkpoint
+     */
+    public void restoreCheckpoint(IndicatorCheckpoint checkpoint) {
+        if (checkpoint.getSeries() != series) {
+            throw new IllegalArgumentException("The stream must be built over the series of the checkpoint");
+        }
+        checkpoint.restore(getIndicators());
+    }
+
+    /**
+     * Adds a tick to the time series, then updates the stream.
+     * @param tick the new tick
+     */
+    @Override
+    public void addTick(Tick tick) {
+        series.addTick(tick);
+        update(series.getEnd());
+    }
+
+    /**
+     * Updates the indicators of the stream and notifies the listeners.
+     * <p>
+     * To be called when the ticks are added to the series without going through the stream.
+     * @param index the tick index
+     */
+    public void update(int index) {
+        for (Indicator<?> indicator : getIndicators()) {
+            update(indicator, index);
+        }
+        for (TickListener listener : tickListeners) {
+            listener.onTick(index);
+        }
+    }
+
+    /**
+     * Updates an indicator and publishes its new value.
+     * @param indicator the indicator
+     * @param index the tick index
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void update(Indicator<T> indicator, int index) {
+        T value = indicator.getValue(index);
+        List<IndicatorListener<?>> listeners = indicatorListeners.get(indicator);
+        if (listeners != null) {
+            for (IndicatorListener<?> listener : listeners) {
+                ((IndicatorListener<T>) listener).onValue(indicator, index, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+
+/**
+ * Tick listener running a {@link Strategy strategy}.
+ * <p>
+ * On each tick, operates the trading record (at the close price of the tick) if the strategy says so,
+ * as {@link TimeSeries#run(Strategy, OrderType, Decimal)} does.
+ */
+public class StrategyListener implements TickListener {
+
+    private final TimeSeries series;
+
+    private final Strategy strategy;
+
+    private final Decimal amount;
+
+    private final TradingRecord tradingRecord;
+
+    /**
+     * Constructor.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param series the time series
+     * @param strategy the trading strategy
+     */
+    public StrategyListener(TimeSeries series, Strategy strategy) {
+        this(series, strategy, OrderType.BUY, Decimal.NaN);
+    }
+
+    /**
+     * Constructor.
+     * @param series the time series
+     * @param strategy the trading strategy
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     */
+    public StrategyListener(TimeSeries series, Strategy strategy, OrderType orderType, Decimal amount) {
+        this.series = series;
+        this.strategy = strategy;
+        this.amount = amount;
+        this.tradingRecord = new TradingRecord(orderType);
+    }
+
+    @Override
+    public void onTick(int index) {
+        if (strategy.shouldOperate(index, tradingRecord)) {
+            tradingRecord.operate(index, series.getTick(index).getClosePrice(), amount);
+        }
+    }
+
+    /**
+     * @return the strategy
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the trading record
+     */
+    public TradingRecord getTradingRecord() {
+        return tradingRecord;
+    }
+}
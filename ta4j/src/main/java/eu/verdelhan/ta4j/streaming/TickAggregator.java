@@ -0,0 +1,241 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+
+/**
+ * Aggregator of trades into {@link Tick ticks}.
+ * <p>
+ * Consumes a time-ordered stream of trades in a single pass and pushes each complete tick to a {@link TickSink sink}.
+ * It works the same way for historical loads (e.g. trades from a file) and for live trade feeds.
+ * The subclasses decide when a tick is complete (e.g. at the end of a time period, or once a threshold is reached).
+ * <p>
+ * As in {@link Tick#addTrade(Decimal, Decimal)}, the amount of a tick is the sum of the traded amounts and its volume
+ * is the sum of the traded amounts multiplied by their prices.
+ */
+public abstract class TickAggregator {
+
+    /** The sink of the complete ticks */
+    private final TickSink sink;
+
+    /** Time of the first trade of the current tick */
+    private DateTime firstTradeTime;
+
+    /** Time of the last trade of the current tick */
+    private DateTime lastTradeTime;
+
+    /** Current time (i.e. time of the last trade, or later) */
+    private DateTime currentTime;
+
+    private Decimal openPrice;
+
+    private Decimal maxPrice;
+
+    private Decimal minPrice;
+
+    private Decimal closePrice;
+
+    private Decimal amount = Decimal.ZERO;
+
+    private Decimal volume = Decimal.ZERO;
+
+    private int trades = 0;
+
+    /**
+     * Constructor.
+     * @param sink the sink of the complete ticks
+     */
+    protected TickAggregator(TickSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        this.sink = sink;
+    }
+
+    /**
+     * Adds a trade.
+     * @param time the time of the trade
+     * @param tradeAmount the traded amount
+     * @param tradePrice the price
+     */
+    public void addTrade(DateTime time, double tradeAmount, double tradePrice) {
+        addTrade(time, Decimal.valueOf(tradeAmount), Decimal.valueOf(tradePrice));
+    }
+
+    /**
+     * Adds a trade.
+     * <p>
+     * If the current tick is complete, it is pushed to the sink before the trade is added to a new tick.
+     * @param time the time of the trade (not before the previous trade)
+     * @param tradeAmount the traded amount
+     * @param tradePrice the price
+     */
+    public void addTrade(DateTime time, Decimal tradeAmount, Decimal tradePrice) {
+        if (time == null || tradeAmount == null || tradePrice == null) {
+            throw new IllegalArgumentException("Trade time, amount and price cannot be null");
+        }
+        advanceTime(time);
+        if (trades > 0 && isTickComplete(time)) {
+            flush();
+        }
+        if (trades == 0) {
+            startTick(time);
+            firstTradeTime = time;
+            openPrice = tradePrice;
+            maxPrice = tradePrice;
+            minPrice = tradePrice;
+        } else {
+            maxPrice = maxPrice.isLessThan(tradePrice) ? tradePrice : maxPrice;
+            minPrice = minPrice.isGreaterThan(tradePrice) ? tradePrice : minPrice;
+        }
+        lastTradeTime = time;
+        closePrice = tradePrice;
+        amount = amount.plus(tradeAmount);
+        volume = volume.plus(tradeAmount.multipliedBy(tradePrice));
+        trades++;
+    }
+
+    /**
+     * Pushes the current tick (if it has trades) to the sink, even if it is not complete.
+     * <p>
+     * E.g. at the end of a historical load.
+     */
+    public void flush() {
+        if (trades > 0) {
+            Tick tick = new Tick(getTickTimePeriod(), getTickEndTime(), openPrice, maxPrice, minPrice, closePrice,
+                    volume, amount, trades);
+            firstTradeTime = null;
+            lastTradeTime = null;
+            openPrice = null;
+            maxPrice = null;
+            minPrice = null;
+            closePrice = null;
+            amount = Decimal.ZERO;
+            volume = Decimal.ZERO;
+            trades = 0;
+            sink.addTick(tick);
+        }
+    }
+
+    /**
+     * Moves the current time forward.
+     * @param time the new current time
+     * @throws IllegalArgumentException if the time is before the current time (i.e. trades not time-ordered)
+     */
+    protected void advanceTime(DateTime time) {
+        if (currentTime != null && time.isBefore(currentTime)) {
+            throw new IllegalArgumentException("Trades must be time-ordered: " + time + " is before " + currentTime);
+        }
+        currentTime = time;
+    }
+
+    /**
+     * Called when the first trade of a tick is added.
+     * @param time the time of the first trade of the tick
+     */
+    protected void startTick(DateTime time) {
+    }
+
+    /**
+     * @param nextTradeTime the time of the next trade
+     * @return true if the current tick (with at least one trade) is complete, false if the next trade belongs to it
+     */
+    protected abstract boolean isTickComplete(DateTime nextTradeTime);
+
+    /**
+     * @return the time period of the current tick (by default the time between its first and its last trades)
+     */
+    protected Period getTickTimePeriod() {
+        return new Period(lastTradeTime.getMillis() - firstTradeTime.getMillis());
+    }
+
+    /**
+     * @return the end time of the current tick (by default the time of its last trade)
+     */
+    protected DateTime getTickEndTime() {
+        return lastTradeTime;
+    }
+
+    /**
+     * @return the time of the last trade of the current tick (null if none)
+     */
+    protected DateTime getLastTradeTime() {
+        return lastTradeTime;
+    }
+
+    /**
+     * @return the traded amount of the current tick
+     */
+    protected Decimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return the volume of the current tick
+     */
+    protected Decimal getVolume() {
+        return volume;
+    }
+
+    /**
+     * @return the number of trades of the current tick
+     */
+    protected int getTrades() {
+        return trades;
+    }
+
+    /**
+     * @param series a time series
+     * @return a sink adding the ticks to the series
+     */
+    public static TickSink sinkOf(final TimeSeries series) {
+        return new TickSink() {
+            @Override
+            public void addTick(Tick tick) {
+                series.addTick(tick);
+            }
+        };
+    }
+
+    /**
+     * Note that a {@link eu.verdelhan.ta4j.ColumnarTickList columnar list} only accepts ticks of its own time period:
+     * it fits a {@link TimeTickAggregator}, but not the threshold aggregators (e.g. {@link AmountTickAggregator}),
+     * whose ticks have variable time periods.
+     * @param ticks a list of ticks
+     * @return a sink adding the ticks to the list
+     */
+    public static TickSink sinkOf(final List<Tick> ticks) {
+        return new TickSink() {
+            @Override
+            public void addTick(Tick tick) {
+                ticks.add(tick);
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+
+/**
+ * Aggregator of trades into time ticks.
+ * <p>
+ * Each tick covers a time period: it holds the trades from its begin time (inclusive) to its end time (exclusive).
+ * The periods follow each other from the begin time of the first tick; the periods without trades are skipped.
+ * <p>
+ * A tick is complete once a trade (or a {@link #updateTime(DateTime) clock update}) reaches its end time.
+ */
+public class TimeTickAggregator extends TickAggregator {
+
+    /** The time period of the ticks */
+    private final Period timePeriod;
+
+    /** The begin time of the first tick (null for the time of the first trade) */
+    private final DateTime beginTime;
+
+    /** The end time of the current period */
+    private DateTime tickEndTime;
+
+    /**
+     * Constructor.
+     * <p>
+     * The first tick begins at the time of the first trade.
+     * @param timePeriod the time period of the ticks
+     * @param sink the sink of the complete ticks
+     */
+    public TimeTickAggregator(Period timePeriod, TickSink sink) {
+        this(timePeriod, null, sink);
+    }
+
+    /**
+     * Constructor.
+     * @param timePeriod the time period of the ticks
+     * @param beginTime the begin time of the first tick (e.g. midnight to align the ticks on round times)
+     * @param sink the sink of the complete ticks
+     */
+    public TimeTickAggregator(Period timePeriod, DateTime beginTime, TickSink sink) {
+        super(sink);
+        if (timePeriod == null) {
+            throw new IllegalArgumentException("Time period cannot be null");
+        }
+        this.timePeriod = timePeriod;
+        this.beginTime = beginTime;
+    }
+
+    /**
+     * Updates the current time (e.g. from a clock, for live trade feeds).
+     * <p>
+     * Pushes the current tick to the sink if its period is over, without waiting for the next trade.
+     * @param time the current time
+     */
+    public void updateTime(DateTime time) {
+        advanceTime(time);
+        if (getTrades() > 0 && isTickComplete(time)) {
+            flush();
+        }
+    }
+
+    @Override
+    protected void startTick(DateTime time) {
+        if (tickEndTime == null) {
+            DateTime firstBeginTime = beginTime == null ? time : beginTime;
+            if (time.isBefore(firstBeginTime)) {
+                throw new IllegalArgumentException("Trade time " + time + " is before the begin time " + firstBeginTime);
+            }
+            tickEndTime = firstBeginTime.plus(timePeriod);
+        }
+        // Skipping the periods without trades
+        while (!time.isBefore(tickEndTime)) {
+            tickEndTime = tickEndTime.plus(timePeriod);
+        }
+    }
+
+    @Override
+    protected boolean isTickComplete(DateTime nextTradeTime) {
+        return !nextTradeTime.isBefore(tickEndTime);
+    }
+
+    @Override
+    protected Period getTickTimePeriod() {
+        return timePeriod;
+    }
+
+    @Override
+    protected DateTime getTickEndTime() {
+        return tickEndTime;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import org.joda.time.DateTime;
+
+/**
+ * Aggregator of trades into trade count ticks (i.e. ticks with the same number of trades, a.k.a. tick bars).
+ * <p>
+ * A tick is complete once its number of trades reaches a threshold.
+ * The trades of a same time always belong to the same tick, so that the end times of the ticks (i.e. the times of
+ * their last trades) are distinct. Therefore a tick is pushed to the sink when the first trade of the next tick
+ * is added (or on {@link #flush()}).
+ */
+public class TradeCountTickAggregator extends TickAggregator {
+
+    /** The trade count threshold of the ticks */
+    private final int tradeCountThreshold;
+
+    /**
+     * Constructor.
+     * @param tradeCountThreshold the trade count threshold of the ticks
+     * @param sink the sink of the complete ticks
+     */
+    public TradeCountTickAggregator(int tradeCountThreshold, TickSink sink) {
+        super(sink);
+        if (tradeCountThreshold < 1) {
+            throw new IllegalArgumentException("Trade count threshold must be strictly positive");
+        }
+        this.tradeCountThreshold = tradeCountThreshold;
+    }
+
+    @Override
+    protected boolean isTickComplete(DateTime nextTradeTime) {
+        return nextTradeTime.isAfter(getLastTradeTime()) && getTrades() >= tradeCountThreshold;
+    }
+}
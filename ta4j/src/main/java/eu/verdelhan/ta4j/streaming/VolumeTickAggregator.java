@@ -0,0 +1,63 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.Decimal;
+import org.joda.time.DateTime;
+
+/**
+ * Aggregator of trades into volume ticks (i.e. ticks with the same volume, a.k.a. dollar bars).
+ * <p>
+ * In ta4j, the {@link eu.verdelhan.ta4j.Tick#getVolume() volume} of a tick is the traded value
+ * (quantity multiplied by price), while its {@link eu.verdelhan.ta4j.Tick#getAmount() amount} is the traded quantity.
+ * Therefore this aggregator builds what is usually called dollar bars;
+ * the volume bars (same traded quantity) are built by the {@link AmountTickAggregator}.
+ * <p>
+ * A tick is complete once its volume (traded amount multiplied by price) reaches a threshold.
+ * The trades of a same time always belong to the same tick, so that the end times of the ticks (i.e. the times of
+ * their last trades) are distinct. Therefore a tick is pushed to the sink when the first trade of the next tick
+ * is added (or on {@link #flush()}).
+ */
+public class VolumeTickAggregator extends TickAggregator {
+
+    /** The volume threshold of the ticks */
+    private final Decimal volumeThreshold;
+
+    /**
+     * Constructor.
+     * @param volumeThreshold the volume threshold of the ticks
+     * @param sink the sink of the complete ticks
+     */
+    public VolumeTickAggregator(Decimal volumeThreshold, TickSink sink) {
+        super(sink);
+        if (volumeThreshold == null || !volumeThreshold.isPositive()) {
+            throw new IllegalArgumentException("Volume threshold must be positive");
+        }
+        this.volumeThreshold = volumeThreshold;
+    }
+
+    @Override
+    protected boolean isTickComplete(DateTime nextTradeTime) {
+        return nextTradeTime.isAfter(getLastTradeTime()) && getVolume().isGreaterThanOrEqual(volumeThreshold);
+    }
+}
@@ -60,7 +60,6 @@ public class CrossedUpIndicatorRule extends AbstractRule {
     public boolean isSatisfied(int index, TradingRecord tradingRecord) {
         final boolean satisfied = cross.getValue(index);
         traceIsSatisfied(index, satisfied);
-        System.out.println("satisfied="+satisfied);
         return satisfied;
     }
 }
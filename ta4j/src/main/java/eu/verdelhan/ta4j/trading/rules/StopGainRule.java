@@ -59,7 +59,13 @@ public class StopGainRule extends AbstractRule {
             if (currentTrade.isOpened()) {
                 Decimal entryPrice = currentTrade.getEntry().getPrice();
                 Decimal currentPrice = closePrice.getValue(index);
-                satisfied = currentPrice.isGreaterThanOrEqual(entryPrice.multipliedBy(gainRatioThreshold));
+                if (entryPrice.isDoubleBacked()) {
+                    // Same computation as below, without intermediate decimal
+                    satisfied = !currentPrice.isNaN()
+                            && currentPrice.toDouble() >= entryPrice.toDouble() * gainRatioThreshold.toDouble();
+                } else {
+                    satisfied = currentPrice.isGreaterThanOrEqual(entryPrice.multipliedBy(gainRatioThreshold));
+                }
             }
         }
         traceIsSatisfied(index, satisfied);
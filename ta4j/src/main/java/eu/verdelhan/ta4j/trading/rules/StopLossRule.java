@@ -59,7 +59,13 @@ public class StopLossRule extends AbstractRule {
             if (currentTrade.isOpened()) {
                 Decimal entryPrice = currentTrade.getEntry().getPrice();
                 Decimal currentPrice = closePrice.getValue(index);
-                satisfied = currentPrice.isLessThanOrEqual(entryPrice.multipliedBy(lossRatioThreshold));
+                if (entryPrice.isDoubleBacked()) {
+                    // Same computation as below, without intermediate decimal
+                    satisfied = !currentPrice.isNaN()
+                            && currentPrice.toDouble() <= entryPrice.toDouble() * lossRatioThreshold.toDouble();
+                } else {
+                    satisfied = currentPrice.isLessThanOrEqual(entryPrice.multipliedBy(lossRatioThreshold));
+                }
             }
         }
         traceIsSatisfied(index, satisfied);
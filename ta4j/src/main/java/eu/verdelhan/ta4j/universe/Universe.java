@@ -0,0 +1,316 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.universe;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+
+/**
+ * A universe of instruments.
+ * <p>
+ * Holds the {@link TimeSeries time series} of several instruments (identified by their symbols), aligned on a common timeline:
+ * the i-th tick of every series ends at the same time. Hence the indicators of different instruments share the same
+ * index space, and cross-asset indicators (e.g. a correlation between the close prices of two instruments) are meaningful.
+ * <p>
+ * The timestamps at which some instruments have no tick are handled according to the {@link GapPolicy gap policy}
+ * of the universe.
+ */
+public class Universe {
+
+    /**
+     * The policy applied to the timestamps at which some instruments have no tick.
+     */
+    public enum GapPolicy {
+        /**
+         * The missing ticks are replaced by flat ticks (without volume) at the close price of the previous tick of the instrument.
+         * The timestamps preceding the first tick of an instrument are dropped.
+         * @see Universe#isFilled(String, int)
+         */
+        FILL_FORWARD,
+        /** The timestamps at which some instruments have no tick are dropped */
+        INTERSECT,
+        /** A missing tick is an error (an IllegalArgumentException is thrown) */
+        FAIL
+    }
+
+    private final GapPolicy gapPolicy;
+
+    /** The series, per symbol (in insertion order) */
+    private final Map<String, TimeSeries> seriesBySymbol = new LinkedHashMap<String, TimeSeries>();
+
+    /** The end time of the last aligned ticks (null if none) */
+    private DateTime endTime;
+
+    /**
+     * Constructor of an empty universe.
+     * @param gapPolicy the gap policy
+     */
+    public Universe(GapPolicy gapPolicy) {
+        if (gapPolicy == null) {
+            throw new IllegalArgumentException("Gap policy cannot be null");
+        }
+        this.gapPolicy = gapPolicy;
+    }
+
+    /**
+     * Constructor of a universe of instruments without ticks yet (e.g. for live trading).
+     * @param gapPolicy the gap policy
+     * @param timePeriod the time period (between 2 ticks)
+     * @param symbols the symbols of the instruments
+     */
+    public Universe(GapPolicy gapPolicy, Period timePeriod, String... symbols) {
+        this(gapPolicy);
+        for (String symbol : symbols) {
+            addSymbol(symbol, timePeriod);
+        }
+    }
+
+    /**
+     * Builds a universe from the (unaligned) series of several instruments.
+     * <p>
+     * The timeline of the universe is made of the end times of the ticks of the series, filtered according to the gap policy.
+     * The ticks are shared between the provided series and the ones of the universe (i.e. no copy).
+     * @param seriesBySymbol the series, per symbol
+     * @param gapPolicy the gap policy
+     * @return the universe
+     */
+    public static Universe align(Map<String, TimeSeries> seriesBySymbol, GapPolicy gapPolicy) {
+        if (seriesBySymbol.isEmpty()) {
+            throw new IllegalArgumentException("Universe needs at least one symbol");
+        }
+        Universe universe = new Universe(gapPolicy);
+        SortedSet<DateTime> timeline = new TreeSet<DateTime>();
+        for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+            TimeSeries series = entry.getValue();
+            universe.addSymbol(entry.getKey(), series.getTimePeriod());
+            for (int i = series.getBegin(); i >= 0 && i <= series.getEnd(); i++) {
+                timeline.add(series.getTick(i).getEndTime());
+            }
+        }
+
+        // Merging the series (one cursor per series)
+        Map<String, Integer> cursors = new LinkedHashMap<String, Integer>();
+        for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+            cursors.put(entry.getKey(), entry.getValue().getBegin());
+        }
+        Map<String, Tick> ticks = new LinkedHashMap<String, Tick>();
+        for (DateTime time : timeline) {
+            ticks.clear();
+            for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+                TimeSeries series = entry.getValue();
+                int cursor = cursors.get(entry.getKey());
+                if (cursor >= 0 && cursor <= series.getEnd() && series.getTick(cursor).getEndTime().equals(time)) {
+                    ticks.put(entry.getKey(), series.getTick(cursor));
+                    cursors.put(entry.getKey(), cursor + 1);
+                }
+            }
+            universe.addTicks(time, ticks);
+        }
+        return universe;
+    }
+
+    /**
+     * Adds an instrument to the universe.
+     * <p>
+     * Instruments can only be added before the first ticks.
+     * @param symbol the symbol of the instrument
+     * @param timePeriod the time period (between 2 ticks)
+     * @return the (empty) series of the instrument
+     */
+    public TimeSeries addSymbol(String symbol, Period timePeriod) {
+        if (symbol == null) {
+            throw new IllegalArgumentException("Symbol cannot be null");
+        }
+        if (seriesBySymbol.containsKey(symbol)) {
+            throw new IllegalArgumentException("Duplicate symbol: " + symbol);
+        }
+        if (endTime != null) {
+            throw new IllegalStateException("Cannot add a symbol to a universe which already has ticks");
+        }
+        TimeSeries series = new TimeSeries(symbol, timePeriod);
+        seriesBySymbol.put(symbol, series);
+        return series;
+    }
+
+    /**
+     * Adds the ticks of a timestamp to the series of the universe.
+     * <p>
+     * The missing ticks are handled according to the gap policy.
+     * @param endTime the end time of the ticks
+     * @param ticks the ticks ending at the end time, per symbol
+     * @return true if the ticks have been added, false if the timestamp has been dropped by the gap policy
+     */
+    public boolean addTicks(DateTime endTime, Map<String, Tick> ticks) {
+        if (endTime == null) {
+            throw new IllegalArgumentException("End time cannot be null");
+        }
+        if (this.endTime != null && !endTime.isAfter(this.endTime)) {
+            throw new IllegalArgumentException("Cannot add ticks with end time <= to universe end time");
+        }
+        for (Map.Entry<String, Tick> entry : ticks.entrySet()) {
+            if (!seriesBySymbol.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException("Unknown symbol: " + entry.getKey());
+            }
+            if (!endTime.equals(entry.getValue().getEndTime())) {
+                throw new IllegalArgumentException("Tick of " + entry.getKey() + " does not end at " + endTime);
+            }
+        }
+
+        if (ticks.size() < seriesBySymbol.size()) {
+            // Missing ticks
+            switch (gapPolicy) {
+                case FAIL:
+                    throw new IllegalArgumentException("Missing ticks at " + endTime);
+                case INTERSECT:
+                    return false;
+                default:
+                    for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+                        if (!ticks.containsKey(entry.getKey()) && entry.getValue().getTickCount() == 0) {
+                            // Nothing to be filled forward
+                            return false;
+                        }
+                    }
+            }
+        }
+
+        for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+            TimeSeries series = entry.getValue();
+            Tick tick = ticks.get(entry.getKey());
+            series.addTick(tick != null ? tick : new FilledTick(series.getLastTick(), endTime));
+        }
+        this.endTime = endTime;
+        return true;
+    }
+
+    /**
+     * @return the gap policy
+     */
+    public GapPolicy getGapPolicy() {
+        return gapPolicy;
+    }
+
+    /**
+     * @return the symbols of the instruments (in insertion order)
+     */
+    public List<String> getSymbols() {
+        return Collections.unmodifiableList(new ArrayList<String>(seriesBySymbol.keySet()));
+    }
+
+    /**
+     * @param symbol the symbol of an instrument
+     * @return the (aligned) series of the instrument
+     */
+    public TimeSeries getSeries(String symbol) {
+        TimeSeries series = seriesBySymbol.get(symbol);
+        if (series == null) {
+            throw new IllegalArgumentException("Unknown symbol: " + symbol);
+        }
+        return series;
+    }
+
+    /**
+     * @return the begin index of the timeline (-1 if no tick)
+     */
+    public int getBegin() {
+        return firstSeries().getBegin();
+    }
+
+    /**
+     * @return the end index of the timeline (-1 if no tick)
+     */
+    public int getEnd() {
+        return firstSeries().getEnd();
+    }
+
+    /**
+     * @param index the index of a timestamp
+     * @return the end time of the ticks at the index
+     */
+    public DateTime getEndTime(int index) {
+        return firstSeries().getTick(index).getEndTime();
+    }
+
+    /**
+     * @param symbol the symbol of an instrument
+     * @param index the index of a timestamp
+     * @return true if the tick of the instrument at the index has been filled by the {@link GapPolicy#FILL_FORWARD gap policy}
+     */
+    public boolean isFilled(String symbol, int index) {
+        return getSeries(symbol).getTick(index) instanceof FilledTick;
+    }
+
+    /**
+     * Sets the maximum tick count of all the series.
+     * @param maximumTickCount the maximum tick count
+     * @see TimeSeries#setMaximumTickCount(int)
+     */
+    public void setMaximumTickCount(int maximumTickCount) {
+        for (TimeSeries series : seriesBySymbol.values()) {
+            series.setMaximumTickCount(maximumTickCount);
+        }
+    }
+
+    /**
+     * Makes the indicators of all the series thread-safe.
+     * <p>
+     * Needed by the cross-asset indicators evaluated by a {@link UniverseScheduler scheduler}: the instruments are evaluated
+     * in parallel.
+     * @see TimeSeries#useConcurrentIndicators()
+     */
+    public void useConcurrentIndicators() {
+        for (TimeSeries series : seriesBySymbol.values()) {
+            series.useConcurrentIndicators();
+        }
+    }
+
+    /**
+     * @return the series of the first instrument
+     */
+    private TimeSeries firstSeries() {
+        if (seriesBySymbol.isEmpty()) {
+            throw new IllegalStateException("Universe has no symbol");
+        }
+        return seriesBySymbol.values().iterator().next();
+    }
+
+    /**
+     * A tick filled forward: a flat tick (without volume) at the close price of the previous tick.
+     */
+    private static class FilledTick extends Tick {
+
+        public FilledTick(Tick previousTick, DateTime endTime) {
+            super(previousTick.getTimePeriod(), endTime, previousTick.getClosePrice(), previousTick.getClosePrice(),
+                    previousTick.getClosePrice(), previousTick.getClosePrice(), Decimal.ZERO, Decimal.ZERO, 0);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.universe;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.StrategyBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A scheduler of the strategies of a {@link Universe universe}.
+ * <p>
+ * Advances all the instruments of the universe one timestamp at a time: at each timestamp, the strategies of the instruments
+ * are evaluated in parallel (the instruments are split into as many tasks as threads), and the next timestamp is only
+ * evaluated once all the strategies have been evaluated at the current one. Hence a strategy may read the indicators
+ * of other instruments (e.g. cross-asset indicators) up to the current timestamp, provided that the universe
+ * {@link Universe#useConcurrentIndicators() uses concurrent indicators}.
+ * <p>
+ * The strategies are not evaluated on the {@link Universe#isFilled(String, int) filled ticks}.
+ */
+public class UniverseScheduler {
+
+    private final Universe universe;
+
+    private final ExecutorService executorService;
+
+    /** The number of tasks per timestamp */
+    private final int nbTasks;
+
+    /** The scheduled instruments, per symbol (in insertion order) */
+    private final Map<String, ScheduledInstrument> instruments = new LinkedHashMap<String, ScheduledInstrument>();
+
+    /** The instruments evaluated by each task (null if it has to be computed again) */
+    private List<EvaluationTask> tasks;
+
+    /** The index of the last evaluated timestamp (-1 if none) */
+    private int lastIndex = -1;
+
+    /**
+     * Constructor.
+     * <p>
+     * Evaluates the strategies on as many threads as available processors.
+     * @param universe the universe
+     */
+    public UniverseScheduler(Universe universe) {
+        this(universe, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param universe the universe
+     * @param nbThreads the number of threads evaluating the strategies
+     */
+    public UniverseScheduler(Universe universe, int nbThreads) {
+        this(universe, Executors.newFixedThreadPool(nbThreads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            }
+        }), nbThreads);
+    }
+
+    /**
+     * Constructor.
+     * @param universe the universe
+     * @param executorService the executor service evaluating the strategies
+     * @param nbTasks the number of tasks per timestamp (i.e. the expected parallelism)
+     */
+    public UniverseScheduler(Universe universe, ExecutorService executorService, int nbTasks) {
+        if (universe == null) {
+            throw new IllegalArgumentException("Universe cannot be null");
+        }
+        if (executorService == null) {
+            throw new IllegalArgumentException("Executor service cannot be null");
+        }
+        if (nbTasks < 1) {
+            throw new IllegalArgumentException("Number of tasks must be positive");
+        }
+        this.universe = universe;
+        this.executorService = executorService;
+        this.nbTasks = nbTasks;
+    }
+
+    /**
+     * Schedules the strategy of an instrument.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param symbol the symbol of the instrument
+     * @param strategy the strategy (built over the series of the instrument in the universe)
+     */
+    public void addStrategy(String symbol, Strategy strategy) {
+        addStrategy(symbol, strategy, OrderType.BUY, Decimal.NaN);
+    }
+
+    /**
+     * Schedules the strategy of an instrument.
+     * @param symbol the symbol of the instrument
+     * @param strategy the strategy (built over the series of the instrument in the universe)
+     * @param orderType the {@link OrderType} used to open the trades
+     * @param amount the amount used to open/close the trades
+     */
+    public void addStrategy(String symbol, Strategy strategy, OrderType orderType, Decimal amount) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy cannot be null");
+        }
+        if (instruments.containsKey(symbol)) {
+            throw new IllegalArgumentException("A strategy is already scheduled for " + symbol);
+        }
+        instruments.put(symbol, new ScheduledInstrument(symbol, universe.getSeries(symbol), strategy,
+                new TradingRecord(orderType), amount));
+        tasks = null;
+    }
+
+    /**
+     * Schedules the same strategy for all the instruments of the universe.
+     * <p>
+     * Opens the trades with {@link OrderType.BUY} orders.
+     * @param strategyBuilder the builder of the strategy (called once per instrument, over its series)
+     */
+    public void addStrategies(StrategyBuilder strategyBuilder) {
+        for (String symbol : universe.getSymbols()) {
+            addStrategy(symbol, strategyBuilder.buildStrategy(universe.getSeries(symbol)));
+        }
+    }
+
+    /**
+     * Evaluates the strategies at all the (not yet evaluated) timestamps of the universe.
+     * @return the trading records, per symbol
+     */
+    public Map<String, TradingRecord> run() {
+        step();
+        return getTradingRecords();
+    }
+
+    /**
+     * Evaluates the strategies at the pending timestamps of the universe (i.e. from the one after the last evaluated
+     * timestamp to the last timestamp of the universe).
+     * <p>
+     * To be called after {@link Universe#addTicks(org.joda.time.DateTime, Map) new timestamps} (e.g. for live trading).
+     */
+    public void step() {
+        for (int i = Math.max(lastIndex + 1, universe.getBegin()); i <= universe.getEnd(); i++) {
+            step(i);
+        }
+    }
+
+    /**
+     * Evaluates the strategies at a timestamp.
+     * @param index the index of the timestamp (after the last evaluated one)
+     */
+    public void step(int index) {
+        if (index <= lastIndex) {
+            throw new IllegalArgumentException("Timestamp " + index + " already evaluated");
+        }
+        if (index < universe.getBegin() || index > universe.getEnd()) {
+            throw new IndexOutOfBoundsException("Timestamp " + index + " out of the timeline of the universe");
+        }
+        lastIndex = index;
+        List<EvaluationTask> evaluationTasks = getTasks();
+        for (EvaluationTask task : evaluationTasks) {
+            task.index = index;
+        }
+        if (evaluationTasks.size() == 1) {
+            // Nothing to parallelize
+            evaluationTasks.get(0).call();
+            return;
+        }
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(evaluationTasks.size());
+        try {
+            for (EvaluationTask task : evaluationTasks) {
+                futures.add(executorService.submit(task));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ie) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while evaluating the strategies", ie);
+        } catch (ExecutionException ee) {
+            cancelAll(futures);
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Strategy evaluation failed", cause);
+        }
+    }
+
+    /**
+     * @param symbol the symbol of an instrument
+     * @return the trading record of the strategy of the instrument
+     */
+    public TradingRecord getTradingRecord(String symbol) {
+        ScheduledInstrument instrument = instruments.get(symbol);
+        if (instrument == null) {
+            throw new IllegalArgumentException("No strategy scheduled for " + symbol);
+        }
+        return instrument.tradingRecord;
+    }
+
+    /**
+     * @return the trading records, per symbol (in scheduling order)
+     */
+    public Map<String, TradingRecord> getTradingRecords() {
+        Map<String, TradingRecord> tradingRecords = new LinkedHashMap<String, TradingRecord>();
+        for (ScheduledInstrument instrument : instruments.values()) {
+            tradingRecords.put(instrument.symbol, instrument.tradingRecord);
+        }
+        return Collections.unmodifiableMap(tradingRecords);
+    }
+
+    /**
+     * Shuts down the underlying executor service.
+     */
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * @return the evaluation tasks (the instruments are split evenly between the tasks)
+     */
+    private List<EvaluationTask> getTasks() {
+        if (tasks == null) {
+            final int nbEvaluationTasks = Math.max(1, Math.min(nbTasks, instruments.size()));
+            tasks = new ArrayList<EvaluationTask>(nbEvaluationTasks);
+            for (int i = 0; i < nbEvaluationTasks; i++) {
+                tasks.add(new EvaluationTask());
+            }
+            int position = 0;
+            for (ScheduledInstrument instrument : instruments.values()) {
+                tasks.get(position % nbEvaluationTasks).instruments.add(instrument);
+                position++;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * @param futures the futures to be cancelled
+     */
+    private static void cancelAll(List<Future<Void>> futures) {
+        for (Future<Void> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * An instrument with its strategy and trading record.
+     */
+    private static class ScheduledInstrument {
+
+        private final String symbol;
+
+        private final TimeSeries series;
+
+        private final Strategy strategy;
+
+        private final TradingRecord tradingRecord;
+
+        private final Decimal amount;
+
+        public ScheduledInstrument(String symbol, TimeSeries series, Strategy strategy, TradingRecord tradingRecord, Decimal amount) {
+            this.symbol = symbol;
+            this.series = series;
+            this.strategy = strategy;
+            this.tradingRecord = tradingRecord;
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * An evaluation task: evaluates the strategies of a subset of the instruments at a timestamp.
+     */
+    private class EvaluationTask implements Callable<Void> {
+
+        private final List<ScheduledInstrument> instruments = new ArrayList<ScheduledInstrument>();
+
+        /** The index of the timestamp (set before each submission) */
+        private int index;
+
+        @Override
+        public Void call() {
+            for (ScheduledInstrument instrument : instruments) {
+                if (universe.isFilled(instrument.symbol, index)) {
+                    // No order on a filled tick
+                    continue;
+                }
+                if (instrument.strategy.shouldOperate(index, instrument.tradingRecord)) {
+                    instrument.tradingRecord.operate(index, instrument.series.getTick(index).getClosePrice(), instrument.amount);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.RSIIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ColumnarTickListTest {
+
+    private ColumnarTickList ticks;
+
+    private DateTime time;
+
+    @Before
+    public void setUp() {
+        ticks = new ColumnarTickList(Period.hours(1), 2);
+        time = new DateTime(2014, 6, 25, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            ticks.add(buildTick(i));
+        }
+    }
+
+    @Test
+    public void addAndGet() {
+        assertEquals(5, ticks.size());
+        Tick tick = ticks.get(3);
+        assertEquals(time.plusHours(3), tick.getEndTime());
+        assertEquals(time.plusHours(2), tick.getBeginTime());
+        assertEquals(Period.hours(1), tick.getTimePeriod());
+        assertDecimalEquals(tick.getOpenPrice(), 12);
+        assertDecimalEquals(tick.getMaxPrice(), 14);
+        assertDecimalEquals(tick.getMinPrice(), 11);
+        assertDecimalEquals(tick.getClosePrice(), 13);
+        assertDecimalEquals(tick.getVolume(), 30);
+        assertDecimalEquals(tick.getAmount(), 0);
+        assertEquals(0, tick.getTrades());
+        assertTrue(tick.getClosePrice().isDoubleBacked());
+        assertTrue(tick.isBullish());
+        assertTrue(tick.inPeriod(time.plusHours(2).plusMinutes(30)));
+        assertEquals(13d, ticks.getClosePrice(3), 0d);
+        assertEquals(time.plusHours(3).getMillis(), ticks.getEndTimeMillis(3));
+    }
+
+    @Test
+    public void tickWithoutTrades() {
+        ticks.add(new Tick(Period.hours(1), time.plusHours(5)));
+        Tick tick = ticks.get(5);
+        assertNull(tick.getOpenPrice());
+        assertNull(tick.getClosePrice());
+        assertFalse(tick.isBearish());
+    }
+
+    @Test
+    public void tickWithTrades() {
+        Tick tick = new Tick(Period.hours(1), time.plusHours(5));
+        tick.addTrade(3.0, 200.0);
+        tick.addTrade(4.0, 201.0);
+        ticks.add(tick);
+        assertEquals(2, ticks.get(5).getTrades());
+        assertDecimalEquals(ticks.get(5).getAmount(), 7);
+        // Detached copy
+        Tick removedTick = ticks.remove(5);
+        assertEquals(2, removedTick.getTrades());
+        assertDecimalEquals(removedTick.getAmount(), 7);
+        assertDecimalEquals(removedTick.getVolume(), 3 * 200 + 4 * 201);
+    }
+
+    @Test
+    public void setAndRemove() {
+        Tick previousTick = ticks.set(1, buildTick(7));
+        assertDecimalEquals(previousTick.getClosePrice(), 11);
+        assertDecimalEquals(ticks.get(1).getClosePrice(), 17);
+
+        Tick snapshot = ticks.get(2);
+        ticks.remove(0);
+        assertEquals(4, ticks.size());
+        assertDecimalEquals(ticks.get(0).getClosePrice(), 17);
+        // Snapshots are detached from their position
+        assertDecimalEquals(snapshot.getClosePrice(), 12);
+        assertEquals(time.plusHours(2), snapshot.getEndTime());
+        assertSame(snapshot.getClosePrice(), snapshot.getClosePrice());
+
+        ticks.subList(0, 2).clear();
+        assertEquals(2, ticks.size());
+        assertDecimalEquals(ticks.get(0).getClosePrice(), 13);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTickWithAnotherTimePeriodShouldThrowException() {
+        ticks.add(new Tick(Period.days(1), time.plusHours(5)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addTradeOnViewShouldThrowException() {
+        ticks.get(0).addTrade(1, 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBoundsShouldThrowException() {
+        ticks.get(5);
+    }
+
+    @Test
+    public void columnarSeriesShouldMatchRegularSeries() {
+        List<Tick> regularTicks = new ArrayList<Tick>();
+        ColumnarTickList columnarTicks = new ColumnarTickList(Period.hours(1));
+        for (int i = 0; i < 200; i++) {
+            Tick tick = new Tick(Period.hours(1), time.plusHours(i), Decimal.valueOf(100 + i % 7), Decimal.valueOf(110 + i % 5),
+                    Decimal.valueOf(90 - i % 3), Decimal.valueOf(100 + 10 * Math.sin(i)), Decimal.valueOf(1000));
+            regularTicks.add(tick);
+            columnarTicks.add(tick);
+        }
+        TimeSeries regularSeries = new TimeSeries("regular", regularTicks);
+        TimeSeries columnarSeries = new TimeSeries("columnar", columnarTicks);
+        assertTrue(columnarSeries.isDoubleBacked());
+        assertEquals(regularSeries.getTickCount(), columnarSeries.getTickCount());
+        assertEquals(regularSeries.getTimePeriod(), columnarSeries.getTimePeriod());
+
+        SMAIndicator regularSma = new SMAIndicator(new ClosePriceIndicator(regularSeries), 10);
+        SMAIndicator columnarSma = new SMAIndicator(new ClosePriceIndicator(columnarSeries), 10);
+        RSIIndicator regularRsi = new RSIIndicator(new ClosePriceIndicator(regularSeries), 14);
+        RSIIndicator columnarRsi = new RSIIndicator(new ClosePriceIndicator(columnarSeries), 14);
+        for (int i = 0; i < 200; i++) {
+            assertDecimalEquals(columnarSma.getValue(i), regularSma.getValue(i).toDouble());
+            assertDecimalEquals(columnarRsi.getValue(i), regularRsi.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void movingColumnarSeries() {
+        TimeSeries series = new TimeSeries("moving", new ColumnarTickList(Period.hours(1)));
+        series.addTick(buildTick(0));
+        series.addTick(buildTick(1));
+        series.addTick(buildTick(2));
+        series.setMaximumTickCount(3);
+        Tick firstTick = series.getTick(0);
+        for (int i = 3; i < 10; i++) {
+            series.addTick(buildTick(i));
+        }
+        // The overwritten position does not alter the tick previously returned
+        assertDecimalEquals(firstTick.getClosePrice(), 10);
+        assertEquals(time, firstTick.getEndTime());
+        // Restoring the order of the circular buffer
+        series.setMaximumTickCount(2);
+        assertEquals(2, series.getTickCount());
+        assertDecimalEquals(series.getTick(8).getClosePrice(), 18);
+        assertDecimalEquals(series.getTick(9).getClosePrice(), 19);
+        assertEquals(time.plusHours(9), series.getLastTick().getEndTime());
+    }
+
+    @Test
+    public void primitiveAccessorsOfMovingSeries() {
+        TimeSeries columnarSeries = new TimeSeries("moving", new ColumnarTickList(Period.hours(1)));
+        TimeSeries regularSeries = new TimeSeries("regular", Period.hours(1));
+        assertTrue(columnarSeries.hasPrimitiveTicks());
+        assertFalse(regularSeries.hasPrimitiveTicks());
+        columnarSeries.setMaximumTickCount(3);
+        regularSeries.setMaximumTickCount(3);
+        for (int i = 0; i < 10; i++) {
+            columnarSeries.addTick(buildTick(i));
+            regularSeries.addTick(buildTick(i));
+        }
+        for (TimeSeries series : Arrays.asList(columnarSeries, regularSeries)) {
+            for (int i = 7; i < 10; i++) {
+                assertEquals(time.plusHours(i).getMillis(), series.getEndTimeMillis(i));
+                assertEquals(9 + i, series.getOpenPrice(i), 1e-12);
+                assertEquals(11 + i, series.getMaxPrice(i), 1e-12);
+                assertEquals(8 + i, series.getMinPrice(i), 1e-12);
+                assertEquals(10 + i, series.getClosePrice(i), 1e-12);
+            }
+        }
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(columnarSeries);
+        assertDecimalEquals(closePrice.getValue(9), 19);
+        assertTrue(closePrice.getValue(9).isDoubleBacked());
+    }
+
+    /**
+     * @param i an index
+     * @return a tick ending at time + i hours, with a close price of 10 + i
+     */
+    private Tick buildTick(int i) {
+        return new Tick(Period.hours(1), time.plusHours(i), Decimal.valueOf(9 + i), Decimal.valueOf(11 + i),
+                Decimal.valueOf(8 + i), Decimal.valueOf(10 + i), Decimal.valueOf(10 * i));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class DecimalTest {
+
+    @Test
+    public void doubleBackedValueOf() {
+        Decimal value = Decimal.doubleBackedValueOf(2.5);
+        assertTrue(value.isDoubleBacked());
+        assertEquals(2.5, value.toDouble(), 0);
+        assertFalse(Decimal.valueOf(2.5).isDoubleBacked());
+        assertSame(Decimal.NaN, Decimal.doubleBackedValueOf(Double.NaN));
+        assertFalse(Decimal.NaN.isDoubleBacked());
+    }
+
+    @Test
+    public void toDoubleBacked() {
+        Decimal bigDecimalBacked = Decimal.valueOf("1.25");
+        Decimal doubleBacked = bigDecimalBacked.toDoubleBacked();
+        assertTrue(doubleBacked.isDoubleBacked());
+        assertEquals(bigDecimalBacked, doubleBacked);
+        assertSame(doubleBacked, doubleBacked.toDoubleBacked());
+        assertSame(Decimal.NaN, Decimal.NaN.toDoubleBacked());
+    }
+
+    @Test
+    public void doubleBackedArithmetic() {
+        Decimal six = Decimal.doubleBackedValueOf(6);
+        Decimal four = Decimal.doubleBackedValueOf(4);
+        assertDecimalEquals(six.plus(four), 10);
+        assertDecimalEquals(six.minus(four), 2);
+        assertDecimalEquals(six.multipliedBy(four), 24);
+        assertDecimalEquals(six.dividedBy(four), 1.5);
+        assertDecimalEquals(six.remainder(four), 2);
+        assertDecimalEquals(four.pow(3), 64);
+        assertDecimalEquals(four.sqrt(), 2);
+        assertDecimalEquals(Decimal.doubleBackedValueOf(Math.E).log(), 1);
+        assertDecimalEquals(Decimal.doubleBackedValueOf(-3).abs(), 3);
+        assertTrue(six.dividedBy(Decimal.doubleBackedValueOf(0)).isNaN());
+        assertTrue(six.plus(Decimal.NaN).isNaN());
+    }
+
+    @Test
+    public void mixedArithmeticReturnsDoubleBackedDecimals() {
+        Decimal doubleBacked = Decimal.doubleBackedValueOf(3);
+        assertTrue(doubleBacked.plus(Decimal.ONE).isDoubleBacked());
+        assertTrue(Decimal.ONE.plus(doubleBacked).isDoubleBacked());
+        assertTrue(Decimal.HUNDRED.dividedBy(doubleBacked).isDoubleBacked());
+        assertFalse(Decimal.ONE.plus(Decimal.TWO).isDoubleBacked());
+        assertDecimalEquals(Decimal.TEN.minus(doubleBacked), 7);
+    }
+
+    @Test
+    public void comparisonsBetweenBackings() {
+        Decimal doubleBacked = Decimal.doubleBackedValueOf(2);
+        assertTrue(doubleBacked.isEqual(Decimal.TWO));
+        assertTrue(doubleBacked.isGreaterThan(Decimal.ONE));
+        assertTrue(doubleBacked.isLessThan(Decimal.THREE));
+        assertTrue(Decimal.doubleBackedValueOf(0).isZero());
+        assertTrue(Decimal.doubleBackedValueOf(-0d).isZero());
+        assertTrue(Decimal.doubleBackedValueOf(-1).isNegative());
+        assertSame(Decimal.ONE, doubleBacked.min(Decimal.ONE));
+        assertSame(doubleBacked, doubleBacked.max(Decimal.ONE));
+    }
+
+    @Test
+    public void equalsAndHashCodeBetweenBackings() {
+        Decimal doubleBacked = Decimal.doubleBackedValueOf(1.5);
+        Decimal bigDecimalBacked = Decimal.valueOf("1.50");
+        assertEquals(bigDecimalBacked, doubleBacked);
+        assertEquals(doubleBacked, bigDecimalBacked);
+        assertEquals(bigDecimalBacked.hashCode(), doubleBacked.hashCode());
+        assertEquals(Decimal.valueOf("1.5").hashCode(), bigDecimalBacked.hashCode());
+        assertFalse(doubleBacked.equals(Decimal.NaN));
+        assertEquals(Decimal.NaN, Decimal.NaN);
+    }
+}
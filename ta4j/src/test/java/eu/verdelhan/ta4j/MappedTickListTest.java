@@ -0,0 +1,150 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedTickListTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Tick> ticks;
+
+    private DateTime time;
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        time = new DateTime(2014, 6, 25, 0, 0);
+        ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 50; i++) {
+            ticks.add(new Tick(Period.minutes(1), time.plusMinutes(i), Decimal.valueOf(9 + i), Decimal.valueOf(11 + i),
+                    Decimal.valueOf(8 + i), Decimal.valueOf(10 + i), Decimal.valueOf(10 * i)));
+        }
+        ticks.get(3).addTrade(Decimal.valueOf(2), Decimal.valueOf(12));
+        file = folder.newFile("ticks.bin");
+        MappedTickList.write(file, ticks);
+    }
+
+    @Test
+    public void writeAndOpen() throws IOException {
+        MappedTickList mappedTicks = MappedTickList.open(file);
+        assertEquals(50, mappedTicks.size());
+        assertEquals(Period.minutes(1), mappedTicks.getTimePeriod());
+        for (int i = 0; i < ticks.size(); i++) {
+            Tick expected = ticks.get(i);
+            Tick actual = mappedTicks.get(i);
+            assertEquals(expected.getEndTime().getMillis(), actual.getEndTime().getMillis());
+            assertEquals(expected.getBeginTime().getMillis(), actual.getBeginTime().getMillis());
+            assertDecimalEquals(actual.getOpenPrice(), expected.getOpenPrice().toDouble());
+            assertDecimalEquals(actual.getMaxPrice(), expected.getMaxPrice().toDouble());
+            assertDecimalEquals(actual.getMinPrice(), expected.getMinPrice().toDouble());
+            assertDecimalEquals(actual.getClosePrice(), expected.getClosePrice().toDouble());
+            assertDecimalEquals(actual.getAmount(), expected.getAmount().toDouble());
+            assertDecimalEquals(actual.getVolume(), expected.getVolume().toDouble());
+            assertEquals(expected.getTrades(), actual.getTrades());
+            assertTrue(actual.getClosePrice().isDoubleBacked());
+        }
+        assertEquals(1, mappedTicks.get(3).getTrades());
+        assertEquals(59d, mappedTicks.getClosePrice(49), 0);
+        assertEquals(time.getMillis(), mappedTicks.getEndTimeMillis(0));
+    }
+
+    @Test
+    public void nullPricesAreKept() throws IOException {
+        List<Tick> emptyTicks = new ArrayList<Tick>();
+        emptyTicks.add(new Tick(Period.minutes(1), time));
+        MappedTickList.write(file, emptyTicks);
+        Tick tick = MappedTickList.open(file).get(0);
+        assertNull(tick.getOpenPrice());
+        assertNull(tick.getClosePrice());
+        assertDecimalEquals(tick.getVolume(), 0);
+    }
+
+    @Test
+    public void timeSeriesOverMappedTicks() throws IOException {
+        TimeSeries series = new TimeSeries("mapped", MappedTickList.open(file));
+        assertTrue(series.isDoubleBacked());
+        assertEquals(0, series.getBegin());
+        assertEquals(49, series.getEnd());
+        assertEquals(Period.minutes(1), series.getTimePeriod());
+
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        SMAIndicator expectedSma = new SMAIndicator(new ClosePriceIndicator(new TimeSeries(ticks)), 5);
+        for (int i = 0; i < ticks.size(); i++) {
+            assertDecimalEquals(sma.getValue(i), expectedSma.getValue(i).toDouble());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void mappedTicksAreReadOnly() throws IOException {
+        TimeSeries series = new TimeSeries("mapped", MappedTickList.open(file));
+        series.addTick(new Tick(Period.minutes(1), time.plusMinutes(60)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeTicksWithDifferentTimePeriods() throws IOException {
+        ticks.add(new Tick(Period.hours(1), time.plusHours(2)));
+        MappedTickList.write(file, ticks);
+    }
+
+    @Test(expected = IOException.class)
+    public void openInvalidFile() throws IOException {
+        File invalidFile = folder.newFile("invalid.bin");
+        FileOutputStream output = new FileOutputStream(invalidFile);
+        try {
+            output.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        } finally {
+            output.close();
+        }
+        MappedTickList.open(invalidFile);
+    }
+
+    @Test(expected = IOException.class)
+    public void openTruncatedFile() throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(randomAccessFile.length() - 4);
+        } finally {
+            randomAccessFile.close();
+        }
+        MappedTickList.open(file);
+    }
+}
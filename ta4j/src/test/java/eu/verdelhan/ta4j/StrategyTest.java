@@ -0,0 +1,179 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j;
+
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.streaming.IndicatorStream;
+import eu.verdelhan.ta4j.streaming.TickListener;
+import eu.verdelhan.ta4j.trading.rules.CrossedDownIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.CrossedUpIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.InPipeRule;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.StopGainRule;
+import eu.verdelhan.ta4j.trading.rules.StopLossRule;
+import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.WaitForRule;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Test;
+
+public class StrategyTest {
+
+    @Test
+    public void unstablePeriod() {
+        Strategy strategy = new Strategy(new OverIndicatorRule(new ClosePriceIndicator(new MockTimeSeries(1, 2, 3)), Decimal.ZERO),
+                new UnderIndicatorRule(new ClosePriceIndicator(new MockTimeSeries(1, 2, 3)), Decimal.ZERO));
+        strategy.setUnstablePeriod(2);
+        assertTrue(strategy.isUnstableAt(1));
+        assertFalse(strategy.isUnstableAt(2));
+        assertFalse(strategy.shouldEnter(1));
+        assertTrue(strategy.shouldEnter(2));
+    }
+
+    @Test
+    public void indicatorsUnstablePeriod() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(new MockTimeSeries(1, 2, 3));
+        Strategy strategy = new Strategy(new CrossedUpIndicatorRule(new SMAIndicator(closePrice, 5), new SMAIndicator(closePrice, 20)),
+                new StopLossRule(closePrice, Decimal.valueOf(3)));
+        assertEquals(0, strategy.getUnstablePeriod());
+        strategy.useIndicatorsUnstablePeriod();
+        assertEquals(19, strategy.getUnstablePeriod());
+        assertTrue(strategy.isUnstableAt(18));
+        assertFalse(strategy.isUnstableAt(19));
+
+        // A longer unstable period is kept
+        strategy.setUnstablePeriod(30);
+        strategy.useIndicatorsUnstablePeriod();
+        assertEquals(30, strategy.getUnstablePeriod());
+    }
+
+    /**
+     * Only the evaluation of the strategy on each new tick is measured: the values of its indicators for the tick
+     * are computed beforehand by an indicator stream (computing them allocates their Decimal results).
+     * Skipped when the JVM does not count the allocated memory per thread.
+     */
+    @Test
+    public void shouldOperateOnComputedIndicatorValuesDoesNotAllocate() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationCounter.isThreadAllocatedMemorySupported());
+        allocationCounter.setThreadAllocatedMemoryEnabled(true);
+
+        Random random = new Random(5);
+        List<Tick> ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 2000; i++) {
+            close = Math.max(1, close + random.nextGaussian());
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+        }
+        TimeSeries series = new MockTimeSeries(new ArrayList<Tick>(ticks.subList(0, 1)));
+        series.useDoubleBackedDecimals();
+
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 10);
+        EMAIndicator ema = new EMAIndicator(closePrice, 20);
+        Rule entryRule = new CrossedUpIndicatorRule(sma, ema)
+                .or(new InPipeRule(closePrice, ema, sma).and(new OverIndicatorRule(closePrice, sma)))
+                .and(new WaitForRule(Order.OrderType.SELL, 2).negation());
+        Rule exitRule = new CrossedDownIndicatorRule(sma, ema)
+                .or(new StopLossRule(closePrice, Decimal.valueOf(3)))
+                .xor(new StopGainRule(closePrice, Decimal.valueOf(2)))
+                .or(new UnderIndicatorRule(closePrice, ema));
+        Strategy strategy = new Strategy(entryRule, exitRule);
+
+        TradingRecord openedTradeRecord = new TradingRecord();
+        openedTradeRecord.operate(0, series.getTick(0).getClosePrice(), Decimal.ONE);
+        EvaluationListener listener = new EvaluationListener(strategy, openedTradeRecord, allocationCounter, ticks.size() / 2);
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addTickListener(listener);
+        for (int i = 1; i < ticks.size(); i++) {
+            stream.addTick(ticks.get(i));
+        }
+
+        assertTrue(listener.signals > 0);
+        assertEquals(0, listener.allocatedBytes);
+    }
+
+    /**
+     * Evaluates a strategy on each new tick (once the stream has computed its indicator values),
+     * counting the memory allocated by the evaluation.
+     */
+    private static class EvaluationListener implements TickListener {
+
+        private final Strategy strategy;
+
+        private final TradingRecord newTradeRecord = new TradingRecord();
+
+        private final TradingRecord openedTradeRecord;
+
+        private final com.sun.management.ThreadMXBean allocationCounter;
+
+        /** The index from which the allocations are counted (code paths warmed up before) */
+        private final int firstMeasuredIndex;
+
+        private final long counterOverhead;
+
+        int signals = 0;
+
+        long allocatedBytes = 0;
+
+        EvaluationListener(Strategy strategy, TradingRecord openedTradeRecord,
+                com.sun.management.ThreadMXBean allocationCounter, int firstMeasuredIndex) {
+            this.strategy = strategy;
+            this.openedTradeRecord = openedTradeRecord;
+            this.allocationCounter = allocationCounter;
+            this.firstMeasuredIndex = firstMeasuredIndex;
+            final long threadId = Thread.currentThread().getId();
+            long overhead = -allocationCounter.getThreadAllocatedBytes(threadId);
+            overhead += allocationCounter.getThreadAllocatedBytes(threadId);
+            counterOverhead = overhead;
+        }
+
+        @Override
+        public void onTick(int index) {
+            final long threadId = Thread.currentThread().getId();
+            long tickAllocatedBytes = -allocationCounter.getThreadAllocatedBytes(threadId);
+            if (strategy.shouldOperate(index, newTradeRecord)) {
+                signals++;
+            }
+            if (strategy.shouldOperate(index, openedTradeRecord)) {
+                signals++;
+            }
+            tickAllocatedBytes += allocationCounter.getThreadAllocatedBytes(threadId);
+            if (index >= firstMeasuredIndex) {
+                allocatedBytes += tickAllocatedBytes - counterOverhead;
+            }
+        }
+    }
+}
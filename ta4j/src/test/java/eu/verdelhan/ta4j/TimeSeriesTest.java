@@ -23,6 +23,7 @@
 package eu.verdelhan.ta4j;
 
 import eu.verdelhan.ta4j.Order.OrderType;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
 import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
 import eu.verdelhan.ta4j.trading.rules.FixedRule;
@@ -232,6 +233,92 @@ public class TimeSeriesTest {
         assertEquals(1, defaultSeries.getEnd());
     }
 
+    @Test
+    public void addTickOnMovingSeries() {
+        TimeSeries series = new TimeSeries(Period.days(1));
+        series.setMaximumTickCount(3);
+        for (int i = 0; i < 10; i++) {
+            series.addTick(new MockTick(date.plusDays(i), i));
+        }
+        assertEquals(0, series.getBegin());
+        assertEquals(9, series.getEnd());
+        assertEquals(3, series.getTickCount());
+        assertEquals(7, series.getRemovedTicksCount());
+        assertDecimalEquals(series.getFirstTick().getClosePrice(), 7);
+        assertDecimalEquals(series.getTick(7).getClosePrice(), 7);
+        assertDecimalEquals(series.getTick(8).getClosePrice(), 8);
+        assertDecimalEquals(series.getLastTick().getClosePrice(), 9);
+
+        // Changing the maximum tick count of a full series
+        series.setMaximumTickCount(2);
+        assertEquals(2, series.getTickCount());
+        assertEquals(8, series.getRemovedTicksCount());
+        assertDecimalEquals(series.getTick(8).getClosePrice(), 8);
+        assertDecimalEquals(series.getTick(9).getClosePrice(), 9);
+        series.setMaximumTickCount(4);
+        series.addTick(new MockTick(date.plusDays(10), 10));
+        series.addTick(new MockTick(date.plusDays(11), 11));
+        series.addTick(new MockTick(date.plusDays(12), 12));
+        assertEquals(4, series.getTickCount());
+        assertDecimalEquals(series.getTick(9).getClosePrice(), 9);
+        assertDecimalEquals(series.getLastTick().getClosePrice(), 12);
+    }
+
+    @Test
+    public void useDoubleBackedDecimals() {
+        assertFalse(defaultSeries.isDoubleBacked());
+        assertFalse(defaultSeries.getTick(0).getClosePrice().isDoubleBacked());
+        defaultSeries.useDoubleBackedDecimals();
+        assertTrue(defaultSeries.isDoubleBacked());
+        for (int i = defaultSeries.getBegin(); i <= defaultSeries.getEnd(); i++) {
+            assertTrue(defaultSeries.getTick(i).getClosePrice().isDoubleBacked());
+            assertTrue(defaultSeries.getTick(i).getVolume().isDoubleBacked());
+        }
+        assertEquals(Decimal.valueOf(6), defaultSeries.getLastTick().getClosePrice());
+
+        // New ticks
+        defaultSeries.addTick(new MockTick(date.withDate(2014, 7, 1), 7d));
+        assertTrue(defaultSeries.getLastTick().getClosePrice().isDoubleBacked());
+
+        // Sub-series
+        assertTrue(defaultSeries.subseries(1, 3).isDoubleBacked());
+    }
+
+    @Test
+    public void useConcurrentIndicators() {
+        assertFalse(defaultSeries.isUsingConcurrentIndicators());
+        defaultSeries.useConcurrentIndicators();
+        assertTrue(defaultSeries.isUsingConcurrentIndicators());
+        assertTrue(defaultSeries.subseries(1, 3).isUsingConcurrentIndicators());
+    }
+
+    @Test
+    public void useIndicatorRegistry() {
+        assertNull(defaultSeries.getIndicatorRegistry());
+        defaultSeries.useIndicatorRegistry();
+        assertNotNull(defaultSeries.getIndicatorRegistry());
+        // Interned indicators may be shared between threads
+        assertTrue(defaultSeries.isUsingConcurrentIndicators());
+        defaultSeries.useIndicatorRegistry(null);
+        assertNull(defaultSeries.getIndicatorRegistry());
+        assertTrue(defaultSeries.isUsingConcurrentIndicators());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void useDoubleBackedDecimalsOnSubseriesShouldThrowException() {
+        subSeries.useDoubleBackedDecimals();
+    }
+
+    @Test
+    public void runOnDoubleBackedSeries() {
+        TimeSeries series = new MockTimeSeries(20d, 40d, 60d, 10d, 30d, 50d, 0d, 20d, 40d);
+        series.useDoubleBackedDecimals();
+
+        List<Trade> allTrades = series.run(strategy).getTrades();
+        assertEquals(2, allTrades.size());
+        assertTrue(allTrades.get(0).getEntry().getPrice().isDoubleBacked());
+    }
+
     @Test
     public void subseriesWithIndexes() {
         TimeSeries subSeries2 = defaultSeries.subseries(2, 5);
@@ -396,6 +483,55 @@ public class TimeSeriesTest {
 
     }
 
+    @Test
+    public void runWithStopConditions() {
+        TimeSeries series = new MockTimeSeries(20d, 40d, 60d, 10d, 30d, 50d, 0d, 20d, 40d);
+        StopCondition neverSatisfied = new StopCondition() {
+            @Override
+            public boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord) {
+                return false;
+            }
+        };
+        StopCondition afterFirstTrade = new StopCondition() {
+            @Override
+            public boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord) {
+                return tradingRecord.getTradeCount() > 0;
+            }
+        };
+
+        TradingRecord record = series.run(strategy, OrderType.BUY, Decimal.NaN, neverSatisfied);
+        assertFalse(record.isStopped());
+        assertNull(record.getStopCondition());
+        assertEquals(-1, record.getStopIndex());
+        assertEquals(series.run(strategy).getTrades(), record.getTrades());
+
+        record = series.run(strategy, OrderType.BUY, Decimal.NaN, neverSatisfied, afterFirstTrade);
+        assertTrue(record.isStopped());
+        assertSame(afterFirstTrade, record.getStopCondition());
+        assertEquals(4, record.getStopIndex());
+        assertEquals(1, record.getTradeCount());
+        assertTrue(record.getCurrentTrade().isNew());
+    }
+
+    @Test
+    public void runSkipsUnstablePeriod() {
+        final List<Integer> evaluatedIndexes = new LinkedList<Integer>();
+        StopCondition recordingCondition = new StopCondition() {
+            @Override
+            public boolean isSatisfied(TimeSeries series, int index, TradingRecord tradingRecord) {
+                evaluatedIndexes.add(index);
+                return false;
+            }
+        };
+        Strategy unstableStrategy = new Strategy(new FixedRule(0, 5), new FixedRule(1, 6));
+        unstableStrategy.setUnstablePeriod(4);
+        TradingRecord record = seriesForRun.run(unstableStrategy, OrderType.BUY, Decimal.NaN, recordingCondition);
+        assertEquals(4, evaluatedIndexes.get(0).intValue());
+        assertEquals(seriesForRun.getEnd() - 3, evaluatedIndexes.size());
+        assertEquals(1, record.getTradeCount());
+        assertEquals(5, record.getLastEntry().getIndex());
+    }
+
     @Test
     public void runOnSlice() {
         List<TimeSeries> subseries = seriesForRun.split(Period.years(2000));
@@ -129,4 +129,59 @@ public class TradingRecordTest {
         assertEquals(Order.sellAt(3), openedRecord.getLastExit());
         assertEquals(Order.sellAt(8), closedRecord.getLastExit());
     }
+
+    @Test
+    public void runningStatistics() {
+        TradingRecord record = new TradingRecord();
+        assertEquals(1d, record.getEquity(), 1e-12);
+        assertEquals(0d, record.getMaximumDrawdown(), 1e-12);
+
+        record.enter(0, Decimal.valueOf(100), Decimal.valueOf(2));
+        assertEquals(1.1, record.getEquity(Decimal.valueOf(110)), 1e-12);
+        record.exit(2, Decimal.valueOf(120), Decimal.valueOf(2));
+        assertEquals(1.2, record.getEquity(), 1e-12);
+        assertEquals(1.2, record.getPeakEquity(), 1e-12);
+        assertEquals(40d, record.getProfitAndLoss(), 1e-12);
+
+        record.enter(4, Decimal.valueOf(150), Decimal.ONE);
+        record.exit(5, Decimal.valueOf(135), Decimal.ONE);
+        assertEquals(1.08, record.getEquity(), 1e-12);
+        assertEquals(1.2, record.getPeakEquity(), 1e-12);
+        assertEquals(0.1, record.getDrawdown(), 1e-12);
+        assertEquals(25d, record.getProfitAndLoss(), 1e-12);
+
+        record.enter(6, Decimal.valueOf(100), Decimal.ONE);
+        record.exit(9, Decimal.valueOf(150), Decimal.ONE);
+        assertEquals(1.62, record.getEquity(), 1e-12);
+        assertEquals(1.62, record.getPeakEquity(), 1e-12);
+        assertEquals(0d, record.getDrawdown(), 1e-12);
+        assertEquals(0.1, record.getMaximumDrawdown(), 1e-12);
+        assertEquals(75d, record.getProfitAndLoss(), 1e-12);
+
+        assertEquals(2, record.getWinningTradeCount());
+        assertEquals(1, record.getLosingTradeCount());
+        assertEquals(9, record.getTicksInMarket());
+        assertEquals(0.9, record.getExposure(0, 9), 1e-12);
+        record.enter(10, Decimal.valueOf(100), Decimal.ONE);
+        assertEquals(12d / 13, record.getExposure(0, 12), 1e-12);
+    }
+
+    @Test
+    public void runningStatisticsOfSellEntries() {
+        TradingRecord record = new TradingRecord(Order.OrderType.SELL);
+        record.enter(0, Decimal.valueOf(100), Decimal.ONE);
+        record.exit(1, Decimal.valueOf(80), Decimal.ONE);
+        assertEquals(1.25, record.getEquity(), 1e-12);
+        assertEquals(20d, record.getProfitAndLoss(), 1e-12);
+        assertEquals(1, record.getWinningTradeCount());
+    }
+
+    @Test
+    public void runningStatisticsWithoutPrices() {
+        assertEquals(1d, closedRecord.getEquity(), 1e-12);
+        assertEquals(0d, closedRecord.getProfitAndLoss(), 1e-12);
+        assertEquals(0, closedRecord.getWinningTradeCount());
+        assertEquals(0, closedRecord.getLosingTradeCount());
+        assertEquals(6, closedRecord.getTicksInMarket());
+    }
 }
@@ -0,0 +1,199 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BacktestExecutorTest {
+
+    private List<TimeSeries> series;
+
+    private List<StrategyBuilder> builders;
+
+    private BacktestExecutor executor;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(7);
+        series = new ArrayList<TimeSeries>();
+        for (int s = 0; s < 4; s++) {
+            List<Tick> ticks = new ArrayList<Tick>();
+            double close = 100;
+            for (int i = 0; i < 500; i++) {
+                close = Math.max(1, close + random.nextGaussian());
+                ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+            }
+            series.add(new MockTimeSeries(ticks));
+        }
+        builders = new ArrayList<StrategyBuilder>();
+        for (int timeFrame = 2; timeFrame <= 20; timeFrame += 3) {
+            builders.add(new SMACrossStrategyBuilder(timeFrame));
+        }
+        executor = new BacktestExecutor(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void executeShouldMatchSequentialRuns() {
+        AnalysisCriterion profit = new TotalProfitCriterion();
+        AnalysisCriterion nbTrades = new NumberOfTradesCriterion();
+        List<BacktestResult> results = executor.execute(series, builders, profit, nbTrades);
+        assertEquals(series.size() * builders.size(), results.size());
+
+        int resultIndex = 0;
+        for (TimeSeries s : series) {
+            for (StrategyBuilder builder : builders) {
+                BacktestResult result = results.get(resultIndex++);
+                assertSame(s, result.getSeries());
+                assertSame(builder, result.getStrategyBuilder());
+
+                TradingRecord expectedRecord = s.run(builder.buildStrategy(s));
+                assertEquals(expectedRecord.getTrades(), result.getTradingRecord().getTrades());
+                assertEquals(profit.calculate(s, expectedRecord), result.getCriterionValue(profit), 1e-10);
+                assertEquals(nbTrades.calculate(s, expectedRecord), result.getCriterionValue(nbTrades), 1e-10);
+            }
+        }
+    }
+
+    @Test
+    public void executeOverIndicatorRegistryShouldMatchSequentialRuns() {
+        // Builders sharing the same EMAs (interned by their MACD)
+        List<StrategyBuilder> macdBuilders = new ArrayList<StrategyBuilder>();
+        for (int threshold = -2; threshold <= 2; threshold++) {
+            macdBuilders.add(new MACDStrategyBuilder(threshold));
+        }
+        List<TimeSeries> sharedSeries = new ArrayList<TimeSeries>();
+        for (TimeSeries s : series) {
+            TimeSeries copy = new MockTimeSeries(ticksOf(s));
+            copy.useIndicatorRegistry();
+            sharedSeries.add(copy);
+        }
+        List<BacktestResult> results = executor.execute(sharedSeries, macdBuilders);
+
+        int resultIndex = 0;
+        for (TimeSeries s : series) {
+            for (StrategyBuilder builder : macdBuilders) {
+                TradingRecord expectedRecord = s.run(builder.buildStrategy(s));
+                assertEquals(expectedRecord.getTrades(), results.get(resultIndex++).getTradingRecord().getTrades());
+            }
+        }
+        // The builders shared the same sub-indicators
+        TimeSeries singleBuilderSeries = new MockTimeSeries(ticksOf(series.get(0)));
+        singleBuilderSeries.useIndicatorRegistry();
+        macdBuilders.get(0).buildStrategy(singleBuilderSeries);
+        assertEquals(singleBuilderSeries.getIndicatorRegistry().size(), sharedSeries.get(0).getIndicatorRegistry().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getValueOfUncomputedCriterionShouldThrowException() {
+        List<BacktestResult> results = executor.execute(series, builders, new TotalProfitCriterion());
+        results.get(0).getCriterionValue(new NumberOfTradesCriterion());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void executeShouldRethrowBacktestExceptions() {
+        StrategyBuilder failingBuilder = new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        executor.execute(series, Arrays.asList(builders.get(0), failingBuilder));
+    }
+
+    /**
+     * @param series a time series
+     * @return the ticks of the series
+     */
+    private static List<Tick> ticksOf(TimeSeries series) {
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            ticks.add(series.getTick(i));
+        }
+        return ticks;
+    }
+
+    /**
+     * Builds strategies entering (resp. exiting) when the MACD is over (resp. under) a threshold.
+     */
+    private static class MACDStrategyBuilder implements StrategyBuilder {
+
+        private final Decimal threshold;
+
+        public MACDStrategyBuilder(int threshold) {
+            this.threshold = Decimal.valueOf(threshold);
+        }
+
+        @Override
+        public Strategy buildStrategy(TimeSeries series) {
+            MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(series), 12, 26);
+            return new Strategy(new OverIndicatorRule(macd, threshold), new UnderIndicatorRule(macd, threshold));
+        }
+    }
+
+    /**
+     * Builds strategies entering (resp. exiting) when the close price is over (resp. under) its SMA.
+     */
+    private static class SMACrossStrategyBuilder implements StrategyBuilder {
+
+        private final int timeFrame;
+
+        public SMACrossStrategyBuilder(int timeFrame) {
+            this.timeFrame = timeFrame;
+        }
+
+        @Override
+        public Strategy buildStrategy(TimeSeries series) {
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            SMAIndicator sma = new SMAIndicator(closePrice, timeFrame);
+            return new Strategy(new OverIndicatorRule(closePrice, sma), new UnderIndicatorRule(closePrice, sma));
+        }
+    }
+}
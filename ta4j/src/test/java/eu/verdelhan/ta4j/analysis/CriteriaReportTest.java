@@ -0,0 +1,282 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.AverageProfitableTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.BuyAndHoldCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.LinearTransactionCostCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.MaximumDrawdownCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTicksCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.NumberOfTradesCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.RewardRiskRatioCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.analysis.criteria.VersusBuyAndHoldCriterion;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class CriteriaReportTest {
+
+    private static final List<AnalysisCriterion> CRITERIA = Arrays.<AnalysisCriterion>asList(
+            new TotalProfitCriterion(),
+            new MaximumDrawdownCriterion(),
+            new NumberOfTradesCriterion(),
+            new NumberOfTicksCriterion(),
+            new AverageProfitCriterion(),
+            new AverageProfitableTradesCriterion(),
+            new RewardRiskRatioCriterion(),
+            new BuyAndHoldCriterion(),
+            new LinearTransactionCostCriterion(1000, 0.005, 0.2),
+            new VersusBuyAndHoldCriterion(new TotalProfitCriterion()),
+            new VersusBuyAndHoldCriterion(new MaximumDrawdownCriterion()));
+
+    @Test
+    public void reportOfManualTradingRecords() {
+        TimeSeries series = new MockTimeSeries(100, 105, 95, 110, 90, 120, 80, 130, 85, 100, 101, 99);
+
+        assertReportMatchesCriteria(series, new TradingRecord());
+        assertReportMatchesCriteria(series, new TradingRecord(
+                Order.buyAt(0), Order.sellAt(2),
+                Order.buyAt(3), Order.sellAt(5),
+                Order.buyAt(8), Order.sellAt(11)));
+        assertReportMatchesCriteria(series, new TradingRecord(
+                Order.sellAt(1), Order.buyAt(4),
+                Order.sellAt(4), Order.buyAt(6)));
+
+        // Opened trade at the end of the record
+        TradingRecord openedRecord = new TradingRecord();
+        openedRecord.enter(1);
+        openedRecord.exit(3);
+        openedRecord.enter(7);
+        assertReportMatchesCriteria(series, openedRecord);
+    }
+
+    @Test
+    public void reportOfStrategyRuns() {
+        Random random = new Random(17);
+        List<Tick> ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 2000; i++) {
+            close = Math.max(1, close + random.nextGaussian());
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+        }
+        TimeSeries series = new MockTimeSeries(ticks);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        for (int timeFrame = 3; timeFrame <= 30; timeFrame += 9) {
+            SMAIndicator sma = new SMAIndicator(closePrice, timeFrame);
+            Strategy strategy = new Strategy(new OverIndicatorRule(closePrice, sma),
+                    new UnderIndicatorRule(closePrice, sma));
+            TradingRecord buyRecord = series.run(strategy);
+            assertReportMatchesCriteria(series, buyRecord);
+            assertReportMatchesRunningStatistics(new CriteriaReport(series, buyRecord));
+            TradingRecord sellRecord = series.run(strategy, OrderType.SELL);
+            assertReportMatchesCriteria(series, sellRecord);
+            assertReportMatchesRunningStatistics(new CriteriaReport(series, sellRecord));
+        }
+    }
+
+    @Test
+    public void cashFlowMatchesCashFlowIndicator() {
+        TimeSeries series = new MockTimeSeries(3, 2, 5, 1000, 5000, 0.0001, 4, 7, 6, 7, 8, 5, 6);
+        TradingRecord tradingRecord = new TradingRecord(
+                Order.buyAt(0), Order.sellAt(2),
+                Order.buyAt(3), Order.sellAt(4),
+                Order.buyAt(5), Order.sellAt(6),
+                Order.buyAt(7), Order.sellAt(10));
+        CashFlow cashFlow = new CashFlow(series, tradingRecord);
+        CriteriaReport report = new CriteriaReport(series, tradingRecord);
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            assertEquals(cashFlow.getValue(i).toDouble(), report.getCashFlow(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void subclassesOfBuiltInCriteriaReadTheReport() {
+        TimeSeries series = new MockTimeSeries(100, 105, 95, 110, 90, 120);
+        TradingRecord tradingRecord = new TradingRecord(Order.buyAt(0), Order.sellAt(3));
+        CriteriaReport report = new CriteriaReport(series, tradingRecord);
+        final int[] reportCalculations = new int[1];
+        AnalysisCriterion totalProfit = new TotalProfitCriterion() {
+            @Override
+            public double calculate(CriteriaReport report) {
+                reportCalculations[0]++;
+                return super.calculate(report);
+            }
+        };
+        assertEquals(1.1, report.getValue(totalProfit), 1e-12);
+        assertEquals(1.1, totalProfit.calculate(series, tradingRecord), 1e-12);
+        assertEquals(2, reportCalculations[0]);
+
+        // Custom value for a trading record
+        AnalysisCriterion lossRatio = new TotalProfitCriterion() {
+            @Override
+            public double calculate(CriteriaReport report) {
+                return 1d / report.getTotalProfit();
+            }
+        };
+        assertEquals(1 / 1.1, report.getValue(lossRatio), 1e-12);
+        assertEquals(1 / 1.1, lossRatio.calculate(series, tradingRecord), 1e-12);
+        assertEquals(1.2 / 1.1, report.getValue(new VersusBuyAndHoldCriterion(lossRatio)), 1e-12);
+    }
+
+    private static void assertReportMatchesRunningStatistics(CriteriaReport report) {
+        TradingRecord tradingRecord = report.getTradingRecord();
+        assertEquals(report.getTotalProfit(), tradingRecord.getEquity(), 1e-10);
+        assertEquals(report.getNumberOfTicks(), tradingRecord.getTicksInMarket());
+        assertEquals(report.getAverageProfitableTrades() * report.getNumberOfTrades(),
+                tradingRecord.getWinningTradeCount(), 1e-10);
+    }
+
+    private static void assertReportMatchesCriteria(TimeSeries series, TradingRecord tradingRecord) {
+        CriteriaReport report = new CriteriaReport(series, tradingRecord);
+        for (AnalysisCriterion criterion : CRITERIA) {
+            double expected = referenceValue(criterion, series, tradingRecord);
+            assertValueEquals(criterion.toString(), expected, report.getValue(criterion));
+            assertValueEquals(criterion.toString(), expected, criterion.calculate(series, tradingRecord));
+        }
+    }
+
+    private static void assertValueEquals(String message, double expected, double actual) {
+        if (Double.isNaN(expected) || Double.isInfinite(expected)) {
+            assertEquals(message, Double.valueOf(expected), Double.valueOf(actual));
+        } else {
+            assertEquals(message, expected, actual, Math.abs(expected) * 1e-10 + 1e-12);
+        }
+    }
+
+    /**
+     * Reference (i.e. per-criterion, decimal-based) implementations of the built-in criteria.
+     * @return the value of the criterion for the trading record
+     */
+    private static double referenceValue(AnalysisCriterion criterion, TimeSeries series, TradingRecord tradingRecord) {
+        if (criterion instanceof TotalProfitCriterion) {
+            return referenceTotalProfit(series, tradingRecord);
+        } else if (criterion instanceof MaximumDrawdownCriterion) {
+            return referenceMaximumDrawdown(series, tradingRecord);
+        } else if (criterion instanceof NumberOfTradesCriterion) {
+            return tradingRecord.getTradeCount();
+        } else if (criterion instanceof NumberOfTicksCriterion) {
+            return referenceNumberOfTicks(tradingRecord);
+        } else if (criterion instanceof AverageProfitCriterion) {
+            int ticks = referenceNumberOfTicks(tradingRecord);
+            return ticks == 0 ? 1 : Math.pow(referenceTotalProfit(series, tradingRecord), 1d / ticks);
+        } else if (criterion instanceof AverageProfitableTradesCriterion) {
+            int numberOfProfitable = 0;
+            for (Trade trade : tradingRecord.getTrades()) {
+                if (referenceProfit(series, trade).isGreaterThan(Decimal.ONE)) {
+                    numberOfProfitable++;
+                }
+            }
+            return ((double) numberOfProfitable) / tradingRecord.getTradeCount();
+        } else if (criterion instanceof RewardRiskRatioCriterion) {
+            return referenceTotalProfit(series, tradingRecord) / referenceMaximumDrawdown(series, tradingRecord);
+        } else if (criterion instanceof BuyAndHoldCriterion) {
+            return series.getTick(series.getEnd()).getClosePrice()
+                    .dividedBy(series.getTick(series.getBegin()).getClosePrice()).toDouble();
+        } else if (criterion instanceof LinearTransactionCostCriterion) {
+            LinearTransactionCostCriterion cost = (LinearTransactionCostCriterion) criterion;
+            double totalCosts = 0d;
+            double tradedAmount = cost.getInitialAmount();
+            for (Trade trade : tradingRecord.getTrades()) {
+                double tradeProfit = referenceProfit(series, trade).toDouble();
+                double entryCost = cost.getA() * tradedAmount + cost.getB();
+                double exitCost = cost.getA() * ((tradedAmount - entryCost) * tradeProfit) + cost.getB();
+                totalCosts += entryCost + exitCost;
+                tradedAmount = (tradedAmount - entryCost - exitCost) * tradeProfit;
+            }
+            if (tradingRecord.getCurrentTrade().isOpened()) {
+                totalCosts += cost.getA() * tradedAmount + cost.getB();
+            }
+            return totalCosts;
+        } else if (criterion instanceof VersusBuyAndHoldCriterion) {
+            AnalysisCriterion compared = ((VersusBuyAndHoldCriterion) criterion).getCriterion();
+            TradingRecord fakeRecord = new TradingRecord();
+            fakeRecord.enter(series.getBegin());
+            fakeRecord.exit(series.getEnd());
+            return referenceValue(compared, series, tradingRecord) / referenceValue(compared, series, fakeRecord);
+        }
+        throw new IllegalArgumentException("No reference implementation for " + criterion);
+    }
+
+    private static Decimal referenceProfit(TimeSeries series, Trade trade) {
+        Decimal exitClosePrice = series.getTick(trade.getExit().getIndex()).getClosePrice();
+        Decimal entryClosePrice = series.getTick(trade.getEntry().getIndex()).getClosePrice();
+        if (trade.getEntry().isBuy()) {
+            return exitClosePrice.dividedBy(entryClosePrice);
+        }
+        return entryClosePrice.dividedBy(exitClosePrice);
+    }
+
+    private static double referenceTotalProfit(TimeSeries series, TradingRecord tradingRecord) {
+        double value = 1d;
+        for (Trade trade : tradingRecord.getTrades()) {
+            value *= referenceProfit(series, trade).toDouble();
+        }
+        return value;
+    }
+
+    private static int referenceNumberOfTicks(TradingRecord tradingRecord) {
+        int nTicks = 0;
+        for (Trade trade : tradingRecord.getTrades()) {
+            nTicks += (1 + trade.getExit().getIndex()) - trade.getEntry().getIndex();
+        }
+        return nTicks;
+    }
+
+    private static double referenceMaximumDrawdown(TimeSeries series, TradingRecord tradingRecord) {
+        CashFlow cashFlow = new CashFlow(series, tradingRecord);
+        Decimal maximumDrawdown = Decimal.ZERO;
+        Decimal maxPeak = Decimal.ZERO;
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            Decimal value = cashFlow.getValue(i);
+            if (value.isGreaterThan(maxPeak)) {
+                maxPeak = value;
+            }
+            Decimal drawdown = maxPeak.minus(value).dividedBy(maxPeak);
+            if (drawdown.isGreaterThan(maximumDrawdown)) {
+                maximumDrawdown = drawdown;
+            }
+        }
+        return maximumDrawdown.toDouble();
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class MaximumDrawdownStopConditionTest {
+
+    @Test
+    public void isSatisfied() {
+        TimeSeries series = new MockTimeSeries(100, 120, 90, 100, 80, 60);
+        StopCondition condition = new MaximumDrawdownStopCondition(0.2);
+        TradingRecord record = new TradingRecord();
+
+        assertFalse(condition.isSatisfied(series, 0, record));
+        record.enter(0, Decimal.valueOf(100), Decimal.ONE);
+        assertFalse(condition.isSatisfied(series, 1, record));
+        record.exit(1, Decimal.valueOf(120), Decimal.ONE);
+        // Peak equity: 1.2
+        record.enter(2, Decimal.valueOf(90), Decimal.ONE);
+        assertFalse(condition.isSatisfied(series, 3, record));
+        // Equity: 1.2 * 80 / 90 ~ 1.067 (drawdown ~ 11%)
+        assertFalse(condition.isSatisfied(series, 4, record));
+        // Equity: 1.2 * 60 / 90 = 0.8 (drawdown ~ 33%)
+        assertTrue(condition.isSatisfied(series, 5, record));
+    }
+}
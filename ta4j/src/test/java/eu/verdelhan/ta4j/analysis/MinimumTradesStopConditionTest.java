@@ -0,0 +1,71 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.StopCondition;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.BooleanRule;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class MinimumTradesStopConditionTest {
+
+    @Test
+    public void isSatisfied() {
+        TimeSeries series = new MockTimeSeries(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        StopCondition condition = new MinimumTradesStopCondition(3);
+        TradingRecord record = new TradingRecord();
+
+        // 5 remaining ticks: 3 trades are still reachable
+        assertFalse(condition.isSatisfied(series, 4, record));
+        // 4 remaining ticks: 2 trades only
+        assertTrue(condition.isSatisfied(series, 5, record));
+
+        record.enter(5);
+        // Opened trade and 4 remaining ticks: 3 trades are still reachable
+        assertFalse(condition.isSatisfied(series, 5, record));
+        assertTrue(condition.isSatisfied(series, 8, record));
+
+        record.exit(6);
+        record.enter(7);
+        record.exit(8);
+        assertFalse(condition.isSatisfied(series, 8, record));
+        assertTrue(condition.isSatisfied(series, 9, record));
+    }
+
+    @Test
+    public void stopsARunEarly() {
+        TimeSeries series = new MockTimeSeries(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        StopCondition condition = new MinimumTradesStopCondition(1);
+        Strategy strategy = new Strategy(BooleanRule.FALSE, BooleanRule.FALSE);
+        TradingRecord record = series.run(strategy, OrderType.BUY, Decimal.NaN, condition);
+        assertTrue(record.isStopped());
+        assertSame(condition, record.getStopCondition());
+        assertEquals(9, record.getStopIndex());
+    }
+}
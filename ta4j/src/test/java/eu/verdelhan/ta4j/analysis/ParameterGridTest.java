@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.Decimal;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ParameterGridTest {
+
+    @Test
+    public void parameterSets() {
+        ParameterGrid grid = new ParameterGrid()
+                .addParameter("a", 1, 2)
+                .addRange("b", 10, 30, 10)
+                .addParameter("c", Decimal.valueOf("0.5"));
+        assertEquals(6, grid.size());
+        List<ParameterSet> parameterSets = grid.getParameterSets();
+        assertEquals(6, parameterSets.size());
+        assertEquals(1, parameterSets.get(0).getInt("a"));
+        assertEquals(10, parameterSets.get(0).getInt("b"));
+        assertEquals(20, parameterSets.get(1).getInt("b"));
+        assertEquals(2, parameterSets.get(5).getInt("a"));
+        assertEquals(30, parameterSets.get(5).getInt("b"));
+        assertEquals(Decimal.valueOf("0.5"), parameterSets.get(3).getDecimal("c"));
+        assertEquals("{a=2, b=10, c=0.5}", parameterSets.get(3).toString());
+        assertEquals(parameterSets.get(3), new ParameterGrid().addParameter("a", 2).addParameter("b", 10)
+                .addParameter("c", Decimal.valueOf("0.5")).getParameterSets().get(0));
+    }
+
+    @Test
+    public void emptyGrid() {
+        assertEquals(0, new ParameterGrid().size());
+        assertTrue(new ParameterGrid().getParameterSets().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatedParameter() {
+        new ParameterGrid().addParameter("a", 1).addParameter("a", 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tooManyCombinations() {
+        new ParameterGrid()
+                .addRange("a", 0, 99999, 1)
+                .addRange("b", 0, 99999, 1)
+                .size();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownParameter() {
+        new ParameterGrid().addParameter("a", 1).getParameterSets().get(0).getInt("b");
+    }
+}
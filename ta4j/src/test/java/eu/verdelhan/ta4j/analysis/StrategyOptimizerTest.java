@@ -0,0 +1,169 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.IndicatorRegistry;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StrategyOptimizerTest {
+
+    private List<Tick> ticks;
+
+    private StrategyOptimizer optimizer;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(13);
+        ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 800; i++) {
+            close = Math.max(1, close + random.nextGaussian());
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+        }
+        optimizer = new StrategyOptimizer(3);
+    }
+
+    @After
+    public void tearDown() {
+        optimizer.shutdown();
+    }
+
+    @Test
+    public void optimize() {
+        ParameterGrid grid = new ParameterGrid()
+                .addRange("short", 2, 10, 2)
+                .addParameter("long", 20, 50);
+        final IndicatorRegistry[] registries = new IndicatorRegistry[1];
+        ParameterizedStrategyBuilder builder = new ParameterizedStrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series, ParameterSet parameters, IndicatorRegistry registry) {
+                registries[0] = registry;
+                return buildSmaCrossStrategy(series, parameters.getInt("short"), parameters.getInt("long"), registry);
+            }
+        };
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        TimeSeries series = new MockTimeSeries(ticks);
+        List<OptimizationResult> results = optimizer.optimize(series, grid, builder, criterion);
+
+        assertEquals(10, results.size());
+        // Close price + 5 short SMAs + 2 long SMAs
+        assertEquals(8, registries[0].size());
+        // Temporary registry detached, concurrent indicators kept
+        assertNull(series.getIndicatorRegistry());
+        assertTrue(series.isUsingConcurrentIndicators());
+        for (int i = 1; i < results.size(); i++) {
+            assertFalse(criterion.betterThan(results.get(i).getCriterionValue(), results.get(i - 1).getCriterionValue()));
+        }
+        // Same results as independent runs
+        for (OptimizationResult result : results) {
+            TimeSeries expectedSeries = new MockTimeSeries(ticks);
+            Strategy expectedStrategy = buildSmaCrossStrategy(expectedSeries, result.getParameters().getInt("short"),
+                    result.getParameters().getInt("long"), new IndicatorRegistry());
+            double expectedValue = criterion.calculate(expectedSeries, expectedSeries.run(expectedStrategy));
+            assertEquals(expectedValue, result.getCriterionValue(), 1e-10);
+            assertEquals(expectedSeries.run(expectedStrategy).getTrades(), result.getTradingRecord().getTrades());
+        }
+    }
+
+    @Test
+    public void optimizeWithSeriesRegistry() {
+        ParameterGrid grid = new ParameterGrid().addRange("short", 2, 10, 2).addParameter("long", 20);
+        ParameterizedStrategyBuilder builder = new ParameterizedStrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series, ParameterSet parameters, IndicatorRegistry registry) {
+                return buildSmaCrossStrategy(series, parameters.getInt("short"), parameters.getInt("long"), registry);
+            }
+        };
+        TimeSeries series = new MockTimeSeries(ticks);
+        series.useIndicatorRegistry();
+        IndicatorRegistry seriesRegistry = series.getIndicatorRegistry();
+        optimizer.optimize(series, grid, builder, new TotalProfitCriterion());
+        assertSame(seriesRegistry, series.getIndicatorRegistry());
+        // Close price + 5 short SMAs + 1 long SMA
+        assertEquals(7, seriesRegistry.size());
+    }
+
+    @Test
+    public void optimizeWithStopConditions() {
+        ParameterGrid grid = new ParameterGrid()
+                .addRange("short", 2, 10, 2)
+                .addParameter("long", 20, 50);
+        ParameterizedStrategyBuilder builder = new ParameterizedStrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series, ParameterSet parameters, IndicatorRegistry registry) {
+                return buildSmaCrossStrategy(series, parameters.getInt("short"), parameters.getInt("long"), registry);
+            }
+        };
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        // Requires more trades than the slow variants can do
+        optimizer.setStopConditions(new MinimumTradesStopCondition(30));
+        List<OptimizationResult> results = optimizer.optimize(new MockTimeSeries(ticks), grid, builder, criterion);
+
+        assertEquals(10, results.size());
+        int stopped = 0;
+        for (int i = 0; i < results.size(); i++) {
+            OptimizationResult result = results.get(i);
+            TimeSeries expectedSeries = new MockTimeSeries(ticks);
+            Strategy expectedStrategy = buildSmaCrossStrategy(expectedSeries, result.getParameters().getInt("short"),
+                    result.getParameters().getInt("long"), new IndicatorRegistry());
+            int expectedTrades = expectedSeries.run(expectedStrategy).getTradeCount();
+            assertEquals(expectedTrades < 30, result.isStopped());
+            if (result.isStopped()) {
+                stopped++;
+                assertTrue(result.getTradingRecord().getStopIndex() < expectedSeries.getEnd());
+            } else {
+                // Completed variants first
+                assertEquals(0, stopped);
+                assertEquals(expectedTrades, result.getTradingRecord().getTradeCount());
+            }
+        }
+        assertTrue(stopped > 0);
+        assertTrue(stopped < results.size());
+    }
+
+    private static Strategy buildSmaCrossStrategy(TimeSeries series, int shortTimeFrame, int longTimeFrame,
+            IndicatorRegistry registry) {
+        ClosePriceIndicator closePrice = registry.intern(new ClosePriceIndicator(series));
+        SMAIndicator shortSma = registry.intern(new SMAIndicator(closePrice, shortTimeFrame));
+        SMAIndicator longSma = registry.intern(new SMAIndicator(closePrice, longTimeFrame));
+        return new Strategy(new OverIndicatorRule(shortSma, longSma), new UnderIndicatorRule(shortSma, longSma));
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.analysis;
+
+import eu.verdelhan.ta4j.AnalysisCriterion;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Order.OrderType;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.Trade;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.criteria.TotalProfitCriterion;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.BooleanRule;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WalkForwardAnalyzerTest {
+
+    private List<Tick> ticks;
+
+    private List<StrategyBuilder> candidates;
+
+    private WalkForwardAnalyzer analyzer;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(23);
+        ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 1200; i++) {
+            close = Math.max(1, close + random.nextGaussian());
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+        }
+        candidates = new ArrayList<StrategyBuilder>();
+        for (int timeFrame = 3; timeFrame <= 30; timeFrame += 3) {
+            candidates.add(new SMACrossStrategyBuilder(timeFrame));
+        }
+        analyzer = new WalkForwardAnalyzer(3);
+    }
+
+    @After
+    public void tearDown() {
+        analyzer.shutdown();
+    }
+
+    @Test
+    public void analyzeWithTickCounts() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        TimeSeries series = new MockTimeSeries(ticks);
+        WalkForwardResult result = analyzer.analyze(series, 300, 100, candidates, criterion);
+
+        // Windows starting at 0, 100, ..., 800 (the last out-of-sample sub-series is 1100-1199)
+        List<WalkForwardWindow> windows = result.getWindows();
+        assertEquals(9, windows.size());
+        for (int w = 0; w < windows.size(); w++) {
+            WalkForwardWindow window = windows.get(w);
+            assertEquals(w * 100, window.getInSampleSeries().getBegin());
+            assertEquals(w * 100 + 299, window.getInSampleSeries().getEnd());
+            assertEquals(w * 100 + 300, window.getOutOfSampleSeries().getBegin());
+            assertEquals(w * 100 + 399, window.getOutOfSampleSeries().getEnd());
+            assertWindowMatchesSequentialRuns(window, criterion);
+        }
+
+        // Aggregated out-of-sample trades
+        List<Trade> expectedTrades = new ArrayList<Trade>();
+        for (WalkForwardWindow window : windows) {
+            for (Trade trade : window.getOutOfSampleResult().getTradingRecord().getTrades()) {
+                if (expectedTrades.isEmpty()
+                        || trade.getEntry().getIndex() > expectedTrades.get(expectedTrades.size() - 1).getExit().getIndex()) {
+                    expectedTrades.add(trade);
+                }
+            }
+        }
+        TradingRecord outOfSampleRecord = result.getOutOfSampleTradingRecord();
+        assertEquals(expectedTrades, outOfSampleRecord.getTrades());
+        assertEquals(criterion.calculate(series, outOfSampleRecord), result.getOutOfSampleCriterionValue(), 1e-10);
+    }
+
+    @Test
+    public void analyzeWithDurations() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        TimeSeries series = new MockTimeSeries(ticks);
+        WalkForwardResult result = analyzer.analyze(series, Period.hours(5), Period.hours(2), candidates, criterion);
+
+        List<WalkForwardWindow> windows = result.getWindows();
+        assertFalse(windows.isEmpty());
+        for (WalkForwardWindow window : windows) {
+            assertEquals(300, window.getInSampleSeries().getTickCount());
+            assertEquals(window.getInSampleSeries().getEnd() + 1, window.getOutOfSampleSeries().getBegin());
+            assertTrue(window.getOutOfSampleSeries().getTickCount() <= 120);
+            assertWindowMatchesSequentialRuns(window, criterion);
+        }
+    }
+
+    @Test
+    public void analyzeWithoutOutOfSampleTrades() {
+        StrategyBuilder neverEntering = new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                return new Strategy(BooleanRule.FALSE, BooleanRule.FALSE);
+            }
+        };
+        TimeSeries series = new MockTimeSeries(ticks);
+        WalkForwardResult result = analyzer.analyze(series, Arrays.asList(series.subseries(0, 299)),
+                Arrays.asList(series.subseries(300, 399)), Collections.singletonList(neverEntering),
+                new TotalProfitCriterion(), OrderType.SELL, Decimal.NaN);
+
+        TradingRecord outOfSampleRecord = result.getOutOfSampleTradingRecord();
+        assertEquals(0, outOfSampleRecord.getTradeCount());
+        // Empty record opening the trades with the order type of the analysis
+        outOfSampleRecord.enter(0);
+        assertEquals(OrderType.SELL, outOfSampleRecord.getLastEntry().getType());
+        // Temporary registry detached
+        assertNull(series.getIndicatorRegistry());
+    }
+
+    /**
+     * Checks a window against runs of strategies built over a new series.
+     */
+    private void assertWindowMatchesSequentialRuns(WalkForwardWindow window, AnalysisCriterion criterion) {
+        TimeSeries series = new MockTimeSeries(ticks);
+        TimeSeries inSample = series.subseries(window.getInSampleSeries().getBegin(), window.getInSampleSeries().getEnd());
+        StrategyBuilder expectedBest = null;
+        double bestValue = 0;
+        for (StrategyBuilder candidate : candidates) {
+            double value = criterion.calculate(inSample, inSample.run(candidate.buildStrategy(series)));
+            if (expectedBest == null || criterion.betterThan(value, bestValue)) {
+                expectedBest = candidate;
+                bestValue = value;
+            }
+        }
+        assertSame(expectedBest, window.getBestCandidate());
+        assertEquals(bestValue, window.getInSampleResult().getCriterionValue(criterion), 1e-10);
+
+        TimeSeries outOfSample = series.subseries(window.getOutOfSampleSeries().getBegin(), window.getOutOfSampleSeries().getEnd());
+        TradingRecord expectedRecord = outOfSample.run(expectedBest.buildStrategy(series));
+        assertEquals(expectedRecord.getTrades(), window.getOutOfSampleResult().getTradingRecord().getTrades());
+        assertEquals(criterion.calculate(outOfSample, expectedRecord), window.getOutOfSampleResult().getCriterionValue(criterion), 1e-10);
+    }
+
+    private static class SMACrossStrategyBuilder implements StrategyBuilder {
+
+        private final int timeFrame;
+
+        public SMACrossStrategyBuilder(int timeFrame) {
+            this.timeFrame = timeFrame;
+        }
+
+        @Override
+        public Strategy buildStrategy(TimeSeries series) {
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            SMAIndicator sma = new SMAIndicator(closePrice, timeFrame);
+            return new Strategy(new OverIndicatorRule(closePrice, sma), new UnderIndicatorRule(closePrice, sma));
+        }
+    }
+}
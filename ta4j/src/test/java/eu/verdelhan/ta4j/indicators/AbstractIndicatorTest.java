@@ -22,10 +22,17 @@
  */
 package eu.verdelhan.ta4j.indicators;
 
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
 import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.Arrays;
+import java.util.Collections;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -46,4 +53,43 @@ public class AbstractIndicatorTest {
         SMAIndicator sma = new SMAIndicator(cp, 3);
         assertEquals(series, sma.getTimeSeries());
     }
+
+    @Test
+    public void getSubIndicators() {
+        ClosePriceIndicator cp = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(cp, 3);
+        assertTrue(cp.getSubIndicators().isEmpty());
+        assertEquals(Arrays.<Indicator<?>>asList(cp), sma.getSubIndicators());
+        // Declared explicitly (computed by a helper)
+        HighestValueIndicator highest = new HighestValueIndicator(sma, 4);
+        assertEquals(Arrays.<Indicator<?>>asList(sma), highest.getSubIndicators());
+        assertEquals(Arrays.<Indicator<?>>asList(cp, sma, highest), IndicatorGraph.sort(Collections.singletonList(highest)));
+    }
+
+    @Test
+    public void unstablePeriodIsPropagated() {
+        ClosePriceIndicator cp = new ClosePriceIndicator(series);
+        assertEquals(0, cp.getUnstablePeriod());
+        SMAIndicator sma = new SMAIndicator(cp, 3);
+        assertEquals(2, sma.getUnstablePeriod());
+        // Window over unstable values
+        assertEquals(6, new EMAIndicator(sma, 5).getUnstablePeriod());
+        assertEquals(5, new HighestValueIndicator(sma, 4).getUnstablePeriod());
+        // Composite indicator: longest unstable period of the sub-indicators
+        assertEquals(25, new MACDIndicator(cp, 12, 26).getUnstablePeriod());
+
+        final SMAIndicator heldSma = sma;
+        Indicator<Decimal> customIndicator = new Indicator<Decimal>() {
+            @Override
+            public Decimal getValue(int index) {
+                return heldSma.getValue(index);
+            }
+
+            @Override
+            public TimeSeries getTimeSeries() {
+                return series;
+            }
+        };
+        assertEquals(2, IndicatorGraph.getUnstablePeriod(customIndicator));
+    }
 }
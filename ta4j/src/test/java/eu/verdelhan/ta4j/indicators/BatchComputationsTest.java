@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.AverageTrueRangeIndicator;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.simple.MaxPriceIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.DoubleEMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.RSIIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.WMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsLowerIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsMiddleIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsUpperIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchComputationsTest {
+
+    private TimeSeries series;
+
+    private ClosePriceIndicator closePrice;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        List<Tick> ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 300; i++) {
+            double open = close;
+            // Rounded prices in order to have some flat variations
+            close = Math.max(1, Math.round((close + random.nextGaussian()) * 10) / 10d);
+            double max = Math.max(open, close) + random.nextDouble();
+            double min = Math.min(open, close) - random.nextDouble();
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), open, close, max, min, 0, 1000, 10));
+        }
+        series = new MockTimeSeries(ticks);
+        closePrice = new ClosePriceIndicator(series);
+    }
+
+    @Test
+    public void computeAllShouldMatchGetValue() {
+        BollingerBandsMiddleIndicator bbm = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20));
+        StandardDeviationIndicator deviation = new StandardDeviationIndicator(closePrice, 20);
+
+        assertComputeAllMatchesGetValue(closePrice);
+        assertComputeAllMatchesGetValue(new MaxPriceIndicator(series));
+        assertComputeAllMatchesGetValue(new SMAIndicator(closePrice, 1));
+        assertComputeAllMatchesGetValue(new SMAIndicator(closePrice, 14));
+        assertComputeAllMatchesGetValue(new EMAIndicator(closePrice, 1));
+        assertComputeAllMatchesGetValue(new EMAIndicator(closePrice, 14));
+        assertComputeAllMatchesGetValue(new WMAIndicator(closePrice, 1));
+        assertComputeAllMatchesGetValue(new WMAIndicator(closePrice, 9));
+        assertComputeAllMatchesGetValue(new RSIIndicator(closePrice, 2));
+        assertComputeAllMatchesGetValue(new RSIIndicator(closePrice, 14));
+        assertComputeAllMatchesGetValue(new MACDIndicator(closePrice, 12, 26));
+        assertComputeAllMatchesGetValue(new AverageTrueRangeIndicator(series, 14));
+        assertComputeAllMatchesGetValue(deviation);
+        assertComputeAllMatchesGetValue(bbm);
+        assertComputeAllMatchesGetValue(new BollingerBandsUpperIndicator(bbm, deviation));
+        assertComputeAllMatchesGetValue(new BollingerBandsLowerIndicator(bbm, deviation, Decimal.valueOf(1.5)));
+        // Indicators without native batch computation, or with non-native inputs
+        assertComputeAllMatchesGetValue(new DoubleEMAIndicator(closePrice, 10));
+        assertComputeAllMatchesGetValue(new SMAIndicator(new DoubleEMAIndicator(closePrice, 10), 5));
+    }
+
+    @Test
+    public void computeAllOnDoubleBackedSeries() {
+        series.useDoubleBackedDecimals();
+        assertComputeAllMatchesGetValue(new SMAIndicator(closePrice, 14));
+        assertComputeAllMatchesGetValue(new RSIIndicator(closePrice, 14));
+        assertComputeAllMatchesGetValue(new AverageTrueRangeIndicator(series, 14));
+    }
+
+    @Test
+    public void computeAllShouldReuseLargeEnoughBuffers() {
+        SMAIndicator sma = new SMAIndicator(closePrice, 5);
+        double[] buffer = new double[50];
+        assertSame(buffer, BatchComputations.computeAll(sma, 10, 59, buffer));
+        assertSame(buffer, BatchComputations.computeAll(sma, 10, 19, buffer));
+        assertEquals(sma.getValue(19).toDouble(), buffer[9], 1e-6);
+
+        double[] values = BatchComputations.computeAll(sma, 0, 50, buffer);
+        assertNotSame(buffer, values);
+        assertEquals(51, values.length);
+
+        assertEquals(0, BatchComputations.computeAll(sma, 10, 9).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void computeAllWithNegativeBeginIndexShouldThrowException() {
+        BatchComputations.computeAll(closePrice, -1, 10);
+    }
+
+    /**
+     * Checks the batch computation of an indicator against its decimal values, over the whole series and over sub-ranges.
+     * @param indicator the indicator to be checked
+     */
+    private void assertComputeAllMatchesGetValue(Indicator<Decimal> indicator) {
+        final int end = series.getEnd();
+        int[][] ranges = { { 0, end }, { 0, 0 }, { 1, 30 }, { 42, 42 }, { 150, end } };
+        for (int[] range : ranges) {
+            double[] values = BatchComputations.computeAll(indicator, range[0], range[1]);
+            assertEquals(range[1] - range[0] + 1, values.length);
+            for (int i = range[0]; i <= range[1]; i++) {
+                assertEquals(indicator + " at index " + i,
+                        indicator.getValue(i).toDouble(), values[i - range[0]], 1e-6);
+            }
+        }
+    }
+}
@@ -23,16 +23,32 @@
 package eu.verdelhan.ta4j.indicators;
 
 import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Strategy;
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
 import eu.verdelhan.ta4j.indicators.simple.ConstantIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.RSIIndicator;
 import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
 import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
 import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -88,6 +104,99 @@ public class CachedIndicatorTest {
         assertDecimalEquals(sma.getValue(19), 1);
     }
 
+    @Test
+    public void getValueOnMovingSeries() {
+        TimeSeries timeSeries = new TimeSeries(Period.minutes(1));
+        timeSeries.setMaximumTickCount(5);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(timeSeries), 2);
+        DateTime time = new DateTime(0);
+        for (int i = 0; i < 50; i++) {
+            timeSeries.addTick(new MockTick(time.plusMinutes(i), i));
+            assertDecimalEquals(sma.getValue(i), i == 0 ? 0 : i - 0.5);
+        }
+        // Values still covered by the cache
+        assertDecimalEquals(sma.getValue(46), 45.5);
+        assertDecimalEquals(sma.getValue(49), 48.5);
+    }
+
+    @Test
+    public void getValueOnMovingSeriesWithConcurrentIndicators() {
+        TimeSeries timeSeries = new TimeSeries(Period.minutes(1));
+        timeSeries.setMaximumTickCount(5);
+        timeSeries.useConcurrentIndicators();
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(timeSeries), 2);
+        DateTime time = new DateTime(0);
+        for (int i = 0; i < 50; i++) {
+            timeSeries.addTick(new MockTick(time.plusMinutes(i), i));
+            assertDecimalEquals(sma.getValue(i), i == 0 ? 0 : i - 0.5);
+        }
+        assertDecimalEquals(sma.getValue(46), 45.5);
+        assertDecimalEquals(sma.getValue(49), 48.5);
+        // Removed tick: first available result
+        assertDecimalEquals(sma.getValue(10), 44.5);
+    }
+
+    @Test
+    public void sharedIndicatorsFromSeveralThreads() throws Exception {
+        final List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 2000; i++) {
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), 100 + 20 * Math.sin(i / 30d) + (i % 7)));
+        }
+        TimeSeries sharedSeries = new MockTimeSeries(ticks);
+        sharedSeries.useConcurrentIndicators();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(sharedSeries);
+        final List<Indicator<Decimal>> sharedIndicators = new ArrayList<Indicator<Decimal>>();
+        sharedIndicators.add(new SMAIndicator(closePrice, 10));
+        sharedIndicators.add(new EMAIndicator(closePrice, 20));
+        sharedIndicators.add(new RSIIndicator(closePrice, 14));
+        sharedIndicators.add(new HighestValueIndicator(closePrice, 30));
+
+        TimeSeries expectedSeries = new MockTimeSeries(ticks);
+        ClosePriceIndicator expectedClosePrice = new ClosePriceIndicator(expectedSeries);
+        final List<Indicator<Decimal>> expectedIndicators = new ArrayList<Indicator<Decimal>>();
+        expectedIndicators.add(new SMAIndicator(expectedClosePrice, 10));
+        expectedIndicators.add(new EMAIndicator(expectedClosePrice, 20));
+        expectedIndicators.add(new RSIIndicator(expectedClosePrice, 14));
+        expectedIndicators.add(new HighestValueIndicator(expectedClosePrice, 30));
+
+        final int nbThreads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        List<Future<List<Decimal>>> futures = new ArrayList<Future<List<Decimal>>>();
+        for (int t = 0; t < nbThreads; t++) {
+            final boolean backward = t % 2 == 1;
+            futures.add(executor.submit(new Callable<List<Decimal>>() {
+                @Override
+                public List<Decimal> call() throws Exception {
+                    start.await();
+                    List<Decimal> values = new ArrayList<Decimal>();
+                    for (int i = 0; i < ticks.size(); i++) {
+                        int index = backward ? ticks.size() - 1 - i : i;
+                        for (Indicator<Decimal> indicator : sharedIndicators) {
+                            values.add(indicator.getValue(index));
+                        }
+                    }
+                    return values;
+                }
+            }));
+        }
+        start.countDown();
+
+        for (int t = 0; t < nbThreads; t++) {
+            List<Decimal> values = futures.get(t).get(60, TimeUnit.SECONDS);
+            boolean backward = t % 2 == 1;
+            int valueIndex = 0;
+            for (int i = 0; i < ticks.size(); i++) {
+                int index = backward ? ticks.size() - 1 - i : i;
+                for (Indicator<Decimal> indicator : expectedIndicators) {
+                    // Sequential and random accesses may differ by rounding errors
+                    assertDecimalEquals(values.get(valueIndex++), indicator.getValue(index).toDouble());
+                }
+            }
+        }
+        executor.shutdown();
+    }
+
     @Test
     public void strategyExecutionOnCachedIndicatorAndLimitedTimeSeries() {
         TimeSeries timeSeries = new MockTimeSeries(0, 1, 2, 3, 4, 5, 6, 7);
@@ -0,0 +1,69 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ConcurrentResultsTableTest {
+
+    @Test
+    public void putAndGetOnUnboundedTable() {
+        ConcurrentResultsTable<Integer> table = new ConcurrentResultsTable<Integer>(Integer.MAX_VALUE);
+        assertNull(table.get(0));
+        for (int i = 0; i < 100; i++) {
+            table.put(i, i * 2, Integer.MAX_VALUE);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i * 2), table.get(i));
+        }
+        assertNull(table.get(100));
+        assertNull(table.get(1000));
+    }
+
+    @Test
+    public void putFarIndex() {
+        ConcurrentResultsTable<Integer> table = new ConcurrentResultsTable<Integer>(Integer.MAX_VALUE);
+        table.put(3, 3, Integer.MAX_VALUE);
+        table.put(500, 500, Integer.MAX_VALUE);
+        assertEquals(Integer.valueOf(3), table.get(3));
+        assertEquals(Integer.valueOf(500), table.get(500));
+    }
+
+    @Test
+    public void oldestResultsAreOverwrittenOnBoundedTable() {
+        ConcurrentResultsTable<Integer> table = new ConcurrentResultsTable<Integer>(3);
+        for (int i = 0; i < 10; i++) {
+            table.put(i, i, 3);
+        }
+        assertNull(table.get(6));
+        assertEquals(Integer.valueOf(7), table.get(7));
+        assertEquals(Integer.valueOf(8), table.get(8));
+        assertEquals(Integer.valueOf(9), table.get(9));
+
+        // An older result does not overwrite a more recent one
+        table.put(6, 6, 3);
+        assertNull(table.get(6));
+        assertEquals(Integer.valueOf(9), table.get(9));
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.AverageTrueRangeIndicator;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.ParabolicSarIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.TrailingStopLossIndicator;
+import eu.verdelhan.ta4j.indicators.volume.AccumulationDistributionIndicator;
+import eu.verdelhan.ta4j.indicators.volume.NVIIndicator;
+import eu.verdelhan.ta4j.indicators.volume.OnBalanceVolumeIndicator;
+import eu.verdelhan.ta4j.indicators.volume.PVIIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IndicatorCheckpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Tick> ticks;
+
+    /** Values of the indicators over the whole series (computed without checkpoint) */
+    private List<Decimal[]> expectedValues;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(29);
+        ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 600; i++) {
+            double open = close;
+            close = Math.max(1, close + random.nextGaussian());
+            double max = Math.max(open, close) + random.nextDouble();
+            double min = Math.min(open, close) - random.nextDouble();
+            double volume = 1000 + random.nextInt(1000);
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), open, close, max, min, volume / close, volume, 10));
+        }
+
+        TimeSeries series = new TimeSeries(ticks);
+        List<Indicator<Decimal>> indicators = buildIndicators(series);
+        expectedValues = new ArrayList<Decimal[]>();
+        for (Indicator<Decimal> indicator : indicators) {
+            Decimal[] values = new Decimal[ticks.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = indicator.getValue(i);
+            }
+            expectedValues.add(values);
+        }
+    }
+
+    @Test
+    public void restoreAndResume() throws IOException {
+        // Live series (400 ticks)
+        TimeSeries liveSeries = new TimeSeries("live", new ArrayList<Tick>(ticks.subList(0, 400)));
+        List<Indicator<Decimal>> liveIndicators = buildIndicators(liveSeries);
+        for (int i = 0; i <= liveSeries.getEnd(); i++) {
+            for (Indicator<Decimal> indicator : liveIndicators) {
+                indicator.getValue(i);
+            }
+        }
+        File file = folder.newFile("checkpoint.bin");
+        IndicatorCheckpoint.write(file, liveSeries, liveIndicators, 100);
+
+        // Restart
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        TimeSeries series = checkpoint.getSeries();
+        assertEquals("live", series.getName());
+        assertEquals(300, series.getBegin());
+        assertEquals(399, series.getEnd());
+        assertEquals(100, series.getTickCount());
+        assertEquals(300, series.getRemovedTicksCount());
+        assertEquals(ticks.get(350).getClosePrice(), series.getTick(350).getClosePrice());
+        assertEquals(ticks.get(350).getEndTime(), series.getTick(350).getEndTime());
+
+        List<Indicator<Decimal>> indicators = buildIndicators(series);
+        checkpoint.restore(indicators);
+        assertIndicatorValues(indicators, 300, 399);
+
+        // Resuming
+        for (int i = 400; i < ticks.size(); i++) {
+            series.addTick(ticks.get(i));
+            assertIndicatorValues(indicators, i, i);
+        }
+    }
+
+    @Test
+    public void restoreMovingSeries() throws IOException {
+        TimeSeries liveSeries = new TimeSeries("moving", new ArrayList<Tick>());
+        liveSeries.setMaximumTickCount(50);
+        List<Indicator<Decimal>> liveIndicators = buildIndicators(liveSeries);
+        for (int i = 0; i < 250; i++) {
+            liveSeries.addTick(ticks.get(i));
+            for (Indicator<Decimal> indicator : liveIndicators) {
+                indicator.getValue(i);
+            }
+        }
+        File file = folder.newFile("checkpoint.bin");
+        IndicatorCheckpoint.write(file, liveSeries, liveIndicators);
+
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        TimeSeries series = checkpoint.getSeries();
+        assertEquals(50, series.getMaximumTickCount());
+        assertEquals(200, series.getBegin());
+        assertEquals(249, series.getEnd());
+
+        List<Indicator<Decimal>> indicators = buildIndicators(series);
+        checkpoint.restore(indicators);
+        for (int i = 250; i < ticks.size(); i++) {
+            series.addTick(ticks.get(i));
+            assertIndicatorValues(indicators, i, i);
+        }
+        assertEquals(50, series.getTickCount());
+    }
+
+    @Test
+    public void restoreCompositeIndicator() throws IOException {
+        MACDIndicator expectedMacd = new MACDIndicator(new ClosePriceIndicator(new TimeSeries(ticks)), 12, 26);
+
+        TimeSeries liveSeries = new TimeSeries(new ArrayList<Tick>(ticks.subList(0, 400)));
+        MACDIndicator liveMacd = new MACDIndicator(new ClosePriceIndicator(liveSeries), 12, 26);
+        for (int i = 0; i <= liveSeries.getEnd(); i++) {
+            liveMacd.getValue(i);
+        }
+        // Only the top-level indicator is provided: its EMAs are saved too
+        File file = folder.newFile("checkpoint.bin");
+        IndicatorCheckpoint.write(file, liveSeries, Collections.singletonList(liveMacd), 50);
+
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        TimeSeries series = checkpoint.getSeries();
+        MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(series), 12, 26);
+        checkpoint.restore(Collections.singletonList(macd));
+        for (int i = 400; i < ticks.size(); i++) {
+            series.addTick(ticks.get(i));
+            assertEquals("MACD at " + i, expectedMacd.getValue(i), macd.getValue(i));
+        }
+    }
+
+    @Test
+    public void restoreDoubleBackedSeries() throws IOException {
+        TimeSeries liveSeries = new TimeSeries(new ArrayList<Tick>(ticks.subList(0, 100)));
+        liveSeries.useDoubleBackedDecimals();
+        EMAIndicator liveEma = new EMAIndicator(new ClosePriceIndicator(liveSeries), 10);
+        liveEma.getValue(99);
+        File file = folder.newFile("checkpoint.bin");
+        IndicatorCheckpoint.write(file, liveSeries, Collections.singletonList(liveEma), 20);
+
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        TimeSeries series = checkpoint.getSeries();
+        assertTrue(series.isDoubleBacked());
+        EMAIndicator ema = new EMAIndicator(new ClosePriceIndicator(series), 10);
+        checkpoint.restore(Collections.singletonList(ema));
+        assertEquals(liveEma.getValue(99).toDouble(), ema.getValue(99).toDouble(), 0);
+        assertTrue(ema.getValue(99).isDoubleBacked());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreOtherIndicatorsShouldThrowException() throws IOException {
+        TimeSeries liveSeries = new TimeSeries(new ArrayList<Tick>(ticks.subList(0, 100)));
+        EMAIndicator liveEma = new EMAIndicator(new ClosePriceIndicator(liveSeries), 10);
+        liveEma.getValue(99);
+        File file = folder.newFile("checkpoint.bin");
+        IndicatorCheckpoint.write(file, liveSeries, Collections.singletonList(liveEma));
+
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        checkpoint.restore(Collections.singletonList(new OnBalanceVolumeIndicator(checkpoint.getSeries())));
+    }
+
+    private void assertIndicatorValues(List<Indicator<Decimal>> indicators, int begin, int end) {
+        for (int i = begin; i <= end; i++) {
+            for (int j = 0; j < indicators.size(); j++) {
+                Indicator<Decimal> indicator = indicators.get(j);
+                assertEquals(indicator + " at " + i, expectedValues.get(j)[i], indicator.getValue(i));
+            }
+        }
+    }
+
+    private static List<Indicator<Decimal>> buildIndicators(TimeSeries series) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        return Arrays.<Indicator<Decimal>>asList(
+                new EMAIndicator(closePrice, 20),
+                new AverageTrueRangeIndicator(series, 14),
+                new OnBalanceVolumeIndicator(series),
+                new NVIIndicator(series),
+                new PVIIndicator(series),
+                new AccumulationDistributionIndicator(series),
+                new ParabolicSarIndicator(series, 10),
+                new TrailingStopLossIndicator(closePrice, Decimal.valueOf(2)));
+    }
+}
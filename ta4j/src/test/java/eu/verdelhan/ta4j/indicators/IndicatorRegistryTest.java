@@ -0,0 +1,220 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.helpers.HighestValueIndicator;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.simple.ConstantIndicator;
+import eu.verdelhan.ta4j.indicators.simple.VolumeIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.StandardDeviationIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.VarianceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.ParabolicSarIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.TrailingStopLossIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsLowerIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsMiddleIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.BollingerBandsUpperIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.bollinger.PercentBIndicator;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndicatorRegistryTest {
+
+    private TimeSeries series;
+
+    private IndicatorRegistry registry;
+
+    @Before
+    public void setUp() {
+        series = new MockTimeSeries(1, 2, 3, 4, 5, 6, 5, 4, 3, 2, 1, 2, 3);
+        registry = new IndicatorRegistry();
+    }
+
+    @Test
+    public void internIdenticalIndicators() {
+        ClosePriceIndicator closePrice = registry.intern(new ClosePriceIndicator(series));
+        assertSame(closePrice, registry.intern(new ClosePriceIndicator(series)));
+        SMAIndicator sma = registry.intern(new SMAIndicator(closePrice, 3));
+        assertSame(sma, registry.intern(new SMAIndicator(closePrice, 3)));
+        assertSame(sma, registry.intern(sma));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void internIndicatorsWithNotInternedInputs() {
+        SMAIndicator sma = registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3));
+        assertSame(sma, registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3)));
+        // Composite indicators (with internal sub-indicators)
+        MACDIndicator macd = registry.intern(new MACDIndicator(new ClosePriceIndicator(series), 2, 4));
+        assertSame(macd, registry.intern(new MACDIndicator(new ClosePriceIndicator(series), 2, 4)));
+        // Indicators with helpers
+        HighestValueIndicator highest = registry.intern(new HighestValueIndicator(new ClosePriceIndicator(series), 4));
+        assertSame(highest, registry.intern(new HighestValueIndicator(new ClosePriceIndicator(series), 4)));
+    }
+
+    @Test
+    public void internIndicatorsWithComputedUnstablePeriod() {
+        SMAIndicator sma = registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3));
+        assertEquals(2, sma.getUnstablePeriod());
+        assertSame(sma, registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3)));
+    }
+
+    @Test
+    public void internIndicatorsAfterComputation() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        HighestValueIndicator highest = new HighestValueIndicator(closePrice, 4);
+        VarianceIndicator variance = new VarianceIndicator(closePrice, 4);
+        ParabolicSarIndicator sar = new ParabolicSarIndicator(series, 3);
+        TrailingStopLossIndicator stopLoss = new TrailingStopLossIndicator(closePrice, Decimal.ONE);
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            sma.getValue(i);
+            highest.getValue(i);
+            variance.getValue(i);
+            sar.getValue(i);
+            stopLoss.getValue(i);
+        }
+        // The computation state is not part of the structure
+        assertSame(sma, registry.intern(sma));
+        assertSame(sma, registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3)));
+        assertSame(highest, registry.intern(highest));
+        assertSame(highest, registry.intern(new HighestValueIndicator(new ClosePriceIndicator(series), 4)));
+        assertSame(variance, registry.intern(variance));
+        assertSame(variance, registry.intern(new VarianceIndicator(new ClosePriceIndicator(series), 4)));
+        assertSame(sar, registry.intern(sar));
+        assertSame(sar, registry.intern(new ParabolicSarIndicator(series, 3)));
+        assertSame(stopLoss, registry.intern(stopLoss));
+        assertSame(stopLoss, registry.intern(new TrailingStopLossIndicator(new ClosePriceIndicator(series), Decimal.ONE)));
+        // (The initial stop-loss limit is a parameter)
+        assertNotSame(stopLoss, registry.intern(new TrailingStopLossIndicator(closePrice, Decimal.ONE, Decimal.TWO)));
+    }
+
+    @Test
+    public void doNotInternDifferentIndicators() {
+        ClosePriceIndicator closePrice = registry.intern(new ClosePriceIndicator(series));
+        SMAIndicator sma = registry.intern(new SMAIndicator(closePrice, 3));
+        assertNotSame(sma, registry.intern(new SMAIndicator(closePrice, 4)));
+        assertNotSame(sma, registry.intern(new SMAIndicator(new VolumeIndicator(series), 3)));
+        assertNotSame(sma, registry.intern(new SMAIndicator(new ClosePriceIndicator(new MockTimeSeries(1, 2, 3)), 3)));
+        HighestValueIndicator highest = registry.intern(new HighestValueIndicator(closePrice, 4));
+        assertNotSame(highest, registry.intern(new HighestValueIndicator(new VolumeIndicator(series), 4)));
+        ConstantIndicator<Decimal> constant = registry.intern(new ConstantIndicator<Decimal>(Decimal.ONE));
+        assertSame(constant, registry.intern(new ConstantIndicator<Decimal>(Decimal.valueOf(1))));
+        assertNotSame(constant, registry.intern(new ConstantIndicator<Decimal>(Decimal.TWO)));
+    }
+
+    @Test
+    public void internedIndicatorsComputeTheSameValues() {
+        SMAIndicator sma = registry.intern(new SMAIndicator(new ClosePriceIndicator(series), 3));
+        SMAIndicator expectedSma = new SMAIndicator(new ClosePriceIndicator(series), 3);
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            assertEquals(expectedSma.getValue(i), sma.getValue(i));
+        }
+    }
+
+    @Test
+    public void compositeIndicatorsInternTheirSubIndicators() {
+        series.useIndicatorRegistry();
+        IndicatorRegistry seriesRegistry = series.getIndicatorRegistry();
+        ClosePriceIndicator closePrice = seriesRegistry.intern(new ClosePriceIndicator(series));
+        // EMA and its starting SMA
+        EMAIndicator ema = seriesRegistry.intern(new EMAIndicator(closePrice, 2));
+        assertEquals(3, seriesRegistry.size());
+        // Short EMA shared, long EMA (and its starting SMA) added
+        MACDIndicator macd = new MACDIndicator(closePrice, 2, 4);
+        assertEquals(5, seriesRegistry.size());
+        MACDIndicator expectedMacd = new MACDIndicator(new ClosePriceIndicator(new MockTimeSeries(1, 2, 3, 4, 5, 6, 5, 4, 3, 2, 1, 2, 3)), 2, 4);
+        for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+            assertEquals(expectedMacd.getValue(i), macd.getValue(i));
+        }
+        assertTrue(ema.getValue(series.getEnd()).isPositive());
+    }
+
+    @Test
+    public void percentBInternsAllItsSubIndicators() {
+        series.useIndicatorRegistry();
+        IndicatorRegistry seriesRegistry = series.getIndicatorRegistry();
+        ClosePriceIndicator closePrice = seriesRegistry.intern(new ClosePriceIndicator(series));
+        new PercentBIndicator(closePrice, 3, Decimal.TWO);
+        final int size = seriesRegistry.size();
+        BollingerBandsMiddleIndicator bbm = seriesRegistry.intern(
+                new BollingerBandsMiddleIndicator(seriesRegistry.intern(new SMAIndicator(closePrice, 3))));
+        StandardDeviationIndicator sd = seriesRegistry.intern(new StandardDeviationIndicator(closePrice, 3));
+        seriesRegistry.intern(new BollingerBandsUpperIndicator(bbm, sd, Decimal.TWO));
+        seriesRegistry.intern(new BollingerBandsLowerIndicator(bbm, sd, Decimal.TWO));
+        assertEquals(size, seriesRegistry.size());
+    }
+
+    @Test
+    public void internIndicatorsWithCollectionParameters() {
+        ClosePriceIndicator closePrice = registry.intern(new ClosePriceIndicator(series));
+        WeightedSumIndicator sum = registry.intern(new WeightedSumIndicator(closePrice, Arrays.asList(Decimal.ONE, Decimal.TWO)));
+        assertSame(sum, registry.intern(new WeightedSumIndicator(new ClosePriceIndicator(series),
+                new ArrayList<Decimal>(Arrays.asList(Decimal.valueOf(1), Decimal.valueOf(2))))));
+        assertNotSame(sum, registry.intern(new WeightedSumIndicator(closePrice, Arrays.asList(Decimal.TWO, Decimal.ONE))));
+        assertNotSame(sum, registry.intern(new WeightedSumIndicator(closePrice, Arrays.asList(Decimal.ONE))));
+    }
+
+    @Test
+    public void clear() {
+        ClosePriceIndicator closePrice = registry.intern(new ClosePriceIndicator(series));
+        registry.clear();
+        assertEquals(0, registry.size());
+        assertNotSame(closePrice, registry.intern(new ClosePriceIndicator(series)));
+    }
+
+    /**
+     * Weighted sum of the last values of an indicator (i.e. an indicator with a collection parameter).
+     */
+    private static class WeightedSumIndicator extends CachedIndicator<Decimal> {
+
+        private final Indicator<Decimal> indicator;
+
+        private final List<Decimal> weights;
+
+        WeightedSumIndicator(Indicator<Decimal> indicator, List<Decimal> weights) {
+            super(indicator);
+            this.indicator = indicator;
+            this.weights = weights;
+        }
+
+        @Override
+        protected Decimal calculate(int index) {
+            Decimal sum = Decimal.ZERO;
+            for (int i = 0; i < weights.size() && index - i >= 0; i++) {
+                sum = sum.plus(indicator.getValue(index - i).multipliedBy(weights.get(i)));
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.KAMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.TripleEMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import org.joda.time.DateTime;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RecursiveCachedIndicatorTest {
+
+    private TimeSeries series;
+
+    @Before
+    public void setUp() {
+        List<Tick> ticks = new ArrayList<Tick>();
+        DateTime time = new DateTime(0);
+        for (int i = 0; i < 20000; i++) {
+            ticks.add(new MockTick(time.plusMinutes(i), 100 + 10 * Math.sin(i / 10d)));
+        }
+        series = new MockTimeSeries(ticks);
+        series.useDoubleBackedDecimals();
+    }
+
+    @Test
+    public void lastValueShouldMatchSequentialCalculation() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        EMAIndicator sequentialEma = new EMAIndicator(closePrice, 10);
+        for (int i = 0; i <= series.getEnd(); i++) {
+            sequentialEma.getValue(i);
+        }
+        EMAIndicator ema = new EMAIndicator(closePrice, 10);
+        assertEquals(sequentialEma.getValue(series.getEnd()), ema.getValue(series.getEnd()));
+        assertEquals(sequentialEma.getValue(150), new EMAIndicator(closePrice, 10).getValue(150));
+    }
+
+    @Test
+    public void deepRecursiveIndicatorsShouldNotOverflowTheStack() throws InterruptedException {
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        final Indicator<Decimal> tema = new TripleEMAIndicator(new TripleEMAIndicator(closePrice, 5), 5);
+        final KAMAIndicator kama = new KAMAIndicator(closePrice, 10, 2, 30);
+        final Decimal[] values = new Decimal[2];
+        // Running with a small stack: the values must be calculated without deep recursion
+        Thread thread = new Thread(null, new Runnable() {
+            @Override
+            public void run() {
+                values[0] = tema.getValue(series.getEnd());
+                values[1] = kama.getValue(series.getEnd());
+            }
+        }, "small-stack", 64 * 1024);
+        thread.start();
+        thread.join();
+        assertNotNull(values[0]);
+        assertNotNull(values[1]);
+        assertFalse(values[0].isNaN());
+        assertFalse(values[1].isNaN());
+    }
+}
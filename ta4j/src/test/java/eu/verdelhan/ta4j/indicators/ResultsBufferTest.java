@@ -0,0 +1,77 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.indicators;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class ResultsBufferTest {
+
+    @Test
+    public void appendEmptyResultsOnUnboundedBuffer() {
+        ResultsBuffer<Integer> buffer = new ResultsBuffer<Integer>();
+        buffer.appendEmptyResults(100, Integer.MAX_VALUE);
+        assertEquals(100, buffer.size());
+        for (int i = 0; i < 100; i++) {
+            assertNull(buffer.get(i));
+            buffer.set(i, i);
+        }
+        buffer.appendEmptyResults(1, Integer.MAX_VALUE);
+        assertEquals(101, buffer.size());
+        assertEquals(Integer.valueOf(0), buffer.get(0));
+        assertEquals(Integer.valueOf(99), buffer.get(99));
+        assertNull(buffer.get(100));
+    }
+
+    @Test
+    public void appendEmptyResultsEvictsOldestResults() {
+        ResultsBuffer<Integer> buffer = new ResultsBuffer<Integer>();
+        for (int i = 0; i < 10; i++) {
+            buffer.appendEmptyResults(1, 3);
+            buffer.set(buffer.size() - 1, i);
+        }
+        assertEquals(3, buffer.size());
+        assertEquals(Integer.valueOf(7), buffer.get(0));
+        assertEquals(Integer.valueOf(8), buffer.get(1));
+        assertEquals(Integer.valueOf(9), buffer.get(2));
+
+        buffer.appendEmptyResults(2, 3);
+        assertEquals(3, buffer.size());
+        assertEquals(Integer.valueOf(9), buffer.get(0));
+        assertNull(buffer.get(1));
+        assertNull(buffer.get(2));
+    }
+
+    @Test
+    public void appendMoreEmptyResultsThanMaximumSize() {
+        ResultsBuffer<Integer> buffer = new ResultsBuffer<Integer>();
+        buffer.appendEmptyResults(2, 4);
+        buffer.set(0, 0);
+        buffer.set(1, 1);
+        buffer.appendEmptyResults(10, 4);
+        assertEquals(4, buffer.size());
+        for (int i = 0; i < 4; i++) {
+            assertNull(buffer.get(i));
+        }
+    }
+}
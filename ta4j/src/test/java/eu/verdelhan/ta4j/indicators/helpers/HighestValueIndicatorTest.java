@@ -25,7 +25,11 @@ package eu.verdelhan.ta4j.indicators.helpers;
 import static eu.verdelhan.ta4j.TATestsUtils.*;
 import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -64,4 +68,28 @@ public class HighestValueIndicatorTest {
         HighestValueIndicator highestValue = new HighestValueIndicator(new ClosePriceIndicator(data), 500);
         assertDecimalEquals(highestValue.getValue(12), "6");
     }
+
+    @Test
+    public void highestValueWithSequentialAndRandomAccesses() {
+        HighestValueIndicator sequential = new HighestValueIndicator(new ClosePriceIndicator(data), 3);
+        HighestValueIndicator random = new HighestValueIndicator(new ClosePriceIndicator(data), 3);
+        for (int i = 0; i < data.getTickCount(); i++) {
+            sequential.getValue(i);
+        }
+        for (int i = data.getTickCount() - 1; i >= 0; i--) {
+            assertEquals(random.getValue(i), sequential.getValue(i));
+        }
+    }
+
+    @Test
+    public void highestValueOnMovingSeries() {
+        TimeSeries movingSeries = new TimeSeries(Period.days(1));
+        movingSeries.setMaximumTickCount(4);
+        HighestValueIndicator indicator = new HighestValueIndicator(new ClosePriceIndicator(movingSeries), 3);
+        DateTime time = new DateTime(0);
+        for (int i = 0; i < data.getTickCount(); i++) {
+            movingSeries.addTick(new MockTick(time.plusDays(i), data.getTick(i).getClosePrice().toDouble()));
+            assertEquals(new HighestValueIndicator(new ClosePriceIndicator(data), 3).getValue(i), indicator.getValue(i));
+        }
+    }
 }
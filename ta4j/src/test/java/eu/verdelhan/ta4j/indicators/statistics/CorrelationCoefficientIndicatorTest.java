@@ -30,8 +30,11 @@ import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
 import eu.verdelhan.ta4j.indicators.simple.VolumeIndicator;
 import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import org.apache.commons.math3.stat.correlation.PearsonsCorrelation;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
@@ -97,4 +100,35 @@ public class CorrelationCoefficientIndicatorTest {
 		assertDecimalEquals(coef.getValue(18), 0.9841);
 		assertDecimalEquals(coef.getValue(19), 0.9799);
     }
+
+    @Test
+    public void sequentialValuesShouldMatchReference() {
+        TimeSeries series = buildRandomSeries(500);
+        Indicator<Decimal> randomClose = new ClosePriceIndicator(series);
+        Indicator<Decimal> randomVolume = new VolumeIndicator(series);
+        CorrelationCoefficientIndicator coef = new CorrelationCoefficientIndicator(randomClose, randomVolume, 30);
+        for (int i = 29; i < series.getTickCount(); i++) {
+            double[] closes = new double[30];
+            double[] volumes = new double[30];
+            for (int j = 0; j < 30; j++) {
+                closes[j] = randomClose.getValue(i - 29 + j).toDouble();
+                volumes[j] = randomVolume.getValue(i - 29 + j).toDouble();
+            }
+            assertDecimalEquals(coef.getValue(i), new PearsonsCorrelation().correlation(closes, volumes));
+        }
+    }
+
+    /**
+     * @return a time series of random close prices and volumes
+     */
+    private static TimeSeries buildRandomSeries(int nbTicks) {
+        Random random = new Random(17);
+        List<Tick> ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < nbTicks; i++) {
+            close += random.nextGaussian();
+            ticks.add(new MockTick(close, 1000 + 10 * close + 100 * random.nextGaussian()));
+        }
+        return new MockTimeSeries(ticks);
+    }
 }
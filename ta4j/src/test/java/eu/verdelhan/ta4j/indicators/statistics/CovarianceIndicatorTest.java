@@ -30,8 +30,13 @@ import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
 import eu.verdelhan.ta4j.indicators.simple.VolumeIndicator;
 import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import org.apache.commons.math3.stat.correlation.Covariance;
+import org.joda.time.DateTime;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -108,4 +113,70 @@ public class CovarianceIndicatorTest {
         assertDecimalEquals(covar.getValue(3), 0);
         assertDecimalEquals(covar.getValue(8), 0);
     }
+
+    @Test
+    public void sequentialAndRandomAccessesShouldMatchReference() {
+        TimeSeries series = buildRandomSeries(500);
+        Indicator<Decimal> randomClose = new ClosePriceIndicator(series);
+        Indicator<Decimal> randomVolume = new VolumeIndicator(series);
+        CovarianceIndicator sequentialCovar = new CovarianceIndicator(randomClose, randomVolume, 30);
+        CovarianceIndicator randomCovar = new CovarianceIndicator(randomClose, randomVolume, 30);
+        for (int i = 0; i < series.getTickCount(); i++) {
+            double expected = covariance(randomClose, randomVolume, Math.max(0, i - 29), i);
+            assertDecimalEquals(sequentialCovar.getValue(i), expected);
+        }
+        for (int i = series.getTickCount() - 1; i >= 0; i -= 7) {
+            assertDecimalEquals(randomCovar.getValue(i), sequentialCovar.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void runningStatisticsDoNotDrift() {
+        // Long double-backed series starting with a huge spike (absorbing the next values in the running statistics)
+        Random random = new Random(3);
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 3000; i++) {
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), i == 0 ? 1e17 : random.nextDouble()));
+        }
+        TimeSeries series = new MockTimeSeries(ticks);
+        series.useDoubleBackedDecimals();
+        Indicator<Decimal> spikedClose = new ClosePriceIndicator(series);
+        CovarianceIndicator covar = new CovarianceIndicator(spikedClose, spikedClose, 10);
+        for (int i = 0; i < series.getTickCount(); i++) {
+            covar.getValue(i);
+        }
+        // Resynced from the whole time frame since the spike exited
+        double expected = covariance(spikedClose, spikedClose, series.getEnd() - 9, series.getEnd());
+        assertEquals(expected, covar.getValue(series.getEnd()).toDouble(), 1e-12);
+    }
+
+    /**
+     * @return the population covariance of the values of the indicators between the indexes (inclusive)
+     */
+    private static double covariance(Indicator<Decimal> indicator1, Indicator<Decimal> indicator2, int begin, int end) {
+        if (begin == end) {
+            return 0;
+        }
+        double[] values1 = new double[end - begin + 1];
+        double[] values2 = new double[end - begin + 1];
+        for (int i = begin; i <= end; i++) {
+            values1[i - begin] = indicator1.getValue(i).toDouble();
+            values2[i - begin] = indicator2.getValue(i).toDouble();
+        }
+        return new Covariance().covariance(values1, values2, false);
+    }
+
+    /**
+     * @return a time series of random close prices and volumes
+     */
+    private static TimeSeries buildRandomSeries(int nbTicks) {
+        Random random = new Random(17);
+        List<Tick> ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < nbTicks; i++) {
+            close += random.nextGaussian();
+            ticks.add(new MockTick(close, 1000 + 10 * close + 100 * random.nextGaussian()));
+        }
+        return new MockTimeSeries(ticks);
+    }
 }
@@ -25,9 +25,17 @@ package eu.verdelhan.ta4j.indicators.statistics;
 import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.Indicator;
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.joda.time.DateTime;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
@@ -100,6 +108,66 @@ public class SimpleLinearRegressionIndicatorTest {
         assertDecimalEquals(reg.getValue(4), origReg.predict(4));
     }
     
+    @Test
+    public void sequentialAndRandomAccessesShouldMatchReference() {
+        Random random = new Random(5);
+        double[] values = new double[400];
+        double value = 100;
+        for (int i = 0; i < values.length; i++) {
+            value += random.nextGaussian();
+            values[i] = value;
+        }
+        ClosePriceIndicator indicator = new ClosePriceIndicator(new MockTimeSeries(values));
+        SimpleLinearRegressionIndicator sequentialReg = new SimpleLinearRegressionIndicator(indicator, 20);
+        SimpleLinearRegressionIndicator randomReg = new SimpleLinearRegressionIndicator(indicator, 20);
+        for (int i = 1; i < values.length; i++) {
+            final int startIndex = Math.max(0, i - 19);
+            SimpleRegression origReg = new SimpleRegression();
+            for (int j = startIndex; j <= i; j++) {
+                origReg.addData(j, values[j]);
+            }
+            assertDecimalEquals(sequentialReg.getValue(i), origReg.predict(i));
+        }
+        for (int i = values.length - 1; i > 0; i -= 7) {
+            assertDecimalEquals(randomReg.getValue(i), sequentialReg.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void runningSumsDoNotDrift() {
+        // Long double-backed series starting with a huge spike (absorbing the next values in the running sums)
+        Random random = new Random(3);
+        double[] values = new double[3000];
+        values[0] = 1e17;
+        for (int i = 1; i < values.length; i++) {
+            values[i] = random.nextDouble();
+        }
+        TimeSeries series = new MockTimeSeries(ticksOf(values));
+        series.useDoubleBackedDecimals();
+        SimpleLinearRegressionIndicator reg = new SimpleLinearRegressionIndicator(new ClosePriceIndicator(series), 10);
+        for (int i = 0; i < values.length; i++) {
+            reg.getValue(i);
+        }
+        // Resynced from the whole time frame since the spike exited
+        SimpleRegression origReg = new SimpleRegression();
+        for (int i = values.length - 10; i < values.length; i++) {
+            origReg.addData(i, values[i]);
+        }
+        assertEquals(origReg.predict(values.length - 1), reg.getValue(values.length - 1).toDouble(), 1e-12);
+    }
+
+    /**
+     * @param values close prices
+     * @return ticks of the provided close prices (one per minute)
+     */
+    private static List<Tick> ticksOf(double... values) {
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < values.length; i++) {
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), values[i]));
+        }
+        return ticks;
+    }
+
     /**
      * @param values values
      * @return a simple linear regression based on provided values
@@ -23,9 +23,19 @@
 package eu.verdelhan.ta4j.indicators.statistics;
 
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -54,6 +64,27 @@ public class VarianceIndicatorTest {
         assertDecimalEquals(var.getValue(10), 10.5);
     }
 
+    @Test
+    public void varianceWithRandomAccess() {
+        VarianceIndicator var = new VarianceIndicator(new ClosePriceIndicator(data), 4);
+
+        assertDecimalEquals(var.getValue(10), 10.5);
+        assertDecimalEquals(var.getValue(4), 0.5);
+        assertDecimalEquals(var.getValue(5), 0.25);
+        assertDecimalEquals(var.getValue(2), 2.0/3);
+        assertDecimalEquals(var.getValue(3), 1.25);
+        assertDecimalEquals(var.getValue(9), 3.5);
+    }
+
+    @Test
+    public void varianceOnMovingSeries() {
+        TimeSeries movingSeries = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 0, 9);
+        movingSeries.setMaximumTickCount(4);
+        VarianceIndicator var = new VarianceIndicator(new ClosePriceIndicator(movingSeries), 4);
+
+        assertDecimalEquals(var.getValue(10), 10.5);
+    }
+
     @Test
     public void firstValueShouldBeZero() {
         VarianceIndicator var = new VarianceIndicator(new ClosePriceIndicator(data), 4);
@@ -78,4 +109,68 @@ public class VarianceIndicatorTest {
         assertDecimalEquals(var.getValue(9), 2.25);
         assertDecimalEquals(var.getValue(10), 20.25);
     }
+
+    @Test
+    public void runningStatisticsDoNotDrift() {
+        TimeSeries series = spikedSeries();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        VarianceIndicator var = new VarianceIndicator(closePrice, 10);
+        for (int i = 0; i < series.getTickCount(); i++) {
+            var.getValue(i);
+        }
+        double[] batchValues = BatchComputations.computeAll(var, 0, series.getEnd());
+        // Resynced from the whole time frame since the spike exited
+        double[] window = new double[10];
+        for (int i = 0; i < window.length; i++) {
+            window[i] = closePrice.getValue(series.getEnd() - 9 + i).toDouble();
+        }
+        double expected = new org.apache.commons.math3.stat.descriptive.moment.Variance(false).evaluate(window);
+        assertEquals(expected, var.getValue(series.getEnd()).toDouble(), 1e-12);
+        assertEquals(expected, batchValues[series.getEnd()], 1e-12);
+    }
+
+    @Test
+    public void warmUpReadsEachValueOnce() {
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(new MockTimeSeries(
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
+        final int[] reads = new int[1];
+        Indicator<Decimal> countingClosePrice = new Indicator<Decimal>() {
+            @Override
+            public Decimal getValue(int index) {
+                reads[0]++;
+                return closePrice.getValue(index);
+            }
+
+            @Override
+            public TimeSeries getTimeSeries() {
+                return closePrice.getTimeSeries();
+            }
+        };
+        VarianceIndicator indicator = new VarianceIndicator(countingClosePrice, 10);
+        indicator.getValue(0);
+        reads[0] = 0;
+        for (int i = 1; i < 10; i++) {
+            indicator.getValue(i);
+        }
+        // Growing window: a single read per new value
+        assertEquals(9, reads[0]);
+        indicator.getValue(10);
+        indicator.getValue(11);
+        // Sliding window: the new value and the exiting one
+        assertEquals(13, reads[0]);
+    }
+
+    /**
+     * @return a long double-backed series starting with a huge spike (absorbing the next values in the running sums)
+     */
+    private static TimeSeries spikedSeries() {
+        Random random = new Random(3);
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 3000; i++) {
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), i == 0 ? 1e17 : random.nextDouble()));
+        }
+        TimeSeries series = new MockTimeSeries(ticks);
+        series.useDoubleBackedDecimals();
+        return series;
+    }
 }
@@ -23,9 +23,13 @@
 package eu.verdelhan.ta4j.indicators.trackers;
 
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Decimal;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -63,4 +67,49 @@ public class HMAIndicatorTest {
         assertDecimalEquals(hma.getValue(20), 75.3597);
     }
 
+    @Test
+    public void hmaOverLongTimeFrame() {
+        Random random = new Random(3);
+        double[] prices = new double[1000];
+        double close = 100;
+        for (int i = 0; i < prices.length; i++) {
+            close += random.nextGaussian();
+            prices[i] = close;
+        }
+        TimeSeries series = new MockTimeSeries(prices);
+        HMAIndicator hma = new HMAIndicator(new ClosePriceIndicator(series), 200);
+        double[] batchValues = BatchComputations.computeAll(new HMAIndicator(new ClosePriceIndicator(series), 200), 0, prices.length - 1);
+        for (int i = 0; i < prices.length; i++) {
+            Decimal value = hma.getValue(i);
+            assertEquals(hullMovingAverage(prices, 200, i), value.toDouble(), 1e-6);
+            assertEquals(batchValues[i], value.toDouble(), 1e-6);
+        }
+    }
+
+    /**
+     * @return the weighted moving average of the values (straightforward calculation)
+     */
+    private static double weightedMovingAverage(double[] values, int timeFrame, int index) {
+        final int startIndex = Math.max(0, index - timeFrame + 1);
+        double weightedSum = 0;
+        double weights = 0;
+        for (int i = startIndex; i <= index; i++) {
+            weightedSum += (i - startIndex + 1) * values[i];
+            weights += i - startIndex + 1;
+        }
+        return weightedSum / weights;
+    }
+
+    /**
+     * @return the Hull moving average of the values (straightforward calculation)
+     */
+    private static double hullMovingAverage(double[] values, int timeFrame, int index) {
+        final int sqrtTimeFrame = (int) Math.sqrt(timeFrame);
+        double[] deltas = new double[index + 1];
+        for (int i = Math.max(0, index - sqrtTimeFrame + 1); i <= index; i++) {
+            deltas[i] = 2 * weightedMovingAverage(values, timeFrame / 2, i) - weightedMovingAverage(values, timeFrame, i);
+        }
+        return weightedMovingAverage(deltas, sqrtTimeFrame, index);
+    }
+
 }
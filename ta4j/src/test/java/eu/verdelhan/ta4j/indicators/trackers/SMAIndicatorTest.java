@@ -23,9 +23,18 @@
 package eu.verdelhan.ta4j.indicators.trackers;
 
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
 import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
@@ -58,6 +67,31 @@ public class SMAIndicatorTest {
         assertDecimalEquals(sma.getValue(12), 3);
     }
 
+    @Test
+    public void SMASequentialAndRandomAccessesShouldMatch() {
+        SMAIndicator sequentialSma = new SMAIndicator(new ClosePriceIndicator(data), 4);
+        SMAIndicator randomSma = new SMAIndicator(new ClosePriceIndicator(data), 4);
+        for (int i = 0; i < data.getTickCount(); i++) {
+            sequentialSma.getValue(i);
+        }
+        for (int i = data.getTickCount() - 1; i >= 0; i -= 2) {
+            assertEquals(sequentialSma.getValue(i), randomSma.getValue(i));
+        }
+    }
+
+    @Test
+    public void SMAOnDoubleBackedSeries() {
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(data), 3);
+        TimeSeries doubleData = new MockTimeSeries(1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        doubleData.useDoubleBackedDecimals();
+        SMAIndicator doubleSma = new SMAIndicator(new ClosePriceIndicator(doubleData), 3);
+
+        for (int i = 0; i < data.getTickCount(); i++) {
+            assertTrue(doubleSma.getValue(i).isDoubleBacked());
+            assertDecimalEquals(doubleSma.getValue(i), sma.getValue(i).toDouble());
+        }
+    }
+
     @Test
     public void SMAWhenTimeFrameIs1ResultShouldBeIndicatorValue() {
         SMAIndicator quoteSMA = new SMAIndicator(new ClosePriceIndicator(data), 1);
@@ -65,4 +99,68 @@ public class SMAIndicatorTest {
             assertEquals(data.getTick(i).getClosePrice(), quoteSMA.getValue(i));
         }
     }
+
+    @Test
+    public void runningSumDoesNotDrift() {
+        TimeSeries series = spikedSeries();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 10);
+        for (int i = 0; i < series.getTickCount(); i++) {
+            sma.getValue(i);
+        }
+        double[] batchValues = BatchComputations.computeAll(sma, 0, series.getEnd());
+        // Resynced from the whole time frame since the spike exited
+        double expected = 0;
+        for (int i = series.getEnd() - 9; i <= series.getEnd(); i++) {
+            expected += closePrice.getValue(i).toDouble();
+        }
+        expected /= 10;
+        assertEquals(expected, sma.getValue(series.getEnd()).toDouble(), 1e-12);
+        assertEquals(expected, batchValues[series.getEnd()], 1e-12);
+    }
+
+    @Test
+    public void warmUpReadsEachValueOnce() {
+        final ClosePriceIndicator closePrice = new ClosePriceIndicator(new MockTimeSeries(
+                1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12));
+        final int[] reads = new int[1];
+        Indicator<Decimal> countingClosePrice = new Indicator<Decimal>() {
+            @Override
+            public Decimal getValue(int index) {
+                reads[0]++;
+                return closePrice.getValue(index);
+            }
+
+            @Override
+            public TimeSeries getTimeSeries() {
+                return closePrice.getTimeSeries();
+            }
+        };
+        SMAIndicator indicator = new SMAIndicator(countingClosePrice, 10);
+        indicator.getValue(0);
+        reads[0] = 0;
+        for (int i = 1; i < 10; i++) {
+            indicator.getValue(i);
+        }
+        // Growing window: a single read per new value
+        assertEquals(9, reads[0]);
+        indicator.getValue(10);
+        indicator.getValue(11);
+        // Sliding window: the new value and the exiting one
+        assertEquals(13, reads[0]);
+    }
+
+    /**
+     * @return a long double-backed series starting with a huge spike (absorbing the next values in the running sums)
+     */
+    private static TimeSeries spikedSeries() {
+        Random random = new Random(3);
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 3000; i++) {
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), i == 0 ? 1e17 : random.nextDouble()));
+        }
+        TimeSeries series = new MockTimeSeries(ticks);
+        series.useDoubleBackedDecimals();
+        return series;
+    }
 }
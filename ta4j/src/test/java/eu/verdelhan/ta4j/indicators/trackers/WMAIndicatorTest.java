@@ -25,9 +25,17 @@ package eu.verdelhan.ta4j.indicators.trackers;
 import eu.verdelhan.ta4j.Indicator;
 import eu.verdelhan.ta4j.Decimal;
 import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
 import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.BatchComputations;
 import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
 import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
 public class WMAIndicatorTest {
@@ -60,6 +68,42 @@ public class WMAIndicatorTest {
         assertDecimalEquals(wmaIndicator.getValue(5), 4.3333);
     }
 
+    @Test
+    public void wmaSequentialAndRandomAccessesShouldMatch() {
+        Random random = new Random(7);
+        double[] data = new double[300];
+        double close = 100;
+        for (int i = 0; i < data.length; i++) {
+            close += random.nextGaussian();
+            data[i] = close;
+        }
+        TimeSeries series = new MockTimeSeries(data);
+        WMAIndicator sequentialWma = new WMAIndicator(new ClosePriceIndicator(series), 20);
+        WMAIndicator randomWma = new WMAIndicator(new ClosePriceIndicator(series), 20);
+        for (int i = 0; i < data.length; i++) {
+            sequentialWma.getValue(i);
+        }
+        for (int i = data.length - 1; i >= 0; i -= 3) {
+            assertDecimalEquals(sequentialWma.getValue(i), randomWma.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void wmaOnMovingSeries() {
+        TimeSeries series = new MockTimeSeries(1d, 2d, 3d, 4d, 5d, 6d, 7d, 8d, 9d, 10d);
+        TimeSeries movingSeries = new MockTimeSeries(1d, 2d, 3d);
+        movingSeries.setMaximumTickCount(4);
+        WMAIndicator wma = new WMAIndicator(new ClosePriceIndicator(series), 3);
+        WMAIndicator movingWma = new WMAIndicator(new ClosePriceIndicator(movingSeries), 3);
+        for (int i = 0; i < 3; i++) {
+            movingWma.getValue(i);
+        }
+        for (int i = 3; i < series.getTickCount(); i++) {
+            movingSeries.addTick(series.getTick(i));
+            assertDecimalEquals(movingWma.getValue(i), wma.getValue(i).toDouble());
+        }
+    }
+
     @Test
     public void wmaUsingTimeFrame9UsingClosePrice() {
         // Example from http://traders.com/Documentation/FEEDbk_docs/2010/12/TradingIndexesWithHullMA.xls
@@ -88,4 +132,30 @@ public class WMAIndicatorTest {
         assertDecimalEquals(wma.getValue(19), 78.1504);
         assertDecimalEquals(wma.getValue(20), 77.6133);
     }
+
+    @Test
+    public void runningSumsDoNotDrift() {
+        // Long double-backed series starting with a huge spike (absorbing the next values in the running sums)
+        Random random = new Random(3);
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < 3000; i++) {
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), i == 0 ? 1e17 : random.nextDouble()));
+        }
+        TimeSeries series = new MockTimeSeries(ticks);
+        series.useDoubleBackedDecimals();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        WMAIndicator wma = new WMAIndicator(closePrice, 10);
+        for (int i = 0; i < series.getTickCount(); i++) {
+            wma.getValue(i);
+        }
+        double[] batchValues = BatchComputations.computeAll(wma, 0, series.getEnd());
+        // Resynced from the whole time frame since the spike exited
+        double expected = 0;
+        for (int i = 0; i < 10; i++) {
+            expected += (i + 1) * closePrice.getValue(series.getEnd() - 9 + i).toDouble();
+        }
+        expected /= 55;
+        assertEquals(expected, wma.getValue(series.getEnd()).toDouble(), 1e-12);
+        assertEquals(expected, batchValues[series.getEnd()], 1e-12);
+    }
 }
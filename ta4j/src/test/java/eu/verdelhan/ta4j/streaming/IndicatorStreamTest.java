@@ -0,0 +1,231 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.indicators.IndicatorCheckpoint;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.EMAIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.MACDIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IndicatorStreamTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<Tick> ticks;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(11);
+        ticks = new ArrayList<Tick>();
+        double close = 100;
+        for (int i = 0; i < 300; i++) {
+            close = Math.max(1, close + random.nextGaussian());
+            ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+        }
+    }
+
+    @Test
+    public void indicatorsAreSortedTopologically() {
+        TimeSeries series = new TimeSeries(Period.minutes(1));
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        MACDIndicator macd = new MACDIndicator(closePrice, 12, 26);
+        EMAIndicator signal = new EMAIndicator(macd, 9);
+        SMAIndicator sma = new SMAIndicator(closePrice, 10);
+
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addIndicator(signal);
+        stream.addIndicator(sma);
+
+        List<Indicator<?>> indicators = stream.getIndicators();
+        // Close price, short EMA, long EMA, MACD, signal, SMA (plus the starting SMA of each EMA)
+        assertEquals(9, indicators.size());
+        assertTrue(indicators.indexOf(closePrice) < indicators.indexOf(macd));
+        assertTrue(indicators.indexOf(macd) < indicators.indexOf(signal));
+        assertTrue(indicators.indexOf(closePrice) < indicators.indexOf(sma));
+        assertEquals(1, countOccurrences(indicators, closePrice));
+    }
+
+    @Test
+    public void pushedValuesEqualPulledValues() {
+        TimeSeries series = new TimeSeries(Period.minutes(1));
+        MACDIndicator macd = new MACDIndicator(new ClosePriceIndicator(series), 12, 26);
+        EMAIndicator signal = new EMAIndicator(macd, 9);
+        final List<Decimal> pushedValues = new ArrayList<Decimal>();
+
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addListener(signal, new IndicatorListener<Decimal>() {
+            @Override
+            public void onValue(Indicator<Decimal> indicator, int index, Decimal value) {
+                assertEquals(pushedValues.size(), index);
+                pushedValues.add(value);
+            }
+        });
+        for (Tick tick : ticks) {
+            stream.addTick(tick);
+        }
+
+        TimeSeries expectedSeries = new MockTimeSeries(ticks);
+        EMAIndicator expectedSignal = new EMAIndicator(new MACDIndicator(new ClosePriceIndicator(expectedSeries), 12, 26), 9);
+        assertEquals(ticks.size(), pushedValues.size());
+        for (int i = 0; i < ticks.size(); i++) {
+            assertDecimalEquals(pushedValues.get(i), expectedSignal.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void tickListenersAreNotifiedAfterIndicators() {
+        TimeSeries series = new TimeSeries(Period.minutes(1));
+        final SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        final List<Integer> notifiedIndexes = new ArrayList<Integer>();
+
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addTickListener(new TickListener() {
+            @Override
+            public void onTick(int index) {
+                notifiedIndexes.add(index);
+            }
+        });
+        stream.addTickListener(new TickListener() {
+            // Held indicator: discovered through the listener fields
+            private final SMAIndicator heldSma = sma;
+
+            @Override
+            public void onTick(int index) {
+                assertNotNull(heldSma.getValue(index));
+            }
+        });
+        assertTrue(stream.getIndicators().contains(sma));
+
+        for (int i = 0; i < 10; i++) {
+            stream.addTick(ticks.get(i));
+        }
+        assertEquals(10, notifiedIndexes.size());
+        assertEquals(9, notifiedIndexes.get(9).intValue());
+    }
+
+    @Test
+    public void streamOnMovingSeries() {
+        TimeSeries series = new TimeSeries(Period.minutes(1));
+        series.setMaximumTickCount(30);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 10);
+        final List<Decimal> pushedValues = new ArrayList<Decimal>();
+
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addListener(sma, new IndicatorListener<Decimal>() {
+            @Override
+            public void onValue(Indicator<Decimal> indicator, int index, Decimal value) {
+                pushedValues.add(value);
+            }
+        });
+        for (Tick tick : ticks) {
+            stream.addTick(tick);
+        }
+
+        assertEquals(ticks.size(), pushedValues.size());
+        assertEquals(ticks.size() - 1, series.getEnd());
+        SMAIndicator expectedSma = new SMAIndicator(new ClosePriceIndicator(new MockTimeSeries(ticks)), 10);
+        for (int i = 0; i < ticks.size(); i++) {
+            assertDecimalEquals(pushedValues.get(i), expectedSma.getValue(i).toDouble());
+        }
+    }
+
+    @Test
+    public void restartFromCheckpoint() throws IOException {
+        TimeSeries liveSeries = new TimeSeries(Period.minutes(1));
+        IndicatorStream liveStream = new IndicatorStream(liveSeries);
+        liveStream.addIndicator(new EMAIndicator(new MACDIndicator(new ClosePriceIndicator(liveSeries), 12, 26), 9));
+        for (int i = 0; i < 200; i++) {
+            liveStream.addTick(ticks.get(i));
+        }
+        File file = folder.newFile("stream.bin");
+        liveStream.writeCheckpoint(file, 50);
+
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        TimeSeries series = checkpoint.getSeries();
+        EMAIndicator signal = new EMAIndicator(new MACDIndicator(new ClosePriceIndicator(series), 12, 26), 9);
+        final List<Decimal> pushedValues = new ArrayList<Decimal>();
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addListener(signal, new IndicatorListener<Decimal>() {
+            @Override
+            public void onValue(Indicator<Decimal> indicator, int index, Decimal value) {
+                pushedValues.add(value);
+            }
+        });
+        stream.restoreCheckpoint(checkpoint);
+        for (int i = 200; i < ticks.size(); i++) {
+            stream.addTick(ticks.get(i));
+        }
+
+        EMAIndicator expectedSignal = new EMAIndicator(new MACDIndicator(new ClosePriceIndicator(new MockTimeSeries(ticks)), 12, 26), 9);
+        assertEquals(100, pushedValues.size());
+        for (int i = 0; i < pushedValues.size(); i++) {
+            assertEquals(expectedSignal.getValue(200 + i), pushedValues.get(i));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restoreCheckpointOnOtherSeriesShouldThrowException() throws IOException {
+        TimeSeries liveSeries = new TimeSeries(Period.minutes(1));
+        IndicatorStream liveStream = new IndicatorStream(liveSeries);
+        liveStream.addIndicator(new SMAIndicator(new ClosePriceIndicator(liveSeries), 5));
+        for (int i = 0; i < 20; i++) {
+            liveStream.addTick(ticks.get(i));
+        }
+        File file = folder.newFile("stream.bin");
+        liveStream.writeCheckpoint(file, 10);
+
+        IndicatorCheckpoint checkpoint = IndicatorCheckpoint.read(file);
+        new IndicatorStream(liveSeries).restoreCheckpoint(checkpoint);
+    }
+
+    private static int countOccurrences(List<?> list, Object object) {
+        int count = 0;
+        for (Object element : list) {
+            if (element == object) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
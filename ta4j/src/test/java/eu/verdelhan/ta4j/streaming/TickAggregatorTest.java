@@ -0,0 +1,180 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import eu.verdelhan.ta4j.ColumnarTickList;
+import eu.verdelhan.ta4j.Decimal;
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TickAggregatorTest {
+
+    private DateTime time;
+
+    private List<Tick> ticks;
+
+    @Before
+    public void setUp() {
+        time = new DateTime(2015, 1, 1, 0, 0);
+        ticks = new ArrayList<Tick>();
+    }
+
+    @Test
+    public void tradeCountTicks() {
+        TickAggregator aggregator = new TradeCountTickAggregator(2, TickAggregator.sinkOf(ticks));
+        aggregator.addTrade(time.plusSeconds(1), 1, 100);
+        aggregator.addTrade(time.plusSeconds(2), 1, 101);
+        aggregator.addTrade(time.plusSeconds(3), 1, 102);
+        aggregator.addTrade(time.plusSeconds(4), 1, 103);
+        aggregator.addTrade(time.plusSeconds(5), 1, 104);
+        aggregator.flush();
+
+        assertEquals(3, ticks.size());
+        assertEquals(2, ticks.get(0).getTrades());
+        assertEquals(time.plusSeconds(1), ticks.get(0).getBeginTime());
+        assertEquals(time.plusSeconds(2), ticks.get(0).getEndTime());
+        assertDecimalEquals(ticks.get(0).getOpenPrice(), 100);
+        assertDecimalEquals(ticks.get(0).getClosePrice(), 101);
+        assertEquals(2, ticks.get(1).getTrades());
+        assertEquals(1, ticks.get(2).getTrades());
+        assertEquals(Period.ZERO.getMillis(), ticks.get(2).getTimePeriod().getMillis());
+    }
+
+    @Test
+    public void tradesOfASameTimeBelongToTheSameTick() {
+        TimeSeries series = new TimeSeries(Period.seconds(1));
+        TickAggregator aggregator = new TradeCountTickAggregator(2, TickAggregator.sinkOf(series));
+        aggregator.addTrade(time.plusSeconds(1), 1, 100);
+        aggregator.addTrade(time.plusSeconds(2), 1, 101);
+        aggregator.addTrade(time.plusSeconds(2), 1, 102);
+        aggregator.addTrade(time.plusSeconds(3), 1, 103);
+        aggregator.flush();
+
+        assertEquals(2, series.getTickCount());
+        assertEquals(3, series.getTick(0).getTrades());
+        assertDecimalEquals(series.getTick(0).getClosePrice(), 102);
+        assertEquals(1, series.getTick(1).getTrades());
+    }
+
+    @Test
+    public void amountTicks() {
+        TickAggregator aggregator = new AmountTickAggregator(Decimal.valueOf(5), TickAggregator.sinkOf(ticks));
+        aggregator.addTrade(time.plusSeconds(1), 2, 100);
+        aggregator.addTrade(time.plusSeconds(2), 2, 100);
+        aggregator.addTrade(time.plusSeconds(3), 2, 100);
+        aggregator.addTrade(time.plusSeconds(4), 4, 100);
+        aggregator.addTrade(time.plusSeconds(5), 1, 100);
+        aggregator.addTrade(time.plusSeconds(6), 1, 100);
+        aggregator.flush();
+
+        assertEquals(3, ticks.size());
+        assertDecimalEquals(ticks.get(0).getAmount(), 6);
+        assertDecimalEquals(ticks.get(1).getAmount(), 5);
+        assertDecimalEquals(ticks.get(2).getAmount(), 1);
+    }
+
+    @Test
+    public void volumeTicks() {
+        TickAggregator aggregator = new VolumeTickAggregator(Decimal.valueOf(1000), TickAggregator.sinkOf(ticks));
+        aggregator.addTrade(time.plusSeconds(1), 2, 300);
+        aggregator.addTrade(time.plusSeconds(2), 2, 200);
+        aggregator.addTrade(time.plusSeconds(3), 1, 400);
+        aggregator.addTrade(time.plusSeconds(4), 1, 500);
+        aggregator.addTrade(time.plusSeconds(5), 1, 500);
+        aggregator.flush();
+
+        assertEquals(2, ticks.size());
+        assertDecimalEquals(ticks.get(0).getVolume(), 1000);
+        assertEquals(2, ticks.get(0).getTrades());
+        assertDecimalEquals(ticks.get(1).getVolume(), 1400);
+        assertDecimalEquals(ticks.get(1).getMaxPrice(), 500);
+        assertDecimalEquals(ticks.get(1).getMinPrice(), 400);
+    }
+
+    @Test
+    public void aggregateIntoIndicatorStream() {
+        TimeSeries series = new TimeSeries(Period.minutes(1));
+        final List<Integer> indexes = new ArrayList<Integer>();
+        IndicatorStream stream = new IndicatorStream(series);
+        stream.addTickListener(new TickListener() {
+            @Override
+            public void onTick(int index) {
+                indexes.add(index);
+            }
+        });
+        TickAggregator aggregator = new TimeTickAggregator(Period.minutes(1), time, stream);
+        for (int i = 0; i < 100; i++) {
+            aggregator.addTrade(time.plusSeconds(7 * i), 1, 100 + i);
+        }
+        // 700 seconds of trades: 11 complete minutes
+        assertEquals(11, indexes.size());
+        assertEquals(10, indexes.get(10).intValue());
+        assertDecimalEquals(series.getTick(0).getClosePrice(), 108);
+    }
+
+    @Test
+    public void timeTicksIntoColumnarList() {
+        ColumnarTickList columnarTicks = new ColumnarTickList(Period.minutes(1));
+        TickAggregator aggregator = new TimeTickAggregator(Period.minutes(1), time, TickAggregator.sinkOf(columnarTicks));
+        for (int i = 0; i < 30; i++) {
+            aggregator.addTrade(time.plusSeconds(10 * i), 1, 100 + i);
+        }
+        aggregator.flush();
+
+        assertEquals(5, columnarTicks.size());
+        assertEquals(time.plusMinutes(5), columnarTicks.get(4).getEndTime());
+        assertDecimalEquals(columnarTicks.get(4).getClosePrice(), 129);
+    }
+
+    @Test
+    public void thresholdTicksIntoColumnarList() {
+        ColumnarTickList columnarTicks = new ColumnarTickList(Period.seconds(1));
+        TickAggregator aggregator = new TradeCountTickAggregator(2, TickAggregator.sinkOf(columnarTicks));
+        aggregator.addTrade(time.plusSeconds(1), 1, 100);
+        aggregator.addTrade(time.plusSeconds(2), 1, 101);
+        aggregator.addTrade(time.plusSeconds(3), 1, 102);
+        aggregator.addTrade(time.plusSeconds(5), 1, 103);
+        // The first tick lasts 1 second, as the list
+        assertEquals(1, columnarTicks.size());
+        try {
+            // The second one lasts 2 seconds
+            aggregator.addTrade(time.plusSeconds(6), 1, 104);
+            fail("Threshold ticks of variable time periods cannot be added to a columnar list");
+        } catch (IllegalArgumentException iae) {
+            assertEquals(1, columnarTicks.size());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThreshold() {
+        new AmountTickAggregator(Decimal.ZERO, TickAggregator.sinkOf(ticks));
+    }
+}
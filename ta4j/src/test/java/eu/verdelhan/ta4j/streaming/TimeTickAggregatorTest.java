@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.streaming;
+
+import static eu.verdelhan.ta4j.TATestsUtils.assertDecimalEquals;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import java.util.ArrayList;
+import java.util.List;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimeTickAggregatorTest {
+
+    private DateTime time;
+
+    private List<Tick> ticks;
+
+    private TimeTickAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        time = new DateTime(2015, 1, 1, 0, 0);
+        ticks = new ArrayList<Tick>();
+        aggregator = new TimeTickAggregator(Period.minutes(5), TickAggregator.sinkOf(ticks));
+    }
+
+    @Test
+    public void aggregateTrades() {
+        aggregator.addTrade(time.plusSeconds(10), 1, 100);
+        aggregator.addTrade(time.plusSeconds(70), 2, 105);
+        aggregator.addTrade(time.plusSeconds(100), 1, 98);
+        aggregator.addTrade(time.plusSeconds(200), 3, 101);
+        assertTrue(ticks.isEmpty());
+        // Next period
+        aggregator.addTrade(time.plusSeconds(310), 1, 102);
+        assertEquals(1, ticks.size());
+
+        Tick tick = ticks.get(0);
+        assertEquals(Period.minutes(5), tick.getTimePeriod());
+        assertEquals(time.plusSeconds(10), tick.getBeginTime());
+        assertEquals(time.plusSeconds(310), tick.getEndTime());
+        assertDecimalEquals(tick.getOpenPrice(), 100);
+        assertDecimalEquals(tick.getMaxPrice(), 105);
+        assertDecimalEquals(tick.getMinPrice(), 98);
+        assertDecimalEquals(tick.getClosePrice(), 101);
+        assertDecimalEquals(tick.getAmount(), 7);
+        assertDecimalEquals(tick.getVolume(), 100 + 210 + 98 + 303);
+        assertEquals(4, tick.getTrades());
+
+        aggregator.flush();
+        assertEquals(2, ticks.size());
+        assertEquals(time.plusSeconds(610), ticks.get(1).getEndTime());
+        assertEquals(1, ticks.get(1).getTrades());
+        // Nothing left
+        aggregator.flush();
+        assertEquals(2, ticks.size());
+    }
+
+    @Test
+    public void tradeOnPeriodBoundaryBelongsToNextTick() {
+        aggregator = new TimeTickAggregator(Period.minutes(5), time, TickAggregator.sinkOf(ticks));
+        aggregator.addTrade(time, 1, 100);
+        aggregator.addTrade(time.plusMinutes(5), 1, 110);
+        aggregator.flush();
+        assertEquals(2, ticks.size());
+        assertEquals(time.plusMinutes(5), ticks.get(0).getEndTime());
+        assertDecimalEquals(ticks.get(0).getClosePrice(), 100);
+        assertEquals(time.plusMinutes(10), ticks.get(1).getEndTime());
+        assertDecimalEquals(ticks.get(1).getOpenPrice(), 110);
+    }
+
+    @Test
+    public void periodsWithoutTradesAreSkipped() {
+        aggregator = new TimeTickAggregator(Period.minutes(5), time, TickAggregator.sinkOf(ticks));
+        aggregator.addTrade(time.plusMinutes(1), 1, 100);
+        aggregator.addTrade(time.plusMinutes(23), 1, 100);
+        aggregator.flush();
+        assertEquals(2, ticks.size());
+        assertEquals(time.plusMinutes(5), ticks.get(0).getEndTime());
+        assertEquals(time.plusMinutes(25), ticks.get(1).getEndTime());
+        assertEquals(time.plusMinutes(20), ticks.get(1).getBeginTime());
+    }
+
+    @Test
+    public void updateTimeCompletesTick() {
+        TimeSeries series = new TimeSeries(Period.minutes(5));
+        aggregator = new TimeTickAggregator(Period.minutes(5), time, TickAggregator.sinkOf(series));
+        aggregator.addTrade(time.plusMinutes(1), 1, 100);
+        aggregator.updateTime(time.plusMinutes(4));
+        assertEquals(0, series.getTickCount());
+        aggregator.updateTime(time.plusMinutes(5));
+        assertEquals(1, series.getTickCount());
+        aggregator.addTrade(time.plusMinutes(6), 1, 101);
+        aggregator.flush();
+        assertEquals(2, series.getTickCount());
+        assertEquals(time.plusMinutes(10), series.getLastTick().getEndTime());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tradesMustBeTimeOrdered() {
+        aggregator.addTrade(time.plusSeconds(10), 1, 100);
+        aggregator.addTrade(time.plusSeconds(5), 1, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tradeBeforeBeginTime() {
+        aggregator = new TimeTickAggregator(Period.minutes(5), time, TickAggregator.sinkOf(ticks));
+        aggregator.addTrade(time.minusSeconds(1), 1, 100);
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.universe;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Indicator;
+import eu.verdelhan.ta4j.Strategy;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.TradingRecord;
+import eu.verdelhan.ta4j.analysis.StrategyBuilder;
+import eu.verdelhan.ta4j.indicators.simple.ClosePriceIndicator;
+import eu.verdelhan.ta4j.indicators.statistics.CorrelationCoefficientIndicator;
+import eu.verdelhan.ta4j.indicators.trackers.SMAIndicator;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.trading.rules.CrossedDownIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.CrossedUpIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.FixedRule;
+import eu.verdelhan.ta4j.trading.rules.OverIndicatorRule;
+import eu.verdelhan.ta4j.trading.rules.UnderIndicatorRule;
+import eu.verdelhan.ta4j.universe.Universe.GapPolicy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UniverseSchedulerTest {
+
+    private static final StrategyBuilder SMA_CROSSOVER = new StrategyBuilder() {
+        @Override
+        public Strategy buildStrategy(TimeSeries series) {
+            ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+            SMAIndicator shortSma = new SMAIndicator(closePrice, 5);
+            SMAIndicator longSma = new SMAIndicator(closePrice, 20);
+            return new Strategy(new CrossedUpIndicatorRule(shortSma, longSma), new CrossedDownIndicatorRule(shortSma, longSma));
+        }
+    };
+
+    private Map<String, TimeSeries> seriesBySymbol;
+
+    private UniverseScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(23);
+        seriesBySymbol = new LinkedHashMap<String, TimeSeries>();
+        for (int s = 0; s < 20; s++) {
+            List<Tick> ticks = new ArrayList<Tick>();
+            double close = 100;
+            for (int i = 0; i < 300; i++) {
+                close = Math.max(1, close + random.nextGaussian());
+                ticks.add(new MockTick(new DateTime(0).plusMinutes(i), close));
+            }
+            seriesBySymbol.put("S" + s, new MockTimeSeries(ticks));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void runMatchesSeparateRuns() {
+        Universe universe = Universe.align(seriesBySymbol, GapPolicy.FAIL);
+        scheduler = new UniverseScheduler(universe, 4);
+        scheduler.addStrategies(SMA_CROSSOVER);
+        Map<String, TradingRecord> records = scheduler.run();
+
+        assertEquals(universe.getSymbols(), new ArrayList<String>(records.keySet()));
+        for (String symbol : universe.getSymbols()) {
+            TradingRecord expectedRecord = seriesBySymbol.get(symbol).run(SMA_CROSSOVER.buildStrategy(seriesBySymbol.get(symbol)));
+            assertEquals(expectedRecord.getTrades(), records.get(symbol).getTrades());
+            assertSame(records.get(symbol), scheduler.getTradingRecord(symbol));
+        }
+    }
+
+    @Test
+    public void steppingMatchesRun() {
+        Universe alignedUniverse = Universe.align(seriesBySymbol, GapPolicy.FAIL);
+        UniverseScheduler runScheduler = new UniverseScheduler(alignedUniverse, 2);
+        runScheduler.addStrategies(SMA_CROSSOVER);
+        Map<String, TradingRecord> expectedRecords = runScheduler.run();
+        runScheduler.shutdown();
+
+        Universe universe = new Universe(GapPolicy.FAIL, Period.minutes(1), seriesBySymbol.keySet().toArray(new String[0]));
+        scheduler = new UniverseScheduler(universe, 3);
+        scheduler.addStrategies(SMA_CROSSOVER);
+        Map<String, Tick> ticks = new HashMap<String, Tick>();
+        for (int i = 0; i < 300; i++) {
+            ticks.clear();
+            for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+                ticks.put(entry.getKey(), entry.getValue().getTick(i));
+            }
+            universe.addTicks(new DateTime(0).plusMinutes(i), ticks);
+            scheduler.step();
+        }
+        for (String symbol : universe.getSymbols()) {
+            assertEquals(expectedRecords.get(symbol).getTrades(), scheduler.getTradingRecord(symbol).getTrades());
+        }
+    }
+
+    @Test
+    public void stepEvaluatesAllPendingTimestamps() {
+        Universe alignedUniverse = Universe.align(seriesBySymbol, GapPolicy.FAIL);
+        UniverseScheduler runScheduler = new UniverseScheduler(alignedUniverse, 2);
+        runScheduler.addStrategies(SMA_CROSSOVER);
+        Map<String, TradingRecord> expectedRecords = runScheduler.run();
+        runScheduler.shutdown();
+
+        Universe universe = new Universe(GapPolicy.FAIL, Period.minutes(1), seriesBySymbol.keySet().toArray(new String[0]));
+        scheduler = new UniverseScheduler(universe, 3);
+        scheduler.addStrategies(SMA_CROSSOVER);
+        Map<String, Tick> ticks = new HashMap<String, Tick>();
+        for (int i = 0; i < 300; i++) {
+            ticks.clear();
+            for (Map.Entry<String, TimeSeries> entry : seriesBySymbol.entrySet()) {
+                ticks.put(entry.getKey(), entry.getValue().getTick(i));
+            }
+            universe.addTicks(new DateTime(0).plusMinutes(i), ticks);
+            // Several timestamps pending between two steps
+            if (i % 7 == 6) {
+                scheduler.step();
+            }
+        }
+        scheduler.step();
+        for (String symbol : universe.getSymbols()) {
+            assertEquals(expectedRecords.get(symbol).getTrades(), scheduler.getTradingRecord(symbol).getTrades());
+        }
+        // Nothing pending
+        scheduler.step();
+    }
+
+    @Test
+    public void noOrderOnFilledTicks() {
+        Map<String, TimeSeries> gappedSeries = new LinkedHashMap<String, TimeSeries>();
+        gappedSeries.put("A", new MockTimeSeries(10, 11, 12, 13, 14));
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i : new int[] { 0, 2, 4 }) {
+            ticks.add(tickEndingAt(gappedSeries.get("A"), i, 20 + i));
+        }
+        gappedSeries.put("B", new MockTimeSeries(ticks));
+        Universe universe = Universe.align(gappedSeries, GapPolicy.FILL_FORWARD);
+        assertTrue(universe.isFilled("B", 1));
+
+        scheduler = new UniverseScheduler(universe, 2);
+        scheduler.addStrategy("A", new Strategy(new FixedRule(1), new FixedRule(2)));
+        scheduler.addStrategy("B", new Strategy(new FixedRule(1, 2), new FixedRule(3, 4)));
+        scheduler.run();
+        assertEquals(1, scheduler.getTradingRecord("A").getTradeCount());
+        // Neither entered at index 1 nor exited at index 3 (filled ticks)
+        TradingRecord recordB = scheduler.getTradingRecord("B");
+        assertEquals(1, recordB.getTradeCount());
+        assertEquals(2, recordB.getTrades().get(0).getEntry().getIndex());
+        assertEquals(4, recordB.getTrades().get(0).getExit().getIndex());
+    }
+
+    @Test
+    public void crossAssetStrategies() {
+        Universe universe = Universe.align(seriesBySymbol, GapPolicy.FAIL);
+        universe.useConcurrentIndicators();
+        final Indicator<Decimal> referenceClose = new ClosePriceIndicator(universe.getSeries("S0"));
+        StrategyBuilder correlationStrategy = new StrategyBuilder() {
+            @Override
+            public Strategy buildStrategy(TimeSeries series) {
+                CorrelationCoefficientIndicator correlation = new CorrelationCoefficientIndicator(
+                        new ClosePriceIndicator(series), referenceClose, 20);
+                return new Strategy(new OverIndicatorRule(correlation, Decimal.valueOf(0.5)),
+                        new UnderIndicatorRule(correlation, Decimal.ZERO));
+            }
+        };
+        scheduler = new UniverseScheduler(universe, 4);
+        scheduler.addStrategies(correlationStrategy);
+        Map<String, TradingRecord> records = scheduler.run();
+
+        for (String symbol : universe.getSymbols()) {
+            TimeSeries series = universe.getSeries(symbol);
+            TradingRecord expectedRecord = new TradingRecord();
+            Strategy strategy = correlationStrategy.buildStrategy(series);
+            for (int i = series.getBegin(); i <= series.getEnd(); i++) {
+                if (strategy.shouldOperate(i, expectedRecord)) {
+                    expectedRecord.operate(i, series.getTick(i).getClosePrice(), Decimal.NaN);
+                }
+            }
+            assertEquals(expectedRecord.getTrades(), records.get(symbol).getTrades());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void stepTwiceShouldThrowException() {
+        scheduler = new UniverseScheduler(Universe.align(seriesBySymbol, GapPolicy.FAIL), 2);
+        scheduler.addStrategies(SMA_CROSSOVER);
+        scheduler.step(10);
+        scheduler.step(10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTwoStrategiesForTheSameSymbolShouldThrowException() {
+        scheduler = new UniverseScheduler(Universe.align(seriesBySymbol, GapPolicy.FAIL), 2);
+        scheduler.addStrategy("S1", SMA_CROSSOVER.buildStrategy(seriesBySymbol.get("S1")));
+        scheduler.addStrategy("S1", SMA_CROSSOVER.buildStrategy(seriesBySymbol.get("S1")));
+    }
+
+    /**
+     * @param series a series
+     * @param index an index
+     * @param closePrice the close price
+     * @return a tick ending at the end time of the tick of the series at the index
+     */
+    private static Tick tickEndingAt(TimeSeries series, int index, double closePrice) {
+        return new MockTick(series.getTick(index).getEndTime(), closePrice);
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2016 Marc de Verdelhan & respective authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package eu.verdelhan.ta4j.universe;
+
+import eu.verdelhan.ta4j.Decimal;
+import eu.verdelhan.ta4j.Tick;
+import eu.verdelhan.ta4j.TimeSeries;
+import eu.verdelhan.ta4j.mocks.MockTick;
+import eu.verdelhan.ta4j.mocks.MockTimeSeries;
+import eu.verdelhan.ta4j.universe.Universe.GapPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UniverseTest {
+
+    private Map<String, TimeSeries> seriesBySymbol;
+
+    @Before
+    public void setUp() {
+        // A: ticks at t0, t1, t2, t3, t4
+        // B: ticks at t1, t2, t4 (starts later, gap at t3)
+        seriesBySymbol = new LinkedHashMap<String, TimeSeries>();
+        seriesBySymbol.put("A", buildSeries(new int[] { 0, 1, 2, 3, 4 }, 10, 11, 12, 13, 14));
+        seriesBySymbol.put("B", buildSeries(new int[] { 1, 2, 4 }, 21, 22, 24));
+    }
+
+    @Test
+    public void alignFillForward() {
+        Universe universe = Universe.align(seriesBySymbol, GapPolicy.FILL_FORWARD);
+        assertEquals(Arrays.asList("A", "B"), universe.getSymbols());
+        assertEquals(0, universe.getBegin());
+        assertEquals(3, universe.getEnd());
+        assertEquals(time(1), universe.getEndTime(0));
+        assertEquals(time(4), universe.getEndTime(3));
+
+        TimeSeries a = universe.getSeries("A");
+        TimeSeries b = universe.getSeries("B");
+        for (int i = 0; i <= universe.getEnd(); i++) {
+            assertEquals(universe.getEndTime(i), a.getTick(i).getEndTime());
+            assertEquals(universe.getEndTime(i), b.getTick(i).getEndTime());
+        }
+        assertEquals(Decimal.valueOf(13), a.getTick(2).getClosePrice());
+        assertFalse(universe.isFilled("A", 2));
+
+        // Filled tick
+        assertTrue(universe.isFilled("B", 2));
+        Tick filledTick = b.getTick(2);
+        assertEquals(Decimal.valueOf(22), filledTick.getOpenPrice());
+        assertEquals(Decimal.valueOf(22), filledTick.getMaxPrice());
+        assertEquals(Decimal.valueOf(22), filledTick.getMinPrice());
+        assertEquals(Decimal.valueOf(22), filledTick.getClosePrice());
+        assertEquals(Decimal.ZERO, filledTick.getVolume());
+        assertFalse(universe.isFilled("B", 3));
+        assertEquals(Decimal.valueOf(24), b.getTick(3).getClosePrice());
+    }
+
+    @Test
+    public void alignIntersect() {
+        Universe universe = Universe.align(seriesBySymbol, GapPolicy.INTERSECT);
+        assertEquals(2, universe.getEnd());
+        assertEquals(time(1), universe.getEndTime(0));
+        assertEquals(time(2), universe.getEndTime(1));
+        assertEquals(time(4), universe.getEndTime(2));
+        assertEquals(Decimal.valueOf(14), universe.getSeries("A").getTick(2).getClosePrice());
+        assertEquals(Decimal.valueOf(24), universe.getSeries("B").getTick(2).getClosePrice());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void alignWithFailPolicyShouldThrowException() {
+        Universe.align(seriesBySymbol, GapPolicy.FAIL);
+    }
+
+    @Test
+    public void alignSeriesWithoutGap() {
+        seriesBySymbol.put("B", buildSeries(new int[] { 0, 1, 2, 3, 4 }, 20, 21, 22, 23, 24));
+        Universe universe = Universe.align(seriesBySymbol, GapPolicy.FAIL);
+        assertEquals(4, universe.getEnd());
+        assertEquals(Decimal.valueOf(23), universe.getSeries("B").getTick(3).getClosePrice());
+    }
+
+    @Test
+    public void addTicks() {
+        Universe universe = new Universe(GapPolicy.FILL_FORWARD, Period.minutes(1), "A", "B");
+        Map<String, Tick> ticks = new HashMap<String, Tick>();
+        ticks.put("A", new MockTick(time(0), 10));
+        // No previous tick of B
+        assertFalse(universe.addTicks(time(0), ticks));
+        assertEquals(0, universe.getSeries("A").getTickCount());
+
+        ticks.put("A", new MockTick(time(1), 11));
+        ticks.put("B", new MockTick(time(1), 21));
+        assertTrue(universe.addTicks(time(1), ticks));
+        ticks.clear();
+        ticks.put("A", new MockTick(time(2), 12));
+        assertTrue(universe.addTicks(time(2), ticks));
+
+        assertEquals(1, universe.getEnd());
+        assertFalse(universe.isFilled("A", 1));
+        assertTrue(universe.isFilled("B", 1));
+        assertEquals(Decimal.valueOf(21), universe.getSeries("B").getTick(1).getClosePrice());
+        assertEquals(time(2), universe.getSeries("B").getTick(1).getEndTime());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTicksOfUnknownSymbolShouldThrowException() {
+        Universe universe = new Universe(GapPolicy.FILL_FORWARD, Period.minutes(1), "A");
+        Map<String, Tick> ticks = new HashMap<String, Tick>();
+        ticks.put("C", new MockTick(time(0), 10));
+        universe.addTicks(time(0), ticks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addTicksWithOtherEndTimeShouldThrowException() {
+        Universe universe = new Universe(GapPolicy.FILL_FORWARD, Period.minutes(1), "A");
+        Map<String, Tick> ticks = new HashMap<String, Tick>();
+        ticks.put("A", new MockTick(time(1), 10));
+        universe.addTicks(time(0), ticks);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addOlderTicksShouldThrowException() {
+        Universe universe = new Universe(GapPolicy.FILL_FORWARD, Period.minutes(1), "A");
+        Map<String, Tick> ticks = new HashMap<String, Tick>();
+        ticks.put("A", new MockTick(time(1), 10));
+        universe.addTicks(time(1), ticks);
+        ticks.put("A", new MockTick(time(0), 10));
+        universe.addTicks(time(0), ticks);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addSymbolAfterTicksShouldThrowException() {
+        Universe universe = Universe.align(seriesBySymbol, GapPolicy.FILL_FORWARD);
+        universe.addSymbol("C", Period.minutes(1));
+    }
+
+    /**
+     * @param minute a number of minutes
+     * @return the end time of the tick at the provided minute
+     */
+    private static DateTime time(int minute) {
+        return new DateTime(0).plusMinutes(minute);
+    }
+
+    /**
+     * @param minutes the minutes of the ticks
+     * @param closePrices the close prices of the ticks
+     * @return a time series
+     */
+    private static TimeSeries buildSeries(int[] minutes, double... closePrices) {
+        List<Tick> ticks = new ArrayList<Tick>();
+        for (int i = 0; i < minutes.length; i++) {
+            ticks.add(new MockTick(time(minutes[i]), closePrices[i]));
+        }
+        return new MockTimeSeries(ticks);
+    }
+}